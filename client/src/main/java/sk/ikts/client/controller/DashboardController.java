@@ -21,10 +21,13 @@ import javafx.scene.chart.BarChart;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
+import sk.ikts.client.model.Dashboard;
 import sk.ikts.client.model.Group;
+import sk.ikts.client.model.Notification;
 import sk.ikts.client.model.Task;
 import sk.ikts.client.model.User;
 import sk.ikts.client.util.ApiClient;
+import sk.ikts.client.util.DeltaPatcher;
 import sk.ikts.client.util.NotificationManager;
 import sk.ikts.client.util.NotificationWebSocketClient;
 import sk.ikts.client.util.SceneManager;
@@ -55,8 +58,10 @@ public class DashboardController implements Initializable {
     private ObservableList<Group> myGroupsList = FXCollections.observableArrayList();
     private ObservableList<Task> tasksList = FXCollections.observableArrayList();
     private List<Group> allGroups = List.of(); // For filtering tasks
+    private Map<String, Integer> taskStatusCounts; // Counts of tasksList by status: from the server, then adjusted on every change (also filtering)
     
     private NotificationWebSocketClient webSocketClient;
+    private boolean resyncPending = false;
 
     // FXML elements
     @FXML private Label statusLabel;
@@ -133,6 +138,14 @@ public class DashboardController implements Initializable {
         // Setup tables
         setupTasksTable();
         setupUsersTable();
+
+        // Server counts are kept in step with every later change of tasksList, including the filtered
+        // list loadTasksForGroup swaps in, so they always match the shown tasks and are never recounted
+        tasksList.addListener((javafx.collections.ListChangeListener<Task>) change -> {
+            if (taskStatusCounts != null) {
+                DeltaPatcher.countChange(taskStatusCounts, change);
+            }
+        });
         
         // Setup buttons
         if (createGroupButton != null) {
@@ -550,20 +563,18 @@ public class DashboardController implements Initializable {
                 
                 String notificationType = notification.getType();
                 
-                // Refresh data based on notification type
-                if ("NEW_TASK".equals(notificationType) || 
+                // Apply the change carried by the notification, reload only if it carries none
+                boolean applied = applyDelta(notification);
+                if (!applied && ("NEW_TASK".equals(notificationType) || 
                     "TASK_STATUS_CHANGED".equals(notificationType) ||
-                    "DEADLINE_URGENT".equals(notificationType) ||
-                    "DEADLINE_WARNING".equals(notificationType) ||
-                    "DEADLINE_REMINDER".equals(notificationType) ||
-                    "DEADLINE_OVERDUE".equals(notificationType)) {
-                    loadTasks();
-                    updateStatistics();
-                } else if ("NEW_GROUP".equals(notificationType) || 
-                          "NEW_MEMBER".equals(notificationType)) {
+                    "TASK_UPDATED".equals(notificationType))) {
+                    loadDashboard();
+                } else if (!applied && ("NEW_GROUP".equals(notificationType) || 
+                          "GROUP_UPDATED".equals(notificationType) ||
+                          "GROUP_DELETED".equals(notificationType) ||
+                          "NEW_MEMBER".equals(notificationType))) {
                     loadAllGroups();
-                    loadMyGroups();
-                    updateStatistics();
+                    loadDashboard();
                 }
                 
                 // Show toast notification
@@ -579,9 +590,91 @@ public class DashboardController implements Initializable {
                     NotificationManager.showInfo(notification.getMessage());
                 }
             });
+        }, groupId -> {
+            // Notifications were missed while disconnected, reload instead
+            // (once, even if several groups need a resync after a reconnect)
+            if (resyncPending) {
+                return;
+            }
+            resyncPending = true;
+            Platform.runLater(() -> {
+                resyncPending = false;
+                loadDashboard();
+            });
         });
     }
 
+    /**
+     * Patch the dashboard lists with the task or group carried by a notification
+     * Deadline notifications change nothing and only show a toast
+     * @return false if the notification carries no change, the caller reloads instead
+     */
+    private boolean applyDelta(Notification notification) {
+        String type = notification.getType();
+        if (type != null && type.startsWith("DEADLINE_")) {
+            return true;
+        }
+
+        if ("GROUP_DELETED".equals(type) && notification.getGroupId() != null) {
+            Long groupId = notification.getGroupId();
+            DeltaPatcher.removeGroup(allGroupsList, groupId);
+            allGroups = List.copyOf(allGroupsList);
+            if (DeltaPatcher.removeGroup(myGroupsList, groupId)) {
+                DeltaPatcher.removeTasksOfGroup(tasksList, groupId);
+                updateNotificationSubscriptions();
+                updateGroupFilter();
+                updateStatistics();
+            }
+            return true;
+        }
+
+        Group group = notification.getGroup();
+        if (group != null) {
+            DeltaPatcher.upsertGroup(allGroupsList, group);
+            allGroups = List.copyOf(allGroupsList);
+            // Membership is not part of the change, groups the user is in are only refreshed
+            if (DeltaPatcher.replaceGroup(myGroupsList, group)) {
+                updateGroupFilter();
+                updateStatistics();
+            }
+            return true;
+        }
+
+        List<Task> tasks = notification.getTasks();
+        if (tasks != null && !tasks.isEmpty()) {
+            Group filter = groupFilterComboBox != null ? groupFilterComboBox.getValue() : null;
+            boolean changed = false;
+            for (Task task : tasks) {
+                // Same tasks as a reload would show: the filtered group or all groups of the user
+                boolean shown = filter != null
+                        ? filter.getGroupId().equals(task.getGroupId())
+                        : myGroupsList.stream().anyMatch(g -> g.getGroupId().equals(task.getGroupId()));
+                if (shown && DeltaPatcher.upsertTask(tasksList, task)) {
+                    changed = true;
+                }
+            }
+            if (changed) {
+                updateStatistics();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Receive group notifications only for groups the user is a member of
+     */
+    private void updateNotificationSubscriptions() {
+        if (webSocketClient == null) {
+            return;
+        }
+        List<Long> groupIds = new ArrayList<>();
+        for (Group group : myGroupsList) {
+            groupIds.add(group.getGroupId());
+        }
+        webSocketClient.updateSubscriptions(groupIds);
+    }
+
     /**
      * Load all data (called by SceneManager)
      */
@@ -597,13 +690,12 @@ public class DashboardController implements Initializable {
             statusLabel.setText("Loading data...");
         }
 
-        // Load groups, tasks, and users in parallel
+        // Load all groups, the dashboard (my groups with their tasks) and users in parallel
         CompletableFuture<Void> allGroupsFuture = loadAllGroups();
-        CompletableFuture<Void> myGroupsFuture = loadMyGroups();
-        CompletableFuture<Void> tasksFuture = loadTasks();
+        CompletableFuture<Void> dashboardFuture = loadDashboard();
         loadUsers(); // Load users
 
-        CompletableFuture.allOf(allGroupsFuture, myGroupsFuture, tasksFuture).thenRun(() -> {
+        CompletableFuture.allOf(allGroupsFuture, dashboardFuture).thenRun(() -> {
             Platform.runLater(() -> {
                 if (statusLabel != null) {
                     statusLabel.setText("Dashboard loaded. All Groups: " + allGroupsList.size() + 
@@ -661,75 +753,37 @@ public class DashboardController implements Initializable {
     }
     
     /**
-     * Load my groups from API - loads only groups where user is a member
+     * Load my groups, their tasks and task status counts in a single request
      */
-    private CompletableFuture<Void> loadMyGroups() {
+    private CompletableFuture<Void> loadDashboard() {
         if (userId == null) {
             return CompletableFuture.completedFuture(null);
         }
-        
-        return CompletableFuture.runAsync(() -> {
-            try {
-                String response = ApiClient.get("/groups/user/" + userId);
-                Type listType = new TypeToken<List<Group>>(){}.getType();
-                List<Group> groups = gson.fromJson(response, listType);
-                
-                System.out.println("Loaded " + (groups != null ? groups.size() : 0) + " my groups from API");
-                
-                Platform.runLater(() -> {
-                    myGroupsList.clear();
-                    if (groups != null && !groups.isEmpty()) {
-                        myGroupsList.addAll(groups);
-                        System.out.println("Added " + groups.size() + " groups to My Groups table");
-                    } else {
-                        System.out.println("No my groups found");
-                    }
-                });
-            } catch (Exception e) {
-                Platform.runLater(() -> {
-                    if (statusLabel != null) {
-                        statusLabel.setText("Error loading my groups: " + e.getMessage());
-                    }
-                });
-                System.err.println("Error loading my groups: " + e.getMessage());
-                e.printStackTrace();
-            }
-        });
-    }
 
-    /**
-     * Load tasks from all groups
-     */
-    private CompletableFuture<Void> loadTasks() {
         return CompletableFuture.runAsync(() -> {
             try {
-                // First load groups if not loaded
-                if (allGroups.isEmpty()) {
-                    String groupsResponse = ApiClient.get("/groups");
-                    Type listType = new TypeToken<List<Group>>(){}.getType();
-                    allGroups = gson.fromJson(groupsResponse, listType);
-                }
+                String response = ApiClient.get("/dashboard/" + userId);
+                Dashboard dashboard = gson.fromJson(response, Dashboard.class);
+                List<Group> groups = dashboard != null && dashboard.getGroups() != null ? dashboard.getGroups() : List.of();
+                List<Task> tasks = dashboard != null && dashboard.getTasks() != null ? dashboard.getTasks() : List.of();
 
-                // Load tasks from all groups
-                tasksList.clear();
-                for (Group group : allGroups) {
-                    try {
-                        String tasksResponse = ApiClient.get("/tasks/group/" + group.getGroupId());
-                        Type taskListType = new TypeToken<List<Task>>(){}.getType();
-                        List<Task> tasks = gson.fromJson(tasksResponse, taskListType);
-                        if (tasks != null) {
-                            Platform.runLater(() -> tasksList.addAll(tasks));
-                        }
-                    } catch (Exception e) {
-                        // Skip groups with no tasks or errors
-                    }
-                }
+                System.out.println("Loaded dashboard: " + groups.size() + " my groups, " + tasks.size() + " tasks");
+
+                Platform.runLater(() -> {
+                    myGroupsList.setAll(groups);
+                    tasksList.setAll(tasks);
+                    // After setAll, which resets the counts
+                    taskStatusCounts = dashboard != null ? dashboard.getStatusCounts() : null;
+                    updateNotificationSubscriptions();
+                    updateStatistics();
+                });
             } catch (Exception e) {
                 Platform.runLater(() -> {
                     if (statusLabel != null) {
-                        statusLabel.setText("Error loading tasks: " + e.getMessage());
+                        statusLabel.setText("Error loading dashboard: " + e.getMessage());
                     }
                 });
+                System.err.println("Error loading dashboard: " + e.getMessage());
                 e.printStackTrace();
             }
         });
@@ -878,7 +932,7 @@ public class DashboardController implements Initializable {
                     if (newGroup != null) {
                         // Reload both lists to get updated data with owner names
                         loadAllGroups();
-                        loadMyGroups();
+                        loadDashboard();
                         NotificationManager.showSuccess("Group created successfully!");
                     }
                 });
@@ -969,6 +1023,13 @@ public class DashboardController implements Initializable {
         stats.put("totalGroups", myGroupsList.size());
         stats.put("totalTasks", tasksList.size());
         
+        if (taskStatusCounts != null) {
+            stats.put("openTasks", taskStatusCounts.getOrDefault("OPEN", 0)
+                    + taskStatusCounts.getOrDefault("IN_PROGRESS", 0));
+            stats.put("doneTasks", taskStatusCounts.getOrDefault("DONE", 0));
+            return stats;
+        }
+        
         // Create a copy of the list to avoid ConcurrentModificationException
         List<Task> tasksCopy = new ArrayList<>(tasksList);
         
@@ -1195,7 +1256,7 @@ public class DashboardController implements Initializable {
     private void handleGroupFilterChange() {
         Group selectedGroup = groupFilterComboBox.getValue();
         if (selectedGroup == null) {
-            loadTasks();
+            loadDashboard();
         } else {
             loadTasksForGroup(selectedGroup.getGroupId());
         }
@@ -1440,7 +1501,7 @@ public class DashboardController implements Initializable {
                     // Reload both lists and refresh table to update Join button visibility
                     loadAllGroups().thenRun(() -> {
                         Platform.runLater(() -> {
-                            loadMyGroups().thenRun(() -> {
+                            loadDashboard().thenRun(() -> {
                                 Platform.runLater(() -> {
                                     // Refresh the table to update cell renderers
                                     allGroupsTable.refresh();
@@ -1482,7 +1543,7 @@ public class DashboardController implements Initializable {
                         Platform.runLater(() -> {
                             // Reload both lists
                             loadAllGroups();
-                            loadMyGroups();
+                            loadDashboard();
                             NotificationManager.showSuccess("Successfully left group: " + group.getName());
                         });
                     } catch (Exception e) {
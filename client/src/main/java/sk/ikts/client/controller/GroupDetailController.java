@@ -26,14 +26,18 @@ import sk.ikts.client.model.Resource;
 import sk.ikts.client.model.Task;
 import sk.ikts.client.util.ApiClient;
 import sk.ikts.client.util.ChatWebSocketClient;
+import sk.ikts.client.util.ChunkedUploader;
 import sk.ikts.client.util.NotificationManager;
 import sk.ikts.client.util.SceneManager;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.net.URL;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -90,6 +94,14 @@ public class GroupDetailController implements Initializable {
     private ChatWebSocketClient chatWebSocketClient;
     private String currentUserName;
 
+    // Chat history is loaded page by page when scrolling up
+    private static final int CHAT_PAGE_SIZE = 50;
+    // Chunks of a file upload sent in parallel
+    private static final int UPLOAD_CONCURRENCY = 3;
+    private Long oldestChatMessageId;
+    private boolean hasOlderChatMessages;
+    private boolean loadingOlderChatMessages;
+
     public void setGroup(Group group) {
         this.group = group;
         if (groupNameLabel != null && group != null) {
@@ -144,6 +156,14 @@ public class GroupDetailController implements Initializable {
         if (chatMessageField != null) {
             chatMessageField.setOnAction(e -> handleSendMessage());
         }
+        if (chatScrollPane != null) {
+            // Load older messages when the user scrolls to the top of the chat
+            chatScrollPane.vvalueProperty().addListener((obs, oldValue, newValue) -> {
+                if (newValue.doubleValue() <= chatScrollPane.getVmin() + 0.01 && oldValue.doubleValue() > newValue.doubleValue()) {
+                    loadOlderChatMessages();
+                }
+            });
+        }
         
         // Setup members table
         setupMembersTable();
@@ -389,8 +409,7 @@ public class GroupDetailController implements Initializable {
         CompletableFuture.runAsync(() -> {
             try {
                 System.out.println("Loading chat messages for group: " + group.getGroupId());
-                String response = ApiClient.get("/chat/group/" + group.getGroupId());
-                System.out.println("Chat API response: " + response);
+                String response = ApiClient.get("/chat/group/" + group.getGroupId() + "?limit=" + CHAT_PAGE_SIZE);
                 
                 Type listType = new TypeToken<List<ChatMessage>>(){}.getType();
                 List<ChatMessage> messages = gson.fromJson(response, listType);
@@ -399,6 +418,8 @@ public class GroupDetailController implements Initializable {
                 
                 Platform.runLater(() -> {
                     chatMessagesBox.getChildren().clear();
+                    oldestChatMessageId = messages != null && !messages.isEmpty() ? messages.get(0).getMessageId() : null;
+                    hasOlderChatMessages = messages != null && messages.size() >= CHAT_PAGE_SIZE;
                     if (messages != null && !messages.isEmpty()) {
                         for (ChatMessage message : messages) {
                             System.out.println("Adding message: " + message.getMessage() + " from " + message.getUserName());
@@ -425,6 +446,54 @@ public class GroupDetailController implements Initializable {
         });
     }
     
+    /**
+     * Prepend the page of messages older than the oldest one shown
+     */
+    private void loadOlderChatMessages() {
+        if (group == null || chatMessagesBox == null || !hasOlderChatMessages
+                || loadingOlderChatMessages || oldestChatMessageId == null) {
+            return;
+        }
+        loadingOlderChatMessages = true;
+        Long before = oldestChatMessageId;
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                String response = ApiClient.get("/chat/group/" + group.getGroupId()
+                        + "?before=" + before + "&limit=" + CHAT_PAGE_SIZE);
+                Type listType = new TypeToken<List<ChatMessage>>(){}.getType();
+                List<ChatMessage> messages = gson.fromJson(response, listType);
+
+                Platform.runLater(() -> {
+                    loadingOlderChatMessages = false;
+                    if (messages == null || messages.isEmpty()) {
+                        hasOlderChatMessages = false;
+                        return;
+                    }
+                    hasOlderChatMessages = messages.size() >= CHAT_PAGE_SIZE;
+                    oldestChatMessageId = messages.get(0).getMessageId();
+
+                    // Keep the message the user was looking at in place
+                    double oldHeight = chatMessagesBox.getHeight();
+                    List<HBox> nodes = new java.util.ArrayList<>();
+                    for (ChatMessage message : messages) {
+                        nodes.add(createChatMessageNode(message));
+                    }
+                    chatMessagesBox.getChildren().addAll(0, nodes);
+                    chatScrollPane.layout();
+                    double addedHeight = chatMessagesBox.getHeight() - oldHeight;
+                    double scrollable = chatMessagesBox.getHeight() - chatScrollPane.getViewportBounds().getHeight();
+                    if (scrollable > 0) {
+                        chatScrollPane.setVvalue(Math.min(1.0, addedHeight / scrollable));
+                    }
+                });
+            } catch (Exception e) {
+                System.err.println("Error loading older chat messages: " + e.getMessage());
+                Platform.runLater(() -> loadingOlderChatMessages = false);
+            }
+        });
+    }
+
     private void connectChatWebSocket() {
         if (group == null || userId == null) return;
         
@@ -434,97 +503,101 @@ public class GroupDetailController implements Initializable {
         }
         
         chatWebSocketClient = new ChatWebSocketClient();
-        chatWebSocketClient.connect(group.getGroupId(), this::addChatMessageToUI);
+        chatWebSocketClient.connect(group.getGroupId(), this::addChatMessageToUI, this::loadChatMessages);
     }
     
     private void addChatMessageToUI(ChatMessage message) {
         if (chatMessagesBox == null || message == null) return;
         
         Platform.runLater(() -> {
-            boolean isMyMessage = message.getUserId() != null && message.getUserId().equals(userId);
-            
-            // Main container for the message
-            HBox messageContainer = new HBox(10);
-            messageContainer.setMaxWidth(Double.MAX_VALUE);
-            messageContainer.setPadding(new Insets(8, 15, 8, 15));
-            
-            if (isMyMessage) {
-                messageContainer.setAlignment(javafx.geometry.Pos.CENTER_RIGHT);
-            } else {
-                messageContainer.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
-            }
-            
-            // Spacer for alignment
-            Region spacer = new Region();
-            HBox.setHgrow(spacer, Priority.ALWAYS);
-            
-            // Message bubble container
-            VBox messageBubble = new VBox(5);
-            messageBubble.setMaxWidth(500);
-            messageBubble.setPadding(new Insets(10, 15, 10, 15));
-            
-            // Style for message bubble
-            if (isMyMessage) {
-                messageBubble.setStyle(
-                    "-fx-background-color: #000000; " +
-                    "-fx-background-radius: 18px 18px 4px 18px; " +
-                    "-fx-effect: dropshadow(gaussian, rgba(0, 0, 0, 0.3), 5, 0, 0, 2);"
-                );
-            } else {
-                messageBubble.setStyle(
-                    "-fx-background-color: white; " +
-                    "-fx-background-radius: 18px 18px 18px 4px; " +
-                    "-fx-border-color: #e9ecef; " +
-                    "-fx-border-width: 1px; " +
-                    "-fx-border-radius: 18px 18px 18px 4px; " +
-                    "-fx-effect: dropshadow(gaussian, rgba(0, 0, 0, 0.1), 3, 0, 0, 1);"
-                );
-            }
-            
-            // User name and time
-            HBox headerBox = new HBox(8);
-            headerBox.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
-            
-            Label nameLabel = new Label(message.getUserName() != null ? message.getUserName() : "Unknown");
-            nameLabel.setStyle(
-                "-fx-font-size: 13px; " +
-                "-fx-font-weight: bold; " +
-                (isMyMessage ? "-fx-text-fill: rgba(255, 255, 255, 0.9);" : "-fx-text-fill: #000000;")
-            );
-            
-            if (message.getSentAt() != null) {
-                Label timeLabel = new Label(message.getSentAt().format(DateTimeFormatter.ofPattern("HH:mm")));
-                timeLabel.setStyle(
-                    "-fx-font-size: 11px; " +
-                    (isMyMessage ? "-fx-text-fill: rgba(255, 255, 255, 0.7);" : "-fx-text-fill: #6c757d;")
-                );
-                headerBox.getChildren().addAll(nameLabel, timeLabel);
-            } else {
-                headerBox.getChildren().add(nameLabel);
-            }
-            
-            // Message text
-            Label messageLabel = new Label(message.getMessage() != null ? message.getMessage() : "");
-            messageLabel.setWrapText(true);
-            messageLabel.setStyle(
-                "-fx-font-size: 14px; " +
-                "-fx-line-spacing: 2px; " +
-                (isMyMessage ? "-fx-text-fill: white;" : "-fx-text-fill: #2c3e50;")
-            );
-            
-            messageBubble.getChildren().addAll(headerBox, messageLabel);
-            
-            // Add to container
-            if (isMyMessage) {
-                messageContainer.getChildren().addAll(spacer, messageBubble);
-            } else {
-                messageContainer.getChildren().addAll(messageBubble, spacer);
-            }
-            
-            chatMessagesBox.getChildren().add(messageContainer);
+            chatMessagesBox.getChildren().add(createChatMessageNode(message));
             scrollChatToBottom();
         });
     }
+
+    private HBox createChatMessageNode(ChatMessage message) {
+        boolean isMyMessage = message.getUserId() != null && message.getUserId().equals(userId);
+        
+        // Main container for the message
+        HBox messageContainer = new HBox(10);
+        messageContainer.setMaxWidth(Double.MAX_VALUE);
+        messageContainer.setPadding(new Insets(8, 15, 8, 15));
+        
+        if (isMyMessage) {
+            messageContainer.setAlignment(javafx.geometry.Pos.CENTER_RIGHT);
+        } else {
+            messageContainer.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
+        }
+        
+        // Spacer for alignment
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        
+        // Message bubble container
+        VBox messageBubble = new VBox(5);
+        messageBubble.setMaxWidth(500);
+        messageBubble.setPadding(new Insets(10, 15, 10, 15));
+        
+        // Style for message bubble
+        if (isMyMessage) {
+            messageBubble.setStyle(
+                "-fx-background-color: #000000; " +
+                "-fx-background-radius: 18px 18px 4px 18px; " +
+                "-fx-effect: dropshadow(gaussian, rgba(0, 0, 0, 0.3), 5, 0, 0, 2);"
+            );
+        } else {
+            messageBubble.setStyle(
+                "-fx-background-color: white; " +
+                "-fx-background-radius: 18px 18px 18px 4px; " +
+                "-fx-border-color: #e9ecef; " +
+                "-fx-border-width: 1px; " +
+                "-fx-border-radius: 18px 18px 18px 4px; " +
+                "-fx-effect: dropshadow(gaussian, rgba(0, 0, 0, 0.1), 3, 0, 0, 1);"
+            );
+        }
+        
+        // User name and time
+        HBox headerBox = new HBox(8);
+        headerBox.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
+        
+        Label nameLabel = new Label(message.getUserName() != null ? message.getUserName() : "Unknown");
+        nameLabel.setStyle(
+            "-fx-font-size: 13px; " +
+            "-fx-font-weight: bold; " +
+            (isMyMessage ? "-fx-text-fill: rgba(255, 255, 255, 0.9);" : "-fx-text-fill: #000000;")
+        );
+        
+        if (message.getSentAt() != null) {
+            Label timeLabel = new Label(message.getSentAt().format(DateTimeFormatter.ofPattern("HH:mm")));
+            timeLabel.setStyle(
+                "-fx-font-size: 11px; " +
+                (isMyMessage ? "-fx-text-fill: rgba(255, 255, 255, 0.7);" : "-fx-text-fill: #6c757d;")
+            );
+            headerBox.getChildren().addAll(nameLabel, timeLabel);
+        } else {
+            headerBox.getChildren().add(nameLabel);
+        }
+        
+        // Message text
+        Label messageLabel = new Label(message.getMessage() != null ? message.getMessage() : "");
+        messageLabel.setWrapText(true);
+        messageLabel.setStyle(
+            "-fx-font-size: 14px; " +
+            "-fx-line-spacing: 2px; " +
+            (isMyMessage ? "-fx-text-fill: white;" : "-fx-text-fill: #2c3e50;")
+        );
+        
+        messageBubble.getChildren().addAll(headerBox, messageLabel);
+        
+        // Add to container
+        if (isMyMessage) {
+            messageContainer.getChildren().addAll(spacer, messageBubble);
+        } else {
+            messageContainer.getChildren().addAll(messageBubble, spacer);
+        }
+        
+        return messageContainer;
+    }
     
     private void scrollChatToBottom() {
         if (chatScrollPane != null) {
@@ -982,47 +1055,31 @@ public class GroupDetailController implements Initializable {
         }
         
         // Show progress dialog
+        ProgressBar progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(320);
+        Label progressLabel = new Label("Preparing " + file.getName() + "...");
+        VBox progressContent = new VBox(10, progressLabel, progressBar);
+        progressContent.setPadding(new Insets(10));
         Alert progressAlert = new Alert(Alert.AlertType.INFORMATION);
         progressAlert.setTitle("Uploading File");
-        progressAlert.setHeaderText("Please wait...");
-        progressAlert.setContentText("Uploading " + file.getName() + "...");
+        progressAlert.setHeaderText("Uploading " + file.getName());
+        progressAlert.getDialogPane().setContent(progressContent);
         progressAlert.show();
-        
+
         CompletableFuture.runAsync(() -> {
             try {
-                RequestBody fileBody = RequestBody.create(file, MediaType.parse("application/octet-stream"));
-                RequestBody requestBody = new MultipartBody.Builder()
-                        .setType(MultipartBody.FORM)
-                        .addFormDataPart("file", file.getName(), fileBody)
-                        .addFormDataPart("groupId", group.getGroupId().toString())
-                        .addFormDataPart("uploadedBy", userId.toString())
-                        .addFormDataPart("title", title)
-                        .build();
+                // Chunked and resumable, uploading the same file again continues where it stopped
+                ChunkedUploader uploader = new ChunkedUploader(httpClient, UPLOAD_CONCURRENCY);
+                uploader.upload(file, group.getGroupId(), userId, title, fraction -> Platform.runLater(() -> {
+                    progressBar.setProgress(fraction);
+                    progressLabel.setText(String.format("%.0f %% of %s", fraction * 100, file.getName()));
+                }));
 
-                Request request = new Request.Builder()
-                        .url("http://127.0.0.1:8081/api/resources/upload")
-                        .post(requestBody)
-                        .build();
-
-                try (Response response = httpClient.newCall(request).execute()) {
-                    Platform.runLater(() -> {
-                        progressAlert.close();
-                    });
-                    
-                    if (response.isSuccessful()) {
-                        Platform.runLater(() -> {
-                            progressAlert.close();
-                            loadResources();
-                            NotificationManager.showSuccess("File '" + title + "' uploaded successfully!");
-                        });
-                    } else {
-                        String errorBody = response.body() != null ? response.body().string() : "Unknown error";
-                        Platform.runLater(() -> {
-                            progressAlert.close();
-                            NotificationManager.showError("Failed to upload file: " + response.code() + " - " + errorBody);
-                        });
-                    }
-                }
+                Platform.runLater(() -> {
+                    progressAlert.close();
+                    loadResources();
+                    NotificationManager.showSuccess("File '" + title + "' uploaded successfully!");
+                });
             } catch (Exception e) {
                 Platform.runLater(() -> {
                     progressAlert.close();
@@ -1096,35 +1153,57 @@ public class GroupDetailController implements Initializable {
     }
 
     private void downloadResource(Resource resource) {
+        saveDownload("http://127.0.0.1:8081/api/resources/" + resource.getResourceId() + "/download",
+                resource.getTitle(), "File downloaded successfully!");
+    }
+
+    @FXML
+    private void handleDownloadAll() {
+        if (group == null) return;
+
+        // One streamed ZIP instead of a request per file
+        saveDownload("http://127.0.0.1:8081/api/resources/group/" + group.getGroupId() + "/archive",
+                group.getName() + ".zip", "Resources downloaded successfully!");
+    }
+
+    private void saveDownload(String url, String initialFileName, String successMessage) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save File");
+        fileChooser.setInitialFileName(initialFileName);
+        File file = fileChooser.showSaveDialog(resourcesTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
         CompletableFuture.runAsync(() -> {
+            // Stream into a side file, a failed download never leaves a truncated file behind
+            Path target = file.toPath();
+            Path partial = target.resolveSibling(target.getFileName() + ".part");
             try {
                 Request request = new Request.Builder()
-                        .url("http://127.0.0.1:8081/api/resources/" + resource.getResourceId() + "/download")
+                        .url(url)
                         .get()
                         .build();
 
                 try (Response response = httpClient.newCall(request).execute()) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        byte[] fileContent = response.body().bytes();
-                        
-                        Platform.runLater(() -> {
-                            FileChooser fileChooser = new FileChooser();
-                            fileChooser.setTitle("Save File");
-                            fileChooser.setInitialFileName(resource.getTitle());
-                            File file = fileChooser.showSaveDialog(resourcesTable.getScene().getWindow());
-                            
-                            if (file != null) {
-                                try {
-                                    Files.write(file.toPath(), fileContent);
-                                    new Alert(Alert.AlertType.INFORMATION, "File downloaded successfully!").show();
-                                } catch (IOException e) {
-                                    new Alert(Alert.AlertType.ERROR, "Failed to save file: " + e.getMessage()).show();
-                                }
-                            }
-                        });
+                    if (!response.isSuccessful() || response.body() == null) {
+                        throw new IOException("Server returned " + response.code());
+                    }
+                    try (InputStream content = response.body().byteStream()) {
+                        Files.copy(content, partial, StandardCopyOption.REPLACE_EXISTING);
                     }
                 }
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+
+                Platform.runLater(() -> {
+                    new Alert(Alert.AlertType.INFORMATION, successMessage).show();
+                });
             } catch (Exception e) {
+                try {
+                    Files.deleteIfExists(partial);
+                } catch (IOException ignored) {
+                    // Best effort cleanup
+                }
                 Platform.runLater(() -> {
                     new Alert(Alert.AlertType.ERROR, "Failed to download file: " + e.getMessage()).show();
                 });
@@ -0,0 +1,45 @@
+package sk.ikts.client.model;
+
+import java.util.List;
+import java.util.Map;
+
+public class Dashboard {
+    private Long userId;
+    private List<Group> groups;
+    private List<Task> tasks;
+    private Map<String, Integer> statusCounts; // Task status name -> number of tasks
+
+    public Dashboard() {}
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<Group> groups) {
+        this.groups = groups;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    public Map<String, Integer> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Integer> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+}
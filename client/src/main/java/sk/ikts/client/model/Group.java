@@ -9,6 +9,7 @@ public class Group {
     private Long createdBy;
     private String ownerName; // Name of the group owner
     private LocalDateTime createdAt;
+    private Long version; // Increases with every change on the server
 
     public Group() {}
 
@@ -59,5 +60,13 @@ public class Group {
     public void setOwnerName(String ownerName) {
         this.ownerName = ownerName;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
@@ -1,6 +1,7 @@
 package sk.ikts.client.model;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class Notification {
     private String type;
@@ -9,6 +10,12 @@ public class Notification {
     private Long taskId;
     private Long userId;
     private LocalDateTime timestamp;
+    // Set when the server merged several notifications of this type into one
+    private Integer count;
+    private List<Long> taskIds;
+    // Changed task or group, applied to the dashboard without reloading it
+    private List<Task> tasks;
+    private Group group;
 
     public Notification() {}
 
@@ -59,5 +66,36 @@ public class Notification {
     public void setTimestamp(LocalDateTime timestamp) {
         this.timestamp = timestamp;
     }
-}
 
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    public Group getGroup() {
+        return group;
+    }
+
+    public void setGroup(Group group) {
+        this.group = group;
+    }
+}
@@ -16,6 +16,7 @@ public class Task {
     private LocalDateTime deadline;
     private LocalDateTime createdAt;
     private String reminders; // JSON array of hours before deadline, e.g., "[24, 6, 1]"
+    private Long version; // Increases with every change on the server
 
     public Task() {}
 
@@ -103,5 +104,13 @@ public class Task {
     public void setReminders(String reminders) {
         this.reminders = reminders;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
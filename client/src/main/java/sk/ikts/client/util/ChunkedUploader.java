@@ -0,0 +1,219 @@
+package sk.ikts.client.util;
+
+import com.google.gson.Gson;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import sk.ikts.client.model.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Uploads a file through the chunked upload API of the server
+ *
+ * The file is hashed, an upload session is started (the server resumes an open one
+ * for the same file) and the chunks the server does not have yet are sent by a fixed
+ * number of workers, so at most that many chunks are in memory and on the wire at
+ * once. A failed chunk is retried with exponential backoff without affecting the
+ * others; if the upload still fails, uploading the same file again continues where
+ * it stopped.
+ */
+public class ChunkedUploader {
+    private static final String BASE_URL = "http://127.0.0.1:8081/api/resources/uploads";
+    private static final MediaType OCTET_STREAM = MediaType.get("application/octet-stream");
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long INITIAL_BACKOFF_MS = 500;
+    private static final int COMMIT_ROUNDS = 2;
+
+    private final Gson gson = ApiClient.getGson();
+    private final OkHttpClient httpClient;
+    private final int concurrency;
+
+    /**
+     * @param httpClient client used for the chunk and commit requests
+     * @param concurrency chunks uploaded in parallel
+     */
+    public ChunkedUploader(OkHttpClient httpClient, int concurrency) {
+        this.httpClient = httpClient;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Upload a file and create a resource for it
+     * @param progress called with the fraction of the file stored on the server, from worker threads
+     * @return the created resource
+     */
+    public Resource upload(File file, Long groupId, Long uploadedBy, String title, DoubleConsumer progress)
+            throws IOException, InterruptedException {
+        long size = file.length();
+        String sha256 = sha256(file);
+
+        Map<String, Object> start = new HashMap<>();
+        start.put("groupId", groupId);
+        start.put("uploadedBy", uploadedBy);
+        start.put("title", title);
+        start.put("size", size);
+        start.put("sha256", sha256);
+
+        for (int round = 1; ; round++) {
+            UploadSession session = gson.fromJson(ApiClient.post("/resources/uploads", start), UploadSession.class);
+            sendMissingChunks(file, session, progress);
+
+            Request request = new Request.Builder()
+                    .url(BASE_URL + "/" + session.uploadId + "/commit")
+                    .post(RequestBody.create(new byte[0], null))
+                    .build();
+            try (Response response = httpClient.newCall(request).execute()) {
+                String body = response.body() != null ? response.body().string() : "";
+                if (response.isSuccessful()) {
+                    return gson.fromJson(body, Resource.class);
+                }
+                // 409 when a chunk went missing (e.g. the session expired meanwhile), start over once
+                if (response.code() != 409 || round == COMMIT_ROUNDS) {
+                    throw new IOException("Server error " + response.code() + ": " + body);
+                }
+            }
+        }
+    }
+
+    private void sendMissingChunks(File file, UploadSession session, DoubleConsumer progress)
+            throws IOException, InterruptedException {
+        Set<Integer> received = new HashSet<>(session.receivedChunks);
+        AtomicLong sent = new AtomicLong();
+        List<Integer> missing = new ArrayList<>();
+        for (int index = 0; index < session.chunkCount; index++) {
+            if (received.contains(index)) {
+                sent.addAndGet(chunkLength(session, index));
+            } else {
+                missing.add(index);
+            }
+        }
+        progress.accept(fraction(sent.get(), session.size));
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, missing.size())), runnable -> {
+            Thread thread = new Thread(runnable, "chunk-upload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            List<Future<?>> uploads = new ArrayList<>();
+            for (int index : missing) {
+                uploads.add(workers.submit(() -> {
+                    sendChunk(channel, session, index);
+                    progress.accept(fraction(sent.addAndGet(chunkLength(session, index)), session.size));
+                    return null;
+                }));
+            }
+            for (Future<?> upload : uploads) {
+                upload.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void sendChunk(FileChannel channel, UploadSession session, int index)
+            throws IOException, InterruptedException {
+        // Positional reads, the workers share the channel
+        long offset = (long) index * session.chunkSize;
+        ByteBuffer buffer = ByteBuffer.allocate((int) chunkLength(session, index));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("File changed during upload");
+            }
+        }
+        RequestBody body = RequestBody.create(buffer.array(), OCTET_STREAM);
+        Request request = new Request.Builder()
+                .url(BASE_URL + "/" + session.uploadId + "/chunks/" + index)
+                .put(body)
+                .build();
+
+        long backoff = INITIAL_BACKOFF_MS;
+        for (int attempt = 1; ; attempt++) {
+            int code;
+            String error;
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (response.isSuccessful()) {
+                    return;
+                }
+                code = response.code();
+                error = code + " " + (response.body() != null ? response.body().string() : "");
+            } catch (IOException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                code = 0;
+                error = e.getMessage();
+            }
+            // Client errors will not go away by retrying
+            if (code >= 400 && code < 500) {
+                throw new IOException("Chunk " + index + " rejected: " + error);
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                throw new IOException("Chunk " + index + " failed: " + error);
+            }
+            System.err.println("Retrying chunk " + index + " after error: " + error);
+            Thread.sleep(backoff);
+            backoff *= 2;
+        }
+    }
+
+    private static long chunkLength(UploadSession session, int index) {
+        return Math.min(session.chunkSize, session.size - (long) index * session.chunkSize);
+    }
+
+    private static double fraction(long done, long total) {
+        return total > 0 ? (double) done / total : 1.0;
+    }
+
+    private static String sha256(File file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Upload session as returned by the server
+     */
+    private static final class UploadSession {
+        private String uploadId;
+        private long size;
+        private int chunkSize;
+        private int chunkCount;
+        private List<Integer> receivedChunks = new ArrayList<>();
+    }
+}
@@ -0,0 +1,106 @@
+package sk.ikts.client.util;
+
+import javafx.collections.ListChangeListener;
+import sk.ikts.client.model.Group;
+import sk.ikts.client.model.Task;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Applies the task and group changes carried by notifications to the dashboard lists
+ * An entry is only replaced by a newer version, so a delayed or repeated notification
+ * never overwrites a later change
+ */
+public final class DeltaPatcher {
+
+    private DeltaPatcher() {
+    }
+
+    /**
+     * Add a task or replace it with a newer version
+     * @return true if the list changed
+     */
+    public static boolean upsertTask(List<Task> tasks, Task task) {
+        return upsert(tasks, task, Task::getTaskId, Task::getVersion, true);
+    }
+
+    /**
+     * Add a group or replace it with a newer version
+     * @return true if the list changed
+     */
+    public static boolean upsertGroup(List<Group> groups, Group group) {
+        return upsert(groups, group, Group::getGroupId, Group::getVersion, true);
+    }
+
+    /**
+     * Replace a group already in the list with a newer version, other groups are ignored
+     * @return true if the list changed
+     */
+    public static boolean replaceGroup(List<Group> groups, Group group) {
+        return upsert(groups, group, Group::getGroupId, Group::getVersion, false);
+    }
+
+    /**
+     * Remove a group
+     * @return true if it was in the list
+     */
+    public static boolean removeGroup(List<Group> groups, Long groupId) {
+        return groups.removeIf(group -> Objects.equals(group.getGroupId(), groupId));
+    }
+
+    /**
+     * Remove all tasks of a group
+     * @return true if the list changed
+     */
+    public static boolean removeTasksOfGroup(List<Task> tasks, Long groupId) {
+        return tasks.removeIf(task -> Objects.equals(task.getGroupId(), groupId));
+    }
+
+    /**
+     * Keep task counts per status in step with a change of the task list
+     * @param counts counts by status name, updated in place
+     */
+    public static void countChange(Map<String, Integer> counts, ListChangeListener.Change<? extends Task> change) {
+        while (change.next()) {
+            for (Task task : change.getRemoved()) {
+                count(counts, task, -1);
+            }
+            for (Task task : change.getAddedSubList()) {
+                count(counts, task, 1);
+            }
+        }
+    }
+
+    private static void count(Map<String, Integer> counts, Task task, int delta) {
+        if (task.getStatus() != null) {
+            counts.merge(task.getStatus().name(), delta, Integer::sum);
+        }
+    }
+
+    private static <T> boolean upsert(List<T> list, T item, Function<T, Long> id, Function<T, Long> version,
+                                      boolean insert) {
+        Long itemId = id.apply(item);
+        for (int i = 0; i < list.size(); i++) {
+            T current = list.get(i);
+            if (Objects.equals(id.apply(current), itemId)) {
+                if (!isNewer(version.apply(item), version.apply(current))) {
+                    return false;
+                }
+                list.set(i, item);
+                return true;
+            }
+        }
+        if (insert) {
+            list.add(item);
+        }
+        return insert;
+    }
+
+    private static boolean isNewer(Long version, Long current) {
+        // Without versions (older server) the latest notification wins
+        return version == null || current == null || version > current;
+    }
+}
@@ -0,0 +1,113 @@
+package sk.ikts.client.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes MessagePack (https://msgpack.org/) binary frames of the server into a JSON tree
+ *
+ * Handles the types the server writes for JSON events: nil, bool, int, float,
+ * str, array and map (with string keys). Binary and extension types are rejected.
+ */
+public final class MessagePackReader {
+
+    private MessagePackReader() {
+    }
+
+    /**
+     * @param buffer frame payload, read from its position to its limit
+     * @throws IllegalArgumentException if the payload is not valid MessagePack
+     */
+    public static JsonElement read(ByteBuffer buffer) {
+        try {
+            JsonElement value = value(buffer);
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes after MessagePack value");
+            }
+            return value;
+        } catch (java.nio.BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated MessagePack value", e);
+        }
+    }
+
+    private static JsonElement value(ByteBuffer in) {
+        int marker = in.get() & 0xff;
+        if (marker <= 0x7f) {
+            return new JsonPrimitive(marker);
+        } else if (marker >= 0xe0) {
+            return new JsonPrimitive((byte) marker);
+        } else if (marker >= 0x80 && marker <= 0x8f) {
+            return map(in, marker & 0x0f);
+        } else if (marker >= 0x90 && marker <= 0x9f) {
+            return array(in, marker & 0x0f);
+        } else if (marker >= 0xa0 && marker <= 0xbf) {
+            return new JsonPrimitive(string(in, marker & 0x1f));
+        }
+        switch (marker) {
+            case 0xc0: return JsonNull.INSTANCE;
+            case 0xc2: return new JsonPrimitive(false);
+            case 0xc3: return new JsonPrimitive(true);
+            case 0xca: return new JsonPrimitive(in.getFloat());
+            case 0xcb: return new JsonPrimitive(in.getDouble());
+            case 0xcc: return new JsonPrimitive(in.get() & 0xff);
+            case 0xcd: return new JsonPrimitive(in.getShort() & 0xffff);
+            case 0xce: return new JsonPrimitive(in.getInt() & 0xffffffffL);
+            case 0xcf: return new JsonPrimitive(in.getLong()); // uint 64 above Long.MAX_VALUE is not used by the server
+            case 0xd0: return new JsonPrimitive(in.get());
+            case 0xd1: return new JsonPrimitive(in.getShort());
+            case 0xd2: return new JsonPrimitive(in.getInt());
+            case 0xd3: return new JsonPrimitive(in.getLong());
+            case 0xd9: return new JsonPrimitive(string(in, in.get() & 0xff));
+            case 0xda: return new JsonPrimitive(string(in, in.getShort() & 0xffff));
+            case 0xdb: return new JsonPrimitive(string(in, length(in.getInt())));
+            case 0xdc: return array(in, in.getShort() & 0xffff);
+            case 0xdd: return array(in, length(in.getInt()));
+            case 0xde: return map(in, in.getShort() & 0xffff);
+            case 0xdf: return map(in, length(in.getInt()));
+            default:
+                throw new IllegalArgumentException("Unsupported MessagePack type 0x" + Integer.toHexString(marker));
+        }
+    }
+
+    private static JsonObject map(ByteBuffer in, int size) {
+        JsonObject object = new JsonObject();
+        for (int i = 0; i < size; i++) {
+            JsonElement key = value(in);
+            if (!key.isJsonPrimitive() || !key.getAsJsonPrimitive().isString()) {
+                throw new IllegalArgumentException("MessagePack map key is not a string");
+            }
+            object.add(key.getAsString(), value(in));
+        }
+        return object;
+    }
+
+    private static JsonArray array(ByteBuffer in, int size) {
+        JsonArray array = new JsonArray(Math.min(size, 1024));
+        for (int i = 0; i < size; i++) {
+            array.add(value(in));
+        }
+        return array;
+    }
+
+    private static String string(ByteBuffer in, int length) {
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("Truncated MessagePack string");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int length(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("MessagePack length too large");
+        }
+        return length;
+    }
+}
@@ -1,92 +1,82 @@
 package sk.ikts.client.util;
 
-import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 import javafx.application.Platform;
-import org.java_websocket.client.WebSocketClient;
-import org.java_websocket.handshake.ServerHandshake;
 import sk.ikts.client.model.Notification;
 
-import java.net.URI;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Consumer;
 
 /**
  * WebSocket client for real-time notifications
  * Connects to server WebSocket endpoint and handles notifications
+ * Group notifications are only delivered for groups passed to {@link #updateSubscriptions}
+ * Reconnects automatically and resumes the stream where it left off
  */
-public class NotificationWebSocketClient {
-    private static final String WS_URL = "ws://127.0.0.1:8081/ws/simple";
-    private WebSocketClient ws;
+public class NotificationWebSocketClient extends ReconnectingWebSocketClient {
     private Consumer<Notification> onNotificationCallback;
-    private final Gson gson = ApiClient.getGson();
-    private boolean connected = false;
+    private Consumer<Long> onResyncCallback;
+
+    public NotificationWebSocketClient() {
+        super("notifications", "WebSocket");
+    }
 
     /**
      * Connect to WebSocket server
      * @param onNotification callback for received notifications
      */
     public void connect(Consumer<Notification> onNotification) {
-        this.onNotificationCallback = onNotification;
-        
-        try {
-            URI serverUri = new URI(WS_URL);
-            ws = new WebSocketClient(serverUri) {
-                @Override
-                public void onOpen(ServerHandshake handshake) {
-                    connected = true;
-                    System.out.println("WebSocket connected");
-                }
+        connect(onNotification, null);
+    }
 
-                @Override
-                public void onMessage(String message) {
-                    try {
-                        Notification notification = gson.fromJson(message, Notification.class);
-                        if (onNotificationCallback != null && notification != null) {
-                            Platform.runLater(() -> onNotificationCallback.accept(notification));
-                        }
-                    } catch (Exception e) {
-                        System.err.println("Error parsing notification: " + e.getMessage());
-                    }
-                }
+    /**
+     * Connect to WebSocket server
+     * @param onNotification callback for received notifications
+     * @param onResync callback with the group id when missed notifications cannot be replayed
+     */
+    public void connect(Consumer<Notification> onNotification, Consumer<Long> onResync) {
+        this.onNotificationCallback = onNotification;
+        this.onResyncCallback = onResync;
+        start();
+    }
 
-                @Override
-                public void onClose(int code, String reason, boolean remote) {
-                    connected = false;
-                    System.out.println("WebSocket disconnected: " + reason);
-                }
+    /**
+     * Replace the set of groups whose notifications should be received
+     * Only the difference to the current subscriptions is sent to the server
+     * @param groupIds groups the user wants notifications for
+     */
+    public void updateSubscriptions(Collection<Long> groupIds) {
+        Set<Long> wanted = new HashSet<>(groupIds);
+        wanted.remove(null);
 
-                @Override
-                public void onError(Exception ex) {
-                    System.err.println("WebSocket error: " + ex.getMessage());
-                    connected = false;
-                }
-            };
-            
-            ws.connect();
-        } catch (Exception e) {
-            System.err.println("Failed to connect WebSocket: " + e.getMessage());
-            connected = false;
+        for (Long groupId : new HashSet<>(getSubscribedGroups())) {
+            if (!wanted.contains(groupId)) {
+                unsubscribe(groupId);
+            }
+        }
+        for (Long groupId : wanted) {
+            subscribe(groupId);
         }
     }
 
-    /**
-     * Disconnect from WebSocket server
-     */
-    public void disconnect() {
-        if (ws != null && connected) {
-            try {
-                ws.close();
-            } catch (Exception e) {
-                System.err.println("Error disconnecting WebSocket: " + e.getMessage());
+    @Override
+    protected void onEvent(JsonObject frame) {
+        try {
+            Notification notification = gson.fromJson(frame, Notification.class);
+            if (onNotificationCallback != null && notification != null && notification.getType() != null) {
+                Platform.runLater(() -> onNotificationCallback.accept(notification));
             }
-            connected = false;
+        } catch (Exception e) {
+            System.err.println("Error parsing notification: " + e.getMessage());
         }
     }
 
-    /**
-     * Check if connected
-     */
-    public boolean isConnected() {
-        return connected && ws != null && ws.isOpen();
+    @Override
+    protected void onResync(Long groupId) {
+        if (onResyncCallback != null) {
+            Platform.runLater(() -> onResyncCallback.accept(groupId));
+        }
     }
 }
-
@@ -0,0 +1,309 @@
+package sk.ikts.client.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.drafts.Draft_6455;
+import org.java_websocket.handshake.ServerHandshake;
+import org.java_websocket.protocols.IProtocol;
+import org.java_websocket.protocols.Protocol;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base for clients of the /ws/simple endpoint
+ *
+ * Reconnects automatically with jittered exponential backoff and resubscribes
+ * the tracked groups. For every group it remembers the last event sequence seen,
+ * so after a reconnect the server replays the missed events. When the server
+ * cannot replay them (RESYNC_REQUIRED) or a gap is detected, {@link #onResync}
+ * is called and the subclass must reload the group's data.
+ *
+ * The client asks for the binary "callstudy.msgpack" subprotocol at the handshake,
+ * so the server sends events as MessagePack binary frames; a server that does not
+ * offer it keeps sending JSON text frames, both are handled the same way.
+ */
+public abstract class ReconnectingWebSocketClient {
+    protected static final String WS_URL = "ws://127.0.0.1:8081/ws/simple";
+
+    private static final long INITIAL_BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 30000;
+
+    // Preferred first, the empty protocol accepts a server that negotiates none
+    private static final List<IProtocol> PROTOCOLS = List.of(
+            new Protocol("callstudy.msgpack"), new Protocol("callstudy.json"), new Protocol(""));
+
+    protected final Gson gson = ApiClient.getGson();
+
+    private final String channel;
+    private final String name;
+    private final Set<Long> subscribedGroups = ConcurrentHashMap.newKeySet();
+    // groupId -> last sequence seen
+    private final Map<Long, Long> lastSeqs = new ConcurrentHashMap<>();
+    private volatile String epoch;
+
+    private final ScheduledExecutorService reconnectExecutor;
+    private volatile WebSocketClient ws;
+    private volatile boolean stopped = true;
+    private int attempt;
+
+    /**
+     * @param channel server channel, "notifications" or "chat"
+     * @param name used in log messages
+     */
+    protected ReconnectingWebSocketClient(String channel, String name) {
+        this.channel = channel;
+        this.name = name;
+        this.reconnectExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-reconnect");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Handle an event frame of a subscribed group (or an unsequenced broadcast)
+     * Called on the WebSocket thread
+     */
+    protected abstract void onEvent(JsonObject frame);
+
+    /**
+     * Events of the group were lost and cannot be replayed, reload its data
+     * Called on the WebSocket thread
+     */
+    protected abstract void onResync(Long groupId);
+
+    /**
+     * Open the connection, reconnecting until {@link #disconnect()} is called
+     */
+    protected void start() {
+        stopped = false;
+        openConnection();
+    }
+
+    /**
+     * Start receiving events of a group
+     */
+    protected void subscribe(Long groupId) {
+        if (groupId != null && subscribedGroups.add(groupId)) {
+            sendIfOpen(subscriptionCommand("subscribe", groupId));
+        }
+    }
+
+    /**
+     * Stop receiving events of a group
+     */
+    protected void unsubscribe(Long groupId) {
+        if (subscribedGroups.remove(groupId)) {
+            lastSeqs.remove(groupId);
+            sendIfOpen(subscriptionCommand("unsubscribe", groupId));
+        }
+    }
+
+    protected Set<Long> getSubscribedGroups() {
+        return subscribedGroups;
+    }
+
+    /**
+     * Disconnect from WebSocket server and stop reconnecting
+     */
+    public void disconnect() {
+        stopped = true;
+        reconnectExecutor.shutdownNow();
+        WebSocketClient current = ws;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (Exception e) {
+                System.err.println("Error disconnecting " + name + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Check if connected
+     */
+    public boolean isConnected() {
+        WebSocketClient current = ws;
+        return current != null && current.isOpen();
+    }
+
+    private void openConnection() {
+        if (stopped) {
+            return;
+        }
+        try {
+            Draft_6455 draft = new Draft_6455(Collections.emptyList(), PROTOCOLS);
+            WebSocketClient client = new WebSocketClient(new URI(WS_URL), draft) {
+                @Override
+                public void onOpen(ServerHandshake handshake) {
+                    synchronized (ReconnectingWebSocketClient.this) {
+                        attempt = 0;
+                    }
+                    System.out.println(name + " connected");
+                    // Subscribe (or resume) groups registered before the connection was open
+                    for (Long groupId : subscribedGroups) {
+                        send(subscriptionCommand("subscribe", groupId));
+                    }
+                }
+
+                @Override
+                public void onMessage(String message) {
+                    handleFrame(message);
+                }
+
+                @Override
+                public void onMessage(ByteBuffer message) {
+                    JsonObject frame;
+                    try {
+                        frame = MessagePackReader.read(message).getAsJsonObject();
+                    } catch (Exception e) {
+                        System.err.println(name + ": ignoring malformed binary frame");
+                        return;
+                    }
+                    handleFrame(frame);
+                }
+
+                @Override
+                public void onClose(int code, String reason, boolean remote) {
+                    System.out.println(name + " disconnected: " + reason);
+                    if (ws == this) {
+                        scheduleReconnect();
+                    }
+                }
+
+                @Override
+                public void onError(Exception ex) {
+                    System.err.println(name + " error: " + ex.getMessage());
+                }
+            };
+            ws = client;
+            client.connect();
+        } catch (Exception e) {
+            System.err.println("Failed to connect " + name + ": " + e.getMessage());
+            scheduleReconnect();
+        }
+    }
+
+    private void scheduleReconnect() {
+        if (stopped) {
+            return;
+        }
+        long delay;
+        synchronized (this) {
+            long ceiling = Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << Math.min(attempt, 16));
+            attempt++;
+            // Random delay in [ceiling/2, ceiling] so clients of a restarted server do not reconnect in lockstep
+            delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        }
+        try {
+            reconnectExecutor.schedule(this::openConnection, delay, TimeUnit.MILLISECONDS);
+            System.out.println(name + " reconnecting in " + delay + " ms");
+        } catch (Exception e) {
+            // Executor shut down by disconnect()
+        }
+    }
+
+    private void handleFrame(String message) {
+        JsonObject frame;
+        try {
+            frame = JsonParser.parseString(message).getAsJsonObject();
+        } catch (Exception e) {
+            System.err.println(name + ": ignoring malformed frame");
+            return;
+        }
+        handleFrame(frame);
+    }
+
+    private void handleFrame(JsonObject frame) {
+        String type = optionalString(frame, "type");
+        Long groupId = optionalLong(frame, "groupId");
+        Long seq = optionalLong(frame, "seq");
+        String frameEpoch = optionalString(frame, "epoch");
+
+        if ("SUBSCRIBED".equals(type) || "RESYNC_REQUIRED".equals(type)) {
+            if (groupId == null || seq == null || !subscribedGroups.contains(groupId)) {
+                return;
+            }
+            epoch = frameEpoch;
+            lastSeqs.put(groupId, seq);
+            if ("RESYNC_REQUIRED".equals(type)) {
+                onResync(groupId);
+            }
+            return;
+        }
+
+        if (seq != null && groupId != null && subscribedGroups.contains(groupId)) {
+            Long last = lastSeqs.get(groupId);
+            if (last != null && frameEpoch != null && frameEpoch.equals(epoch)) {
+                if (seq <= last) {
+                    return; // Already seen (replay overlap)
+                }
+                if (seq > last + 1) {
+                    // Events were dropped on the way (e.g. slow connection), reload
+                    lastSeqs.put(groupId, seq);
+                    onResync(groupId);
+                    onEvent(frame);
+                    return;
+                }
+            }
+            epoch = frameEpoch;
+            lastSeqs.put(groupId, seq);
+        }
+        onEvent(frame);
+    }
+
+    private void sendIfOpen(String command) {
+        WebSocketClient current = ws;
+        if (current != null && current.isOpen()) {
+            try {
+                current.send(command);
+            } catch (Exception e) {
+                // Resubscribed in onOpen after reconnect
+                System.err.println("Failed to send subscription: " + e.getMessage());
+            }
+        }
+    }
+
+    private String subscriptionCommand(String action, Long groupId) {
+        JsonObject command = new JsonObject();
+        command.addProperty("action", action);
+        command.addProperty("groupId", groupId);
+        command.addProperty("channel", channel);
+        Long lastSeq = lastSeqs.get(groupId);
+        if ("subscribe".equals(action) && lastSeq != null && epoch != null) {
+            command.addProperty("lastSeq", lastSeq);
+            command.addProperty("epoch", epoch);
+        }
+        return command.toString();
+    }
+
+    private static String optionalString(JsonObject frame, String name) {
+        JsonElement element = frame.get(name);
+        return element != null && !element.isJsonNull() ? element.getAsString() : null;
+    }
+
+    private static Long optionalLong(JsonObject frame, String name) {
+        JsonElement element = frame.get(name);
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        try {
+            return element.getAsLong();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package sk.ikts.client.util;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+import sk.ikts.client.model.Group;
+import sk.ikts.client.model.Task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit testy pre DeltaPatcher
+ * Testuje vkladanie a nahrádzanie úloh a skupín podľa verzie
+ * a priebežné počítanie úloh podľa stavu
+ */
+class DeltaPatcherTest {
+
+    @Test
+    void testUpsertTask_AddsNewAndReplacesOnlyWithNewerVersion() {
+        // Arrange
+        List<Task> tasks = new ArrayList<>(List.of(task(1L, Task.TaskStatus.OPEN, 2L)));
+
+        // Act & Assert
+        assertTrue(DeltaPatcher.upsertTask(tasks, task(2L, Task.TaskStatus.OPEN, 0L)));
+        assertFalse(DeltaPatcher.upsertTask(tasks, task(1L, Task.TaskStatus.DONE, 1L)));
+        assertFalse(DeltaPatcher.upsertTask(tasks, task(1L, Task.TaskStatus.DONE, 2L)));
+        assertEquals(Task.TaskStatus.OPEN, tasks.get(0).getStatus());
+        assertTrue(DeltaPatcher.upsertTask(tasks, task(1L, Task.TaskStatus.DONE, 3L)));
+        assertEquals(Task.TaskStatus.DONE, tasks.get(0).getStatus());
+        assertEquals(2, tasks.size());
+    }
+
+    @Test
+    void testReplaceGroup_IgnoresGroupsNotInList() {
+        // Arrange
+        List<Group> groups = new ArrayList<>(List.of(group(1L, "Old", 0L)));
+
+        // Act & Assert
+        assertFalse(DeltaPatcher.replaceGroup(groups, group(2L, "Other", 0L)));
+        assertTrue(DeltaPatcher.replaceGroup(groups, group(1L, "New", 1L)));
+        assertEquals(1, groups.size());
+        assertEquals("New", groups.get(0).getName());
+        assertTrue(DeltaPatcher.upsertGroup(groups, group(2L, "Other", 0L)));
+        assertEquals(2, groups.size());
+    }
+
+    @Test
+    void testRemoveGroup_RemovesGroupAndItsTasks() {
+        // Arrange
+        List<Group> groups = new ArrayList<>(List.of(group(1L, "A", 0L), group(2L, "B", 0L)));
+        Task other = task(2L, Task.TaskStatus.OPEN, 0L);
+        other.setGroupId(2L);
+        List<Task> tasks = new ArrayList<>(List.of(task(1L, Task.TaskStatus.OPEN, 0L), other));
+
+        // Act
+        boolean removed = DeltaPatcher.removeGroup(groups, 1L);
+        DeltaPatcher.removeTasksOfGroup(tasks, 1L);
+
+        // Assert
+        assertTrue(removed);
+        assertFalse(DeltaPatcher.removeGroup(groups, 1L));
+        assertEquals(List.of(other), tasks);
+    }
+
+    @Test
+    void testCountChange_FollowsAddsReplacesAndRemoves() {
+        // Arrange
+        ObservableList<Task> tasks = FXCollections.observableArrayList();
+        Map<String, Integer> counts = new HashMap<>();
+        tasks.addListener((ListChangeListener<Task>) change -> DeltaPatcher.countChange(counts, change));
+
+        // Act
+        tasks.setAll(task(1L, Task.TaskStatus.OPEN, 0L), task(2L, Task.TaskStatus.OPEN, 0L));
+        DeltaPatcher.upsertTask(tasks, task(1L, Task.TaskStatus.DONE, 1L));
+        DeltaPatcher.upsertTask(tasks, task(3L, Task.TaskStatus.IN_PROGRESS, 0L));
+        DeltaPatcher.removeTasksOfGroup(tasks, 99L);
+
+        // Assert
+        assertEquals(1, counts.get("OPEN"));
+        assertEquals(1, counts.get("DONE"));
+        assertEquals(1, counts.get("IN_PROGRESS"));
+    }
+
+    private static Task task(Long taskId, Task.TaskStatus status, Long version) {
+        Task task = new Task(taskId, 1L, 1L, "Task " + taskId, null, status, null, null, null);
+        task.setVersion(version);
+        return task;
+    }
+
+    private static Group group(Long groupId, String name, Long version) {
+        Group group = new Group();
+        group.setGroupId(groupId);
+        group.setName(name);
+        group.setVersion(version);
+        return group;
+    }
+}
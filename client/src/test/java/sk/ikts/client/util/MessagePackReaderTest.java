@@ -0,0 +1,59 @@
+package sk.ikts.client.util;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit testy pre MessagePackReader
+ * Testuje dekódovanie binárnych rámcov servera do JSON stromu
+ */
+class MessagePackReaderTest {
+
+    @Test
+    void testRead_DecodesEventFrame() {
+        // Arrange: {"type":"NEW_TASK","seq":300,"taskId":-1,"urgent":true,"note":nil,"ids":[1]}
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.put((byte) 0x86);
+        putString(buffer, "type");
+        putString(buffer, "NEW_TASK");
+        putString(buffer, "seq");
+        buffer.put((byte) 0xd1).putShort((short) 300);
+        putString(buffer, "taskId");
+        buffer.put((byte) 0xff);
+        putString(buffer, "urgent");
+        buffer.put((byte) 0xc3);
+        putString(buffer, "note");
+        buffer.put((byte) 0xc0);
+        putString(buffer, "ids");
+        buffer.put((byte) 0x91).put((byte) 1);
+        buffer.flip();
+
+        // Act
+        JsonObject frame = MessagePackReader.read(buffer).getAsJsonObject();
+
+        // Assert
+        assertEquals("NEW_TASK", frame.get("type").getAsString());
+        assertEquals(300, frame.get("seq").getAsLong());
+        assertEquals(-1, frame.get("taskId").getAsLong());
+        assertTrue(frame.get("urgent").getAsBoolean());
+        assertTrue(frame.get("note").isJsonNull());
+        assertEquals(1, frame.getAsJsonArray("ids").get(0).getAsInt());
+    }
+
+    @Test
+    void testRead_RejectsTruncatedFrame() {
+        // Arrange: fixmap of one entry without its value
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[] {(byte) 0x81, (byte) 0xa1, 'a'});
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> MessagePackReader.read(buffer));
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        buffer.put((byte) (0xa0 | value.length())).put(value.getBytes());
+    }
+}
@@ -0,0 +1,22 @@
+package sk.ikts.server.cluster;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Event relayed between server instances
+ * @param id unique event ID, the same on every instance
+ * @param origin node ID of the instance that published the event
+ * @param kind where the event is delivered
+ * @param groupId target group, null if the event is not about a group
+ * @param payload JSON of the DTO (NotificationDTO, ChatMessageDTO, ...)
+ */
+public record ClusterEvent(String id, String origin, Kind kind, Long groupId, JsonObject payload) {
+
+    public enum Kind {
+        GROUP_NOTIFICATION,
+        BROADCAST,
+        CHAT_MESSAGE,
+        // A task's deadline, reminders or status changed, for the instance running the deadline scheduler
+        TASK_SCHEDULE
+    }
+}
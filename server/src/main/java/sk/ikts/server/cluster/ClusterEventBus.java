@@ -0,0 +1,188 @@
+package sk.ikts.server.cluster;
+
+import com.google.gson.Gson;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import sk.ikts.server.config.ClusterProperties;
+import sk.ikts.server.config.GsonConfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Publishes events delivered on this instance to the other server instances
+ * and delivers theirs to local listeners
+ *
+ * Clients are connected to one instance each, so every event a write produces is
+ * delivered to the local clients first and then published through the configured
+ * {@link EventBroker} (app.cluster.broker). Received events are delivered to the
+ * listeners registered for their kind, which send them to the local clients only.
+ * Every event has an ID made of the publishing node ID and a counter; events of this
+ * node and IDs seen among the last dedupCapacity events are dropped, so echoes and
+ * redeliveries by the broker never reach clients twice.
+ */
+@Component
+public class ClusterEventBus {
+
+    private static final Gson GSON = GsonConfig.createGson();
+
+    @Autowired
+    private ClusterProperties properties;
+
+    private String nodeId;
+    private EventBroker broker;
+    private TcpEventRelay relay;
+    private final Map<ClusterEvent.Kind, List<BiConsumer<Long, ClusterEvent>>> listeners = new EnumMap<>(ClusterEvent.Kind.class);
+    // Recently delivered event IDs in delivery order (guarded by itself)
+    private Map<String, Boolean> seen;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong duplicateCount = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        nodeId = properties.getNodeId() == null || properties.getNodeId().isBlank()
+                ? UUID.randomUUID().toString().substring(0, 8)
+                : properties.getNodeId();
+        for (ClusterEvent.Kind kind : ClusterEvent.Kind.values()) {
+            listeners.put(kind, new CopyOnWriteArrayList<>());
+        }
+        int capacity = Math.max(1, properties.getDedupCapacity());
+        seen = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        broker = createBroker();
+        broker.start(this::receive);
+        System.out.println("Cluster node " + nodeId + " using " + properties.getBroker() + " event broker");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broker.stop();
+        if (relay != null) {
+            relay.stop();
+        }
+    }
+
+    /**
+     * Publish an event to the other instances (after delivering it locally, if it concerns clients)
+     * @param kind where the other instances deliver it
+     * @param groupId target group, null if the event is not about a group
+     * @param dto NotificationDTO, ChatMessageDTO or another event DTO
+     */
+    public void publish(ClusterEvent.Kind kind, Long groupId, Object dto) {
+        if (broker instanceof LocalEventBroker) {
+            // Single instance, not worth encoding
+            return;
+        }
+        String id = nodeId + "-" + sequence.incrementAndGet();
+        broker.publish(new ClusterEvent(id, nodeId, kind, groupId, GSON.toJsonTree(dto).getAsJsonObject()));
+        publishedCount.incrementAndGet();
+    }
+
+    /**
+     * Deliver events of the given kind published by other instances
+     * @param type DTO class the payload is read as
+     * @param listener called with the group ID and the DTO, on a broker thread
+     */
+    public <T> void addListener(ClusterEvent.Kind kind, Class<T> type, BiConsumer<Long, T> listener) {
+        listeners.get(kind).add((groupId, event) -> listener.accept(groupId, GSON.fromJson(event.payload(), type)));
+    }
+
+    /**
+     * Deliver an event received from the broker, unless it is this node's own or a duplicate
+     * @return true if it was delivered
+     */
+    boolean receive(ClusterEvent event) {
+        if (event == null || event.id() == null || event.kind() == null || nodeId.equals(event.origin())) {
+            return false;
+        }
+        synchronized (seen) {
+            if (seen.put(event.id(), Boolean.TRUE) != null) {
+                duplicateCount.incrementAndGet();
+                return false;
+            }
+        }
+        receivedCount.incrementAndGet();
+        for (BiConsumer<Long, ClusterEvent> listener : listeners.get(event.kind())) {
+            try {
+                listener.accept(event.groupId(), event);
+            } catch (Exception e) {
+                System.err.println("Error delivering cluster event " + event.id() + ": " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Port of the relay running in this instance, -1 if there is none
+     */
+    public int getRelayPort() {
+        return relay != null ? relay.getPort() : -1;
+    }
+
+    /**
+     * Snapshot of the relaying metrics
+     */
+    public ClusterStats getStats() {
+        return new ClusterStats(nodeId, properties.getBroker(), broker.isConnected(), publishedCount.get(),
+                receivedCount.get(), duplicateCount.get(), broker.getDroppedCount(),
+                relay != null ? relay.getPeerCount() : -1, relay != null ? relay.getRejectedCount() : -1);
+    }
+
+    private EventBroker createBroker() {
+        String type = properties.getBroker() == null ? "local" : properties.getBroker().trim().toLowerCase();
+        switch (type) {
+            case "local":
+                return new LocalEventBroker();
+            case "tcp":
+                if (properties.getSharedSecret() == null || properties.getSharedSecret().isBlank()) {
+                    throw new IllegalArgumentException("app.cluster.shared-secret is required for the tcp broker");
+                }
+                int port = properties.getRelayPort();
+                if (properties.isEmbeddedRelay()) {
+                    relay = new TcpEventRelay(properties.getRelayBindAddress(), port, properties.getSharedSecret(),
+                            properties.getOutboundCapacity());
+                    try {
+                        relay.start();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Cannot start cluster relay on port " + port, e);
+                    }
+                    port = relay.getPort();
+                }
+                return new TcpEventBroker(properties.getRelayHost(), port, properties.getSharedSecret(),
+                        properties.getOutboundCapacity(), properties.getReconnectDelayMs());
+            default:
+                throw new IllegalArgumentException("Unknown app.cluster.broker: " + properties.getBroker());
+        }
+    }
+
+    /**
+     * Cluster relaying metrics
+     * @param relayPeers instances connected to the relay running here, -1 if it runs elsewhere
+     * @param relayRejected connections the relay running here closed for a wrong shared secret
+     */
+    public record ClusterStats(String nodeId, String broker, boolean connected, long published, long received,
+                               long duplicates, long dropped, int relayPeers, long relayRejected) {
+    }
+}
@@ -0,0 +1,37 @@
+package sk.ikts.server.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport relaying events to the other server instances
+ *
+ * A broker delivers every published event to the other instances at most once per
+ * connection, in the order it was published; events may be lost while an instance
+ * is unreachable (clients of that instance resync after reconnecting). Instances drop
+ * their own events and events delivered twice by ID, so a broker may also echo events
+ * back or redeliver them.
+ */
+public interface EventBroker {
+
+    /**
+     * Start relaying, events of other instances are passed to the listener
+     */
+    void start(Consumer<ClusterEvent> listener);
+
+    /**
+     * Relay an event to the other instances, never blocks
+     */
+    void publish(ClusterEvent event);
+
+    void stop();
+
+    /**
+     * Whether events are currently reaching the other instances
+     */
+    boolean isConnected();
+
+    /**
+     * Number of events that could not be relayed
+     */
+    long getDroppedCount();
+}
@@ -0,0 +1,31 @@
+package sk.ikts.server.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Broker of a single instance, there is nobody to relay events to
+ */
+public class LocalEventBroker implements EventBroker {
+
+    @Override
+    public void start(Consumer<ClusterEvent> listener) {
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return 0;
+    }
+}
@@ -0,0 +1,176 @@
+package sk.ikts.server.cluster;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import sk.ikts.server.config.GsonConfig;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Broker connected to a {@link TcpEventRelay}
+ *
+ * Events are written one JSON object per line. Published events wait in a bounded
+ * queue, so publishing never blocks a request; while the relay is unreachable they
+ * keep waiting until the queue is full and further ones are dropped. The connection
+ * is re-established every reconnectDelayMs. The shared secret is sent as the first
+ * line of every connection, the relay closes connections without it.
+ */
+public class TcpEventBroker implements EventBroker {
+
+    private static final Gson GSON = GsonConfig.createGson();
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+
+    private final String host;
+    private final int port;
+    private final String secret;
+    private final long reconnectDelayMs;
+    private final BlockingQueue<ClusterEvent> outbound;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private Consumer<ClusterEvent> listener;
+    private Thread connector;
+    private volatile Socket socket;
+    private volatile boolean running;
+
+    public TcpEventBroker(String host, int port, String secret, int outboundCapacity, long reconnectDelayMs) {
+        this.host = host;
+        this.port = port;
+        this.secret = secret;
+        this.reconnectDelayMs = Math.max(1, reconnectDelayMs);
+        this.outbound = new ArrayBlockingQueue<>(Math.max(1, outboundCapacity));
+    }
+
+    @Override
+    public void start(Consumer<ClusterEvent> listener) {
+        this.listener = listener;
+        running = true;
+        connector = new Thread(this::connectLoop, "cluster-broker");
+        connector.setDaemon(true);
+        connector.start();
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        if (!outbound.offer(event)) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (connector != null) {
+            connector.interrupt();
+        }
+        closeSocket();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return socket != null;
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void connectLoop() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                connection.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+                connection.setTcpNoDelay(true);
+                Writer out = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8));
+                out.write(secret);
+                out.write('\n');
+                out.flush();
+                System.out.println("Connected to cluster relay " + host + ":" + port);
+                socket = connection;
+                Thread writer = new Thread(() -> writeLoop(connection, out), "cluster-broker-writer");
+                writer.setDaemon(true);
+                writer.start();
+                try {
+                    readLoop(connection);
+                } finally {
+                    socket = null;
+                    writer.interrupt();
+                }
+                if (running) {
+                    System.err.println("Lost connection to cluster relay " + host + ":" + port);
+                }
+            } catch (IOException e) {
+                // Relay not reachable yet, try again
+            }
+            try {
+                Thread.sleep(reconnectDelayMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void readLoop(Socket connection) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = in.readLine()) != null) {
+            try {
+                listener.accept(GSON.fromJson(line, ClusterEvent.class));
+            } catch (JsonParseException e) {
+                System.err.println("Ignoring malformed cluster event: " + e.getMessage());
+            } catch (Exception e) {
+                System.err.println("Error delivering cluster event: " + e.getMessage());
+            }
+        }
+    }
+
+    private void writeLoop(Socket connection, Writer out) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                write(out, outbound.take());
+                // Write what else is waiting before flushing
+                ClusterEvent next;
+                while ((next = outbound.poll()) != null) {
+                    write(out, next);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The event being written is lost, the reader notices the closed socket and reconnects
+            droppedCount.incrementAndGet();
+            try {
+                connection.close();
+            } catch (IOException closeError) {
+                // Closing anyway
+            }
+        } catch (InterruptedException e) {
+            // Connection closed
+        }
+    }
+
+    private void write(Writer out, ClusterEvent event) throws IOException {
+        out.write(GSON.toJson(event));
+        out.write('\n');
+    }
+
+    private void closeSocket() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Closing anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package sk.ikts.server.cluster;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal TCP relay connecting the server instances
+ *
+ * Every instance keeps one connection and writes one event per line; the relay
+ * forwards each line unchanged to every other connection, without parsing it.
+ * Each connection has a bounded queue and its own writer thread, so a slow
+ * instance only loses its own events and never holds up the others.
+ * The first line of every connection must be the shared secret; a connection that
+ * sends anything else is closed before it can send or receive events. The relay
+ * listens on the given bind address only (loopback unless configured otherwise).
+ * Meant for tests and small deployments; larger ones plug in a real broker.
+ */
+public class TcpEventRelay {
+
+    private static final int HANDSHAKE_TIMEOUT_MS = 5000;
+
+    private final String bindAddress;
+    private final int port;
+    private final byte[] secret;
+    private final int peerQueueCapacity;
+    private final Set<Peer> peers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong relayedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    /**
+     * @param bindAddress address to listen on
+     * @param port port to listen on, 0 for a free one
+     * @param secret shared secret every connection must send as its first line
+     * @param peerQueueCapacity lines waiting per connection before further ones are dropped
+     */
+    public TcpEventRelay(String bindAddress, int port, String secret, int peerQueueCapacity) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("Cluster relay needs a shared secret");
+        }
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.peerQueueCapacity = Math.max(1, peerQueueCapacity);
+    }
+
+    public void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getByName(bindAddress), port));
+        running = true;
+        Thread acceptor = new Thread(this::acceptLoop, "cluster-relay-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        System.out.println("Cluster relay listening on " + bindAddress + ":" + getPort());
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        for (Peer peer : peers) {
+            peer.close();
+        }
+    }
+
+    /**
+     * Port the relay listens on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getPeerCount() {
+        return peers.size();
+    }
+
+    public long getRelayedCount() {
+        return relayedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Connections closed because they did not send the shared secret
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                // Joins the peers once it sent the secret
+                new Peer(socket).start();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Cluster relay failed to accept a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the first line, at most as long as the secret, and compare it in constant time
+     */
+    private boolean authenticate(Socket socket, Reader in) throws IOException {
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+        StringBuilder line = new StringBuilder();
+        int c;
+        try {
+            while ((c = in.read()) != -1 && c != '\n') {
+                if (line.length() > secret.length) {
+                    return false;
+                }
+                line.append((char) c);
+            }
+        } catch (SocketTimeoutException e) {
+            return false;
+        }
+        socket.setSoTimeout(0);
+        return MessageDigest.isEqual(secret, line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void relay(Peer from, String line) {
+        relayedCount.incrementAndGet();
+        for (Peer peer : peers) {
+            if (peer != from && !peer.queue.offer(line)) {
+                droppedCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * One connected instance
+     */
+    private final class Peer {
+        private final Socket socket;
+        private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(peerQueueCapacity);
+        private final Thread reader;
+        private final Thread writer;
+
+        private Peer(Socket socket) {
+            this.socket = socket;
+            String name = socket.getRemoteSocketAddress().toString();
+            this.reader = new Thread(this::readLoop, "cluster-relay-reader " + name);
+            this.writer = new Thread(this::writeLoop, "cluster-relay-writer " + name);
+            reader.setDaemon(true);
+            writer.setDaemon(true);
+        }
+
+        private void start() {
+            // The writer is started once the connection is authenticated
+            reader.start();
+        }
+
+        private void readLoop() {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                if (!authenticate(socket, in)) {
+                    rejectedCount.incrementAndGet();
+                    System.err.println("Cluster relay rejected " + socket.getRemoteSocketAddress() + ": wrong shared secret");
+                    return;
+                }
+                peers.add(this);
+                writer.start();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        relay(this, line);
+                    }
+                }
+            } catch (IOException e) {
+                // Connection lost, the instance reconnects
+            } finally {
+                close();
+            }
+        }
+
+        private void writeLoop() {
+            try {
+                Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+                while (!Thread.currentThread().isInterrupted()) {
+                    out.write(queue.take());
+                    out.write('\n');
+                    // Write what else is waiting before flushing
+                    String next;
+                    while ((next = queue.poll()) != null) {
+                        out.write(next);
+                        out.write('\n');
+                    }
+                    out.flush();
+                }
+            } catch (IOException e) {
+                close();
+            } catch (InterruptedException e) {
+                // Closed
+            }
+        }
+
+        private void close() {
+            peers.remove(this);
+            writer.interrupt();
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Closing anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunables for the asynchronous activity log writer (prefix "app.activity-log")
+ */
+@Component
+@ConfigurationProperties(prefix = "app.activity-log")
+public class ActivityLogProperties {
+
+    /**
+     * Maximum number of entries waiting to be written; further entries are dropped and counted
+     */
+    private int bufferCapacity = 10000;
+
+    /**
+     * Maximum number of entries written in one transaction
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum time an entry waits in the buffer before it is written
+     */
+    private long flushIntervalMs = 1000;
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMs() {
+        return flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+}
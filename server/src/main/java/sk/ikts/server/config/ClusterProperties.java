@@ -0,0 +1,139 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunables for relaying events between server instances (prefix "app.cluster")
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cluster")
+public class ClusterProperties {
+
+    /**
+     * Broker relaying events to other instances: "local" (single instance) or "tcp"
+     */
+    private String broker = "local";
+
+    /**
+     * ID of this instance in relayed events, a random one if empty
+     */
+    private String nodeId = "";
+
+    /**
+     * Host and port of the TCP relay
+     */
+    private String relayHost = "localhost";
+    private int relayPort = 7070;
+
+    /**
+     * Address the embedded relay listens on; loopback by default, set to an internal
+     * interface (never a public one) when instances run on different hosts
+     */
+    private String relayBindAddress = "127.0.0.1";
+
+    /**
+     * Shared secret every instance sends when connecting to the relay, required for the tcp broker
+     */
+    private String sharedSecret = "";
+
+    /**
+     * Run the TCP relay in this instance (one instance per cluster), 0 as relay port binds a free port
+     */
+    private boolean embeddedRelay = false;
+
+    /**
+     * Events waiting to be sent to the relay, further events are dropped while it is unreachable
+     */
+    private int outboundCapacity = 10000;
+
+    /**
+     * Delay between attempts to connect to the relay
+     */
+    private long reconnectDelayMs = 1000;
+
+    /**
+     * Number of recent event IDs remembered to drop events delivered twice
+     */
+    private int dedupCapacity = 10000;
+
+    public String getBroker() {
+        return broker;
+    }
+
+    public void setBroker(String broker) {
+        this.broker = broker;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public String getRelayHost() {
+        return relayHost;
+    }
+
+    public void setRelayHost(String relayHost) {
+        this.relayHost = relayHost;
+    }
+
+    public int getRelayPort() {
+        return relayPort;
+    }
+
+    public void setRelayPort(int relayPort) {
+        this.relayPort = relayPort;
+    }
+
+    public String getRelayBindAddress() {
+        return relayBindAddress;
+    }
+
+    public void setRelayBindAddress(String relayBindAddress) {
+        this.relayBindAddress = relayBindAddress;
+    }
+
+    public String getSharedSecret() {
+        return sharedSecret;
+    }
+
+    public void setSharedSecret(String sharedSecret) {
+        this.sharedSecret = sharedSecret;
+    }
+
+    public boolean isEmbeddedRelay() {
+        return embeddedRelay;
+    }
+
+    public void setEmbeddedRelay(boolean embeddedRelay) {
+        this.embeddedRelay = embeddedRelay;
+    }
+
+    public int getOutboundCapacity() {
+        return outboundCapacity;
+    }
+
+    public void setOutboundCapacity(int outboundCapacity) {
+        this.outboundCapacity = outboundCapacity;
+    }
+
+    public long getReconnectDelayMs() {
+        return reconnectDelayMs;
+    }
+
+    public void setReconnectDelayMs(long reconnectDelayMs) {
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    public int getDedupCapacity() {
+        return dedupCapacity;
+    }
+
+    public void setDedupCapacity(int dedupCapacity) {
+        this.dedupCapacity = dedupCapacity;
+    }
+}
@@ -0,0 +1,51 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunables for the group-commit insert pipeline (prefix "app.group-commit")
+ */
+@Component
+@ConfigurationProperties(prefix = "app.group-commit")
+public class GroupCommitProperties {
+
+    /**
+     * Maximum time the first insert of a batch waits for others before the batch is committed
+     */
+    private long maxLatencyMs = 5;
+
+    /**
+     * Maximum number of inserts committed in one transaction
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * Maximum number of inserts waiting for a commit; further inserts fail immediately
+     */
+    private int queueCapacity = 10000;
+
+    public long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public void setMaxLatencyMs(long maxLatencyMs) {
+        this.maxLatencyMs = maxLatencyMs;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
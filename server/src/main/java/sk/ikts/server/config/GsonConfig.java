@@ -19,11 +19,11 @@ public class GsonConfig {
     
     /**
      * Create Gson instance with LocalDateTime support
+     * Output is compact (no pretty printing), it goes over the wire to every subscriber
      */
     public static Gson createGson() {
         return new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-                .setPrettyPrinting()
                 .create();
     }
     
@@ -0,0 +1,42 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunables for electing the instance running the deadline scheduler (prefix "app.leader")
+ */
+@Component
+@ConfigurationProperties(prefix = "app.leader")
+public class LeaderProperties {
+
+    /**
+     * How long a lease is valid without renewal, another instance takes over at most
+     * leaseMs + heartbeatIntervalMs after the leader stopped. A healthy leader keeps the
+     * lease as long as a renewal (heartbeat interval plus one lease UPDATE, on its own
+     * thread) is never delayed longer than leaseMs - heartbeatIntervalMs, e.g. by a GC pause
+     * or a slow database; keep it at least twice the heartbeat interval
+     */
+    private long leaseMs = 15000;
+
+    /**
+     * How often the leader renews its lease and the other instances try to take it over
+     */
+    private long heartbeatIntervalMs = 5000;
+
+    public long getLeaseMs() {
+        return leaseMs;
+    }
+
+    public void setLeaseMs(long leaseMs) {
+        this.leaseMs = leaseMs;
+    }
+
+    public long getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs;
+    }
+
+    public void setHeartbeatIntervalMs(long heartbeatIntervalMs) {
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+}
@@ -0,0 +1,38 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the schema migration runner (prefix "app.migration")
+ */
+@Component
+@ConfigurationProperties(prefix = "app.migration")
+public class MigrationProperties {
+
+    /**
+     * Apply pending migrations at startup
+     */
+    private boolean enabled = true;
+
+    /**
+     * Location of the migration scripts, {vendor} is replaced by "sqlite" or "h2"
+     */
+    private String location = "classpath:db/migration/{vendor}";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+}
@@ -0,0 +1,54 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tunables for coalescing group notifications (prefix "app.notifications")
+ */
+@Component
+@ConfigurationProperties(prefix = "app.notifications")
+public class NotificationProperties {
+
+    /**
+     * How long the first notification of a group waits for others before the window is sent, 0 disables coalescing
+     */
+    private long coalesceWindowMs = 50;
+
+    /**
+     * Number of notifications of a group after which the window is sent without waiting
+     */
+    private int coalesceMaxEvents = 64;
+
+    /**
+     * Notification types that are never delayed
+     */
+    private List<String> immediateTypes = new ArrayList<>(List.of("DEADLINE_URGENT", "DEADLINE_OVERDUE"));
+
+    public long getCoalesceWindowMs() {
+        return coalesceWindowMs;
+    }
+
+    public void setCoalesceWindowMs(long coalesceWindowMs) {
+        this.coalesceWindowMs = coalesceWindowMs;
+    }
+
+    public int getCoalesceMaxEvents() {
+        return coalesceMaxEvents;
+    }
+
+    public void setCoalesceMaxEvents(int coalesceMaxEvents) {
+        this.coalesceMaxEvents = coalesceMaxEvents;
+    }
+
+    public List<String> getImmediateTypes() {
+        return immediateTypes;
+    }
+
+    public void setImmediateTypes(List<String> immediateTypes) {
+        this.immediateTypes = immediateTypes;
+    }
+}
@@ -0,0 +1,77 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunables for deadline reminder scheduling (prefix "app.reminders")
+ */
+@Component
+@ConfigurationProperties(prefix = "app.reminders")
+public class ReminderProperties {
+
+    /**
+     * Resolution of the reminder timing wheel, reminders fire at most this late
+     */
+    private long tickMs = 1000;
+
+    /**
+     * Number of slots per timing wheel level
+     */
+    private int wheelSize = 64;
+
+    /**
+     * Reminders whose time passed at most this long ago (e.g. while the server was down) are still sent
+     */
+    private long lateGraceMs = 900000;
+
+    /**
+     * Interval between repeated overdue notifications of a task
+     */
+    private long overdueRepeatMs = 86400000;
+
+    /**
+     * Interval between removals of sent reminder records of done, deleted or rescheduled tasks
+     */
+    private long ledgerCleanupIntervalMs = 3600000;
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    public void setTickMs(long tickMs) {
+        this.tickMs = tickMs;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+
+    public long getLateGraceMs() {
+        return lateGraceMs;
+    }
+
+    public void setLateGraceMs(long lateGraceMs) {
+        this.lateGraceMs = lateGraceMs;
+    }
+
+    public long getOverdueRepeatMs() {
+        return overdueRepeatMs;
+    }
+
+    public void setOverdueRepeatMs(long overdueRepeatMs) {
+        this.overdueRepeatMs = overdueRepeatMs;
+    }
+
+    public long getLedgerCleanupIntervalMs() {
+        return ledgerCleanupIntervalMs;
+    }
+
+    public void setLedgerCleanupIntervalMs(long ledgerCleanupIntervalMs) {
+        this.ledgerCleanupIntervalMs = ledgerCleanupIntervalMs;
+    }
+}
@@ -1,90 +1,440 @@
 package sk.ikts.server.config;
 
-import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 import sk.ikts.server.dto.ChatMessageDTO;
 import sk.ikts.server.dto.NotificationDTO;
+import sk.ikts.server.websocket.EventFrame;
+import sk.ikts.server.websocket.GroupStream;
+import sk.ikts.server.websocket.OutboundQueue;
+import sk.ikts.server.websocket.SessionRegistry;
+import sk.ikts.server.websocket.WireFormat;
 
-import java.io.IOException;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Simple WebSocket handler for notifications
  * Handles direct WebSocket connections (non-STOMP)
+ *
+ * Clients subscribe to the groups they care about by sending
+ * {"action": "subscribe", "groupId": 5, "channel": "chat"} (or "unsubscribe").
+ * Channel is "notifications" (default) or "chat". Group events are only
+ * sent to sessions subscribed to that group and channel.
+ *
+ * Sending never happens on the caller's thread: every session has a bounded
+ * {@link OutboundQueue} drained by the sender executor, so a stalled client
+ * cannot block the request that produced the event.
+ *
+ * Sessions live in a {@link SessionRegistry}. The server pings every session
+ * periodically and closes sessions it has not heard from within the idle timeout.
+ *
+ * Group events carry "seq" (per group and channel) and "epoch" (per server start).
+ * A reconnecting client sends "lastSeq" and "epoch" with its subscribe command and
+ * gets the missed events replayed, followed by a SUBSCRIBED frame. If the events
+ * are no longer buffered (or the server restarted) it gets RESYNC_REQUIRED instead
+ * and has to reload the group's data.
+ *
+ * Every event is encoded once into an {@link EventFrame} shared by all sessions.
+ * Sessions get compact JSON text frames, or MessagePack binary frames if they
+ * negotiated the "callstudy.msgpack" subprotocol at the handshake.
  */
 @Component
-public class SimpleWebSocketHandler extends TextWebSocketHandler {
+public class SimpleWebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
 
-    private final CopyOnWriteArraySet<WebSocketSession> sessions = new CopyOnWriteArraySet<>();
-    private final Gson gson = GsonConfig.createGson();
+    /**
+     * Kind of events a session can subscribe to for a group
+     */
+    public enum Channel {
+        NOTIFICATIONS,
+        CHAT
+    }
+
+    // Tomcat user property limiting how long a blocking send may take
+    private static final String TOMCAT_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    // Coalesce key of heartbeat pings, a session never needs more than one queued
+    private static final String PING_KEY = "PING";
+
+    // Preferred first; clients requesting neither get JSON
+    private static final List<String> SUB_PROTOCOLS = List.of(
+            WireFormat.MSGPACK.getSubprotocol(), WireFormat.JSON.getSubprotocol());
+
+    private final WebSocketProperties properties;
+    private final ExecutorService senderExecutor;
+    private final SessionRegistry registry;
+
+    // Identifies this server run; sequence numbers of different runs are unrelated
+    private final String epoch = UUID.randomUUID().toString();
+
+    // groupId -> sequenced stream with its subscribers, one index per channel
+    private final Map<Channel, Map<Long, GroupStream>> streams = Map.of(
+            Channel.NOTIFICATIONS, new ConcurrentHashMap<>(),
+            Channel.CHAT, new ConcurrentHashMap<>()
+    );
+
+    // sessionId -> subscription keys, used to clean up the index on close
+    private final Map<String, Set<SubscriptionKey>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    public SimpleWebSocketHandler(WebSocketProperties properties) {
+        this.properties = properties;
+        this.registry = new SessionRegistry(properties.getMaxSessions());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senderExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getSenderThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "ws-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return SUB_PROTOCOLS;
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        sessions.add(session);
-        System.out.println("WebSocket connection established: " + session.getId());
+        WireFormat format = WireFormat.fromSubprotocol(session.getAcceptedProtocol());
+        OutboundQueue queue = new OutboundQueue(session,
+                properties.getOutboundQueueCapacity(), properties.getOverflowPolicy(), format,
+                senderExecutor, this::removeSession);
+        sessionSubscriptions.put(session.getId(), ConcurrentHashMap.newKeySet());
+        if (!registry.register(session, queue)) {
+            sessionSubscriptions.remove(session.getId());
+            System.err.println("WebSocket connection limit (" + registry.getMaxSessions() + ") reached, rejecting " + session.getId());
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason("Too many connections"));
+            return;
+        }
+        applySendTimeout(session);
+        System.out.println("WebSocket connection established: " + session.getId() + " (" + format + ")");
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        sessions.remove(session);
+        removeSession(session);
         System.out.println("WebSocket connection closed: " + session.getId());
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        // Handle incoming messages if needed
-        System.out.println("Received message: " + message.getPayload());
+        registry.touch(session.getId());
+        JsonObject command;
+        try {
+            command = JsonParser.parseString(message.getPayload()).getAsJsonObject();
+        } catch (Exception e) {
+            System.err.println("Ignoring malformed WebSocket message from " + session.getId() + ": " + message.getPayload());
+            return;
+        }
+
+        String action = optionalString(command, "action");
+        Long groupId = optionalLong(command, "groupId");
+        if (action == null || groupId == null) {
+            System.err.println("Ignoring WebSocket message without valid action/groupId from " + session.getId());
+            return;
+        }
+
+        Channel channel = parseChannel(command);
+        if (channel == null) {
+            System.err.println("Ignoring WebSocket message with unknown channel from " + session.getId());
+            return;
+        }
+
+        switch (action) {
+            case "subscribe":
+                subscribe(session, channel, groupId, optionalLong(command, "lastSeq"), optionalString(command, "epoch"));
+                break;
+            case "unsubscribe":
+                unsubscribe(session, channel, groupId);
+                break;
+            default:
+                System.err.println("Unknown WebSocket action '" + action + "' from " + session.getId());
+        }
+    }
+
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) throws Exception {
+        registry.touch(session.getId());
+    }
+
+    /**
+     * Ping all sessions and close the ones that stopped answering
+     * Runs every app.websocket.heartbeat-interval-ms
+     */
+    @Scheduled(fixedRateString = "#{@webSocketProperties.heartbeatIntervalMs}",
+            initialDelayString = "#{@webSocketProperties.heartbeatIntervalMs}")
+    public void heartbeat() {
+        long idleSince = System.currentTimeMillis() - properties.getIdleTimeoutMs();
+        for (SessionRegistry.SessionEntry entry : registry.findIdle(idleSince)) {
+            System.out.println("Closing idle WebSocket session: " + entry.getSession().getId());
+            registry.recordReaped();
+            removeSession(entry.getSession());
+            closeQuietly(entry.getSession(), CloseStatus.SESSION_NOT_RELIABLE.withReason("Idle timeout"));
+        }
+
+        PingMessage ping = new PingMessage(ByteBuffer.allocate(0));
+        for (SessionRegistry.SessionEntry entry : registry.getEntries()) {
+            entry.getQueue().enqueue(ping, PING_KEY);
+        }
+    }
+
+    /**
+     * Subscribe session to events of a group on the given channel
+     */
+    public void subscribe(WebSocketSession session, Channel channel, Long groupId) {
+        subscribe(session, channel, groupId, null, null);
+    }
+
+    /**
+     * Subscribe session to events of a group, resuming after lastSeq if given
+     * @param lastSeq last sequence the client has seen, null for a fresh subscription
+     * @param clientEpoch epoch the client's lastSeq belongs to
+     */
+    public void subscribe(WebSocketSession session, Channel channel, Long groupId, Long lastSeq, String clientEpoch) {
+        Set<SubscriptionKey> keys = sessionSubscriptions.get(session.getId());
+        SessionRegistry.SessionEntry entry = registry.get(session.getId());
+        if (keys == null || entry == null) {
+            return; // Session already closed
+        }
+        keys.add(new SubscriptionKey(channel, groupId));
+
+        Long resumeFrom = lastSeq;
+        if (lastSeq != null && !epoch.equals(clientEpoch)) {
+            resumeFrom = -1L; // Sequence of another server run, cannot be replayed
+        }
+        boolean resumed = stream(channel, groupId).subscribe(session, resumeFrom, entry.getQueue(),
+                (resyncRequired, currentSeq) -> controlFrame(resyncRequired ? "RESYNC_REQUIRED" : "SUBSCRIBED",
+                        channel, groupId, currentSeq));
+        if (!resumed) {
+            System.out.println("WebSocket session " + session.getId() + " must resync " + channel + " of group " + groupId);
+        }
+    }
+
+    /**
+     * Unsubscribe session from events of a group on the given channel
+     */
+    public void unsubscribe(WebSocketSession session, Channel channel, Long groupId) {
+        removeSubscriber(channel, groupId, session);
+        Set<SubscriptionKey> keys = sessionSubscriptions.get(session.getId());
+        if (keys != null) {
+            keys.remove(new SubscriptionKey(channel, groupId));
+        }
     }
 
     /**
      * Broadcast notification to all connected clients
+     * Used for events that are not tied to a single group (e.g. NEW_GROUP)
+     * @return the encoded event, for other transports
      */
-    public void broadcastNotification(NotificationDTO notification) {
-        String json = gson.toJson(notification);
-        TextMessage message = new TextMessage(json);
-        
-        System.out.println("Broadcasting notification to " + sessions.size() + " connected sessions: " + notification.getType() + " - " + notification.getMessage());
-        
-        sessions.removeIf(session -> {
-            try {
-                if (session.isOpen()) {
-                    session.sendMessage(message);
-                    System.out.println("Sent notification to session: " + session.getId());
-                    return false;
-                } else {
-                    System.out.println("Session " + session.getId() + " is closed");
-                }
-            } catch (IOException e) {
-                System.err.println("Error sending WebSocket message: " + e.getMessage());
-            }
-            return true; // Remove closed sessions
-        });
-        
-        System.out.println("Remaining active sessions: " + sessions.size());
+    public EventFrame broadcastNotification(NotificationDTO notification) {
+        EventFrame frame = EventFrame.of(EventFrame.toJsonObject(notification));
+        System.out.println("Broadcasting notification to " + registry.size() + " connected sessions: " + notification.getType() + " - " + notification.getMessage());
+        String coalesceKey = coalesceKey(notification);
+        for (SessionRegistry.SessionEntry entry : registry.getEntries()) {
+            entry.getQueue().enqueue(frame, coalesceKey);
+        }
+        return frame;
     }
 
     /**
-     * Broadcast chat message to all connected clients
+     * Send notification to sessions subscribed to the group's notification channel
+     * @return the encoded event (with seq and epoch), for other transports
      */
-    public void broadcastChatMessage(ChatMessageDTO chatMessage) {
-        String json = gson.toJson(chatMessage);
-        TextMessage message = new TextMessage(json);
-        
-        sessions.removeIf(session -> {
+    public EventFrame sendNotificationToGroup(Long groupId, NotificationDTO notification) {
+        return publish(Channel.NOTIFICATIONS, groupId, EventFrame.toJsonObject(notification), coalesceKey(notification));
+    }
+
+    /**
+     * Send chat message to sessions subscribed to the group's chat channel
+     * @return the encoded event (with seq and epoch), for other transports
+     */
+    public EventFrame sendChatMessageToGroup(Long groupId, ChatMessageDTO chatMessage) {
+        // Chat messages are never coalesced
+        return publish(Channel.CHAT, groupId, EventFrame.toJsonObject(chatMessage), null);
+    }
+
+    /**
+     * Number of sessions subscribed to a group on the given channel
+     */
+    public int getSubscriberCount(Channel channel, Long groupId) {
+        GroupStream stream = streams.get(channel).get(groupId);
+        return stream != null ? stream.getSubscriberCount() : 0;
+    }
+
+    /**
+     * Last sequence number issued for a group on the given channel, 0 if none
+     */
+    public long getLastSeq(Channel channel, Long groupId) {
+        GroupStream stream = streams.get(channel).get(groupId);
+        return stream != null ? stream.getLastSeq() : 0;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Outbound queue metrics of all connected sessions
+     */
+    public List<OutboundQueue.QueueStats> getOutboundQueueStats() {
+        List<OutboundQueue.QueueStats> stats = new ArrayList<>();
+        for (SessionRegistry.SessionEntry entry : registry.getEntries()) {
+            stats.add(entry.getQueue().getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Session count, connection cap and connect/disconnect rates
+     */
+    public SessionRegistry.RegistryStats getSessionStats() {
+        return registry.getStats();
+    }
+
+    /**
+     * Stamp event with the group's next sequence and queue it to subscribers
+     * Events are sequenced and buffered even without subscribers, so clients
+     * that are reconnecting at the moment can still replay them
+     */
+    private EventFrame publish(Channel channel, Long groupId, JsonObject event, String coalesceKey) {
+        EventFrame[] frame = new EventFrame[1];
+        stream(channel, groupId).publish(seq -> {
+            event.addProperty("seq", seq);
+            event.addProperty("epoch", epoch);
+            frame[0] = EventFrame.of(event);
+            return frame[0];
+        }, coalesceKey, this::queueOf);
+        return frame[0];
+    }
+
+    private GroupStream stream(Channel channel, Long groupId) {
+        return streams.get(channel).computeIfAbsent(groupId, id -> new GroupStream(properties.getReplayBufferSize()));
+    }
+
+    private OutboundQueue queueOf(WebSocketSession session) {
+        SessionRegistry.SessionEntry entry = registry.get(session.getId());
+        return entry != null ? entry.getQueue() : null;
+    }
+
+    private EventFrame controlFrame(String type, Channel channel, Long groupId, long seq) {
+        JsonObject frame = new JsonObject();
+        frame.addProperty("type", type);
+        frame.addProperty("channel", channel.name().toLowerCase());
+        frame.addProperty("groupId", groupId);
+        frame.addProperty("seq", seq);
+        frame.addProperty("epoch", epoch);
+        return EventFrame.of(frame);
+    }
+
+    /**
+     * Notifications about the same task (or group) of the same type supersede each other
+     */
+    private String coalesceKey(NotificationDTO notification) {
+        return notification.getType() + ":" + notification.getGroupId() + ":" + notification.getTaskId();
+    }
+
+    private void removeSession(WebSocketSession session) {
+        SessionRegistry.SessionEntry entry = registry.remove(session.getId());
+        if (entry != null) {
+            entry.getQueue().close();
+        }
+        removeAllSubscriptions(session);
+    }
+
+    private void closeQuietly(WebSocketSession session, CloseStatus status) {
+        // Closing may block on a dead socket, keep it off the scheduler thread
+        senderExecutor.execute(() -> {
             try {
-                if (session.isOpen()) {
-                    session.sendMessage(message);
-                    return false;
-                }
-            } catch (IOException e) {
-                System.err.println("Error sending chat message: " + e.getMessage());
+                session.close(status);
+            } catch (Exception e) {
+                // Session is already broken
             }
-            return true; // Remove closed sessions
         });
     }
-}
 
+    private void applySendTimeout(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            jakarta.websocket.Session endpointSession = nativeSession.getNativeSession(jakarta.websocket.Session.class);
+            if (endpointSession != null) {
+                endpointSession.getUserProperties().put(TOMCAT_SEND_TIMEOUT, properties.getSendTimeoutMs());
+            }
+        }
+    }
+
+    private void removeAllSubscriptions(WebSocketSession session) {
+        Set<SubscriptionKey> keys = sessionSubscriptions.remove(session.getId());
+        if (keys == null) {
+            return;
+        }
+        for (SubscriptionKey key : keys) {
+            removeSubscriber(key.channel(), key.groupId(), session);
+        }
+    }
+
+    private void removeSubscriber(Channel channel, Long groupId, WebSocketSession session) {
+        // Streams are kept without subscribers, their replay ring must outlive reconnects
+        GroupStream stream = streams.get(channel).get(groupId);
+        if (stream != null) {
+            stream.unsubscribe(session);
+        }
+    }
+
+    private Channel parseChannel(JsonObject command) {
+        if (!command.has("channel") || command.get("channel").isJsonNull()) {
+            return Channel.NOTIFICATIONS;
+        }
+        try {
+            return Channel.valueOf(command.get("channel").getAsString().toUpperCase());
+        } catch (Exception e) {
+            // Unknown name, or not a string
+            return null;
+        }
+    }
+
+    private Long optionalLong(JsonObject command, String name) {
+        if (!command.has(name) || command.get(name).isJsonNull()) {
+            return null;
+        }
+        try {
+            return command.get(name).getAsLong();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String optionalString(JsonObject command, String name) {
+        if (!command.has(name) || command.get(name).isJsonNull()) {
+            return null;
+        }
+        JsonElement value = command.get(name);
+        // getAsString would throw for objects and arrays
+        return value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    private record SubscriptionKey(Channel channel, Long groupId) {
+    }
+}
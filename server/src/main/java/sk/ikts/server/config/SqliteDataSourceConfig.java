@@ -0,0 +1,33 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * SQLite connection profile, active whenever spring.datasource.url is a jdbc:sqlite: URL
+ * Replaces the default pool with {@link SqliteRoutingDataSource}: WAL journaling and
+ * tuned pragmas on every connection, a read pool and a single writer connection
+ */
+@Configuration
+@ConditionalOnExpression("'${spring.datasource.url:}'.startsWith('jdbc:sqlite:')")
+public class SqliteDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public SqliteRoutingDataSource sqliteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                           SqliteProperties sqliteProperties) {
+        return new SqliteRoutingDataSource(dataSourceProperties.getUrl(), sqliteProperties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(SqliteRoutingDataSource sqliteRoutingDataSource) {
+        // Defers fetching the connection until the read-only flag of the transaction is set
+        return new LazyConnectionDataSourceProxy(sqliteRoutingDataSource);
+    }
+}
@@ -0,0 +1,91 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunables of the SQLite connection profile (prefix "app.sqlite")
+ * Applied to every connection when spring.datasource.url is a jdbc:sqlite: URL
+ */
+@Component
+@ConfigurationProperties(prefix = "app.sqlite")
+public class SqliteProperties {
+
+    /**
+     * Connections serving read-only transactions, readers do not block each other or the writer in WAL mode
+     */
+    private int readPoolSize = 4;
+
+    /**
+     * PRAGMA synchronous; NORMAL syncs the WAL only at checkpoints, a power loss may lose the last commits but never corrupts
+     */
+    private String synchronous = "NORMAL";
+
+    /**
+     * PRAGMA busy_timeout, how long a connection waits for a lock held by another one
+     */
+    private int busyTimeoutMs = 5000;
+
+    /**
+     * Page cache per connection in KiB (PRAGMA cache_size = -cacheSizeKib)
+     */
+    private int cacheSizeKib = 16384;
+
+    /**
+     * PRAGMA mmap_size, bytes of the database file read through memory mapping instead of read() calls
+     */
+    private long mmapSizeBytes = 268435456;
+
+    /**
+     * How long a write waits for the writer connection before failing
+     */
+    private long writerTimeoutMs = 30000;
+
+    public int getReadPoolSize() {
+        return readPoolSize;
+    }
+
+    public void setReadPoolSize(int readPoolSize) {
+        this.readPoolSize = readPoolSize;
+    }
+
+    public String getSynchronous() {
+        return synchronous;
+    }
+
+    public void setSynchronous(String synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    public int getBusyTimeoutMs() {
+        return busyTimeoutMs;
+    }
+
+    public void setBusyTimeoutMs(int busyTimeoutMs) {
+        this.busyTimeoutMs = busyTimeoutMs;
+    }
+
+    public int getCacheSizeKib() {
+        return cacheSizeKib;
+    }
+
+    public void setCacheSizeKib(int cacheSizeKib) {
+        this.cacheSizeKib = cacheSizeKib;
+    }
+
+    public long getMmapSizeBytes() {
+        return mmapSizeBytes;
+    }
+
+    public void setMmapSizeBytes(long mmapSizeBytes) {
+        this.mmapSizeBytes = mmapSizeBytes;
+    }
+
+    public long getWriterTimeoutMs() {
+        return writerTimeoutMs;
+    }
+
+    public void setWriterTimeoutMs(long writerTimeoutMs) {
+        this.writerTimeoutMs = writerTimeoutMs;
+    }
+}
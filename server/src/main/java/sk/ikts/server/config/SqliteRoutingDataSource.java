@@ -0,0 +1,119 @@
+package sk.ikts.server.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * SQLite data source with a read pool and a single writer connection
+ *
+ * SQLite allows one writer at a time; with a pool of writers, concurrent transactions
+ * collide on the database lock and spin in busy_timeout (SQLITE_BUSY). Here every
+ * connection runs in WAL mode, read-only transactions get a connection from the read
+ * pool (readers never block the writer or each other), and everything else queues in
+ * the JVM for the one writer connection, so writes are serialized without touching the
+ * lock. Must sit behind a LazyConnectionDataSourceProxy, which fetches the connection
+ * at the first statement, when the transaction's read-only flag is already known.
+ *
+ * Hibernate allocates sequence blocks (tables on SQLite) in a separate connection while
+ * the transaction holds its own; such a nested request of a thread that already holds
+ * the writer gets the id allocator connection instead of waiting for itself.
+ */
+public class SqliteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    // Writer connections currently held by this thread
+    private static final ThreadLocal<int[]> WRITER_HELD = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final HikariDataSource writer;
+    private final HikariDataSource idAllocator;
+    private final HikariDataSource readers;
+
+    /**
+     * @param url jdbc:sqlite: URL
+     * @param properties pool sizes and pragmas
+     */
+    public SqliteRoutingDataSource(String url, SqliteProperties properties) {
+        this.writer = pool("sqlite-writer", url, properties, 1, false);
+        this.idAllocator = pool("sqlite-id-allocator", url, properties, 1, false);
+        this.readers = pool("sqlite-reader", url, properties, properties.getReadPoolSize(), true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return readers.getConnection();
+        }
+        int[] held = WRITER_HELD.get();
+        if (held[0] > 0) {
+            return idAllocator.getConnection();
+        }
+        Connection connection = writer.getConnection();
+        held[0]++;
+        return trackRelease(connection, held);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    @Override
+    public void close() {
+        readers.close();
+        idAllocator.close();
+        writer.close();
+    }
+
+    /**
+     * Connection that clears this thread's writer mark when closed
+     */
+    private static Connection trackRelease(Connection connection, int[] held) {
+        boolean[] closed = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && !closed[0]) {
+                        closed[0] = true;
+                        held[0]--;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private static HikariDataSource pool(String name, String url, SqliteProperties properties,
+                                         int size, boolean readOnly) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        config.setSynchronous(SQLiteConfig.SynchronousMode.valueOf(properties.getSynchronous()));
+        config.setBusyTimeout(properties.getBusyTimeoutMs());
+        config.setCacheSize(-properties.getCacheSizeKib());
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, Long.toString(properties.getMmapSizeBytes()));
+        SQLiteDataSource sqlite = new SQLiteDataSource(config);
+        sqlite.setUrl(url);
+
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName(name);
+        hikari.setDataSource(sqlite);
+        hikari.setMaximumPoolSize(size);
+        hikari.setMinimumIdle(size);
+        if (readOnly) {
+            // A write that ends up on a reader fails instead of competing for the lock
+            hikari.setConnectionInitSql("PRAGMA query_only = 1");
+        } else {
+            hikari.setConnectionTimeout(properties.getWriterTimeoutMs());
+        }
+        return new HikariDataSource(hikari);
+    }
+}
@@ -0,0 +1,90 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tunables for uploaded file storage (prefix "app.storage")
+ */
+@Component
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+    /**
+     * Directory uploaded files are stored in
+     */
+    private String uploadDir = "uploads";
+
+    /**
+     * Size of the buffer a file is copied through, the only per-transfer heap cost
+     */
+    private int bufferSize = 65536;
+
+    /**
+     * Chunk size of resumable uploads, the last chunk may be shorter
+     */
+    private int chunkSize = 8388608;
+
+    /**
+     * Largest file accepted by a resumable upload
+     */
+    private long maxUploadBytes = 2147483648L;
+
+    /**
+     * How often orphaned blobs and abandoned temp files are collected
+     */
+    private long gcIntervalMs = 3600000;
+
+    /**
+     * Age after which an unfinished upload's temp file is considered abandoned
+     */
+    private long tempFileMaxAgeMs = 86400000;
+
+    public String getUploadDir() {
+        return uploadDir;
+    }
+
+    public void setUploadDir(String uploadDir) {
+        this.uploadDir = uploadDir;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public long getGcIntervalMs() {
+        return gcIntervalMs;
+    }
+
+    public void setGcIntervalMs(long gcIntervalMs) {
+        this.gcIntervalMs = gcIntervalMs;
+    }
+
+    public long getTempFileMaxAgeMs() {
+        return tempFileMaxAgeMs;
+    }
+
+    public void setTempFileMaxAgeMs(long tempFileMaxAgeMs) {
+        this.tempFileMaxAgeMs = tempFileMaxAgeMs;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getMaxUploadBytes() {
+        return maxUploadBytes;
+    }
+
+    public void setMaxUploadBytes(long maxUploadBytes) {
+        this.maxUploadBytes = maxUploadBytes;
+    }
+}
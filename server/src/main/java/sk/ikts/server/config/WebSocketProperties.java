@@ -0,0 +1,117 @@
+package sk.ikts.server.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import sk.ikts.server.websocket.OverflowPolicy;
+
+/**
+ * Tunables for the /ws/simple WebSocket endpoint (prefix "app.websocket")
+ */
+@Component
+@ConfigurationProperties(prefix = "app.websocket")
+public class WebSocketProperties {
+
+    /**
+     * Maximum number of frames queued per session before the overflow policy applies
+     */
+    private int outboundQueueCapacity = 256;
+
+    /**
+     * What to do with a session whose outbound queue is full
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.COALESCE;
+
+    /**
+     * Number of threads writing queued frames to client sockets
+     */
+    private int senderThreads = 4;
+
+    /**
+     * Maximum time a single blocking socket write may take before the session is dropped
+     */
+    private long sendTimeoutMs = 10000;
+
+    /**
+     * Maximum number of concurrent sessions, further connections are closed with 1013 (try again later)
+     */
+    private int maxSessions = 10000;
+
+    /**
+     * Interval between server pings
+     */
+    private long heartbeatIntervalMs = 25000;
+
+    /**
+     * Session is closed when nothing (not even a pong) was received for this long
+     */
+    private long idleTimeoutMs = 75000;
+
+    /**
+     * Number of recent events kept per group and channel for replay to reconnecting clients
+     */
+    private int replayBufferSize = 256;
+
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getSenderThreads() {
+        return senderThreads;
+    }
+
+    public void setSenderThreads(int senderThreads) {
+        this.senderThreads = senderThreads;
+    }
+
+    public long getSendTimeoutMs() {
+        return sendTimeoutMs;
+    }
+
+    public void setSendTimeoutMs(long sendTimeoutMs) {
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    public long getHeartbeatIntervalMs() {
+        return heartbeatIntervalMs;
+    }
+
+    public void setHeartbeatIntervalMs(long heartbeatIntervalMs) {
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+    }
+
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public void setIdleTimeoutMs(long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    public int getReplayBufferSize() {
+        return replayBufferSize;
+    }
+
+    public void setReplayBufferSize(int replayBufferSize) {
+        this.replayBufferSize = replayBufferSize;
+    }
+}
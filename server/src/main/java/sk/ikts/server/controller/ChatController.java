@@ -4,12 +4,11 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
-import sk.ikts.server.config.SimpleWebSocketHandler;
 import sk.ikts.server.dto.ChatMessageDTO;
 import sk.ikts.server.dto.CreateChatMessageRequest;
 import sk.ikts.server.service.ChatService;
+import sk.ikts.server.service.NotificationService;
 
 import java.util.List;
 
@@ -25,19 +24,21 @@ public class ChatController {
     private ChatService chatService;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
-    
-    @Autowired(required = false)
-    private SimpleWebSocketHandler simpleWebSocketHandler;
+    private NotificationService notificationService;
 
     /**
-     * Get all messages for a group
-     * GET /api/chat/group/{groupId}
+     * Get a page of messages for a group, oldest first
+     * GET /api/chat/group/{groupId}?before={messageId}&limit=N
+     * Without "before" the newest messages are returned; to page further back pass
+     * the ID of the oldest message received so far
      */
     @GetMapping("/group/{groupId}")
-    public ResponseEntity<List<ChatMessageDTO>> getMessages(@PathVariable("groupId") Long groupId) {
+    public ResponseEntity<List<ChatMessageDTO>> getMessages(
+            @PathVariable("groupId") Long groupId,
+            @RequestParam(value = "before", required = false) Long before,
+            @RequestParam(value = "limit", defaultValue = "" + ChatService.DEFAULT_PAGE_SIZE) int limit) {
         try {
-            List<ChatMessageDTO> messages = chatService.getRecentMessagesByGroup(groupId);
+            List<ChatMessageDTO> messages = chatService.getMessagesPage(groupId, before, limit);
             return ResponseEntity.ok(messages);
         } catch (Exception e) {
             System.err.println("Error getting messages: " + e.getMessage());
@@ -55,13 +56,8 @@ public class ChatController {
         try {
             ChatMessageDTO message = chatService.createMessage(request);
             
-            // Broadcast message to all group members via STOMP
-            messagingTemplate.convertAndSend("/topic/chat/group/" + request.getGroupId(), message);
-            
-            // Also broadcast via simple WebSocket for Java clients
-            if (simpleWebSocketHandler != null) {
-                simpleWebSocketHandler.broadcastChatMessage(message);
-            }
+            // Send to the group chat via simple WebSocket and STOMP, on every server instance
+            notificationService.sendChatMessage(request.getGroupId(), message);
             
             return ResponseEntity.status(HttpStatus.CREATED).body(message);
         } catch (Exception e) {
@@ -0,0 +1,38 @@
+package sk.ikts.server.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sk.ikts.server.dto.DashboardDTO;
+import sk.ikts.server.service.DashboardService;
+
+/**
+ * REST Controller for the user dashboard
+ * Returns everything the dashboard shows in a single response
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * Get groups of a user, their tasks and task status counts
+     * GET /api/dashboard/{userId}
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<?> getDashboard(@PathVariable("userId") Long userId) {
+        try {
+            DashboardDTO dashboard = dashboardService.getDashboard(userId);
+            return ResponseEntity.ok(dashboard);
+        } catch (Exception e) {
+            System.err.println("Error in getDashboard controller: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error loading dashboard: " + e.getMessage());
+        }
+    }
+}
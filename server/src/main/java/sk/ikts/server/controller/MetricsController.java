@@ -0,0 +1,145 @@
+package sk.ikts.server.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import sk.ikts.server.cluster.ClusterEventBus;
+import sk.ikts.server.config.SimpleWebSocketHandler;
+import sk.ikts.server.service.ActivityLogService;
+import sk.ikts.server.service.DeadlineReminderService;
+import sk.ikts.server.service.GroupCommitService;
+import sk.ikts.server.service.LeaderElectionService;
+import sk.ikts.server.service.NotificationService;
+import sk.ikts.server.websocket.OutboundQueue;
+import sk.ikts.server.websocket.SessionRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller exposing runtime metrics
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    @Autowired(required = false)
+    private SimpleWebSocketHandler simpleWebSocketHandler;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private DeadlineReminderService deadlineReminderService;
+
+    @Autowired
+    private GroupCommitService groupCommitService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ClusterEventBus clusterEventBus;
+
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
+    /**
+     * Get WebSocket session gauges and outbound queue metrics
+     * GET /api/metrics/websocket
+     */
+    @GetMapping("/websocket")
+    public ResponseEntity<Map<String, Object>> getWebSocketMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        List<OutboundQueue.QueueStats> queues = simpleWebSocketHandler != null
+                ? simpleWebSocketHandler.getOutboundQueueStats()
+                : List.of();
+
+        int totalDepth = 0;
+        int maxDepth = 0;
+        long dropped = 0;
+        long coalesced = 0;
+        for (OutboundQueue.QueueStats stats : queues) {
+            totalDepth += stats.depth();
+            maxDepth = Math.max(maxDepth, stats.depth());
+            dropped += stats.dropped();
+            coalesced += stats.coalesced();
+        }
+
+        if (simpleWebSocketHandler != null) {
+            SessionRegistry.RegistryStats sessions = simpleWebSocketHandler.getSessionStats();
+            metrics.put("sessions", sessions.sessions());
+            metrics.put("maxSessions", sessions.maxSessions());
+            metrics.put("connects", sessions.connects());
+            metrics.put("disconnects", sessions.disconnects());
+            metrics.put("rejected", sessions.rejected());
+            metrics.put("reaped", sessions.reaped());
+            metrics.put("connectRatePerSecond", sessions.connectRatePerSecond());
+            metrics.put("disconnectRatePerSecond", sessions.disconnectRatePerSecond());
+        } else {
+            metrics.put("sessions", 0);
+        }
+        metrics.put("totalQueueDepth", totalDepth);
+        metrics.put("maxQueueDepth", maxDepth);
+        metrics.put("dropped", dropped);
+        metrics.put("coalesced", coalesced);
+        metrics.put("queues", queues);
+        return ResponseEntity.ok(metrics);
+    }
+
+    /**
+     * Get activity log writer metrics (buffer depth, written, dropped entries)
+     * GET /api/metrics/activity-log
+     */
+    @GetMapping("/activity-log")
+    public ResponseEntity<ActivityLogService.ActivityLogStats> getActivityLogMetrics() {
+        return ResponseEntity.ok(activityLogService.getStats());
+    }
+
+    /**
+     * Get deadline reminder schedule metrics (scheduled tasks, pending and fired reminders)
+     * GET /api/metrics/reminders
+     */
+    @GetMapping("/reminders")
+    public ResponseEntity<DeadlineReminderService.ReminderStats> getReminderMetrics() {
+        return ResponseEntity.ok(deadlineReminderService.getStats());
+    }
+
+    /**
+     * Get group commit metrics (inserts, batches and batch size distribution)
+     * GET /api/metrics/group-commit
+     */
+    @GetMapping("/group-commit")
+    public ResponseEntity<GroupCommitService.GroupCommitStats> getGroupCommitMetrics() {
+        return ResponseEntity.ok(groupCommitService.getStats());
+    }
+
+    /**
+     * Get notification coalescing metrics (received, sent and merged notifications)
+     * GET /api/metrics/notifications
+     */
+    @GetMapping("/notifications")
+    public ResponseEntity<NotificationService.NotificationStats> getNotificationMetrics() {
+        return ResponseEntity.ok(notificationService.getStats());
+    }
+
+    /**
+     * Get event relaying metrics of this server instance (published, received and duplicate events)
+     * GET /api/metrics/cluster
+     */
+    @GetMapping("/cluster")
+    public ResponseEntity<ClusterEventBus.ClusterStats> getClusterMetrics() {
+        return ResponseEntity.ok(clusterEventBus.getStats());
+    }
+
+    /**
+     * Get deadline scheduler leader election state of this server instance
+     * GET /api/metrics/leader
+     */
+    @GetMapping("/leader")
+    public ResponseEntity<LeaderElectionService.LeaderStats> getLeaderMetrics() {
+        return ResponseEntity.ok(leaderElectionService.getStats());
+    }
+}
@@ -1,36 +1,55 @@
 package sk.ikts.server.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import sk.ikts.server.dto.StartUploadRequest;
+import sk.ikts.server.dto.UploadSessionDTO;
 import sk.ikts.server.model.Resource;
 import sk.ikts.server.repository.ResourceRepository;
 import sk.ikts.server.service.ActivityLogService;
+import sk.ikts.server.service.FileStorageService;
 import sk.ikts.server.service.NotificationService;
+import sk.ikts.server.service.ResourceArchiveService;
+import sk.ikts.server.service.UploadSessionService;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import jakarta.annotation.PostConstruct;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * REST Controller for resource operations
- * Handles file uploads and URL sharing
+ * Handles file uploads (single request or chunked and resumable) and URL sharing
  */
 @RestController
 @RequestMapping("/api/resources")
 @CrossOrigin(origins = "*")
 public class ResourceController {
 
+    // Request attributes of Tomcat's sendfile support
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     private ResourceRepository resourceRepository;
     
@@ -40,17 +59,14 @@ public class ResourceController {
     @Autowired
     private ActivityLogService activityLogService;
 
-    private static final String UPLOAD_DIR = "uploads/";
+    @Autowired
+    private FileStorageService fileStorageService;
 
-    @PostConstruct
-    public void init() {
-        // Create upload directory if it doesn't exist
-        try {
-            Files.createDirectories(Paths.get(UPLOAD_DIR));
-        } catch (IOException e) {
-            System.err.println("Failed to create upload directory: " + e.getMessage());
-        }
-    }
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private ResourceArchiveService resourceArchiveService;
 
     /**
      * Get resources for a group
@@ -62,6 +78,36 @@ public class ResourceController {
         return ResponseEntity.ok(resources);
     }
 
+    /**
+     * Download all resources of a group as one ZIP archive
+     * GET /api/resources/group/{groupId}/archive
+     * The archive is streamed as it is built, without a Content-Length
+     */
+    @GetMapping("/group/{groupId}/archive")
+    public ResponseEntity<?> downloadGroupArchive(@PathVariable("groupId") Long groupId,
+                                                  HttpServletResponse response) {
+        List<Resource> resources = resourceRepository.findByGroupId(groupId);
+        if (resources.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            response.setContentType("application/zip");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("group-" + groupId + "-resources.zip").build().toString());
+            resourceArchiveService.writeZip(resources, response.getOutputStream());
+            return null;
+        } catch (IOException e) {
+            if (response.isCommitted()) {
+                // Client went away mid-transfer, nothing left to answer
+                System.err.println("Archive download of group " + groupId + " aborted: " + e.getMessage());
+                return null;
+            }
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to create archive: " + e.getMessage());
+        }
+    }
+
     /**
      * Upload a file
      * POST /api/resources/upload
@@ -78,51 +124,144 @@ public class ResourceController {
         }
 
         try {
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".") 
-                ? originalFilename.substring(originalFilename.lastIndexOf(".")) 
-                : "";
-            String filename = UUID.randomUUID().toString() + extension;
-            Path filePath = Paths.get(UPLOAD_DIR + filename);
-
-            // Save file
-            Files.write(filePath, file.getBytes());
-
-            // Create resource record
-            Resource resource = new Resource();
-            resource.setGroupId(groupId);
-            resource.setUploadedBy(uploadedBy);
-            resource.setTitle(title);
-            resource.setType(Resource.ResourceType.FILE);
-            resource.setPathOrUrl(filename);
-            resource.setUploadedAt(LocalDateTime.now());
+            // Stream the file into the blob store, computing size and checksum on the way
+            FileStorageService.StoredFile stored;
+            try (InputStream content = file.getInputStream()) {
+                stored = fileStorageService.store(content);
+            }
 
-            resource = resourceRepository.save(resource);
-            
-            // Log activity
-            activityLogService.logActivity(uploadedBy, "UPLOAD_RESOURCE", 
-                    "Uploaded file: " + title + " (ID: " + resource.getResourceId() + ") to group " + groupId);
-            
-            // Send notification
-            try {
-                notificationService.notifyGroup(groupId, 
-                    new sk.ikts.server.dto.NotificationDTO(
-                        "NEW_RESOURCE",
-                        "New file uploaded: " + title,
-                        groupId
-                    ));
-            } catch (Exception e) {
-                // Don't fail if notification fails
+            return ResponseEntity.ok(createFileResource(stored, groupId, uploadedBy, title));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to upload file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Start a chunked upload, or resume the caller's unfinished upload of the same file
+     * POST /api/resources/uploads
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<?> startUpload(@Valid @RequestBody StartUploadRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(uploadSessionService.start(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to start upload: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the state of a chunked upload, e.g. which chunks to send after a reconnect
+     * GET /api/resources/uploads/{uploadId}
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<UploadSessionDTO> getUpload(@PathVariable("uploadId") String uploadId) {
+        UploadSessionDTO session = uploadSessionService.getStatus(uploadId);
+        return session != null ? ResponseEntity.ok(session) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Upload one chunk, the request body is the chunk's raw bytes
+     * PUT /api/resources/uploads/{uploadId}/chunks/{index}
+     */
+    @PutMapping("/uploads/{uploadId}/chunks/{index}")
+    public ResponseEntity<?> uploadChunk(@PathVariable("uploadId") String uploadId,
+                                         @PathVariable("index") int index,
+                                         HttpServletRequest request) {
+        try (InputStream content = request.getInputStream()) {
+            if (!uploadSessionService.writeChunk(uploadId, index, content)) {
+                return ResponseEntity.notFound().build();
             }
-            
-            return ResponseEntity.ok(resource);
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to store chunk: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finish a chunked upload, verify its checksum and create the resource
+     * POST /api/resources/uploads/{uploadId}/commit
+     */
+    @PostMapping("/uploads/{uploadId}/commit")
+    public ResponseEntity<?> commitUpload(@PathVariable("uploadId") String uploadId) {
+        try {
+            UploadSessionService.CompletedUpload upload = uploadSessionService.complete(uploadId);
+            if (upload == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(createFileResource(upload.stored(), upload.groupId(),
+                    upload.uploadedBy(), upload.title()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to upload file: " + e.getMessage());
         }
     }
 
+    /**
+     * Abort a chunked upload
+     * DELETE /api/resources/uploads/{uploadId}
+     */
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<?> abortUpload(@PathVariable("uploadId") String uploadId) {
+        try {
+            return uploadSessionService.abort(uploadId)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to abort upload: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Create the resource record of a stored file, log it and notify the group
+     */
+    private Resource createFileResource(FileStorageService.StoredFile stored, Long groupId,
+                                        Long uploadedBy, String title) throws IOException {
+        Resource resource = new Resource();
+        resource.setGroupId(groupId);
+        resource.setUploadedBy(uploadedBy);
+        resource.setTitle(title);
+        resource.setType(Resource.ResourceType.FILE);
+        resource.setPathOrUrl(stored.name());
+        resource.setUploadedAt(LocalDateTime.now());
+        resource.setSizeBytes(stored.size());
+        resource.setSha256(stored.sha256());
+
+        try {
+            resource = resourceRepository.save(resource);
+        } catch (RuntimeException e) {
+            // Give back the blob reference taken by store
+            fileStorageService.release(stored.name());
+            throw e;
+        }
+
+        // Log activity
+        activityLogService.logActivity(uploadedBy, "UPLOAD_RESOURCE",
+                "Uploaded file: " + title + " (ID: " + resource.getResourceId() + ") to group " + groupId);
+
+        // Send notification
+        try {
+            notificationService.notifyGroup(groupId,
+                new sk.ikts.server.dto.NotificationDTO(
+                    "NEW_RESOURCE",
+                    "New file uploaded: " + title,
+                    groupId
+                ));
+        } catch (Exception e) {
+            // Don't fail if notification fails
+        }
+        return resource;
+    }
+
     /**
      * Share a URL
      * POST /api/resources/url
@@ -171,31 +310,126 @@ public class ResourceController {
     /**
      * Download a file
      * GET /api/resources/{id}/download
+     * The file is streamed from disk, never loaded into memory. Supports a single
+     * byte range (206), conditional requests by ETag / Last-Modified (304) and If-Range,
+     * so interrupted downloads can be resumed
      */
     @GetMapping("/{id}/download")
-    public ResponseEntity<?> downloadFile(@PathVariable("id") Long id) {
+    public ResponseEntity<?> downloadFile(@PathVariable("id") Long id,
+                                          HttpServletRequest request,
+                                          HttpServletResponse response) {
         Resource resource = resourceRepository.findById(id).orElse(null);
         if (resource == null || resource.getType() != Resource.ResourceType.FILE) {
             return ResponseEntity.notFound().build();
         }
 
         try {
-            Path filePath = Paths.get(UPLOAD_DIR + resource.getPathOrUrl());
+            Path filePath = fileStorageService.resolve(resource.getPathOrUrl());
             if (!Files.exists(filePath)) {
                 return ResponseEntity.notFound().build();
             }
 
-            byte[] fileContent = Files.readAllBytes(filePath);
-            return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=\"" + resource.getTitle() + "\"")
-                    .header("Content-Type", "application/octet-stream")
-                    .body(fileContent);
+            long length = Files.size(filePath);
+            long lastModified = Files.getLastModifiedTime(filePath).toMillis();
+            // Files uploaded before checksums were recorded get a weak tag from size and mtime
+            String etag = resource.getSha256() != null
+                    ? "\"" + resource.getSha256() + "\""
+                    : "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+            // Sets ETag and Last-Modified, or answers 304 when the client's copy is current
+            if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+                return null;
+            }
+
+            long start = 0;
+            long end = length - 1;
+            boolean partial = false;
+            String range = request.getHeader(HttpHeaders.RANGE);
+            if (range != null && ifRangeMatches(request, etag, lastModified)) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(range);
+                } catch (IllegalArgumentException e) {
+                    // Malformed ranges are ignored and the whole file is sent
+                    ranges = List.of();
+                }
+                // Multiple ranges are answered with the whole file as well
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || start > end) {
+                        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                                .build();
+                    }
+                    partial = true;
+                }
+            }
+
+            long count = end - start + 1;
+            response.setStatus(partial ? HttpStatus.PARTIAL_CONTENT.value() : HttpStatus.OK.value());
+            if (partial) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(resource.getTitle(), StandardCharsets.UTF_8).build().toString());
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(count);
+
+            if (count > 0 && !HttpMethod.HEAD.matches(request.getMethod())) {
+                writeFile(filePath, start, count, request, response);
+            }
+            return null;
         } catch (IOException e) {
+            if (response.isCommitted()) {
+                // Client went away mid-transfer, nothing left to answer
+                System.err.println("Download of resource " + id + " aborted: " + e.getMessage());
+                return null;
+            }
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to download file: " + e.getMessage());
         }
     }
 
+    /**
+     * Whether a Range request applies, a range is only valid for the representation named by If-Range
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Strong comparison, weak tags never match
+            return !etag.startsWith("W/") && ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Send a byte range of a file as the response body
+     * Under Tomcat the transfer is handed to the connector's sendfile after the handler
+     * returns, so the bytes go from the page cache to the socket without passing through
+     * the JVM; elsewhere FileChannel.transferTo copies them onto the response stream
+     */
+    private void writeFile(Path filePath, long start, long count,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, filePath.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        OutputStream out = response.getOutputStream();
+        fileStorageService.transferTo(filePath, start, count, Channels.newChannel(out));
+        out.flush();
+    }
+
     /**
      * Delete a resource
      * DELETE /api/resources/{id}
@@ -207,21 +441,24 @@ public class ResourceController {
             return ResponseEntity.notFound().build();
         }
 
-        // Delete file if it's a file resource
+        // Row first: a concurrent or retried delete that also found it removes nothing and
+        // must not release the blob reference a second time
+        if (resourceRepository.deleteResource(id) == 0) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Drop the file's blob reference, the blob is unlinked with its last resource
+        // (if this fails the blob keeps a reference too many, it is never unlinked while in use)
         if (resource.getType() == Resource.ResourceType.FILE) {
             try {
-                Path filePath = Paths.get(UPLOAD_DIR + resource.getPathOrUrl());
-                Files.deleteIfExists(filePath);
-            } catch (IOException e) {
+                fileStorageService.release(resource.getPathOrUrl());
+            } catch (IOException | IllegalArgumentException e) {
                 System.err.println("Failed to delete file: " + e.getMessage());
             }
         }
 
-        // Log activity before deletion
         activityLogService.logActivity(resource.getUploadedBy(), "DELETE_RESOURCE", 
                 "Deleted resource: " + resource.getTitle() + " (ID: " + id + ")");
-        
-        resourceRepository.delete(resource);
         return ResponseEntity.noContent().build();
     }
 }
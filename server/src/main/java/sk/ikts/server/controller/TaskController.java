@@ -35,8 +35,13 @@ public class TaskController {
      */
     @PostMapping
     public ResponseEntity<TaskDTO> createTask(@Valid @RequestBody CreateTaskRequest request) {
-        TaskDTO task = taskService.createTask(request);
-        return ResponseEntity.ok(task);
+        try {
+            TaskDTO task = taskService.createTask(request);
+            return ResponseEntity.ok(task);
+        } catch (IllegalArgumentException e) {
+            // Invalid reminders
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -132,6 +137,9 @@ public class TaskController {
 
             TaskDTO updatedTask = taskService.updateTask(id, title, description, status, deadline, reminders);
             return ResponseEntity.ok(updatedTask);
+        } catch (IllegalArgumentException e) {
+            // Invalid reminders
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -144,8 +152,7 @@ public class TaskController {
     @PostMapping("/test/check-deadlines")
     public ResponseEntity<Map<String, String>> testCheckDeadlines() {
         try {
-            deadlineReminderService.checkUpcomingDeadlines();
-            deadlineReminderService.checkOverdueTasks();
+            deadlineReminderService.tick();
             Map<String, String> response = new HashMap<>();
             response.put("status", "success");
             response.put("message", "Deadline check executed manually");
@@ -0,0 +1,60 @@
+package sk.ikts.server.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the dashboard of a user
+ * Groups the user is a member of, their tasks and task counts per status
+ */
+public class DashboardDTO {
+
+    private Long userId;
+    private List<GroupDTO> groups;
+    private List<TaskDTO> tasks;
+    private Map<String, Integer> statusCounts; // Task status name -> number of tasks, every status present
+
+    // Constructors
+    public DashboardDTO() {
+    }
+
+    public DashboardDTO(Long userId, List<GroupDTO> groups, List<TaskDTO> tasks, Map<String, Integer> statusCounts) {
+        this.userId = userId;
+        this.groups = groups;
+        this.tasks = tasks;
+        this.statusCounts = statusCounts;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public List<GroupDTO> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<GroupDTO> groups) {
+        this.groups = groups;
+    }
+
+    public List<TaskDTO> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+    }
+
+    public Map<String, Integer> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Integer> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+}
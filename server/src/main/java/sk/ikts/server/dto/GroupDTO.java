@@ -13,6 +13,7 @@ public class GroupDTO {
     private Long createdBy;
     private String ownerName; // Name of the group owner
     private LocalDateTime createdAt;
+    private Long version; // Entity version, increases with every update
 
     // Constructors
     public GroupDTO() {
@@ -35,6 +36,12 @@ public class GroupDTO {
         this.createdAt = createdAt;
     }
 
+    public GroupDTO(Long groupId, String name, String description, Long createdBy, String ownerName,
+                    LocalDateTime createdAt, Long version) {
+        this(groupId, name, description, createdBy, ownerName, createdAt);
+        this.version = version;
+    }
+
     // Getters and Setters
     public Long getGroupId() {
         return groupId;
@@ -83,14 +90,12 @@ public class GroupDTO {
     public void setOwnerName(String ownerName) {
         this.ownerName = ownerName;
     }
-}
-
-
-
-
-
-
-
-
 
+    public Long getVersion() {
+        return version;
+    }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
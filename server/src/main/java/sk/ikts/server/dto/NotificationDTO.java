@@ -1,10 +1,15 @@
 package sk.ikts.server.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Data Transfer Object for notifications
  * Used for WebSocket real-time notifications
+ * Coalesced notifications of the same type carry the number of merged
+ * notifications in count and the affected tasks in taskIds (both null otherwise)
+ * Notifications about a changed task or group carry its new state (with its
+ * version) in tasks or group, so clients can apply the change without reloading
  */
 public class NotificationDTO {
 
@@ -14,6 +19,10 @@ public class NotificationDTO {
     private Long taskId;
     private Long userId;
     private LocalDateTime timestamp;
+    private Integer count;
+    private List<Long> taskIds;
+    private List<TaskDTO> tasks;
+    private GroupDTO group;
 
     // Constructors
     public NotificationDTO() {
@@ -81,14 +90,36 @@ public class NotificationDTO {
     public void setTimestamp(LocalDateTime timestamp) {
         this.timestamp = timestamp;
     }
-}
-
-
 
+    public Integer getCount() {
+        return count;
+    }
 
+    public void setCount(Integer count) {
+        this.count = count;
+    }
 
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
 
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
 
+    public List<TaskDTO> getTasks() {
+        return tasks;
+    }
 
+    public void setTasks(List<TaskDTO> tasks) {
+        this.tasks = tasks;
+    }
 
+    public GroupDTO getGroup() {
+        return group;
+    }
 
+    public void setGroup(GroupDTO group) {
+        this.group = group;
+    }
+}
@@ -0,0 +1,81 @@
+package sk.ikts.server.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Request DTO for starting (or resuming) a chunked upload
+ */
+public class StartUploadRequest {
+
+    @NotNull(message = "Group ID is required")
+    private Long groupId;
+
+    @NotNull(message = "Uploaded by user ID is required")
+    private Long uploadedBy;
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    @Positive(message = "Size must be positive")
+    private long size;
+
+    @NotNull(message = "SHA-256 is required")
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "SHA-256 must be 64 hex digits")
+    private String sha256; // Checksum of the whole file, verified on commit
+
+    // Constructors
+    public StartUploadRequest() {
+    }
+
+    public StartUploadRequest(Long groupId, Long uploadedBy, String title, long size, String sha256) {
+        this.groupId = groupId;
+        this.uploadedBy = uploadedBy;
+        this.title = title;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    // Getters and Setters
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public Long getUploadedBy() {
+        return uploadedBy;
+    }
+
+    public void setUploadedBy(Long uploadedBy) {
+        this.uploadedBy = uploadedBy;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+}
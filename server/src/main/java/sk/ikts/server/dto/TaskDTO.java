@@ -18,6 +18,7 @@ public class TaskDTO {
     private LocalDateTime deadline;
     private LocalDateTime createdAt;
     private String reminders; // JSON array of hours before deadline
+    private Long version; // Entity version, increases with every update
 
     // Constructors
     public TaskDTO() {
@@ -108,14 +109,12 @@ public class TaskDTO {
     public void setReminders(String reminders) {
         this.reminders = reminders;
     }
-}
-
-
-
-
-
-
-
-
 
+    public Long getVersion() {
+        return version;
+    }
 
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
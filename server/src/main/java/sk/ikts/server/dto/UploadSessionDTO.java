@@ -0,0 +1,69 @@
+package sk.ikts.server.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the state of a chunked upload
+ * Chunk i covers bytes [i * chunkSize, min((i + 1) * chunkSize, size))
+ */
+public class UploadSessionDTO {
+
+    private String uploadId;
+    private long size;
+    private int chunkSize;
+    private int chunkCount;
+    private List<Integer> receivedChunks; // Chunks already stored, the client sends the rest
+
+    // Constructors
+    public UploadSessionDTO() {
+    }
+
+    public UploadSessionDTO(String uploadId, long size, int chunkSize, int chunkCount, List<Integer> receivedChunks) {
+        this.uploadId = uploadId;
+        this.size = size;
+        this.chunkSize = chunkSize;
+        this.chunkCount = chunkCount;
+        this.receivedChunks = receivedChunks;
+    }
+
+    // Getters and Setters
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(int chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public List<Integer> getReceivedChunks() {
+        return receivedChunks;
+    }
+
+    public void setReceivedChunks(List<Integer> receivedChunks) {
+        this.receivedChunks = receivedChunks;
+    }
+}
@@ -0,0 +1,324 @@
+package sk.ikts.server.migration;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import sk.ikts.server.config.MigrationProperties;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Versioned schema migrations, the owner of the database schema
+ *
+ * Scripts named V{version}__{description}.sql are read from the location of the
+ * database vendor (SQLite or H2) and applied in version order, each in its own
+ * transaction. Applied versions are recorded in schema_history with the SHA-256 of
+ * the script, so a script edited after it ran stops the startup instead of leaving
+ * databases with different schemas under the same version. Runs before the
+ * EntityManagerFactory (see {@link SchemaMigratorDetector}); Hibernate only uses
+ * the schema and no longer inspects or changes it.
+ *
+ * Several instances may start at the same time. Each migration first updates the row of
+ * schema_lock in its transaction, which holds the write lock of SQLite (a row lock on H2)
+ * until the commit, and then reads the applied versions again, so a version applied by
+ * another instance meanwhile is skipped. H2 commits before DDL statements, so there a
+ * migration failing because another instance applied it at the same time is skipped as well.
+ *
+ * Scripts may add columns with ALTER TABLE ... ADD COLUMN IF NOT EXISTS, which SQLite
+ * does not support; on SQLite the statement is dropped if the column exists and run
+ * without IF NOT EXISTS otherwise.
+ */
+@Component
+public class SchemaMigrator implements InitializingBean {
+
+    static final String HISTORY_TABLE = "schema_history";
+    static final String LOCK_TABLE = "schema_lock";
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern ADD_COLUMN_IF_NOT_EXISTS = Pattern.compile(
+            "ALTER TABLE (\\w+) ADD COLUMN IF NOT EXISTS (\\w+)([^;]*);", Pattern.CASE_INSENSITIVE);
+
+    private final DataSource dataSource;
+    private final MigrationProperties properties;
+
+    public SchemaMigrator(DataSource dataSource, MigrationProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (properties.isEnabled()) {
+            migrate();
+        }
+    }
+
+    /**
+     * Apply all pending migrations
+     * @return number of applied migrations
+     * @throws IllegalStateException if an applied script was changed or the database is newer than the scripts
+     */
+    public int migrate() throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            String vendor = vendor(connection);
+            List<Migration> migrations = load(vendor);
+            createHistoryTable(connection);
+            createLockTable(connection);
+            Map<Integer, String> applied = appliedChecksums(connection);
+
+            for (Map.Entry<Integer, String> entry : applied.entrySet()) {
+                Migration migration = migrations.stream()
+                        .filter(m -> m.version() == entry.getKey())
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Database has migration V" + entry.getKey()
+                                + " which is not among the scripts, the database is newer than the application"));
+                if (!migration.checksum().equals(entry.getValue())) {
+                    throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description()
+                            + ") was changed after it was applied, add a new migration instead");
+                }
+            }
+
+            int count = 0;
+            for (Migration migration : migrations) {
+                if (!applied.containsKey(migration.version()) && apply(connection, vendor, migration)) {
+                    count++;
+                }
+            }
+            System.out.println("Schema is at version " + (migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version())
+                    + " (" + count + " migrations applied)");
+            return count;
+        }
+    }
+
+    /**
+     * Migrations recorded in the history table, in version order
+     */
+    public List<AppliedMigration> getAppliedMigrations() throws SQLException {
+        List<AppliedMigration> result = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT version, description, checksum, installed_at, execution_ms FROM "
+                     + HISTORY_TABLE + " ORDER BY version")) {
+            while (rows.next()) {
+                result.add(new AppliedMigration(rows.getInt(1), rows.getString(2), rows.getString(3),
+                        rows.getTimestamp(4).toLocalDateTime(), rows.getLong(5)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Apply one migration in its own transaction, under the migration lock
+     * @return false if another instance applied it meanwhile
+     */
+    private boolean apply(Connection connection, String vendor, Migration migration) throws SQLException, IOException {
+        long start = System.currentTimeMillis();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            lock(connection);
+            if (appliedChecksums(connection).containsKey(migration.version())) {
+                connection.commit();
+                System.out.println("Migration V" + migration.version() + " (" + migration.description()
+                        + ") was applied by another instance");
+                return false;
+            }
+            Resource script = "sqlite".equals(vendor)
+                    ? new ByteArrayResource(emulateAddColumnIfNotExists(connection, read(migration.script()))
+                            .getBytes(StandardCharsets.UTF_8))
+                    : migration.script();
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(script, StandardCharsets.UTF_8));
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + HISTORY_TABLE
+                    + " (version, description, checksum, installed_at, execution_ms) VALUES (?, ?, ?, ?, ?)")) {
+                insert.setInt(1, migration.version());
+                insert.setString(2, migration.description());
+                insert.setString(3, migration.checksum());
+                insert.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                insert.setLong(5, System.currentTimeMillis() - start);
+                insert.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            connection.setAutoCommit(autoCommit);
+            if (appliedChecksums(connection).containsKey(migration.version())) {
+                // Applied by another instance at the same time, e.g. the history row already exists
+                System.out.println("Migration V" + migration.version() + " (" + migration.description()
+                        + ") was applied by another instance");
+                return false;
+            }
+            throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description()
+                    + ") failed: " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        System.out.println("Applied migration V" + migration.version() + " (" + migration.description() + ") in "
+                + (System.currentTimeMillis() - start) + " ms");
+        return true;
+    }
+
+    /**
+     * Rewrite ADD COLUMN IF NOT EXISTS for SQLite: dropped if the column exists, plain ADD COLUMN otherwise
+     */
+    private static String emulateAddColumnIfNotExists(Connection connection, String script) throws SQLException {
+        Matcher matcher = ADD_COLUMN_IF_NOT_EXISTS.matcher(script);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String statement = columnExists(connection, matcher.group(1), matcher.group(2))
+                    ? ""
+                    : "ALTER TABLE " + matcher.group(1) + " ADD COLUMN " + matcher.group(2) + matcher.group(3) + ";";
+            matcher.appendReplacement(result, Matcher.quoteReplacement(statement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static boolean columnExists(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet columns = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (columns.next()) {
+                if (column.equalsIgnoreCase(columns.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+                    + "version integer not null primary key, "
+                    + "description varchar(200) not null, "
+                    + "checksum varchar(64) not null, "
+                    + "installed_at timestamp not null, "
+                    + "execution_ms bigint not null)");
+        }
+    }
+
+    private static void createLockTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + LOCK_TABLE + " ("
+                    + "id integer not null primary key, "
+                    + "locked_at timestamp)");
+            try (ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + LOCK_TABLE)) {
+                if (rows.next() && rows.getInt(1) > 0) {
+                    return;
+                }
+            }
+            try {
+                statement.executeUpdate("INSERT INTO " + LOCK_TABLE + " (id, locked_at) VALUES (1, NULL)");
+            } catch (SQLException e) {
+                // Another instance inserted the row meanwhile
+                try (ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + LOCK_TABLE)) {
+                    if (!rows.next() || rows.getInt(1) == 0) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Take the migration lock until the current transaction ends
+     * The write is the first statement of the transaction, on SQLite it waits for (busy_timeout)
+     * and then holds the database write lock like BEGIN IMMEDIATE
+     */
+    private static void lock(Connection connection) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE " + LOCK_TABLE + " SET locked_at = ? WHERE id = 1")) {
+            update.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            update.executeUpdate();
+        }
+    }
+
+    private static Map<Integer, String> appliedChecksums(Connection connection) throws SQLException {
+        Map<Integer, String> applied = new TreeMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (rows.next()) {
+                applied.put(rows.getInt(1), rows.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private List<Migration> load(String vendor) throws IOException {
+        String location = properties.getLocation().replace("{vendor}", vendor);
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(location + "/V*__*.sql");
+        Map<Integer, Migration> migrations = new TreeMap<>();
+        for (Resource script : scripts) {
+            Matcher matcher = SCRIPT_NAME.matcher(script.getFilename());
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid migration script name: " + script.getFilename());
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            Migration migration = new Migration(version, matcher.group(2).replace('_', ' '), script, checksum(script));
+            if (migrations.put(version, migration) != null) {
+                throw new IllegalStateException("Duplicate migration version V" + version + " in " + location);
+            }
+        }
+        return new ArrayList<>(migrations.values());
+    }
+
+    private static String vendor(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase();
+        if (product.contains("sqlite")) {
+            return "sqlite";
+        }
+        if (product.contains("h2")) {
+            return "h2";
+        }
+        throw new IllegalStateException("No migrations for database " + product);
+    }
+
+    private static String checksum(Resource script) throws IOException {
+        // Line endings do not count, a checkout on Windows must not look like an edited script
+        String content = read(script).replace("\r\n", "\n");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String read(Resource script) throws IOException {
+        try (InputStream input = script.getInputStream()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private record Migration(int version, String description, Resource script, String checksum) {
+    }
+
+    /**
+     * Row of the schema history
+     */
+    public record AppliedMigration(int version, String description, String checksum,
+                                   LocalDateTime installedAt, long executionMs) {
+    }
+}
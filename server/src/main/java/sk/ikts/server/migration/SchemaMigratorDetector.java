@@ -0,0 +1,18 @@
+package sk.ikts.server.migration;
+
+import org.springframework.boot.sql.init.dependency.AbstractBeansOfTypeDatabaseInitializerDetector;
+
+import java.util.Set;
+
+/**
+ * Marks {@link SchemaMigrator} as a database initializer, so beans using the database
+ * (the JPA EntityManagerFactory in particular) are created after the schema is migrated
+ * Registered in META-INF/spring.factories
+ */
+public class SchemaMigratorDetector extends AbstractBeansOfTypeDatabaseInitializerDetector {
+
+    @Override
+    protected Set<Class<?>> getDatabaseInitializerBeanTypes() {
+        return Set.of(SchemaMigrator.class);
+    }
+}
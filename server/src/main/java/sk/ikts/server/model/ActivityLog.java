@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 public class ActivityLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_log_seq")
+    @SequenceGenerator(name = "activity_log_seq", sequenceName = "ActivityLog_SEQ", allocationSize = 50)
     @Column(name = "log_id")
     private Long logId;
 
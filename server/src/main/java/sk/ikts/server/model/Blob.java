@@ -0,0 +1,82 @@
+package sk.ikts.server.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a stored file content, keyed by its SHA-256
+ * Resources with the same content share one blob, refCount counts them
+ */
+@Entity
+@Table(name = "blobs")
+public class Blob {
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount; // Resources pointing at the blob, the file is removed at 0
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt; // Last time refCount changed
+
+    // Constructors
+    public Blob() {
+    }
+
+    public Blob(String sha256, long sizeBytes, LocalDateTime createdAt) {
+        this.sha256 = sha256;
+        this.sizeBytes = sizeBytes;
+        this.refCount = 1;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    // Getters and Setters
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
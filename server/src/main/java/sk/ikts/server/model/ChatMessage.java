@@ -7,11 +7,15 @@ import java.time.LocalDateTime;
  * Entity representing a chat message in a group
  */
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        // Keyset pagination of a group's history (newest first)
+        @Index(name = "idx_chat_messages_group_sent", columnList = "group_id, sent_at, message_id")
+})
 public class ChatMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_message_seq")
+    @SequenceGenerator(name = "chat_message_seq", sequenceName = "ChatMessage_SEQ", allocationSize = 50)
     @Column(name = "message_id")
     private Long messageId;
 
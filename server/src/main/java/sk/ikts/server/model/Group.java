@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 public class Group {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "group_seq")
+    @SequenceGenerator(name = "group_seq", sequenceName = "Group_SEQ", allocationSize = 50)
     @Column(name = "group_id")
     private Long groupId;
 
@@ -28,6 +29,11 @@ public class Group {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Increased in the database on every update (GroupRepository.saveWithNewVersion), sent with
+    // group changes so clients can ignore stale ones; never written from a loaded copy
+    @Column(name = "version", nullable = false, updatable = false)
+    private long version;
+
     // Constructors
     public Group() {
         this.createdAt = LocalDateTime.now();
@@ -80,5 +86,12 @@ public class Group {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
-}
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
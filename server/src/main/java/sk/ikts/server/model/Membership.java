@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 public class Membership {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "membership_seq")
+    @SequenceGenerator(name = "membership_seq", sequenceName = "Membership_SEQ", allocationSize = 50)
     @Column(name = "membership_id")
     private Long membershipId;
 
@@ -0,0 +1,95 @@
+package sk.ikts.server.model;
+
+import java.util.Arrays;
+
+/**
+ * Reminder thresholds of a task in hours before its deadline
+ * Kept normalized as a sorted int[] (distinct, positive, earliest reminder first),
+ * stored as a compact JSON-compatible text such as "[24,6,1]"
+ */
+public final class ReminderHours {
+
+    /**
+     * Largest accepted threshold (30 days)
+     */
+    public static final int MAX_HOURS = 24 * 30;
+
+    private static final int[] DEFAULTS = {24, 6, 1};
+
+    private ReminderHours() {
+    }
+
+    /**
+     * Thresholds used by tasks without custom reminders (24h, 6h, 1h), shared and must not be modified
+     */
+    public static int[] defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Validate and normalize reminder thresholds
+     * Accepts a JSON array of whole hours ("[24, 6, 1]") or the same without brackets
+     * @param text thresholds, null or empty for the defaults
+     * @return normalized thresholds, null for the defaults
+     * @throws IllegalArgumentException if a threshold is not a whole number between 1 and MAX_HOURS
+     */
+    public static int[] parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String body = text.trim();
+        if (body.startsWith("[") && body.endsWith("]")) {
+            body = body.substring(1, body.length() - 1).trim();
+        }
+        if (body.isEmpty()) {
+            return null;
+        }
+
+        String[] parts = body.split(",", -1);
+        int[] hours = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            try {
+                hours[i] = Integer.parseInt(part);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid reminder '" + part + "', expected whole hours");
+            }
+            if (hours[i] < 1 || hours[i] > MAX_HOURS) {
+                throw new IllegalArgumentException("Reminder " + hours[i] + "h out of range 1-" + MAX_HOURS);
+            }
+        }
+        return normalize(hours);
+    }
+
+    /**
+     * Format thresholds as stored and returned to clients
+     * @param hours normalized thresholds or null
+     * @return JSON array text, null for null
+     */
+    public static String format(int[] hours) {
+        if (hours == null) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(hours.length * 3 + 2).append('[');
+        for (int i = 0; i < hours.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(hours[i]);
+        }
+        return text.append(']').toString();
+    }
+
+    private static int[] normalize(int[] hours) {
+        Arrays.sort(hours);
+        // Distinct values in descending order, the earliest reminder first
+        int[] result = new int[hours.length];
+        int count = 0;
+        for (int i = hours.length - 1; i >= 0; i--) {
+            if (count == 0 || result[count - 1] != hours[i]) {
+                result[count++] = hours[i];
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,26 @@
+package sk.ikts.server.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps normalized reminder thresholds to the reminders text column
+ * Unreadable legacy values are read as null, i.e. default reminders
+ */
+@Converter
+public class ReminderHoursConverter implements AttributeConverter<int[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(int[] hours) {
+        return ReminderHours.format(hours);
+    }
+
+    @Override
+    public int[] convertToEntityAttribute(String text) {
+        try {
+            return ReminderHours.parse(text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 public class Resource {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resource_seq")
+    @SequenceGenerator(name = "resource_seq", sequenceName = "Resource_SEQ", allocationSize = 50)
     @Column(name = "resource_id")
     private Long resourceId;
 
@@ -35,6 +36,12 @@ public class Resource {
     @Column(name = "uploaded_at")
     private LocalDateTime uploadedAt;
 
+    @Column(name = "size_bytes")
+    private Long sizeBytes; // File size, null for URLs and files uploaded before it was recorded
+
+    @Column(name = "sha256", length = 64)
+    private String sha256; // Hex SHA-256 of the file content, null for URLs
+
     // Enum for resource types
     public enum ResourceType {
         FILE,
@@ -111,5 +118,20 @@ public class Resource {
     public void setUploadedAt(LocalDateTime uploadedAt) {
         this.uploadedAt = uploadedAt;
     }
-}
 
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+}
@@ -0,0 +1,83 @@
+package sk.ikts.server.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity representing the lease of a job only one server instance may run
+ * The instance holding an unexpired lease is the leader for that job; every takeover
+ * increases the fencing token, so a former leader can tell it was replaced
+ */
+@Entity
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+
+    /**
+     * Lease of the deadline reminder scheduler
+     */
+    public static final String DEADLINE_REMINDERS = "deadline-reminders";
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column
+    private String owner; // Node ID of the holder, null if released
+
+    @Column(name = "fencing_token", nullable = false)
+    private long fencingToken;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt; // Epoch milliseconds
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private long heartbeatAt; // Epoch milliseconds of the last renewal
+
+    // Constructors
+    public SchedulerLease() {
+    }
+
+    public SchedulerLease(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    public void setFencingToken(long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public long getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(long heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
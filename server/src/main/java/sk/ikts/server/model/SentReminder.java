@@ -0,0 +1,89 @@
+package sk.ikts.server.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a deadline reminder that was already sent
+ * One row per task and reminder threshold, so reminders are not sent again after a restart
+ */
+@Entity
+@Table(name = "sent_reminders", uniqueConstraints = @UniqueConstraint(
+        name = "uk_sent_reminders_task_threshold", columnNames = {"task_id", "threshold"}))
+public class SentReminder {
+
+    /**
+     * Threshold of the (repeated) overdue notification
+     */
+    public static final int OVERDUE = -1;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sent_reminder_seq")
+    @SequenceGenerator(name = "sent_reminder_seq", sequenceName = "SentReminder_SEQ", allocationSize = 50)
+    @Column(name = "reminder_id")
+    private Long reminderId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(nullable = false)
+    private int threshold; // Hours before the deadline, or OVERDUE
+
+    @Column(nullable = false)
+    private LocalDateTime deadline; // Deadline the reminder was sent for
+
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+
+    // Constructors
+    public SentReminder() {
+    }
+
+    public SentReminder(Long taskId, int threshold, LocalDateTime deadline, LocalDateTime sentAt) {
+        this.taskId = taskId;
+        this.threshold = threshold;
+        this.deadline = deadline;
+        this.sentAt = sentAt;
+    }
+
+    // Getters and Setters
+    public Long getReminderId() {
+        return reminderId;
+    }
+
+    public void setReminderId(Long reminderId) {
+        this.reminderId = reminderId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(LocalDateTime deadline) {
+        this.deadline = deadline;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+}
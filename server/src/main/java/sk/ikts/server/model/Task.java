@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "Task_SEQ", allocationSize = 50)
     @Column(name = "task_id")
     private Long taskId;
 
@@ -38,8 +39,14 @@ public class Task {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Convert(converter = ReminderHoursConverter.class)
     @Column(name = "reminders", columnDefinition = "TEXT")
-    private String reminders; // JSON array of hours before deadline, e.g., "[24, 6, 1]"
+    private int[] reminderHours; // Normalized hours before deadline, e.g., {24, 6, 1}; null for defaults
+
+    // Increased in the database on every update (TaskRepository.saveWithNewVersion), sent with
+    // task changes so clients can ignore stale ones; never written from a loaded copy
+    @Column(name = "version", nullable = false, updatable = false)
+    private long version;
 
     // Enum for task status
     public enum TaskStatus {
@@ -128,12 +135,23 @@ public class Task {
         this.createdAt = createdAt;
     }
 
-    public String getReminders() {
-        return reminders;
+    public int[] getReminderHours() {
+        return reminderHours;
+    }
+
+    /**
+     * @param reminderHours thresholds normalized by {@link ReminderHours#parse(String)}, null for defaults
+     */
+    public void setReminderHours(int[] reminderHours) {
+        this.reminderHours = reminderHours;
+    }
+
+    public long getVersion() {
+        return version;
     }
 
-    public void setReminders(String reminders) {
-        this.reminders = reminders;
+    public void setVersion(long version) {
+        this.version = version;
     }
 }
 
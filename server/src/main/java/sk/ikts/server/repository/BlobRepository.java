@@ -0,0 +1,66 @@
+package sk.ikts.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sk.ikts.server.model.Blob;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for Blob entity
+ * Reference counts are changed with single UPDATE statements, never read-modify-write
+ */
+@Repository
+public interface BlobRepository extends JpaRepository<Blob, String> {
+
+    /**
+     * Add to the reference count of a blob
+     * @param sha256 blob hash
+     * @param delta +1 for a new reference, -1 for a released one
+     * @param now time of the change
+     * @return 0 if the blob does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Blob b SET b.refCount = b.refCount + :delta, b.updatedAt = :now WHERE b.sha256 = :sha256")
+    int adjustRefCount(@Param("sha256") String sha256, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    /**
+     * Current reference count of a blob, read from the database
+     * @param sha256 blob hash
+     * @return null if the blob does not exist
+     */
+    @Query("SELECT b.refCount FROM Blob b WHERE b.sha256 = :sha256")
+    Integer findRefCount(@Param("sha256") String sha256);
+
+    /**
+     * Which of the given blobs are still referenced
+     * @param hashes blob hashes, e.g. the files of one directory
+     * @return referenced hashes
+     */
+    @Query("SELECT b.sha256 FROM Blob b WHERE b.sha256 IN :hashes AND b.refCount > 0")
+    List<String> findReferenced(@Param("hashes") Collection<String> hashes);
+
+    /**
+     * Blobs without references, left behind when removing their file failed
+     * @return hashes of unreferenced blobs
+     */
+    @Query("SELECT b.sha256 FROM Blob b WHERE b.refCount <= 0")
+    List<String> findUnreferenced();
+
+    /**
+     * Delete a blob row once nothing references it
+     * @param sha256 blob hash
+     * @return 0 if the blob is referenced again or does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Blob b WHERE b.sha256 = :sha256 AND b.refCount <= 0")
+    int deleteUnreferenced(@Param("sha256") String sha256);
+}
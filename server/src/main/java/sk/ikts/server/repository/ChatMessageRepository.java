@@ -1,9 +1,13 @@
 package sk.ikts.server.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import sk.ikts.server.model.ChatMessage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -11,18 +15,22 @@ import java.util.List;
  */
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
-    
+
     /**
-     * Find all messages for a group, ordered by sent time
+     * Find the newest messages of a group, newest first
+     * Pageable only limits the result (always page 0)
      */
-    List<ChatMessage> findByGroupIdOrderBySentAtAsc(Long groupId);
-    
+    List<ChatMessage> findByGroupIdOrderBySentAtDescMessageIdDesc(Long groupId, Pageable pageable);
+
     /**
-     * Find recent messages for a group (last N messages)
+     * Find messages of a group older than the given (sentAt, messageId) position, newest first
+     * Keyset pagination on the (group_id, sent_at, message_id) index, no OFFSET
      */
-    List<ChatMessage> findTop50ByGroupIdOrderBySentAtDesc(Long groupId);
+    @Query("SELECT m FROM ChatMessage m WHERE m.groupId = :groupId " +
+           "AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.messageId < :messageId)) " +
+           "ORDER BY m.sentAt DESC, m.messageId DESC")
+    List<ChatMessage> findPageBefore(@Param("groupId") Long groupId,
+                                     @Param("sentAt") LocalDateTime sentAt,
+                                     @Param("messageId") Long messageId,
+                                     Pageable pageable);
 }
-
-
-
-
@@ -1,10 +1,16 @@
 package sk.ikts.server.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sk.ikts.server.dto.GroupDTO;
 import sk.ikts.server.model.Group;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Group entity
@@ -19,14 +25,57 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
      * @return List of groups
      */
     List<Group> findByCreatedBy(Long createdBy);
-}
-
-
-
-
 
+    /**
+     * Find all groups with the owner's name, in a single query
+     * @return List of group DTOs ordered by ID
+     */
+    @Query("SELECT new sk.ikts.server.dto.GroupDTO(g.groupId, g.name, g.description, g.createdBy, u.name, g.createdAt, g.version) " +
+           "FROM Group g LEFT JOIN User u ON u.userId = g.createdBy " +
+           "ORDER BY g.groupId")
+    List<GroupDTO> findAllWithOwnerName();
 
+    /**
+     * Find a group with the owner's name, in a single query
+     * @param groupId group ID
+     * @return group DTO
+     */
+    @Query("SELECT new sk.ikts.server.dto.GroupDTO(g.groupId, g.name, g.description, g.createdBy, u.name, g.createdAt, g.version) " +
+           "FROM Group g LEFT JOIN User u ON u.userId = g.createdBy " +
+           "WHERE g.groupId = :groupId")
+    Optional<GroupDTO> findByIdWithOwnerName(@Param("groupId") Long groupId);
 
+    /**
+     * Find all groups a user is member of with the owner's name, in a single query
+     * @param userId user ID
+     * @return List of group DTOs ordered by ID
+     */
+    @Query("SELECT DISTINCT new sk.ikts.server.dto.GroupDTO(g.groupId, g.name, g.description, g.createdBy, u.name, g.createdAt, g.version) " +
+           "FROM Membership m JOIN Group g ON g.groupId = m.groupId " +
+           "LEFT JOIN User u ON u.userId = g.createdBy " +
+           "WHERE m.userId = :userId " +
+           "ORDER BY g.groupId")
+    List<GroupDTO> findByMemberWithOwnerName(@Param("userId") Long userId);
 
+    /**
+     * Save a changed group and increase its version in the database
+     * The increment locks the row first, so concurrent updates get consecutive versions
+     * in commit order and the returned group carries the version of its own write
+     * @param group changed group, may be a copy loaded before other updates
+     * @return saved group with its new version
+     */
+    @Transactional
+    default Group saveWithNewVersion(Group group) {
+        incrementVersion(group.getGroupId());
+        Group saved = save(group);
+        saved.setVersion(findVersion(group.getGroupId()));
+        return saved;
+    }
 
+    @Modifying
+    @Query("UPDATE Group g SET g.version = g.version + 1 WHERE g.groupId = :groupId")
+    int incrementVersion(@Param("groupId") Long groupId);
 
+    @Query("SELECT g.version FROM Group g WHERE g.groupId = :groupId")
+    long findVersion(@Param("groupId") Long groupId);
+}
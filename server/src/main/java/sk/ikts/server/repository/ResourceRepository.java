@@ -1,7 +1,11 @@
 package sk.ikts.server.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import sk.ikts.server.model.Resource;
 
 import java.util.List;
@@ -26,14 +30,16 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
      * @return List of resources
      */
     List<Resource> findByUploadedBy(Long uploadedBy);
-}
-
-
-
-
-
-
-
-
-
 
+    /**
+     * Delete a resource row
+     * Of concurrent or retried deletes of the same resource only one removes the row,
+     * only that one may release the resource's file
+     * @param resourceId resource ID
+     * @return 1 if this call removed the row, 0 if it was already gone
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Resource r WHERE r.resourceId = :resourceId")
+    int deleteResource(@Param("resourceId") Long resourceId);
+}
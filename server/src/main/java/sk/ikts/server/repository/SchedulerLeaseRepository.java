@@ -0,0 +1,59 @@
+package sk.ikts.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sk.ikts.server.model.SchedulerLease;
+
+/**
+ * Repository interface for SchedulerLease entity
+ * Every change is a single conditional UPDATE, so two instances can never both win the same lease
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Take over a lease that expired, was released or is still held under this node ID
+     * (an instance restarted with a fixed node ID), increasing its fencing token
+     * @return 1 if the lease was taken over, 0 if another instance holds it
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.fencingToken = l.fencingToken + 1, " +
+           "l.expiresAt = :expiresAt, l.heartbeatAt = :now " +
+           "WHERE l.name = :name AND (l.owner IS NULL OR l.owner = :owner OR l.expiresAt <= :now)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+                @Param("now") long now, @Param("expiresAt") long expiresAt);
+
+    /**
+     * Extend a lease still held with the given fencing token
+     * @return 1 if renewed, 0 if it was taken over in the meantime
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :expiresAt, l.heartbeatAt = :now " +
+           "WHERE l.name = :name AND l.owner = :owner AND l.fencingToken = :token AND l.expiresAt > :now")
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("token") long token,
+              @Param("now") long now, @Param("expiresAt") long expiresAt);
+
+    /**
+     * Give up a lease, so another instance can take it over without waiting for it to expire
+     * @return 1 if released
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.owner = NULL, l.expiresAt = 0 " +
+           "WHERE l.name = :name AND l.owner = :owner AND l.fencingToken = :token")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("token") long token);
+
+    /**
+     * Whether the lease is still held with the given fencing token
+     */
+    @Query("SELECT COUNT(l) > 0 FROM SchedulerLease l " +
+           "WHERE l.name = :name AND l.owner = :owner AND l.fencingToken = :token AND l.expiresAt > :now")
+    boolean isHeld(@Param("name") String name, @Param("owner") String owner, @Param("token") long token,
+                   @Param("now") long now);
+}
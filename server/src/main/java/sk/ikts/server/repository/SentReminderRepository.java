@@ -0,0 +1,37 @@
+package sk.ikts.server.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sk.ikts.server.model.SentReminder;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for SentReminder entity
+ * Provides CRUD operations and custom queries
+ */
+@Repository
+public interface SentReminderRepository extends JpaRepository<SentReminder, Long> {
+
+    /**
+     * Find sent reminders of several tasks in a single query
+     * @param taskIds task IDs
+     * @return List of sent reminders
+     */
+    List<SentReminder> findByTaskIdIn(Collection<Long> taskIds);
+
+    /**
+     * Delete sent reminders of tasks that no longer exist, are done or whose deadline changed,
+     * in a single statement
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SentReminder r WHERE NOT EXISTS " +
+           "(SELECT t.taskId FROM Task t WHERE t.taskId = r.taskId AND t.deadline = r.deadline AND t.status != 'DONE')")
+    int deleteStale();
+}
@@ -1,9 +1,11 @@
 package sk.ikts.server.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import sk.ikts.server.model.Task;
 
 import java.time.LocalDateTime;
@@ -30,6 +32,13 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     List<Task> findByCreatedBy(Long createdBy);
 
+    /**
+     * Find all tasks that have a deadline and are not in the given status
+     * @param status excluded status
+     * @return List of tasks
+     */
+    List<Task> findByDeadlineIsNotNullAndStatusNot(Task.TaskStatus status);
+
     /**
      * Find all tasks for a group with specific status
      * @param groupId group ID
@@ -38,6 +47,16 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     List<Task> findByGroupIdAndStatus(Long groupId, Task.TaskStatus status);
 
+    /**
+     * Find all tasks in the groups a user is a member of, in a single query
+     * @param userId member user ID
+     * @return List of tasks ordered by group and task ID
+     */
+    @Query("SELECT t FROM Task t WHERE t.groupId IN " +
+           "(SELECT m.groupId FROM Membership m WHERE m.userId = :userId) " +
+           "ORDER BY t.groupId, t.taskId")
+    List<Task> findByMember(@Param("userId") Long userId);
+
     /**
      * Find all tasks with deadlines between start and end time
      * @param start start time
@@ -55,14 +74,26 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     @Query("SELECT t FROM Task t WHERE t.deadline IS NOT NULL AND t.deadline > :now AND t.deadline <= :futureTime AND t.status != 'DONE'")
     List<Task> findTasksWithUpcomingDeadlines(@Param("now") LocalDateTime now, @Param("futureTime") LocalDateTime futureTime);
-}
-
-
-
-
-
-
-
-
-
 
+    /**
+     * Save a changed task and increase its version in the database
+     * The increment locks the row first, so concurrent updates get consecutive versions
+     * in commit order and the returned task carries the version of its own write
+     * @param task changed task, may be a copy loaded before other updates
+     * @return saved task with its new version
+     */
+    @Transactional
+    default Task saveWithNewVersion(Task task) {
+        incrementVersion(task.getTaskId());
+        Task saved = save(task);
+        saved.setVersion(findVersion(task.getTaskId()));
+        return saved;
+    }
+
+    @Modifying
+    @Query("UPDATE Task t SET t.version = t.version + 1 WHERE t.taskId = :taskId")
+    int incrementVersion(@Param("taskId") Long taskId);
+
+    @Query("SELECT t.version FROM Task t WHERE t.taskId = :taskId")
+    long findVersion(@Param("taskId") Long taskId);
+}
@@ -0,0 +1,223 @@
+package sk.ikts.server.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of one-shot timeouts
+ *
+ * Level 0 has wheelSize slots of tickMs each, every further level has slots
+ * as wide as the whole level below it. A timeout is stored in the finest level
+ * that covers its deadline and moves down a level whenever the clock reaches
+ * its slot, so scheduling, cancelling and expiring cost O(1) per timeout and
+ * advancing the clock costs O(1) per tick regardless of how many timeouts wait.
+ * Timeouts expire at the tick that reaches their deadline (never early).
+ *
+ * Not thread-safe, callers synchronize.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    // Timeouts already due when scheduled or not yet due at the end of their slot
+    private final Bucket<T> due = new Bucket<>();
+    private int size;
+
+    /**
+     * @param tickMs resolution of the wheel
+     * @param wheelSize number of slots per level
+     * @param startMs current time
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        levels.add(new Level<>(tickMs, wheelSize, startMs - startMs % tickMs));
+    }
+
+    /**
+     * Schedule a timeout
+     * @param deadlineMs when the timeout expires, past deadlines expire on the next advance
+     * @param payload value passed to the expiry callback
+     * @return handle for {@link #cancel(Timeout)}
+     */
+    public Timeout<T> schedule(long deadlineMs, T payload) {
+        Timeout<T> timeout = new Timeout<>(deadlineMs, payload);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancel a timeout that has not expired yet
+     * @return false if it already expired or was cancelled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advance the clock and expire every timeout whose deadline is not after nowMs
+     * @param nowMs current time
+     * @param onExpired called for each expired payload
+     * @return number of expired timeouts
+     */
+    public int advance(long nowMs, Consumer<T> onExpired) {
+        Level<T> root = levels.get(0);
+        while (root.currentTime + tickMs <= nowMs) {
+            root.currentTime += tickMs;
+            // Move every level's clock before cascading, so timeouts moved down land in the right slot
+            int crossed = 0;
+            for (int i = 1; i < levels.size(); i++) {
+                Level<T> level = levels.get(i);
+                long aligned = root.currentTime - root.currentTime % level.tickMs;
+                if (aligned == level.currentTime) {
+                    break;
+                }
+                level.currentTime = aligned;
+                crossed = i;
+            }
+            // Coarser levels first, so their timeouts can still land in this tick's slot
+            for (int i = crossed; i >= 0; i--) {
+                Level<T> level = levels.get(i);
+                cascade(level.slotFor(level.currentTime));
+            }
+        }
+
+        // Unlink first, so the callback may schedule and cancel timeouts
+        List<T> expired = new ArrayList<>();
+        Timeout<T> timeout = due.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.deadlineMs <= nowMs) {
+                due.remove(timeout);
+                size--;
+                expired.add(timeout.payload);
+            }
+            timeout = next;
+        }
+        expired.forEach(onExpired);
+        return expired.size();
+    }
+
+    /**
+     * Number of scheduled timeouts that have not expired or been cancelled
+     */
+    public int size() {
+        return size;
+    }
+
+    private void cascade(Bucket<T> bucket) {
+        Timeout<T> timeout = bucket.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            bucket.remove(timeout);
+            insert(timeout);
+            timeout = next;
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        Level<T> root = levels.get(0);
+        if (timeout.deadlineMs < root.currentTime + tickMs) {
+            due.add(timeout);
+            return;
+        }
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> below = levels.get(i - 1);
+                long levelTick = below.tickMs * wheelSize;
+                levels.add(new Level<>(levelTick, wheelSize, root.currentTime - root.currentTime % levelTick));
+            }
+            Level<T> level = levels.get(i);
+            if (timeout.deadlineMs < level.currentTime + level.tickMs * wheelSize) {
+                level.slotFor(timeout.deadlineMs).add(timeout);
+                return;
+            }
+        }
+    }
+
+    private static final class Level<T> {
+        private final long tickMs;
+        private final Bucket<T>[] slots;
+        private long currentTime;
+
+        @SuppressWarnings("unchecked")
+        private Level(long tickMs, int wheelSize, long currentTime) {
+            this.tickMs = tickMs;
+            this.currentTime = currentTime;
+            this.slots = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                slots[i] = new Bucket<>();
+            }
+        }
+
+        private Bucket<T> slotFor(long timeMs) {
+            return slots[(int) ((timeMs / tickMs) % slots.length)];
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list, so a cancelled timeout is unlinked in O(1)
+     */
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+
+    /**
+     * Handle of a scheduled timeout
+     */
+    public static final class Timeout<T> {
+        private final long deadlineMs;
+        private final T payload;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(long deadlineMs, T payload) {
+            this.deadlineMs = deadlineMs;
+            this.payload = payload;
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+    }
+}
@@ -1,20 +1,79 @@
 package sk.ikts.server.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import sk.ikts.server.config.ActivityLogProperties;
 import sk.ikts.server.model.ActivityLog;
 import sk.ikts.server.repository.ActivityLogRepository;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Service for logging user activities
  * Records user actions for analytics and audit purposes
+ *
+ * Logging only puts the entry into a bounded in-memory buffer, so the calling
+ * request never waits for the database. A background writer stores the entries
+ * in batches (one transaction per batch) once a batch is full or the flush
+ * interval has passed. When the buffer is full, new entries are dropped and
+ * counted. Remaining entries are written on shutdown.
  */
 @Service
 public class ActivityLogService {
 
+    // How long shutdown waits for the writer to empty the buffer
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000;
+
+    // Queued on shutdown to wake up the writer, never written
+    private static final ActivityLog WAKE_UP = new ActivityLog();
+
     @Autowired
     private ActivityLogRepository activityLogRepository;
 
+    @Autowired
+    private ActivityLogProperties properties;
+
+    private BlockingQueue<ActivityLog> buffer;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        buffer = new ArrayBlockingQueue<>(Math.max(1, properties.getBufferCapacity()));
+        running = true;
+        writer = new Thread(this::runWriter, "activity-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (buffer != null) {
+            buffer.offer(WAKE_UP);
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Writer did not finish in time, write what is left ourselves
+        flush();
+    }
+
     /**
      * Log a user activity
      * @param userId user ID who performed the action
@@ -22,12 +81,14 @@ public class ActivityLogService {
      * @param details additional details about the action
      */
     public void logActivity(Long userId, String action, String details) {
-        try {
-            ActivityLog log = new ActivityLog(userId, action, details);
-            activityLogRepository.save(log);
-        } catch (Exception e) {
-            // Don't fail the main operation if logging fails
-            System.err.println("Failed to log activity: " + e.getMessage());
+        ActivityLog log = new ActivityLog(userId, action, details);
+        if (buffer != null && buffer.offer(log)) {
+            enqueuedCount.incrementAndGet();
+            return;
+        }
+        // Don't slow down the main operation, the entry is lost
+        if (droppedCount.incrementAndGet() % 1000 == 1) {
+            System.err.println("Activity log buffer full, dropped " + droppedCount.get() + " entries so far");
         }
     }
 
@@ -39,5 +100,94 @@ public class ActivityLogService {
     public void logActivity(Long userId, String action) {
         logActivity(userId, action, null);
     }
-}
 
+    /**
+     * Write all buffered entries now, on the calling thread
+     */
+    public void flush() {
+        if (buffer == null) {
+            return;
+        }
+        List<ActivityLog> batch = new ArrayList<>();
+        while (buffer.drainTo(batch, batchSize()) > 0) {
+            batch.remove(WAKE_UP);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Counters of the activity log writer
+     */
+    public ActivityLogStats getStats() {
+        return new ActivityLogStats(buffer != null ? buffer.size() : 0, properties.getBufferCapacity(),
+                enqueuedCount.get(), writtenCount.get(), droppedCount.get(), failedCount.get(), batchCount.get());
+    }
+
+    private void runWriter() {
+        List<ActivityLog> batch = new ArrayList<>();
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, properties.getFlushIntervalMs()));
+        while (running || !buffer.isEmpty()) {
+            try {
+                ActivityLog first = buffer.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null || first == WAKE_UP) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Collect more entries until the batch is full or the oldest entry waited long enough
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize()) {
+                    buffer.drainTo(batch, batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    ActivityLog next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null || next == WAKE_UP) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                batch.remove(WAKE_UP);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                write(batch);
+                batch.clear();
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("Activity log writer error: " + e.getMessage());
+            }
+        }
+    }
+
+    private void write(List<ActivityLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            // saveAll runs in a single transaction, one commit per batch
+            activityLogRepository.saveAll(batch);
+            writtenCount.addAndGet(batch.size());
+            batchCount.incrementAndGet();
+        } catch (Exception e) {
+            // Don't retry, a broken entry would block the log forever
+            failedCount.addAndGet(batch.size());
+            System.err.println("Failed to log " + batch.size() + " activities: " + e.getMessage());
+        }
+    }
+
+    private int batchSize() {
+        return Math.max(1, properties.getBatchSize());
+    }
+
+    /**
+     * Activity log writer metrics
+     */
+    public record ActivityLogStats(int buffered, int capacity, long enqueued, long written,
+                                   long dropped, long failed, long batches) {
+    }
+}
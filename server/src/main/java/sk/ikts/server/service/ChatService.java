@@ -1,6 +1,7 @@
 package sk.ikts.server.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import sk.ikts.server.dto.ChatMessageDTO;
 import sk.ikts.server.dto.CreateChatMessageRequest;
@@ -9,7 +10,11 @@ import sk.ikts.server.model.User;
 import sk.ikts.server.repository.ChatMessageRepository;
 import sk.ikts.server.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +23,9 @@ import java.util.stream.Collectors;
 @Service
 public class ChatService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private ChatMessageRepository chatMessageRepository;
 
@@ -27,8 +35,12 @@ public class ChatService {
     @Autowired
     private ActivityLogService activityLogService;
 
+    @Autowired
+    private GroupCommitService groupCommitService;
+
     /**
      * Create a new chat message
+     * The insert is committed together with messages sent concurrently (group commit)
      */
     public ChatMessageDTO createMessage(CreateChatMessageRequest request) {
         User user = userRepository.findById(request.getUserId())
@@ -41,7 +53,11 @@ public class ChatService {
                 request.getMessage()
         );
 
-        chatMessage = chatMessageRepository.save(chatMessage);
+        try {
+            chatMessage = groupCommitService.insert(chatMessage).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
         
         // Log activity
         activityLogService.logActivity(request.getUserId(), "SEND_CHAT_MESSAGE", 
@@ -52,25 +68,39 @@ public class ChatService {
     }
 
     /**
-     * Get all messages for a group
+     * Get recent messages for a group (last 50)
      */
-    public List<ChatMessageDTO> getMessagesByGroup(Long groupId) {
-        List<ChatMessage> messages = chatMessageRepository.findByGroupIdOrderBySentAtAsc(groupId);
-        return messages.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public List<ChatMessageDTO> getRecentMessagesByGroup(Long groupId) {
+        return getMessagesPage(groupId, null, DEFAULT_PAGE_SIZE);
     }
 
     /**
-     * Get recent messages for a group (last 50)
+     * Get a page of a group's messages in chronological order
+     * @param groupId group ID
+     * @param beforeMessageId only messages older than this one, null for the newest page
+     * @param limit maximum number of messages (clamped to 1..MAX_PAGE_SIZE)
+     * @return messages oldest first, empty if beforeMessageId is not a message of the group
      */
-    public List<ChatMessageDTO> getRecentMessagesByGroup(Long groupId) {
-        List<ChatMessage> messages = chatMessageRepository.findTop50ByGroupIdOrderBySentAtDesc(groupId);
-        // Reverse to get chronological order
-        return messages.stream()
-                .sorted((m1, m2) -> m1.getSentAt().compareTo(m2.getSentAt()))
+    public List<ChatMessageDTO> getMessagesPage(Long groupId, Long beforeMessageId, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        List<ChatMessage> messages;
+        if (beforeMessageId == null) {
+            messages = chatMessageRepository.findByGroupIdOrderBySentAtDescMessageIdDesc(groupId, page);
+        } else {
+            Optional<ChatMessage> cursor = chatMessageRepository.findById(beforeMessageId);
+            if (cursor.isEmpty() || !groupId.equals(cursor.get().getGroupId())) {
+                return new ArrayList<>();
+            }
+            messages = chatMessageRepository.findPageBefore(groupId, cursor.get().getSentAt(),
+                    cursor.get().getMessageId(), page);
+        }
+
+        // Query returns newest first, clients show oldest first
+        List<ChatMessageDTO> result = messages.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        Collections.reverse(result);
+        return result;
     }
 
     /**
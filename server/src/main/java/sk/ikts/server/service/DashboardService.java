@@ -0,0 +1,50 @@
+package sk.ikts.server.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import sk.ikts.server.dto.DashboardDTO;
+import sk.ikts.server.dto.GroupDTO;
+import sk.ikts.server.dto.TaskDTO;
+import sk.ikts.server.model.Task;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service assembling the dashboard of a user
+ * Replaces one task request per group with two set-based queries
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private TaskService taskService;
+
+    /**
+     * Get groups, tasks and task status counts of a user
+     * @param userId user ID
+     * @return DashboardDTO
+     */
+    public DashboardDTO getDashboard(Long userId) {
+        List<GroupDTO> groups = groupService.getGroupsForUser(userId);
+        List<TaskDTO> tasks = groups.isEmpty() ? List.of() : taskService.getTasksForUser(userId);
+        return new DashboardDTO(userId, groups, tasks, countByStatus(tasks));
+    }
+
+    private Map<String, Integer> countByStatus(List<TaskDTO> tasks) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            counts.put(status.name(), 0);
+        }
+        for (TaskDTO task : tasks) {
+            if (task.getStatus() != null) {
+                counts.merge(task.getStatus().name(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+}
@@ -1,229 +1,394 @@
 package sk.ikts.server.service;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import sk.ikts.server.cluster.ClusterEvent;
+import sk.ikts.server.cluster.ClusterEventBus;
+import sk.ikts.server.config.ReminderProperties;
+import sk.ikts.server.model.ReminderHours;
+import sk.ikts.server.model.SentReminder;
 import sk.ikts.server.model.Task;
 import sk.ikts.server.repository.TaskRepository;
+import sk.ikts.server.scheduling.TimingWheel;
 
-import java.lang.reflect.Type;
-import java.time.LocalDate;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
- * Service for checking upcoming task deadlines and sending reminders
- * Runs periodically to notify users about approaching deadlines
+ * Service sending deadline reminders and overdue notifications
+ * Every reminder of every open task with a deadline is kept in a timing wheel
+ * at the instant it is due, so it fires within one tick of that instant without
+ * scanning tasks. The wheel is filled once at startup and kept up to date by
+ * TaskService whenever a task's deadline, reminders or status change.
+ * Sent reminders are recorded in a persistent ledger, so a restart does not
+ * send them again.
+ *
+ * With several server instances only the elected leader (LeaderElectionService) keeps
+ * the schedule and sends reminders. It loads the schedule whenever it becomes leader,
+ * so it also sees the reminders its predecessor recorded; the other instances relay
+ * their task changes to it through the ClusterEventBus.
  */
 @Service
 public class DeadlineReminderService {
 
+    private static final long HOUR_MS = 3600000;
+
     @Autowired
     private TaskRepository taskRepository;
 
     @Autowired
     private NotificationService notificationService;
-    
-    private final Gson gson = new Gson();
 
-    // Track which tasks have already been notified at which threshold to avoid duplicate notifications
-    // Format: "taskId_threshold" where threshold is 24, 6, or 1
-    private final Set<String> notifiedTasks = new HashSet<>();
+    @Autowired
+    private ReminderLedgerService reminderLedgerService;
+
+    @Autowired
+    private ReminderProperties properties;
+
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
+    @Autowired
+    private ClusterEventBus clusterEventBus;
+
+    private final Object lock = new Object();
+    private TimingWheel<Reminder> wheel;
+    // Open tasks with a deadline (guarded by lock)
+    private final Map<Long, TaskReminders> scheduled = new HashMap<>();
+    // Versions of tasks removed from the schedule as done or without deadline (guarded by lock)
+    private final Map<Long, Long> removedVersions = new HashMap<>();
+    private long firedCount;
+
+    @PostConstruct
+    public void init() {
+        clearSchedule();
+        leaderElectionService.addListener(leader -> {
+            if (leader) {
+                loadSchedule();
+            } else {
+                clearSchedule();
+            }
+        });
+        clusterEventBus.addListener(ClusterEvent.Kind.TASK_SCHEDULE, TaskScheduleChange.class,
+                (groupId, change) -> rescheduleTask(change.taskId()));
+    }
 
     /**
-     * Check for upcoming deadlines every hour
-     * Sends daily notifications for tasks with deadlines within 3 days (72 hours)
-     * Each day, users receive one reminder notification
+     * Build the schedule from all open tasks with a deadline, called when this instance becomes leader
+     * Tasks changed and scheduled by TaskService while it runs keep their newer state, the copies
+     * read here are skipped by their older version
      */
-    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    public void checkUpcomingDeadlines() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDate today = LocalDate.now();
-        LocalDateTime in3Days = now.plusDays(3); // 3 days = 72 hours
-        
-        System.out.println("=== Checking deadlines at " + now + " ===");
-        
-        // Find tasks with deadlines within the next 3 days
-        List<Task> upcomingTasks = taskRepository.findTasksWithUpcomingDeadlines(now, in3Days);
-        System.out.println("Found " + upcomingTasks.size() + " tasks with upcoming deadlines");
-        
-        for (Task task : upcomingTasks) {
-            if (task.getDeadline() == null || task.getStatus() == Task.TaskStatus.DONE || task.getTaskId() == null) {
-                System.out.println("Skipping task " + task.getTaskId() + ": deadline=" + task.getDeadline() + 
-                                 ", status=" + task.getStatus());
-                continue;
+    public void loadSchedule() {
+        clearSchedule();
+        int stale = reminderLedgerService.deleteStale();
+        Map<Long, List<SentReminder>> ledger = reminderLedgerService.loadByTask();
+        List<Task> tasks = taskRepository.findByDeadlineIsNotNullAndStatusNot(Task.TaskStatus.DONE);
+        for (Task task : tasks) {
+            schedule(task, ledger.get(task.getTaskId()));
+        }
+        System.out.println("Scheduled deadline reminders for " + tasks.size() + " tasks (" +
+                         ledger.size() + " with sent reminders, " + stale + " stale ledger entries removed)");
+    }
+
+    /**
+     * Remove ledger entries of tasks that were deleted, completed or got a new deadline
+     */
+    @Scheduled(fixedRateString = "#{@reminderProperties.ledgerCleanupIntervalMs}",
+               initialDelayString = "#{@reminderProperties.ledgerCleanupIntervalMs}")
+    public void cleanupLedger() {
+        if (!leaderElectionService.isLeader()) {
+            return;
+        }
+        try {
+            reminderLedgerService.deleteStale();
+        } catch (Exception e) {
+            System.err.println("Error cleaning up reminder ledger: " + e.getMessage());
+        }
+    }
+
+    /**
+     * (Re)schedule the reminders of a task after it was created or changed
+     * Tasks without a deadline or already done are removed from the schedule
+     * @param task saved task
+     */
+    public void scheduleTask(Task task) {
+        if (!leaderElectionService.isLeader()) {
+            // The leader reloads the task and schedules it
+            if (task.getTaskId() != null) {
+                clusterEventBus.publish(ClusterEvent.Kind.TASK_SCHEDULE, task.getGroupId(), new TaskScheduleChange(task.getTaskId()));
             }
-            
-            long hoursUntilDeadline = ChronoUnit.HOURS.between(now, task.getDeadline());
-            long minutesUntilDeadline = ChronoUnit.MINUTES.between(now, task.getDeadline());
-            
-            System.out.println("Checking task " + task.getTaskId() + " (" + task.getTitle() + "): " + 
-                             "deadline=" + task.getDeadline() + ", hoursUntil=" + hoursUntilDeadline + 
-                             ", minutesUntil=" + minutesUntilDeadline);
-            
-            String taskKey = task.getTaskId().toString();
-            
-            // Get custom reminders or use defaults
-            List<Integer> reminders = getRemindersForTask(task);
-            
-            // Check each reminder threshold
-            for (Integer reminderHours : reminders) {
-                if (reminderHours == null) continue;
-                
-                // Check if we're within the reminder window
-                // For reminderHours=1, send notification when deadline is between 0 and 1 hour away
-                // We check if deadline is <= reminderHours hours away AND > (reminderHours - 1) hours away
-                // But we also allow a 5-minute grace period to catch notifications that might be slightly late
-                boolean isWithinReminderWindow = false;
-                
-                if (reminderHours <= 1) {
-                    // For 1 hour reminders, check if deadline is between 0 and 1 hour away (with 5 min grace)
-                    isWithinReminderWindow = minutesUntilDeadline > 0 && minutesUntilDeadline <= (reminderHours * 60 + 5);
-                } else {
-                    // For longer reminders, check if deadline is within the reminder window
-                    // Allow some grace period (15 minutes) to catch notifications
-                    double hoursWithGrace = reminderHours + 0.25; // 15 minutes grace
-                    double hoursMinusGrace = Math.max(0, reminderHours - 1 - 0.25); // 15 minutes grace
-                    isWithinReminderWindow = hoursUntilDeadline <= hoursWithGrace && hoursUntilDeadline > hoursMinusGrace;
+            return;
+        }
+        schedule(task, null);
+    }
+
+    /**
+     * Reschedule a task changed on another instance
+     */
+    private void rescheduleTask(Long taskId) {
+        if (taskId == null || !leaderElectionService.isLeader()) {
+            return;
+        }
+        taskRepository.findById(taskId).ifPresent(task -> schedule(task, null));
+    }
+
+    /**
+     * Drop the whole schedule, when this instance stops being leader
+     */
+    private void clearSchedule() {
+        synchronized (lock) {
+            wheel = new TimingWheel<>(properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+            scheduled.clear();
+            removedVersions.clear();
+        }
+    }
+
+    private void schedule(Task task, List<SentReminder> sent) {
+        if (task.getTaskId() == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            TaskReminders previous = scheduled.get(task.getTaskId());
+            long newestVersion = previous != null
+                    ? previous.version
+                    : removedVersions.getOrDefault(task.getTaskId(), -1L);
+            if (task.getVersion() < newestVersion) {
+                // Stale copy, e.g. read by loadSchedule before the task was changed and scheduled again
+                return;
+            }
+            scheduled.remove(task.getTaskId());
+            if (previous != null) {
+                for (TimingWheel.Timeout<Reminder> timeout : previous.timeouts) {
+                    wheel.cancel(timeout);
                 }
-                
-                if (isWithinReminderWindow) {
-                    String reminderKey = taskKey + "_reminder_" + reminderHours;
-                    
-                    // Only send if we haven't sent this reminder yet
-                    if (!notifiedTasks.contains(reminderKey)) {
-                        System.out.println("Sending deadline reminder for task " + task.getTaskId() + 
-                                         " (" + task.getTitle() + "): " + reminderHours + "h reminder, " + 
-                                         hoursUntilDeadline + "h remaining");
-                        
-                        if (reminderHours <= 1 && minutesUntilDeadline > 0) {
-                            // Less than 1 hour - urgent notification
-                            notificationService.notifyDeadlineApproaching(
-                                task.getGroupId(),
-                                task.getTaskId(),
-                                task.getTitle(),
-                                minutesUntilDeadline,
-                                true
-                            );
-                        } else if (reminderHours <= 6) {
-                            // Warning notification
-                            notificationService.notifyDeadlineApproaching(
-                                task.getGroupId(),
-                                task.getTaskId(),
-                                task.getTitle(),
-                                hoursUntilDeadline,
-                                false
-                            );
-                        } else {
-                            // Regular reminder
-                            notificationService.notifyDeadlineReminder(
-                                task.getGroupId(),
-                                task.getTaskId(),
-                                task.getTitle(),
-                                hoursUntilDeadline
-                            );
-                        }
-                        notifiedTasks.add(reminderKey);
+            }
+            if (task.getDeadline() == null || task.getStatus() == Task.TaskStatus.DONE) {
+                removedVersions.put(task.getTaskId(), task.getVersion());
+                return;
+            }
+            removedVersions.remove(task.getTaskId());
+
+            TaskReminders state = new TaskReminders(task.getDeadline(), task.getVersion());
+            if (previous != null && previous.deadline.equals(task.getDeadline())) {
+                // Same deadline, reminders already sent must not be sent again
+                state.sentThresholds.addAll(previous.sentThresholds);
+                state.lastOverdueMs = previous.lastOverdueMs;
+            } else if (previous == null && sent != null) {
+                // Reminders sent before a restart, only if still for the same deadline
+                for (SentReminder reminder : sent) {
+                    if (!reminder.getDeadline().equals(task.getDeadline())) {
+                        continue;
+                    }
+                    if (reminder.getThreshold() == SentReminder.OVERDUE) {
+                        state.lastOverdueMs = toEpochMilli(reminder.getSentAt());
+                    } else {
+                        state.sentThresholds.add(reminder.getThreshold());
                     }
                 }
             }
-        }
-        
-        // Clean up notified tasks that are past their deadline or completed
-        // Also clean up old daily keys (older than today)
-        notifiedTasks.removeIf(key -> {
-            // Handle daily keys: taskId_daily_date
-            if (key.contains("_daily_")) {
-                String[] parts = key.split("_daily_");
-                if (parts.length == 2) {
-                    try {
-                        Long taskId = Long.parseLong(parts[0]);
-                        LocalDate notificationDate = LocalDate.parse(parts[1]);
-                        // Remove if task is done or deadline passed, or if notification date is old
-                        Task task = taskRepository.findById(taskId).orElse(null);
-                        if (task == null || 
-                            task.getStatus() == Task.TaskStatus.DONE || 
-                            (task.getDeadline() != null && task.getDeadline().isBefore(now))) {
-                            return true;
-                        }
-                        // Remove old daily keys (not today)
-                        return !notificationDate.equals(today);
-                    } catch (Exception e) {
-                        return true; // Remove invalid keys
+            scheduled.put(task.getTaskId(), state);
+
+            long deadlineMs = toEpochMilli(task.getDeadline());
+            if (deadlineMs > now) {
+                // Thresholds were validated and normalized when the task was written
+                int[] thresholds = task.getReminderHours() != null ? task.getReminderHours() : ReminderHours.defaults();
+                for (int hours : thresholds) {
+                    if (state.sentThresholds.contains(hours)) {
+                        continue;
+                    }
+                    long fireAt = deadlineMs - hours * HOUR_MS;
+                    if (fireAt >= now - properties.getLateGraceMs()) {
+                        state.timeouts.add(wheel.schedule(fireAt, new Reminder(task, hours)));
                     }
                 }
             }
-            // Handle other keys (urgent, overdue, etc.)
-            String taskIdStr = key.split("_")[0];
-            try {
-                Long taskId = Long.parseLong(taskIdStr);
-                Task task = taskRepository.findById(taskId).orElse(null);
-                return task == null || 
-                       task.getStatus() == Task.TaskStatus.DONE || 
-                       (task.getDeadline() != null && task.getDeadline().isBefore(now));
-            } catch (NumberFormatException e) {
-                return true; // Remove invalid keys
-            }
-        });
+            long overdueAt = state.lastOverdueMs > 0
+                    ? state.lastOverdueMs + properties.getOverdueRepeatMs()
+                    : deadlineMs;
+            state.timeouts.add(wheel.schedule(overdueAt, new Reminder(task, SentReminder.OVERDUE)));
+        }
     }
 
     /**
-     * Get reminders for a task - either custom reminders or default ones
+     * Fire due reminders, runs every tick
      */
-    private List<Integer> getRemindersForTask(Task task) {
-        if (task.getReminders() != null && !task.getReminders().isEmpty()) {
-            try {
-                Type listType = new TypeToken<List<Integer>>(){}.getType();
-                List<Integer> customReminders = gson.fromJson(task.getReminders(), listType);
-                if (customReminders != null && !customReminders.isEmpty()) {
-                    return customReminders;
+    @Scheduled(fixedRateString = "#{@reminderProperties.tickMs}")
+    public void tick() {
+        if (leaderElectionService.isLeader()) {
+            advance(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Advance the schedule to the given time and send every reminder due by then
+     * @param nowMs current time
+     * @return number of notifications sent
+     */
+    int advance(long nowMs) {
+        List<Reminder> due = new ArrayList<>();
+        synchronized (lock) {
+            wheel.advance(nowMs, reminder -> {
+                TaskReminders state = scheduled.get(reminder.taskId);
+                if (state == null) {
+                    return;
                 }
+                state.timeouts.removeIf(timeout -> timeout.getPayload() == reminder);
+                if (reminder.hoursBefore == SentReminder.OVERDUE) {
+                    state.lastOverdueMs = nowMs;
+                    state.timeouts.add(wheel.schedule(nowMs + properties.getOverdueRepeatMs(), reminder));
+                } else {
+                    state.sentThresholds.add(reminder.hoursBefore);
+                }
+                due.add(reminder);
+            });
+            firedCount += due.size();
+        }
+
+        if (due.isEmpty()) {
+            return 0;
+        }
+        if (!leaderElectionService.holdsLease()) {
+            // Another instance took over and sends them from its own schedule
+            System.err.println("Not sending " + due.size() + " deadline reminders, the scheduler lease was taken over");
+            return 0;
+        }
+
+        // Notifications are sent outside the lock, TaskService must not wait for them
+        LocalDateTime sentAt = toLocalDateTime(nowMs);
+        List<SentReminder> sent = new ArrayList<>(due.size());
+        for (Reminder reminder : due) {
+            try {
+                send(reminder, nowMs);
+                sent.add(new SentReminder(reminder.taskId, reminder.hoursBefore, reminder.deadline, sentAt));
             } catch (Exception e) {
-                // If parsing fails, fall back to defaults
+                System.err.println("Error sending deadline reminder for task " + reminder.taskId + ": " + e.getMessage());
             }
         }
-        // Default reminders: 24h, 6h, 1h
-        List<Integer> defaults = new ArrayList<>();
-        defaults.add(24);
-        defaults.add(6);
-        defaults.add(1);
-        return defaults;
+        try {
+            reminderLedgerService.recordAll(sent);
+        } catch (Exception e) {
+            // Only costs a repeated reminder after the next restart
+            System.err.println("Error recording sent reminders: " + e.getMessage());
+        }
+        return due.size();
     }
-    
+
     /**
-     * Check for overdue tasks every hour
+     * Snapshot of the reminder schedule
      */
-    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    public void checkOverdueTasks() {
-        LocalDateTime now = LocalDateTime.now();
-        
-        // Find all tasks that are not done and have passed their deadline
-        List<Task> allTasks = taskRepository.findAll();
-        
-        for (Task task : allTasks) {
-            if (task.getDeadline() != null && 
-                task.getDeadline().isBefore(now) && 
-                task.getStatus() != Task.TaskStatus.DONE &&
-                task.getTaskId() != null) {
-                
-                // Send overdue notification (only once per day)
-                String overdueKey = task.getTaskId() + "_overdue_" + now.toLocalDate();
-                if (!notifiedTasks.contains(overdueKey)) {
-                    notificationService.notifyDeadlineOverdue(
-                        task.getGroupId(),
-                        task.getTaskId(),
-                        task.getTitle()
-                    );
-                    notifiedTasks.add(overdueKey);
-                }
-            }
+    public ReminderStats getStats() {
+        synchronized (lock) {
+            return new ReminderStats(scheduled.size(), wheel.size(), firedCount);
         }
     }
-}
 
+    private void send(Reminder reminder, long nowMs) {
+        if (reminder.hoursBefore == SentReminder.OVERDUE) {
+            notificationService.notifyDeadlineOverdue(reminder.groupId, reminder.taskId, reminder.title);
+            return;
+        }
+
+        long millisUntilDeadline = reminder.deadlineMs - nowMs;
+        long hoursUntilDeadline = millisUntilDeadline / HOUR_MS;
+        long minutesUntilDeadline = millisUntilDeadline / 60000;
+        System.out.println("Sending deadline reminder for task " + reminder.taskId +
+                         " (" + reminder.title + "): " + reminder.hoursBefore + "h reminder, " +
+                         hoursUntilDeadline + "h remaining");
+
+        if (reminder.hoursBefore <= 1) {
+            // Less than 1 hour - urgent notification
+            notificationService.notifyDeadlineApproaching(
+                reminder.groupId,
+                reminder.taskId,
+                reminder.title,
+                Math.max(1, minutesUntilDeadline),
+                true
+            );
+        } else if (reminder.hoursBefore <= 6) {
+            // Warning notification
+            notificationService.notifyDeadlineApproaching(
+                reminder.groupId,
+                reminder.taskId,
+                reminder.title,
+                hoursUntilDeadline,
+                false
+            );
+        } else {
+            // Regular reminder
+            notificationService.notifyDeadlineReminder(
+                reminder.groupId,
+                reminder.taskId,
+                reminder.title,
+                hoursUntilDeadline
+            );
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
+
+    /**
+     * One reminder of a task, a copy of the task fields needed to send it
+     */
+    private static final class Reminder {
+        private final long taskId;
+        private final Long groupId;
+        private final String title;
+        private final LocalDateTime deadline;
+        private final long deadlineMs;
+        private final int hoursBefore;
+
+        private Reminder(Task task, int hoursBefore) {
+            this.taskId = task.getTaskId();
+            this.groupId = task.getGroupId();
+            this.title = task.getTitle();
+            this.deadline = task.getDeadline();
+            this.deadlineMs = toEpochMilli(task.getDeadline());
+            this.hoursBefore = hoursBefore;
+        }
+    }
+
+    /**
+     * Scheduled reminders of one task and the reminders already sent for its deadline
+     */
+    private static final class TaskReminders {
+        private final LocalDateTime deadline;
+        // Task.version this state was scheduled from
+        private final long version;
+        private final List<TimingWheel.Timeout<Reminder>> timeouts = new ArrayList<>(4);
+        private final Set<Integer> sentThresholds = new HashSet<>();
+        private long lastOverdueMs;
+
+        private TaskReminders(LocalDateTime deadline, long version) {
+            this.deadline = deadline;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Task changed on an instance that is not the leader
+     */
+    private record TaskScheduleChange(Long taskId) {
+    }
+
+    /**
+     * Reminder schedule metrics
+     */
+    public record ReminderStats(int scheduledTasks, int pendingReminders, long fired) {
+    }
+}
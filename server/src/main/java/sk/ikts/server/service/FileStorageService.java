@@ -0,0 +1,342 @@
+package sk.ikts.server.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sk.ikts.server.config.StorageProperties;
+import sk.ikts.server.model.Blob;
+import sk.ikts.server.repository.BlobRepository;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service storing uploaded files on disk as content-addressed blobs
+ * A file is stored once per distinct content under its SHA-256, fanned out over two
+ * directory levels (ab/cd/abcd...), and reference-counted in the blobs table, so the
+ * same file uploaded to several groups takes the space of one and is removed with
+ * its last resource. Files are streamed through a fixed-size buffer, never held in
+ * memory as a whole, and their size and SHA-256 are computed while they are written
+ */
+@Service
+public class FileStorageService {
+
+    private static final String TEMP_DIR = "tmp";
+    private static final Pattern BLOB_NAME = Pattern.compile("([0-9a-f]{2})/([0-9a-f]{2})/(\\1\\2[0-9a-f]{60})");
+    private static final Pattern BLOB_HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern FAN_OUT_DIR = Pattern.compile("[0-9a-f]{2}");
+
+    @Autowired
+    private StorageProperties properties;
+
+    @Autowired
+    private BlobRepository blobRepository;
+
+    private Path uploadDir;
+    private Path tempDir;
+    // Orders adding and dropping references with creating and unlinking blob files
+    private final Object lock = new Object();
+
+    @PostConstruct
+    public void init() {
+        uploadDir = Paths.get(properties.getUploadDir()).toAbsolutePath().normalize();
+        tempDir = uploadDir.resolve(TEMP_DIR);
+        // Create upload directory if it doesn't exist
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            System.err.println("Failed to create upload directory: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Store a file and take a reference to its blob
+     * Content already stored is not written again, the upload is only hashed.
+     * Every successful call must be paired with {@link #release(String)}
+     * @param content file content, read to the end but not closed
+     * @return blob name, size and SHA-256
+     */
+    public StoredFile store(InputStream content) throws IOException {
+        Path temp = tempDir.resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(properties.getBufferSize());
+        long size = 0;
+
+        ReadableByteChannel source = Channels.newChannel(content);
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                size += buffer.limit();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return commit(temp, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    /**
+     * Create an empty file in the temp directory for an upload written in pieces
+     * Collected with the other temp files once it is not written to for tempFileMaxAgeMs
+     * @return path of the new file
+     */
+    public Path createTempFile() throws IOException {
+        return Files.createFile(tempDir.resolve(UUID.randomUUID() + ".part"));
+    }
+
+    /**
+     * SHA-256 of a file, streamed through the same fixed-size buffer as uploads
+     * @param path file to hash
+     * @return lowercase hex SHA-256
+     */
+    public String sha256(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(properties.getBufferSize());
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Move a fully written and hashed temp file into the store and take a reference to its blob
+     * @param temp file in the temp directory, moved or deleted
+     * @param sha256 lowercase hex SHA-256 of the file
+     * @param size file size
+     * @return blob name, size and SHA-256
+     */
+    public StoredFile commit(Path temp, String sha256, long size) throws IOException {
+        String name = blobName(sha256);
+        Path target = resolve(name);
+        synchronized (lock) {
+            try {
+                if (Files.exists(target)) {
+                    Files.delete(temp);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            // A blob file without a row is an orphan, collected by collectGarbage if this fails
+            LocalDateTime now = LocalDateTime.now();
+            if (blobRepository.adjustRefCount(sha256, 1, now) == 0) {
+                blobRepository.save(new Blob(sha256, size, now));
+            }
+        }
+        return new StoredFile(name, size, sha256);
+    }
+
+    /**
+     * Drop a reference taken by {@link #store(InputStream)}, unlinking the blob with its last reference
+     * Files stored before blobs were introduced are deleted right away
+     * @param name stored file name
+     * @return true if the file was removed from disk
+     */
+    public boolean release(String name) throws IOException {
+        Path path = resolve(name);
+        Matcher blob = BLOB_NAME.matcher(name);
+        if (!blob.matches()) {
+            return Files.deleteIfExists(path);
+        }
+        String sha256 = blob.group(3);
+        synchronized (lock) {
+            blobRepository.adjustRefCount(sha256, -1, LocalDateTime.now());
+            Integer refCount = blobRepository.findRefCount(sha256);
+            if (refCount != null && refCount > 0) {
+                return false;
+            }
+            blobRepository.deleteUnreferenced(sha256);
+            return Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Remove blobs nobody references and abandoned temp files
+     * Orphans are left behind by a crash or a failed database write between storing
+     * a file and recording it, or by a failed unlink
+     */
+    @Scheduled(fixedDelayString = "#{@storageProperties.gcIntervalMs}",
+               initialDelayString = "#{@storageProperties.gcIntervalMs}")
+    public void collectGarbage() {
+        try {
+            GcResult result = collectGarbage(System.currentTimeMillis());
+            if (result.blobs() > 0 || result.tempFiles() > 0) {
+                System.out.println("Storage GC removed " + result.blobs() + " orphaned blobs and " +
+                                 result.tempFiles() + " abandoned temp files");
+            }
+        } catch (Exception e) {
+            System.err.println("Error collecting storage garbage: " + e.getMessage());
+        }
+    }
+
+    GcResult collectGarbage(long nowMs) throws IOException {
+        int blobs = 0;
+        int tempFiles = 0;
+
+        // Uploads still being written are younger than the grace period
+        long cutoff = nowMs - properties.getTempFileMaxAgeMs();
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(tempDir)) {
+            for (Path temp : temps) {
+                if (Files.getLastModifiedTime(temp).toMillis() < cutoff && Files.deleteIfExists(temp)) {
+                    tempFiles++;
+                }
+            }
+        }
+
+        // Rows whose file could not be removed when the last reference went away
+        for (String sha256 : blobRepository.findUnreferenced()) {
+            if (deleteIfUnreferenced(sha256)) {
+                blobs++;
+            }
+        }
+
+        // Files without a referenced row, one leaf directory and one query at a time
+        try (DirectoryStream<Path> first = Files.newDirectoryStream(uploadDir, this::isFanOutDir)) {
+            for (Path level1 : first) {
+                try (DirectoryStream<Path> second = Files.newDirectoryStream(level1, this::isFanOutDir)) {
+                    for (Path level2 : second) {
+                        Set<String> hashes = new HashSet<>();
+                        try (DirectoryStream<Path> files = Files.newDirectoryStream(level2)) {
+                            for (Path file : files) {
+                                String fileName = file.getFileName().toString();
+                                if (BLOB_HASH.matcher(fileName).matches()) {
+                                    hashes.add(fileName);
+                                }
+                            }
+                        }
+                        if (hashes.isEmpty()) {
+                            continue;
+                        }
+                        hashes.removeAll(blobRepository.findReferenced(hashes));
+                        for (String sha256 : hashes) {
+                            if (deleteIfUnreferenced(sha256)) {
+                                blobs++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return new GcResult(blobs, tempFiles);
+    }
+
+    private boolean deleteIfUnreferenced(String sha256) throws IOException {
+        synchronized (lock) {
+            // Checked again under the lock, the blob may have been stored again meanwhile
+            Integer refCount = blobRepository.findRefCount(sha256);
+            if (refCount != null && refCount > 0) {
+                return false;
+            }
+            if (refCount != null) {
+                blobRepository.deleteUnreferenced(sha256);
+            }
+            return Files.deleteIfExists(resolve(blobName(sha256)));
+        }
+    }
+
+    private boolean isFanOutDir(Path path) {
+        return Files.isDirectory(path) && FAN_OUT_DIR.matcher(path.getFileName().toString()).matches();
+    }
+
+    /**
+     * Name of the blob holding a content, relative to the upload directory
+     * @param sha256 lowercase hex SHA-256
+     */
+    static String blobName(String sha256) {
+        return sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+    }
+
+    /**
+     * Path of a stored file
+     * @param name stored file name
+     * @throws IllegalArgumentException if the name points outside the upload directory
+     */
+    public Path resolve(String name) {
+        Path path = uploadDir.resolve(name).normalize();
+        if (!path.startsWith(uploadDir)) {
+            throw new IllegalArgumentException("Invalid file name: " + name);
+        }
+        return path;
+    }
+
+    /**
+     * Copy a byte range of a stored file to a channel
+     * FileChannel.transferTo lets the kernel move the bytes when the target is a
+     * socket or a file, other targets are fed through its small internal buffer
+     * @param path stored file, see {@link #resolve(String)}
+     * @param position first byte to copy
+     * @param count number of bytes to copy
+     * @param target channel to write to, not closed
+     */
+    public void transferTo(Path path, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long end = position + count;
+            while (position < end) {
+                long sent = in.transferTo(position, end - position, target);
+                if (sent == 0 && position >= in.size()) {
+                    throw new EOFException("File " + path.getFileName() + " is shorter than " + end + " bytes");
+                }
+                position += sent;
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A file written to the upload directory
+     * @param name file name relative to the upload directory
+     * @param size size in bytes
+     * @param sha256 lowercase hex SHA-256 of the content
+     */
+    public record StoredFile(String name, long size, String sha256) {
+    }
+
+    /**
+     * Outcome of one garbage collection run
+     * @param blobs orphaned blobs removed
+     * @param tempFiles abandoned temp files removed
+     */
+    public record GcResult(int blobs, int tempFiles) {
+    }
+}
@@ -0,0 +1,240 @@
+package sk.ikts.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import sk.ikts.server.config.GroupCommitProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Group-commit pipeline for inserts on the request path
+ *
+ * Every transaction costs a commit (and a WAL sync on SQLite), so inserting one row per
+ * transaction bounds throughput by the disk. Callers hand the entity to {@link #insert(Object)}
+ * and get a future; a background writer collects the inserts of concurrent callers until
+ * the batch is full or its first insert waited maxLatencyMs, persists them in one
+ * transaction and completes every future with its persisted entity (ID assigned).
+ * If the batch transaction fails, its inserts are retried one per transaction, so one
+ * bad row fails only its own caller.
+ */
+@Service
+public class GroupCommitService {
+
+    // How long shutdown waits for the writer to empty the queue
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000;
+
+    // Batch size histogram buckets: 1, 2-3, 4-7, ... 512+
+    private static final int HISTOGRAM_BUCKETS = 10;
+
+    // Queued on shutdown to wake up the writer, never written
+    private static final Pending<?> WAKE_UP = new Pending<>(null);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private GroupCommitProperties properties;
+
+    private BlockingQueue<Pending<?>> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private final AtomicLong insertedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong fallbackBatchCount = new AtomicLong();
+    private final AtomicLong maxBatch = new AtomicLong();
+    private final AtomicLongArray batchSizes = new AtomicLongArray(HISTOGRAM_BUCKETS);
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        running = true;
+        writer = new Thread(this::runWriter, "group-commit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (queue != null) {
+            queue.offer(WAKE_UP);
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Writer did not finish in time, commit what is left ourselves
+        List<Pending<?>> rest = new ArrayList<>();
+        while (queue.drainTo(rest, batchSize()) > 0) {
+            rest.remove(WAKE_UP);
+            commit(rest);
+            rest.clear();
+        }
+    }
+
+    /**
+     * Insert an entity in the next group commit
+     * @param entity new entity
+     * @return future completed with the persisted entity once its transaction committed,
+     *         or failed if the insert failed or the queue is full
+     */
+    public <T> CompletableFuture<T> insert(T entity) {
+        Pending<T> pending = new Pending<>(entity);
+        if (!running || !queue.offer(pending)) {
+            rejectedCount.incrementAndGet();
+            pending.future.completeExceptionally(new IllegalStateException("Group commit queue is full"));
+        }
+        return pending.future;
+    }
+
+    /**
+     * Counters and batch size distribution of the pipeline
+     */
+    public GroupCommitStats getStats() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            int low = 1 << i;
+            String label = i == 0 ? "1" : i == HISTOGRAM_BUCKETS - 1 ? low + "+" : low + "-" + (2 * low - 1);
+            histogram.put(label, batchSizes.get(i));
+        }
+        long batches = batchCount.get();
+        double meanBatch = batches > 0 ? (double) insertedCount.get() / batches : 0;
+        return new GroupCommitStats(queue != null ? queue.size() : 0, insertedCount.get(), failedCount.get(),
+                rejectedCount.get(), batches, fallbackBatchCount.get(), maxBatch.get(), meanBatch, histogram);
+    }
+
+    private void runWriter() {
+        List<Pending<?>> batch = new ArrayList<>();
+        long maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getMaxLatencyMs()));
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<?> first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null || first == WAKE_UP) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Collect concurrent inserts until the batch is full or the first one waited long enough
+                long deadline = System.nanoTime() + maxLatencyNanos;
+                while (batch.size() < batchSize()) {
+                    queue.drainTo(batch, batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Pending<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null || next == WAKE_UP) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                batch.remove(WAKE_UP);
+                commit(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                commit(batch);
+                batch.clear();
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("Group commit writer error: " + e.getMessage());
+            }
+        }
+    }
+
+    private void commit(List<Pending<?>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.execute(status -> {
+                for (Pending<?> pending : batch) {
+                    entityManager.persist(pending.entity);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            System.err.println("Group commit of " + batch.size() + " inserts failed, retrying one by one: " + e.getMessage());
+            fallbackBatchCount.incrementAndGet();
+            commitEach(batch);
+            return;
+        }
+        record(batch.size());
+        for (Pending<?> pending : batch) {
+            pending.complete(pending.entity);
+        }
+    }
+
+    private void commitEach(List<Pending<?>> batch) {
+        for (Pending<?> pending : batch) {
+            try {
+                // The failed batch may have assigned an ID already, merge inserts a fresh row
+                Object saved = transactionTemplate.execute(status -> entityManager.merge(pending.entity));
+                record(1);
+                pending.complete(saved);
+            } catch (Exception e) {
+                failedCount.incrementAndGet();
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void record(int size) {
+        insertedCount.addAndGet(size);
+        batchCount.incrementAndGet();
+        maxBatch.accumulateAndGet(size, Math::max);
+        int bucket = Math.min(HISTOGRAM_BUCKETS - 1, 31 - Integer.numberOfLeadingZeros(size));
+        batchSizes.incrementAndGet(bucket);
+    }
+
+    private int batchSize() {
+        return Math.max(1, properties.getMaxBatchSize());
+    }
+
+    /**
+     * Insert waiting for its commit
+     */
+    private static final class Pending<T> {
+        private final T entity;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Pending(T entity) {
+            this.entity = entity;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object saved) {
+            future.complete((T) saved);
+        }
+    }
+
+    /**
+     * Group commit metrics, batchSizes maps a size range to the number of committed batches
+     */
+    public record GroupCommitStats(int queued, long inserted, long failed, long rejected, long batches,
+                                   long fallbackBatches, long maxBatch, double meanBatch,
+                                   Map<String, Long> batchSizes) {
+    }
+}
@@ -68,15 +68,16 @@ public class GroupService {
             activityLogService.logActivity(request.getCreatedBy(), "CREATE_GROUP", 
                     "Created group: " + group.getName() + " (ID: " + group.getGroupId() + ")");
 
-            // Send notification about new group
+            // Send notification about new group, with the group as delta
+            GroupDTO dto = convertToDTO(group);
             try {
-                notificationService.notifyNewGroup(group.getGroupId(), group.getName());
+                notificationService.notifyNewGroup(dto);
             } catch (Exception e) {
                 // Don't fail if notification fails
                 System.err.println("Failed to send notification: " + e.getMessage());
             }
 
-            return convertToDTO(group);
+            return dto;
         } catch (Exception e) {
             System.err.println("Error in createGroup service: " + e.getMessage());
             e.printStackTrace();
@@ -89,11 +90,8 @@ public class GroupService {
      * @return List of all groups (no filtering - shows all groups regardless of creator)
      */
     public List<GroupDTO> getAllGroups() {
-        List<Group> allGroups = groupRepository.findAll();
-        System.out.println("Getting all groups - total count: " + allGroups.size());
-        List<GroupDTO> result = allGroups.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        // Owner names are joined in the same query
+        List<GroupDTO> result = groupRepository.findAllWithOwnerName();
         System.out.println("Returning " + result.size() + " groups");
         return result;
     }
@@ -104,11 +102,7 @@ public class GroupService {
      * @return GroupDTO or null if not found
      */
     public GroupDTO getGroupById(Long groupId) {
-        Optional<Group> groupOpt = groupRepository.findById(groupId);
-        if (groupOpt.isEmpty()) {
-            return null;
-        }
-        return convertToDTO(groupOpt.get());
+        return groupRepository.findByIdWithOwnerName(groupId).orElse(null);
     }
 
     /**
@@ -134,13 +128,15 @@ public class GroupService {
 
         group.setName(request.getName());
         group.setDescription(request.getDescription());
-        group = groupRepository.save(group);
+        group = groupRepository.saveWithNewVersion(group);
 
         // Log activity
         activityLogService.logActivity(request.getCreatedBy(), "UPDATE_GROUP", 
                 "Updated group: " + group.getName() + " (ID: " + groupId + ")");
 
-        return convertToDTO(group);
+        GroupDTO dto = convertToDTO(group);
+        notificationService.notifyGroupUpdated(dto);
+        return dto;
     }
 
     /**
@@ -163,6 +159,7 @@ public class GroupService {
         }
         
         groupRepository.deleteById(groupId);
+        notificationService.notifyGroupDeleted(groupId, groupOpt.map(Group::getName).orElse(null));
         return true;
     }
 
@@ -173,24 +170,8 @@ public class GroupService {
      */
     public List<GroupDTO> getGroupsForUser(Long userId) {
         try {
-            List<Membership> memberships = membershipRepository.findByUserId(userId);
-            
-            if (memberships == null || memberships.isEmpty()) {
-                return new java.util.ArrayList<>();
-            }
-            
-            List<Long> groupIds = memberships.stream()
-                    .map(Membership::getGroupId)
-                    .filter(id -> id != null)
-                    .collect(Collectors.toList());
-
-            if (groupIds.isEmpty()) {
-                return new java.util.ArrayList<>();
-            }
-
-            return groupRepository.findAllById(groupIds).stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            // Joins memberships, groups and owners in a single query
+            return groupRepository.findByMemberWithOwnerName(userId);
         } catch (Exception e) {
             System.err.println("Error in getGroupsForUser: " + e.getMessage());
             e.printStackTrace();
@@ -426,7 +407,8 @@ public class GroupService {
                 group.getDescription(),
                 group.getCreatedBy(),
                 ownerName,
-                group.getCreatedAt()
+                group.getCreatedAt(),
+                group.getVersion()
         );
     }
 }
@@ -0,0 +1,247 @@
+package sk.ikts.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import sk.ikts.server.cluster.ClusterEventBus;
+import sk.ikts.server.config.LeaderProperties;
+import sk.ikts.server.model.SchedulerLease;
+import sk.ikts.server.repository.SchedulerLeaseRepository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Elects the one server instance that runs the deadline scheduler
+ *
+ * The leader holds a lease row in the application database and renews it every
+ * heartbeat; the other instances try to take it over on their heartbeats and succeed
+ * once it expired, so a failed leader is replaced within leaseMs + heartbeatIntervalMs.
+ * Every takeover increases the lease's fencing token. The leader counts itself leader
+ * only until its lease would expire by its own clock, and checks the token with
+ * {@link #holdsLease()} before acting, so a leader that stalled (GC pause, lost database)
+ * and was replaced does not send anything.
+ *
+ * The heartbeat runs on its own thread, not on the shared scheduler thread running the
+ * reminder tick, cleanups and garbage collection of files, so a slow job never delays a
+ * renewal past the lease. Listeners are called on another thread, so loading the schedule
+ * after a takeover does not delay the next renewal either.
+ */
+@Service
+public class LeaderElectionService {
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Autowired
+    private LeaderProperties properties;
+
+    @Autowired
+    private ClusterEventBus clusterEventBus;
+
+    private final List<Consumer<Boolean>> listeners = new CopyOnWriteArrayList<>();
+    private final Object lock = new Object();
+    private boolean leader; // guarded by lock
+    private volatile long fencingToken;
+    private volatile long validUntilMs;
+
+    private final AtomicLong acquiredCount = new AtomicLong();
+    private final AtomicLong lostCount = new AtomicLong();
+
+    private ScheduledExecutorService heartbeatExecutor;
+    private ExecutorService listenerExecutor;
+
+    @PostConstruct
+    public void start() {
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leader-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        listenerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leader-listener");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.getLeaseMs() < 2 * properties.getHeartbeatIntervalMs()) {
+            System.err.println("app.leader.lease-ms should be at least twice app.leader.heartbeat-interval-ms, "
+                    + "a single late heartbeat may lose the lease");
+        }
+    }
+
+    /**
+     * Run the first election, wait until the listeners handled it (the schedule is loaded
+     * before requests are served), then renew every heartbeat interval
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        heartbeat();
+        awaitListeners();
+        long interval = properties.getHeartbeatIntervalMs();
+        heartbeatExecutor.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Be told when this instance becomes leader (true) or stops being leader (false)
+     * Called on the leader-listener thread, in the order of the changes
+     */
+    public void addListener(Consumer<Boolean> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Renew the lease, or try to take it over if this instance is not the leader
+     */
+    public void heartbeat() {
+        String nodeId = clusterEventBus.getNodeId();
+        // Taken before the update, so the local validity never outlasts the stored expiry
+        long now = System.currentTimeMillis();
+        long expiresAt = now + properties.getLeaseMs();
+        try {
+            synchronized (lock) {
+                if (leader) {
+                    if (leaseRepository.renew(SchedulerLease.DEADLINE_REMINDERS, nodeId, fencingToken, now, expiresAt) == 1) {
+                        validUntilMs = expiresAt;
+                    } else {
+                        System.err.println("Node " + nodeId + " lost the deadline scheduler lease");
+                        stepDown();
+                    }
+                } else if (leaseRepository.acquire(SchedulerLease.DEADLINE_REMINDERS, nodeId, now, expiresAt) == 1) {
+                    fencingToken = leaseRepository.findById(SchedulerLease.DEADLINE_REMINDERS)
+                            .map(SchedulerLease::getFencingToken)
+                            .orElse(0L);
+                    validUntilMs = expiresAt;
+                    leader = true;
+                    acquiredCount.incrementAndGet();
+                    System.out.println("Node " + nodeId + " is now running the deadline scheduler (fencing token " + fencingToken + ")");
+                    notifyListeners(true);
+                }
+            }
+        } catch (Exception e) {
+            // Caught so the executor keeps scheduling heartbeats
+            System.err.println("Error renewing deadline scheduler lease: " + e.getMessage());
+            synchronized (lock) {
+                if (leader && System.currentTimeMillis() >= validUntilMs) {
+                    // Could not renew in time, another instance may take over now
+                    stepDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether this instance holds an unexpired lease, by its own clock
+     */
+    public boolean isLeader() {
+        synchronized (lock) {
+            return leader && System.currentTimeMillis() < validUntilMs;
+        }
+    }
+
+    /**
+     * Check in the database that the lease is still held with this instance's fencing token
+     * Called before acting as leader; steps down if the lease was taken over
+     */
+    public boolean holdsLease() {
+        synchronized (lock) {
+            if (!leader) {
+                return false;
+            }
+            boolean held;
+            try {
+                held = leaseRepository.isHeld(SchedulerLease.DEADLINE_REMINDERS, clusterEventBus.getNodeId(),
+                        fencingToken, System.currentTimeMillis());
+            } catch (Exception e) {
+                System.err.println("Error checking deadline scheduler lease: " + e.getMessage());
+                return false;
+            }
+            if (!held) {
+                stepDown();
+            }
+            return held;
+        }
+    }
+
+    /**
+     * Release the lease on shutdown, so another instance takes over on its next heartbeat
+     */
+    @PreDestroy
+    public void release() {
+        if (heartbeatExecutor != null) {
+            heartbeatExecutor.shutdownNow();
+        }
+        synchronized (lock) {
+            if (!leader) {
+                return;
+            }
+            try {
+                leaseRepository.release(SchedulerLease.DEADLINE_REMINDERS, clusterEventBus.getNodeId(), fencingToken);
+            } catch (Exception e) {
+                // The lease expires on its own
+                System.err.println("Error releasing deadline scheduler lease: " + e.getMessage());
+            }
+            stepDown();
+        }
+        if (listenerExecutor != null) {
+            listenerExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Wait until the listeners handled every change so far
+     */
+    void awaitListeners() {
+        try {
+            listenerExecutor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Listener errors are logged where they happen
+        }
+    }
+
+    /**
+     * Snapshot of the election state
+     */
+    public LeaderStats getStats() {
+        return new LeaderStats(clusterEventBus.getNodeId(), isLeader(), fencingToken, acquiredCount.get(),
+                lostCount.get(), properties.getLeaseMs(), properties.getHeartbeatIntervalMs());
+    }
+
+    private void stepDown() {
+        leader = false;
+        validUntilMs = 0;
+        lostCount.incrementAndGet();
+        notifyListeners(false);
+    }
+
+    private void notifyListeners(boolean isLeader) {
+        listenerExecutor.execute(() -> {
+            for (Consumer<Boolean> listener : listeners) {
+                try {
+                    listener.accept(isLeader);
+                } catch (Exception e) {
+                    System.err.println("Error handling leadership change: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Leader election metrics
+     * @param fencingToken token of the last lease this instance held
+     */
+    public record LeaderStats(String nodeId, boolean leader, long fencingToken, long acquired, long lost,
+                              long leaseMs, long heartbeatIntervalMs) {
+    }
+}
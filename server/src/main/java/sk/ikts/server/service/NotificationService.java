@@ -1,14 +1,51 @@
 package sk.ikts.server.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import sk.ikts.server.cluster.ClusterEvent;
+import sk.ikts.server.cluster.ClusterEventBus;
+import sk.ikts.server.config.NotificationProperties;
 import sk.ikts.server.config.SimpleWebSocketHandler;
+import sk.ikts.server.dto.ChatMessageDTO;
+import sk.ikts.server.dto.GroupDTO;
 import sk.ikts.server.dto.NotificationDTO;
+import sk.ikts.server.dto.TaskDTO;
+import sk.ikts.server.websocket.EventFrame;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for sending WebSocket notifications
  * Handles real-time notifications to clients
+ *
+ * Group notifications are collected in a per-group coalescing window: the first
+ * notification opens the window, which is sent after app.notifications.coalesce-window-ms
+ * or as soon as it holds coalesce-max-events notifications. Notifications of the same
+ * type in a window are merged into one frame carrying their count and task IDs, so a
+ * burst (e.g. a bulk import) costs clients one refresh instead of one per task.
+ * Immediate types (e.g. DEADLINE_URGENT) are never delayed; the group's open window is
+ * sent before them, so clients still see the notifications in order.
+ *
+ * Task and group changes carry the changed TaskDTO/GroupDTO with its version as a
+ * delta, merged batches carry the latest version of every task changed in the window.
+ *
+ * Everything sent to the local clients is also published to the other server instances
+ * through the ClusterEventBus; events they publish are sent to the local clients as they
+ * are, they were already coalesced on the instance that published them.
  */
 @Service
 public class NotificationService {
@@ -19,20 +56,87 @@ public class NotificationService {
     @Autowired(required = false)
     private SimpleWebSocketHandler simpleWebSocketHandler;
 
+    @Autowired
+    private NotificationProperties properties;
+
+    @Autowired
+    private ClusterEventBus clusterEventBus;
+
+    // groupId -> open coalescing window, kept like the handler's streams (one per group)
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong immediateCount = new AtomicLong();
+    private final AtomicLong windowCount = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        clusterEventBus.addListener(ClusterEvent.Kind.GROUP_NOTIFICATION, NotificationDTO.class, this::deliverToGroup);
+        clusterEventBus.addListener(ClusterEvent.Kind.BROADCAST, NotificationDTO.class,
+                (groupId, notification) -> deliverToAll(notification));
+        clusterEventBus.addListener(ClusterEvent.Kind.CHAT_MESSAGE, ChatMessageDTO.class, this::deliverChatMessage);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        // Send what is still waiting in open windows
+        for (Long groupId : windows.keySet()) {
+            flush(groupId);
+        }
+    }
+
     /**
      * Send notification to all members of a group
+     * Delayed by up to the coalescing window unless its type is immediate
      * @param groupId group ID
      * @param notification notification to send
      */
     public void notifyGroup(Long groupId, NotificationDTO notification) {
-        System.out.println("Sending notification to group " + groupId + ": " + notification.getType() + " - " + notification.getMessage());
-        messagingTemplate.convertAndSend("/topic/group/" + groupId, notification);
-        // Also send via simple WebSocket (all clients receive group notifications)
-        if (simpleWebSocketHandler != null) {
-            System.out.println("Broadcasting notification via SimpleWebSocketHandler");
-            simpleWebSocketHandler.broadcastNotification(notification);
-        } else {
-            System.out.println("WARNING: SimpleWebSocketHandler is null!");
+        receivedCount.incrementAndGet();
+        if (groupId == null || properties.getCoalesceWindowMs() <= 0
+                || properties.getImmediateTypes().contains(notification.getType())) {
+            immediateCount.incrementAndGet();
+            Window window = groupId != null ? windows.get(groupId) : null;
+            if (window == null) {
+                send(groupId, notification);
+                return;
+            }
+            synchronized (window) {
+                sendAll(groupId, window.drain());
+                send(groupId, notification);
+            }
+            return;
+        }
+
+        Window window = windows.computeIfAbsent(groupId, id -> new Window());
+        boolean schedule = false;
+        synchronized (window) {
+            window.add(notification);
+            if (window.size >= properties.getCoalesceMaxEvents()) {
+                sendAll(groupId, window.drain());
+            } else if (!window.scheduled) {
+                window.scheduled = true;
+                schedule = true;
+            }
+        }
+        if (schedule) {
+            try {
+                scheduler.schedule(() -> flush(groupId), properties.getCoalesceWindowMs(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                flush(groupId);
+            }
         }
     }
 
@@ -41,37 +145,192 @@ public class NotificationService {
      * @param notification notification to send
      */
     public void notifyAll(NotificationDTO notification) {
-        messagingTemplate.convertAndSend("/topic/notifications", notification);
-        // Also send via simple WebSocket
+        deliverToAll(notification);
+        clusterEventBus.publish(ClusterEvent.Kind.BROADCAST, null, notification);
+    }
+
+    /**
+     * Send a chat message to the clients following the group chat on every instance
+     * @param groupId group ID
+     * @param chatMessage saved message
+     */
+    public void sendChatMessage(Long groupId, ChatMessageDTO chatMessage) {
+        deliverChatMessage(groupId, chatMessage);
+        clusterEventBus.publish(ClusterEvent.Kind.CHAT_MESSAGE, groupId, chatMessage);
+    }
+
+    /**
+     * Send the group's open coalescing window now
+     */
+    public void flush(Long groupId) {
+        Window window = windows.get(groupId);
+        if (window == null) {
+            return;
+        }
+        synchronized (window) {
+            window.scheduled = false;
+            sendAll(groupId, window.drain());
+        }
+    }
+
+    /**
+     * Snapshot of the coalescing metrics
+     */
+    public NotificationStats getStats() {
+        return new NotificationStats(receivedCount.get(), sentCount.get(), coalescedCount.get(), immediateCount.get(),
+                windowCount.get(), properties.getCoalesceWindowMs());
+    }
+
+    private void sendAll(Long groupId, List<NotificationDTO> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        windowCount.incrementAndGet();
+        for (NotificationDTO notification : notifications) {
+            send(groupId, notification);
+        }
+    }
+
+    private void send(Long groupId, NotificationDTO notification) {
+        sentCount.incrementAndGet();
+        System.out.println("Sending notification to group " + groupId + ": " + notification.getType() + " - " + notification.getMessage());
+        deliverToGroup(groupId, notification);
+        clusterEventBus.publish(ClusterEvent.Kind.GROUP_NOTIFICATION, groupId, notification);
+    }
+
+    /**
+     * Send a group notification to the clients connected to this instance
+     */
+    private void deliverToGroup(Long groupId, NotificationDTO notification) {
+        // Simple WebSocket (only sessions subscribed to the group) encodes the event once,
+        // the same bytes are sent via STOMP
+        EventFrame frame;
         if (simpleWebSocketHandler != null) {
-            simpleWebSocketHandler.broadcastNotification(notification);
+            frame = simpleWebSocketHandler.sendNotificationToGroup(groupId, notification);
+        } else {
+            System.out.println("WARNING: SimpleWebSocketHandler is null!");
+            frame = EventFrame.of(EventFrame.toJsonObject(notification));
+        }
+        messagingTemplate.send("/topic/group/" + groupId, frame.stompMessage());
+    }
+
+    /**
+     * Send a notification to all clients connected to this instance
+     */
+    private void deliverToAll(NotificationDTO notification) {
+        EventFrame frame = simpleWebSocketHandler != null
+                ? simpleWebSocketHandler.broadcastNotification(notification)
+                : EventFrame.of(EventFrame.toJsonObject(notification));
+        messagingTemplate.send("/topic/notifications", frame.stompMessage());
+    }
+
+    /**
+     * Send a chat message to the clients of this instance following the group chat
+     */
+    private void deliverChatMessage(Long groupId, ChatMessageDTO chatMessage) {
+        // Simple WebSocket to Java clients subscribed to the group chat, the encoded frame is reused for STOMP
+        EventFrame frame = simpleWebSocketHandler != null
+                ? simpleWebSocketHandler.sendChatMessageToGroup(groupId, chatMessage)
+                : EventFrame.of(EventFrame.toJsonObject(chatMessage));
+        messagingTemplate.send("/topic/chat/group/" + groupId, frame.stompMessage());
+    }
+
+    /**
+     * Merge notifications of the same type into one, the last one's message and timestamp win
+     */
+    private NotificationDTO merge(List<NotificationDTO> sameType) {
+        NotificationDTO last = sameType.get(sameType.size() - 1);
+        if (sameType.size() == 1) {
+            return last;
+        }
+        coalescedCount.addAndGet(sameType.size() - 1);
+        Set<Long> taskIds = new LinkedHashSet<>();
+        Map<Long, TaskDTO> tasks = new LinkedHashMap<>();
+        for (NotificationDTO notification : sameType) {
+            if (notification.getTaskIds() != null) {
+                taskIds.addAll(notification.getTaskIds());
+            } else if (notification.getTaskId() != null) {
+                taskIds.add(notification.getTaskId());
+            }
+            if (notification.getTasks() != null) {
+                for (TaskDTO task : notification.getTasks()) {
+                    tasks.merge(task.getTaskId(), task, NotificationService::newer);
+                }
+            }
+        }
+        NotificationDTO batch = new NotificationDTO(last.getType(),
+                last.getMessage() + " (+" + (sameType.size() - 1) + " more)", last.getGroupId());
+        batch.setTimestamp(last.getTimestamp());
+        batch.setUserId(last.getUserId());
+        batch.setCount(sameType.size());
+        batch.setTaskIds(new ArrayList<>(taskIds));
+        batch.setTaskId(taskIds.size() == 1 ? taskIds.iterator().next() : null);
+        batch.setTasks(tasks.isEmpty() ? null : new ArrayList<>(tasks.values()));
+        batch.setGroup(last.getGroup());
+        return batch;
+    }
+
+    private static TaskDTO newer(TaskDTO a, TaskDTO b) {
+        long versionA = a.getVersion() != null ? a.getVersion() : -1;
+        long versionB = b.getVersion() != null ? b.getVersion() : -1;
+        return versionB >= versionA ? b : a;
+    }
+
+    /**
+     * Notifications of one group waiting to be sent, by type in order of first arrival
+     * Guarded by its own monitor, which is also held while the window is sent
+     */
+    private final class Window {
+        private final Map<String, List<NotificationDTO>> byType = new LinkedHashMap<>();
+        private int size;
+        private boolean scheduled;
+
+        private void add(NotificationDTO notification) {
+            byType.computeIfAbsent(notification.getType(), type -> new ArrayList<>()).add(notification);
+            size++;
+        }
+
+        private List<NotificationDTO> drain() {
+            List<NotificationDTO> merged = new ArrayList<>(byType.size());
+            for (List<NotificationDTO> sameType : byType.values()) {
+                merged.add(merge(sameType));
+            }
+            byType.clear();
+            size = 0;
+            return merged;
         }
     }
 
     /**
      * Notify about new task
+     * @param task created task, sent along as delta
      */
-    public void notifyNewTask(Long groupId, Long taskId, String taskTitle) {
-        NotificationDTO notification = new NotificationDTO(
-                "NEW_TASK",
-                "New task created: " + taskTitle,
-                groupId
-        );
-        notification.setTaskId(taskId);
-        notifyGroup(groupId, notification);
+    public void notifyNewTask(TaskDTO task) {
+        notifyTaskChange("NEW_TASK", "New task created: " + task.getTitle(), task);
     }
 
     /**
      * Notify about task status change
+     * @param task changed task, sent along as delta
      */
-    public void notifyTaskStatusChange(Long groupId, Long taskId, String taskTitle, String newStatus) {
-        NotificationDTO notification = new NotificationDTO(
-                "TASK_STATUS_CHANGED",
-                "Task '" + taskTitle + "' status changed to: " + newStatus,
-                groupId
-        );
-        notification.setTaskId(taskId);
-        notifyGroup(groupId, notification);
+    public void notifyTaskStatusChange(TaskDTO task) {
+        notifyTaskChange("TASK_STATUS_CHANGED",
+                "Task '" + task.getTitle() + "' status changed to: " + task.getStatus(), task);
+    }
+
+    /**
+     * Notify about changed task details (title, description, deadline, reminders)
+     * @param task changed task, sent along as delta
+     */
+    public void notifyTaskUpdated(TaskDTO task) {
+        notifyTaskChange("TASK_UPDATED", "Task '" + task.getTitle() + "' was updated", task);
+    }
+
+    private void notifyTaskChange(String type, String message, TaskDTO task) {
+        NotificationDTO notification = new NotificationDTO(type, message, task.getGroupId());
+        notification.setTaskId(task.getTaskId());
+        notification.setTasks(List.of(task));
+        notifyGroup(task.getGroupId(), notification);
     }
 
     /**
@@ -88,11 +347,40 @@ public class NotificationService {
 
     /**
      * Notify about new group
+     * @param group created group, sent along as delta
      */
-    public void notifyNewGroup(Long groupId, String groupName) {
+    public void notifyNewGroup(GroupDTO group) {
         NotificationDTO notification = new NotificationDTO(
                 "NEW_GROUP",
-                "New group created: " + groupName,
+                "New group created: " + group.getName(),
+                group.getGroupId()
+        );
+        notification.setGroup(group);
+        notifyAll(notification);
+    }
+
+    /**
+     * Notify about changed group name or description
+     * Sent to all clients, every client lists all groups
+     * @param group changed group, sent along as delta
+     */
+    public void notifyGroupUpdated(GroupDTO group) {
+        NotificationDTO notification = new NotificationDTO(
+                "GROUP_UPDATED",
+                "Group '" + group.getName() + "' was updated",
+                group.getGroupId()
+        );
+        notification.setGroup(group);
+        notifyAll(notification);
+    }
+
+    /**
+     * Notify about deleted group
+     */
+    public void notifyGroupDeleted(Long groupId, String groupName) {
+        NotificationDTO notification = new NotificationDTO(
+                "GROUP_DELETED",
+                "Group '" + groupName + "' was deleted",
                 groupId
         );
         notifyAll(notification);
@@ -153,9 +441,16 @@ public class NotificationService {
         notification.setTaskId(taskId);
         notifyGroup(groupId, notification);
     }
-}
-
-
-
-
 
+    /**
+     * Notification coalescing metrics
+     * @param received notifications passed to notifyGroup
+     * @param sent frames sent to the group topics
+     * @param coalesced notifications merged into another one's frame
+     * @param immediate notifications sent without a window
+     * @param windows coalescing windows sent
+     */
+    public record NotificationStats(long received, long sent, long coalesced, long immediate,
+                                    long windows, long windowMs) {
+    }
+}
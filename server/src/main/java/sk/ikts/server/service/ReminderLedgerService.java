@@ -0,0 +1,79 @@
+package sk.ikts.server.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sk.ikts.server.model.SentReminder;
+import sk.ikts.server.repository.SentReminderRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent ledger of sent deadline reminders
+ * Keeps DeadlineReminderService from sending reminders again after a restart
+ */
+@Service
+public class ReminderLedgerService {
+
+    @Autowired
+    private SentReminderRepository sentReminderRepository;
+
+    /**
+     * Load the whole ledger grouped by task
+     * @return task ID -> reminders sent for it
+     */
+    public Map<Long, List<SentReminder>> loadByTask() {
+        return sentReminderRepository.findAll().stream()
+                .collect(Collectors.groupingBy(SentReminder::getTaskId));
+    }
+
+    /**
+     * Record reminders sent in one tick, one read and one batched write for all of them
+     * A reminder already in the ledger for the same task and threshold is overwritten
+     * @param sent sent reminders
+     */
+    @Transactional
+    public void recordAll(List<SentReminder> sent) {
+        if (sent.isEmpty()) {
+            return;
+        }
+        Map<Key, SentReminder> existing = new HashMap<>();
+        List<Long> taskIds = sent.stream().map(SentReminder::getTaskId).distinct().toList();
+        for (SentReminder row : sentReminderRepository.findByTaskIdIn(taskIds)) {
+            existing.put(key(row), row);
+        }
+
+        List<SentReminder> inserts = new ArrayList<>();
+        for (SentReminder reminder : sent) {
+            SentReminder row = existing.get(key(reminder));
+            if (row != null) {
+                // Managed entity, updated on commit
+                row.setDeadline(reminder.getDeadline());
+                row.setSentAt(reminder.getSentAt());
+            } else {
+                existing.put(key(reminder), reminder);
+                inserts.add(reminder);
+            }
+        }
+        sentReminderRepository.saveAll(inserts);
+    }
+
+    /**
+     * Remove entries of deleted or done tasks and of changed deadlines
+     * @return number of removed entries
+     */
+    public int deleteStale() {
+        return sentReminderRepository.deleteStale();
+    }
+
+    private static Key key(SentReminder reminder) {
+        return new Key(reminder.getTaskId(), reminder.getThreshold());
+    }
+
+    private record Key(Long taskId, int threshold) {
+    }
+}
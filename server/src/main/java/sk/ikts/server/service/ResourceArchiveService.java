@@ -0,0 +1,150 @@
+package sk.ikts.server.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import sk.ikts.server.config.StorageProperties;
+import sk.ikts.server.model.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service writing the resources of a group as a ZIP archive
+ * The archive is built on the fly straight into the given stream, one file at a time
+ * through a single fixed-size buffer, so memory use does not depend on the number or
+ * size of the files and nothing is written to disk. A slow reader slows the writer
+ * down, since every write blocks on the stream
+ */
+@Service
+public class ResourceArchiveService {
+
+    // Formats that are compressed already, deflating them again only costs CPU
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "jar",
+            "jpg", "jpeg", "png", "gif", "webp", "heic",
+            "mp3", "m4a", "aac", "ogg", "opus", "flac",
+            "mp4", "m4v", "mov", "avi", "mkv", "webm",
+            "pdf", "docx", "xlsx", "pptx", "odt", "ods", "odp", "epub");
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private StorageProperties properties;
+
+    /**
+     * Write the resources as a ZIP archive
+     * Files are added under their titles, URLs as .url shortcuts. Files missing on disk are skipped
+     * @param resources resources to archive
+     * @param out stream to write to, finished but not closed
+     * @return number of entries written
+     */
+    public int writeZip(List<Resource> resources, OutputStream out) throws IOException {
+        byte[] buffer = new byte[properties.getBufferSize()];
+        Set<String> names = new HashSet<>();
+        int entries = 0;
+
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        for (Resource resource : resources) {
+            if (resource.getType() == Resource.ResourceType.URL) {
+                byte[] shortcut = ("[InternetShortcut]\r\nURL=" + resource.getPathOrUrl() + "\r\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                ZipEntry entry = newEntry(resource, uniqueName(names, resource.getTitle() + ".url"));
+                zip.putNextEntry(entry);
+                zip.write(shortcut);
+                zip.closeEntry();
+                entries++;
+                continue;
+            }
+
+            Path path;
+            try {
+                path = fileStorageService.resolve(resource.getPathOrUrl());
+            } catch (IllegalArgumentException e) {
+                path = null;
+            }
+            if (path == null || !Files.isRegularFile(path)) {
+                System.err.println("Skipping resource " + resource.getResourceId() + " in archive, file missing");
+                continue;
+            }
+
+            ZipEntry entry = newEntry(resource, uniqueName(names, resource.getTitle()));
+            if (isCompressed(resource.getTitle())) {
+                // STORED entries need size and CRC up front, one extra sequential read of the file
+                long size = Files.size(path);
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(size);
+                entry.setCompressedSize(size);
+                entry.setCrc(crc32(path, buffer));
+            }
+            zip.putNextEntry(entry);
+            try (InputStream in = Files.newInputStream(path)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    zip.write(buffer, 0, read);
+                }
+            }
+            zip.closeEntry();
+            entries++;
+        }
+        zip.finish();
+        zip.flush();
+        return entries;
+    }
+
+    private static ZipEntry newEntry(Resource resource, String name) {
+        ZipEntry entry = new ZipEntry(name);
+        if (resource.getUploadedAt() != null) {
+            entry.setTimeLocal(resource.getUploadedAt());
+        }
+        return entry;
+    }
+
+    /**
+     * Whether a file name has the extension of an already compressed format
+     */
+    static boolean isCompressed(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Entry name from a title, without path separators and unique within the archive
+     */
+    static String uniqueName(Set<String> used, String title) {
+        String name = title.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            name = "file";
+        }
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        String candidate = name;
+        for (int i = 2; !used.add(candidate.toLowerCase(Locale.ROOT)); i++) {
+            candidate = base + " (" + i + ")" + extension;
+        }
+        return candidate;
+    }
+
+    private static long crc32(Path path, byte[] buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+}
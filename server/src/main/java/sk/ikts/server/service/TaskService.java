@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import sk.ikts.server.dto.CreateTaskRequest;
 import sk.ikts.server.dto.TaskDTO;
+import sk.ikts.server.model.ReminderHours;
 import sk.ikts.server.model.Task;
 import sk.ikts.server.repository.TaskRepository;
 
@@ -28,10 +29,14 @@ public class TaskService {
     @Autowired
     private ActivityLogService activityLogService;
 
+    @Autowired
+    private DeadlineReminderService deadlineReminderService;
+
     /**
      * Create a new task
      * @param request task creation request
      * @return TaskDTO of created task
+     * @throws IllegalArgumentException if reminders are invalid
      */
     public TaskDTO createTask(CreateTaskRequest request) {
         Task task = new Task(request.getGroupId(), request.getCreatedBy(), 
@@ -40,18 +45,21 @@ public class TaskService {
             task.setDeadline(request.getDeadline());
         }
         if (request.getReminders() != null) {
-            task.setReminders(request.getReminders());
+            // Validated and normalized once here, the reminder scheduler uses them as they are
+            task.setReminderHours(ReminderHours.parse(request.getReminders()));
         }
         task = taskRepository.save(task);
+        deadlineReminderService.scheduleTask(task);
         
         // Log activity
         activityLogService.logActivity(request.getCreatedBy(), "CREATE_TASK", 
                 "Created task: " + task.getTitle() + " (ID: " + task.getTaskId() + ") in group " + request.getGroupId());
         
-        // Send notification about new task
-        notificationService.notifyNewTask(request.getGroupId(), task.getTaskId(), task.getTitle());
+        // Send notification about new task, with the task as delta
+        TaskDTO dto = convertToDTO(task);
+        notificationService.notifyNewTask(dto);
         
-        return convertToDTO(task);
+        return dto;
     }
 
     /**
@@ -65,6 +73,17 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get all tasks in the groups a user is a member of
+     * @param userId user ID
+     * @return List of tasks
+     */
+    public List<TaskDTO> getTasksForUser(Long userId) {
+        return taskRepository.findByMember(userId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get task by ID
      * @param taskId task ID
@@ -92,21 +111,18 @@ public class TaskService {
 
         Task task = taskOpt.get();
         task.setStatus(status);
-        task = taskRepository.save(task);
+        task = taskRepository.saveWithNewVersion(task);
+        deadlineReminderService.scheduleTask(task);
 
         // Log activity (we'll use createdBy as the user who changed status)
         activityLogService.logActivity(task.getCreatedBy(), "UPDATE_TASK_STATUS", 
                 "Changed task status: " + task.getTitle() + " (ID: " + taskId + ") to " + status.toString());
 
-        // Send notification about status change
-        notificationService.notifyTaskStatusChange(
-                task.getGroupId(), 
-                task.getTaskId(), 
-                task.getTitle(), 
-                status.toString()
-        );
+        // Send notification about status change, with the saved task (and its new version) as delta
+        TaskDTO dto = convertToDTO(task);
+        notificationService.notifyTaskStatusChange(dto);
 
-        return convertToDTO(task);
+        return dto;
     }
 
     /**
@@ -118,8 +134,12 @@ public class TaskService {
      * @param deadline new deadline (can be null to keep existing)
      * @param reminders new reminders (can be null to keep existing)
      * @return TaskDTO or null if task doesn't exist
+     * @throws IllegalArgumentException if reminders are invalid
      */
     public TaskDTO updateTask(Long taskId, String title, String description, Task.TaskStatus status, LocalDateTime deadline, String reminders) {
+        // Validate before anything is changed
+        int[] reminderHours = reminders != null ? ReminderHours.parse(reminders) : null;
+
         Optional<Task> taskOpt = taskRepository.findById(taskId);
         if (taskOpt.isEmpty()) {
             return null;
@@ -138,13 +158,6 @@ public class TaskService {
             // Log activity
             activityLogService.logActivity(task.getCreatedBy(), "UPDATE_TASK_STATUS", 
                     "Changed task status: " + task.getTitle() + " (ID: " + taskId + ") to " + status.toString());
-            // Send notification about status change
-            notificationService.notifyTaskStatusChange(
-                    task.getGroupId(), 
-                    task.getTaskId(), 
-                    task.getTitle(), 
-                    status.toString()
-            );
         }
         if (deadline != null) {
             task.setDeadline(deadline);
@@ -153,7 +166,7 @@ public class TaskService {
                     "Updated deadline for task: " + task.getTitle() + " (ID: " + taskId + ")");
         }
         if (reminders != null) {
-            task.setReminders(reminders);
+            task.setReminderHours(reminderHours);
         }
         if (title != null && !title.trim().isEmpty()) {
             // Log activity for title/description update
@@ -161,15 +174,25 @@ public class TaskService {
                     "Updated task: " + task.getTitle() + " (ID: " + taskId + ")");
         }
         
-        task = taskRepository.save(task);
-        return convertToDTO(task);
+        task = taskRepository.saveWithNewVersion(task);
+        // Title, deadline, reminders or status may have changed
+        deadlineReminderService.scheduleTask(task);
+
+        // Send notification with the saved task (and its new version) as delta
+        TaskDTO dto = convertToDTO(task);
+        if (status != null) {
+            notificationService.notifyTaskStatusChange(dto);
+        } else {
+            notificationService.notifyTaskUpdated(dto);
+        }
+        return dto;
     }
 
     /**
      * Convert Task entity to DTO
      */
     private TaskDTO convertToDTO(Task task) {
-        return new TaskDTO(
+        TaskDTO dto = new TaskDTO(
                 task.getTaskId(),
                 task.getGroupId(),
                 task.getCreatedBy(),
@@ -178,8 +201,10 @@ public class TaskService {
                 task.getStatus(),
                 task.getDeadline(),
                 task.getCreatedAt(),
-                task.getReminders()
+                ReminderHours.format(task.getReminderHours())
         );
+        dto.setVersion(task.getVersion());
+        return dto;
     }
 }
 
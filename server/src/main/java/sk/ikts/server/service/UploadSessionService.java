@@ -0,0 +1,290 @@
+package sk.ikts.server.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sk.ikts.server.config.StorageProperties;
+import sk.ikts.server.dto.StartUploadRequest;
+import sk.ikts.server.dto.UploadSessionDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service for chunked, resumable uploads
+ * A session owns a temp file of the final size; chunks are written straight to their
+ * offset as they arrive, in any order and in parallel, and a chunk sent again simply
+ * overwrites itself. Committing verifies the whole file against the checksum declared
+ * up front and moves it into the blob store. Sessions live in memory, a client that
+ * lost its connection resumes by starting the same upload again and sending the
+ * chunks the session does not have yet
+ */
+@Service
+public class UploadSessionService {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private StorageProperties properties;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Start an upload, or return the caller's open session for the same file
+     * @param request target group, uploader, title, size and SHA-256 of the file
+     * @return session state including the chunks already received
+     */
+    public UploadSessionDTO start(StartUploadRequest request) throws IOException {
+        if (request.getSize() > properties.getMaxUploadBytes()) {
+            throw new IllegalArgumentException("File exceeds " + properties.getMaxUploadBytes() + " bytes");
+        }
+        String sha256 = request.getSha256().toLowerCase(Locale.ROOT);
+        for (Session session : sessions.values()) {
+            if (session.matches(request, sha256)) {
+                session.lastActivityMs = System.currentTimeMillis();
+                return session.toDTO();
+            }
+        }
+
+        Path temp = fileStorageService.createTempFile();
+        try (RandomAccessFile file = new RandomAccessFile(temp.toFile(), "rw")) {
+            // Sparse file of the final size, so chunks can be written at any offset
+            file.setLength(request.getSize());
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Session session = new Session(UUID.randomUUID().toString(), request, sha256, properties.getChunkSize(), temp);
+        sessions.put(session.uploadId, session);
+        return session.toDTO();
+    }
+
+    /**
+     * State of an upload
+     * @return null if there is no such open session
+     */
+    public UploadSessionDTO getStatus(String uploadId) {
+        Session session = sessions.get(uploadId);
+        return session != null ? session.toDTO() : null;
+    }
+
+    /**
+     * Write one chunk at its offset
+     * @param uploadId session ID
+     * @param index chunk number, from 0
+     * @param content chunk bytes, exactly the chunk's length
+     * @return false if there is no such open session
+     * @throws IllegalArgumentException if the index is out of range or the content has the wrong length
+     */
+    public boolean writeChunk(String uploadId, int index, InputStream content) throws IOException {
+        Session session = sessions.get(uploadId);
+        if (session == null) {
+            return false;
+        }
+        if (index < 0 || index >= session.chunkCount) {
+            throw new IllegalArgumentException("Chunk index must be between 0 and " + (session.chunkCount - 1));
+        }
+        long offset = (long) index * session.chunkSize;
+        long length = Math.min(session.chunkSize, session.size - offset);
+
+        // Shared lock, chunks are written in parallel but never while the session commits
+        session.lock.readLock().lock();
+        try {
+            if (session.closed) {
+                return false;
+            }
+            // Not received until completely rewritten
+            session.markReceived(index, false);
+            long written = 0;
+            ReadableByteChannel source = Channels.newChannel(content);
+            try (FileChannel out = FileChannel.open(session.temp, StandardOpenOption.WRITE)) {
+                while (written < length) {
+                    long transferred = out.transferFrom(source, offset + written, length - written);
+                    if (transferred == 0) {
+                        break;
+                    }
+                    written += transferred;
+                }
+            }
+            if (written < length || content.read() != -1) {
+                throw new IllegalArgumentException("Chunk " + index + " must be exactly " + length + " bytes");
+            }
+            session.markReceived(index, true);
+            session.lastActivityMs = System.currentTimeMillis();
+            return true;
+        } finally {
+            session.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verify a fully received upload and move it into the blob store
+     * The session is closed either way, a checksum mismatch discards the upload
+     * @param uploadId session ID
+     * @return stored file with the metadata given at start, null if there is no such open session
+     * @throws IllegalStateException if chunks are missing (the session stays open) or the checksum does not match
+     */
+    public CompletedUpload complete(String uploadId) throws IOException {
+        Session session = sessions.get(uploadId);
+        if (session == null) {
+            return null;
+        }
+        // Exclusive lock, waits for chunk writes in progress
+        session.lock.writeLock().lock();
+        try {
+            if (session.closed) {
+                return null;
+            }
+            List<Integer> missing = session.missingChunks();
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Missing " + missing.size() + " chunks: " +
+                        missing.subList(0, Math.min(missing.size(), 20)));
+            }
+            session.closed = true;
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+        sessions.remove(uploadId);
+
+        try {
+            String actual = fileStorageService.sha256(session.temp);
+            if (!actual.equals(session.sha256)) {
+                throw new IllegalStateException("Checksum mismatch, expected " + session.sha256 +
+                        " but received " + actual + "; upload discarded");
+            }
+            FileStorageService.StoredFile stored = fileStorageService.commit(session.temp, actual, session.size);
+            return new CompletedUpload(session.groupId, session.uploadedBy, session.title, stored);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(session.temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Abort an upload and delete what was received
+     * @return false if there is no such open session
+     */
+    public boolean abort(String uploadId) throws IOException {
+        Session session = sessions.get(uploadId);
+        if (session == null) {
+            return false;
+        }
+        session.lock.writeLock().lock();
+        try {
+            if (session.closed) {
+                return false;
+            }
+            session.closed = true;
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+        sessions.remove(uploadId);
+        Files.deleteIfExists(session.temp);
+        return true;
+    }
+
+    /**
+     * Abort sessions nobody wrote to for tempFileMaxAgeMs
+     */
+    @Scheduled(fixedDelayString = "#{@storageProperties.gcIntervalMs}",
+               initialDelayString = "#{@storageProperties.gcIntervalMs}")
+    public void expireIdleSessions() {
+        long cutoff = System.currentTimeMillis() - properties.getTempFileMaxAgeMs();
+        for (Session session : sessions.values()) {
+            if (session.lastActivityMs < cutoff) {
+                try {
+                    abort(session.uploadId);
+                } catch (IOException e) {
+                    System.err.println("Error expiring upload " + session.uploadId + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of open upload sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * A verified upload moved into the blob store
+     */
+    public record CompletedUpload(Long groupId, Long uploadedBy, String title, FileStorageService.StoredFile stored) {
+    }
+
+    private static final class Session {
+        private final String uploadId;
+        private final Long groupId;
+        private final Long uploadedBy;
+        private final String title;
+        private final long size;
+        private final String sha256;
+        private final int chunkSize;
+        private final int chunkCount;
+        private final Path temp;
+        private final BitSet received; // guarded by itself
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private boolean closed; // written under the write lock
+        private volatile long lastActivityMs = System.currentTimeMillis();
+
+        private Session(String uploadId, StartUploadRequest request, String sha256, int chunkSize, Path temp) {
+            this.uploadId = uploadId;
+            this.groupId = request.getGroupId();
+            this.uploadedBy = request.getUploadedBy();
+            this.title = request.getTitle();
+            this.size = request.getSize();
+            this.sha256 = sha256;
+            this.chunkSize = chunkSize;
+            this.chunkCount = (int) ((size + chunkSize - 1) / chunkSize);
+            this.temp = temp;
+            this.received = new BitSet(chunkCount);
+        }
+
+        private boolean matches(StartUploadRequest request, String sha256) {
+            return this.sha256.equals(sha256) && size == request.getSize()
+                    && groupId.equals(request.getGroupId()) && uploadedBy.equals(request.getUploadedBy());
+        }
+
+        private void markReceived(int index, boolean value) {
+            synchronized (received) {
+                received.set(index, value);
+            }
+        }
+
+        private List<Integer> missingChunks() {
+            List<Integer> missing = new ArrayList<>();
+            synchronized (received) {
+                for (int i = received.nextClearBit(0); i < chunkCount; i = received.nextClearBit(i + 1)) {
+                    missing.add(i);
+                }
+            }
+            return missing;
+        }
+
+        private UploadSessionDTO toDTO() {
+            List<Integer> chunks = new ArrayList<>();
+            synchronized (received) {
+                received.stream().forEach(chunks::add);
+            }
+            return new UploadSessionDTO(uploadId, size, chunkSize, chunkCount, chunks);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package sk.ikts.server.websocket;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import sk.ikts.server.config.GsonConfig;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One event encoded for every transport
+ *
+ * The event is serialized once to compact JSON when the frame is created; the
+ * MessagePack form is built on first use. The encoded forms are shared by all
+ * sessions and the STOMP broker, so fanning an event out to N subscribers costs
+ * one encoding per wire format instead of one per subscriber.
+ */
+public final class EventFrame {
+
+    private static final Gson GSON = GsonConfig.createGson();
+
+    private final JsonObject event;
+    private final TextMessage json;
+    private byte[] msgpack; // guarded by this
+
+    private EventFrame(JsonObject event) {
+        this.event = event;
+        this.json = new TextMessage(GSON.toJson(event));
+    }
+
+    /**
+     * Frame of an event tree, the tree must not be changed afterwards
+     */
+    public static EventFrame of(JsonObject event) {
+        return new EventFrame(event);
+    }
+
+    /**
+     * JSON tree of a DTO (NotificationDTO, ChatMessageDTO, ...), for callers adding fields before framing it
+     */
+    public static JsonObject toJsonObject(Object dto) {
+        return GSON.toJsonTree(dto).getAsJsonObject();
+    }
+
+    /**
+     * WebSocket message in the given format
+     * Binary messages wrap the shared bytes in a new buffer, since sending consumes the buffer position
+     */
+    public WebSocketMessage<?> message(WireFormat format) {
+        if (format == WireFormat.MSGPACK) {
+            return new BinaryMessage(msgpack());
+        }
+        return json;
+    }
+
+    /**
+     * STOMP message with the JSON form as body, for SimpMessagingTemplate.send
+     */
+    public Message<byte[]> stompMessage() {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        return MessageBuilder.createMessage(json.asBytes(), headers.getMessageHeaders());
+    }
+
+    public String getJson() {
+        return json.getPayload();
+    }
+
+    /**
+     * Size of the encoded event in bytes
+     */
+    public int size(WireFormat format) {
+        return format == WireFormat.MSGPACK ? msgpack().length : json.getPayloadLength();
+    }
+
+    private synchronized byte[] msgpack() {
+        if (msgpack == null) {
+            msgpack = MessagePackWriter.write(event, json.getPayloadLength());
+        }
+        return msgpack;
+    }
+
+    @Override
+    public String toString() {
+        return json.getPayload();
+    }
+}
@@ -0,0 +1,116 @@
+package sk.ikts.server.websocket;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Sequenced event stream of one group on one channel
+ *
+ * Every published event gets the next sequence number of the group and is kept
+ * in a bounded replay ring, so a client that reconnects with the last sequence
+ * it has seen can be sent exactly the events it missed. Publishing and
+ * subscribing (including the replay) happen under the stream's lock, so a
+ * resuming subscriber never misses or duplicates an event published concurrently.
+ * Events are kept as {@link EventFrame}s, encoded once for all subscribers and replays.
+ */
+public class GroupStream {
+
+    private final int replayCapacity;
+    private final ArrayDeque<Frame> ring = new ArrayDeque<>();
+    private final Set<WebSocketSession> subscribers = ConcurrentHashMap.newKeySet();
+    private long lastSeq;
+
+    public GroupStream(int replayCapacity) {
+        this.replayCapacity = Math.max(0, replayCapacity);
+    }
+
+    /**
+     * Stamp an event with the next sequence number, remember it and queue it to all subscribers
+     * @param encoder builds the frame for the assigned sequence number
+     * @param queues outbound queue lookup of subscribed sessions
+     * @return assigned sequence number
+     */
+    public long publish(LongFunction<EventFrame> encoder, String coalesceKey,
+                        Function<WebSocketSession, OutboundQueue> queues) {
+        synchronized (this) {
+            long seq = ++lastSeq;
+            Frame frame = new Frame(seq, encoder.apply(seq), coalesceKey);
+            if (replayCapacity > 0) {
+                if (ring.size() >= replayCapacity) {
+                    ring.pollFirst();
+                }
+                ring.addLast(frame);
+            }
+            for (WebSocketSession session : subscribers) {
+                OutboundQueue queue = queues.apply(session);
+                if (queue != null) {
+                    queue.enqueue(frame.event, coalesceKey);
+                }
+            }
+            return seq;
+        }
+    }
+
+    /**
+     * Add a subscriber and, when resuming, queue the events it missed
+     * @param lastSeenSeq last sequence the client has seen, null for a fresh subscription
+     * @param queue outbound queue of the session
+     * @param control builds the control frame: (resyncRequired, current sequence)
+     * @return false if the gap could not be replayed and the client must resync
+     */
+    public boolean subscribe(WebSocketSession session, Long lastSeenSeq, OutboundQueue queue,
+                             ControlFrameFactory control) {
+        synchronized (this) {
+            subscribers.add(session);
+            boolean replayable = lastSeenSeq == null || canReplayFrom(lastSeenSeq);
+            if (replayable && lastSeenSeq != null) {
+                for (Frame frame : ring) {
+                    if (frame.seq > lastSeenSeq) {
+                        queue.enqueue(frame.event, frame.coalesceKey);
+                    }
+                }
+            }
+            queue.enqueue(control.create(!replayable, lastSeq), null);
+            return replayable;
+        }
+    }
+
+    public void unsubscribe(WebSocketSession session) {
+        synchronized (this) {
+            subscribers.remove(session);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    private boolean canReplayFrom(long lastSeenSeq) {
+        if (lastSeenSeq > lastSeq || lastSeenSeq < 0) {
+            return false; // Client saw a sequence this stream never issued
+        }
+        long oldestNeeded = lastSeenSeq + 1;
+        long oldestHeld = ring.isEmpty() ? lastSeq + 1 : ring.peekFirst().seq;
+        return oldestNeeded >= oldestHeld;
+    }
+
+    /**
+     * Builds the frame sent after a subscription: SUBSCRIBED or RESYNC_REQUIRED
+     */
+    @FunctionalInterface
+    public interface ControlFrameFactory {
+        EventFrame create(boolean resyncRequired, long currentSeq);
+    }
+
+    private record Frame(long seq, EventFrame event, String coalesceKey) {
+    }
+}
@@ -0,0 +1,142 @@
+package sk.ikts.server.websocket;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Encodes a JSON tree as MessagePack (https://msgpack.org/)
+ *
+ * Only the subset JSON needs: nil, bool, int (smallest form), float 64, str, array
+ * and map. Numbers without a fraction or exponent are written as integers.
+ */
+public final class MessagePackWriter {
+
+    private byte[] buffer;
+    private int length;
+
+    private MessagePackWriter(int sizeHint) {
+        this.buffer = new byte[sizeHint];
+    }
+
+    /**
+     * @param element JSON tree
+     * @param sizeHint expected size in bytes, e.g. the length of the JSON text
+     * @return MessagePack bytes
+     */
+    public static byte[] write(JsonElement element, int sizeHint) {
+        MessagePackWriter writer = new MessagePackWriter(Math.max(16, sizeHint));
+        writer.value(element);
+        return Arrays.copyOf(writer.buffer, writer.length);
+    }
+
+    private void value(JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            write(0xc0);
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            header(object.size(), 0x80, 0xde, 0xdf);
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                string(entry.getKey());
+                value(entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            header(array.size(), 0x90, 0xdc, 0xdd);
+            for (JsonElement item : array) {
+                value(item);
+            }
+        } else {
+            primitive(element.getAsJsonPrimitive());
+        }
+    }
+
+    private void primitive(JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            write(primitive.getAsBoolean() ? 0xc3 : 0xc2);
+        } else if (primitive.isNumber()) {
+            String text = primitive.getAsNumber().toString();
+            if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                integer(Long.parseLong(text));
+            } else {
+                write(0xcb);
+                longBytes(Double.doubleToLongBits(primitive.getAsDouble()), 8);
+            }
+        } else {
+            string(primitive.getAsString());
+        }
+    }
+
+    private void integer(long value) {
+        if (value >= 0 && value < 128) {
+            write((int) value); // positive fixint
+        } else if (value < 0 && value >= -32) {
+            write((int) (value & 0xff)); // negative fixint
+        } else if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                write(0xd1);
+                longBytes(value, 2);
+            } else {
+                write(0xd2);
+                longBytes(value, 4);
+            }
+        } else {
+            write(0xd3);
+            longBytes(value, 8);
+        }
+    }
+
+    private void string(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            write(0xa0 | bytes.length);
+        } else if (bytes.length < 256) {
+            write(0xd9);
+            write(bytes.length);
+        } else if (bytes.length < 65536) {
+            write(0xda);
+            longBytes(bytes.length, 2);
+        } else {
+            write(0xdb);
+            longBytes(bytes.length, 4);
+        }
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void header(int size, int fix, int marker16, int marker32) {
+        if (size < 16) {
+            write(fix | size);
+        } else if (size < 65536) {
+            write(marker16);
+            longBytes(size, 2);
+        } else {
+            write(marker32);
+            longBytes(size, 4);
+        }
+    }
+
+    private void longBytes(long value, int count) {
+        ensure(count);
+        for (int shift = (count - 1) * 8; shift >= 0; shift -= 8) {
+            buffer[length++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void write(int b) {
+        ensure(1);
+        buffer[length++] = (byte) b;
+    }
+
+    private void ensure(int count) {
+        if (length + count > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + count));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package sk.ikts.server.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Bounded outbound queue of a single WebSocket session
+ *
+ * Broadcasting threads only enqueue; frames are written to the socket by a
+ * sender task on the shared sender executor. At most one sender task runs per
+ * session, so frames keep their order and the session is never written
+ * concurrently. When the queue is full the configured {@link OverflowPolicy} applies.
+ */
+public class OutboundQueue {
+
+    // Frames sent before the sender task yields its thread to other sessions
+    private static final int DRAIN_BATCH = 64;
+
+    private final WebSocketSession session;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final WireFormat format;
+    private final Executor executor;
+    private final Consumer<WebSocketSession> onFailure;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+
+    // Metrics (guarded by lock)
+    private int highWaterMark;
+    private long sentCount;
+    private long droppedCount;
+    private long coalescedCount;
+
+    /**
+     * @param session session to write to
+     * @param capacity maximum number of queued frames
+     * @param policy what to do when the queue is full
+     * @param executor executor running the sender tasks
+     * @param onFailure called when the session had to be dropped (send error or DISCONNECT policy)
+     */
+    public OutboundQueue(WebSocketSession session, int capacity, OverflowPolicy policy,
+                         Executor executor, Consumer<WebSocketSession> onFailure) {
+        this(session, capacity, policy, WireFormat.JSON, executor, onFailure);
+    }
+
+    /**
+     * @param format wire format negotiated by the session, used for queued {@link EventFrame}s
+     */
+    public OutboundQueue(WebSocketSession session, int capacity, OverflowPolicy policy, WireFormat format,
+                         Executor executor, Consumer<WebSocketSession> onFailure) {
+        this.session = session;
+        this.capacity = Math.max(1, capacity);
+        this.policy = policy;
+        this.format = format;
+        this.executor = executor;
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Queue an event in the session's wire format, never blocks
+     * @see #enqueue(WebSocketMessage, String)
+     */
+    public boolean enqueue(EventFrame event, String coalesceKey) {
+        return enqueue(event.message(format), coalesceKey);
+    }
+
+    /**
+     * Queue a frame for sending, never blocks
+     * @param message frame to send
+     * @param coalesceKey frames with the same key may replace each other under COALESCE, null if never
+     * @return false if the queue is closed or the session was disconnected because of overflow
+     */
+    public boolean enqueue(WebSocketMessage<?> message, String coalesceKey) {
+        boolean scheduleDrain = false;
+        boolean disconnect = false;
+        synchronized (lock) {
+            if (closed) {
+                return false;
+            }
+            if (queue.size() >= capacity) {
+                if (policy == OverflowPolicy.DISCONNECT) {
+                    closed = true;
+                    disconnect = true;
+                    droppedCount += queue.size() + 1;
+                    queue.clear();
+                } else if (policy == OverflowPolicy.COALESCE && replaceQueued(message, coalesceKey)) {
+                    coalescedCount++;
+                    return true;
+                } else {
+                    queue.pollFirst();
+                    droppedCount++;
+                }
+            }
+            if (!disconnect) {
+                queue.addLast(new Entry(message, coalesceKey));
+                highWaterMark = Math.max(highWaterMark, queue.size());
+                if (!draining) {
+                    draining = true;
+                    scheduleDrain = true;
+                }
+            }
+        }
+
+        if (disconnect) {
+            // Overflow with DISCONNECT policy; closing may block, so do it on the sender executor
+            System.err.println("WebSocket session " + session.getId() + " is too slow, disconnecting");
+            execute(() -> fail(CloseStatus.SESSION_NOT_RELIABLE));
+            return false;
+        }
+        if (scheduleDrain) {
+            execute(this::drain);
+        }
+        return true;
+    }
+
+    /**
+     * Stop sending; queued frames are discarded
+     */
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            queue.clear();
+        }
+    }
+
+    /**
+     * Snapshot of this queue's metrics
+     */
+    public QueueStats getStats() {
+        synchronized (lock) {
+            return new QueueStats(session.getId(), queue.size(), highWaterMark,
+                    sentCount, droppedCount, coalescedCount);
+        }
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    public WireFormat getFormat() {
+        return format;
+    }
+
+    private boolean replaceQueued(WebSocketMessage<?> message, String coalesceKey) {
+        if (coalesceKey == null) {
+            return false;
+        }
+        Iterator<Entry> it = queue.descendingIterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (coalesceKey.equals(entry.coalesceKey)) {
+                entry.message = message;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() {
+        int budget = DRAIN_BATCH;
+        while (true) {
+            WebSocketMessage<?> next;
+            synchronized (lock) {
+                if (closed || queue.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                if (budget-- == 0) {
+                    // Let other sessions use the sender thread, continue later
+                    break;
+                }
+                next = queue.pollFirst().message;
+            }
+
+            try {
+                if (!session.isOpen()) {
+                    fail(null);
+                    return;
+                }
+                session.sendMessage(next);
+                synchronized (lock) {
+                    sentCount++;
+                }
+            } catch (Exception e) {
+                System.err.println("Error sending WebSocket message to " + session.getId() + ": " + e.getMessage());
+                fail(CloseStatus.SERVER_ERROR);
+                return;
+            }
+        }
+        execute(this::drain);
+    }
+
+    private void fail(CloseStatus closeStatus) {
+        close();
+        if (closeStatus != null && session.isOpen()) {
+            try {
+                session.close(closeStatus);
+            } catch (Exception e) {
+                // Session is already broken
+            }
+        }
+        onFailure.accept(session);
+    }
+
+    private void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Executor is shutting down
+            close();
+        }
+    }
+
+    private static final class Entry {
+        private WebSocketMessage<?> message;
+        private final String coalesceKey;
+
+        private Entry(WebSocketMessage<?> message, String coalesceKey) {
+            this.message = message;
+            this.coalesceKey = coalesceKey;
+        }
+    }
+
+    /**
+     * Metrics of one session's outbound queue
+     */
+    public record QueueStats(String sessionId, int depth, int highWaterMark,
+                             long sent, long dropped, long coalesced) {
+    }
+}
@@ -0,0 +1,22 @@
+package sk.ikts.server.websocket;
+
+/**
+ * What an outbound queue does when a slow client lets it fill up
+ */
+public enum OverflowPolicy {
+    /**
+     * Discard the oldest queued frame to make room for the new one
+     */
+    DROP_OLDEST,
+
+    /**
+     * Replace a queued frame with the same coalesce key (e.g. two status changes
+     * of the same task); falls back to dropping the oldest frame
+     */
+    COALESCE,
+
+    /**
+     * Close the session; the client reconnects and reloads its state
+     */
+    DISCONNECT
+}
@@ -0,0 +1,53 @@
+package sk.ikts.server.websocket;
+
+/**
+ * Events-per-second rate over a sliding window of one-second buckets
+ */
+public class RateCounter {
+
+    private final int windowSeconds;
+    private final long[] buckets;
+    private final long[] bucketSeconds;
+
+    public RateCounter(int windowSeconds) {
+        this.windowSeconds = Math.max(1, windowSeconds);
+        this.buckets = new long[this.windowSeconds];
+        this.bucketSeconds = new long[this.windowSeconds];
+    }
+
+    /**
+     * Record one event at the current time
+     */
+    public void increment() {
+        increment(System.currentTimeMillis());
+    }
+
+    synchronized void increment(long nowMillis) {
+        long second = nowMillis / 1000;
+        int index = (int) (second % windowSeconds);
+        if (bucketSeconds[index] != second) {
+            // Bucket still holds a second that fell out of the window
+            bucketSeconds[index] = second;
+            buckets[index] = 0;
+        }
+        buckets[index]++;
+    }
+
+    /**
+     * Average events per second over the window
+     */
+    public double getRatePerSecond() {
+        return getRatePerSecond(System.currentTimeMillis());
+    }
+
+    synchronized double getRatePerSecond(long nowMillis) {
+        long second = nowMillis / 1000;
+        long total = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (second - bucketSeconds[i] < windowSeconds) {
+                total += buckets[i];
+            }
+        }
+        return (double) total / windowSeconds;
+    }
+}
@@ -0,0 +1,171 @@
+package sk.ikts.server.websocket;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of connected WebSocket sessions
+ *
+ * Add, lookup and remove are O(1) on a ConcurrentHashMap keyed by session id.
+ * Every session carries its outbound queue and the time it was last heard from,
+ * which the heartbeat uses to find idle sessions. The number of concurrent
+ * sessions is capped; registration beyond the cap is refused.
+ */
+public class SessionRegistry {
+
+    // Window of the connect/disconnect rate gauges
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private final int maxSessions;
+    private final Map<String, SessionEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicLong connectCount = new AtomicLong();
+    private final AtomicLong disconnectCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong reapedCount = new AtomicLong();
+    private final RateCounter connectRate = new RateCounter(RATE_WINDOW_SECONDS);
+    private final RateCounter disconnectRate = new RateCounter(RATE_WINDOW_SECONDS);
+
+    /**
+     * @param maxSessions maximum number of concurrent sessions, 0 or less for no limit
+     */
+    public SessionRegistry(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * Register a new session
+     * @return false if the connection cap is reached (session is not registered)
+     */
+    public boolean register(WebSocketSession session, OutboundQueue queue) {
+        // Reserve a slot first so concurrent connects cannot overshoot the cap
+        while (true) {
+            int current = size.get();
+            if (maxSessions > 0 && current >= maxSessions) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        if (entries.putIfAbsent(session.getId(), new SessionEntry(session, queue)) != null) {
+            size.decrementAndGet(); // Already registered
+            return true;
+        }
+        connectCount.incrementAndGet();
+        connectRate.increment();
+        return true;
+    }
+
+    /**
+     * Remove a session
+     * @return removed entry, null if the session was not registered
+     */
+    public SessionEntry remove(String sessionId) {
+        SessionEntry entry = entries.remove(sessionId);
+        if (entry != null) {
+            size.decrementAndGet();
+            disconnectCount.incrementAndGet();
+            disconnectRate.increment();
+        }
+        return entry;
+    }
+
+    public SessionEntry get(String sessionId) {
+        return entries.get(sessionId);
+    }
+
+    /**
+     * Live view of all registered sessions
+     */
+    public Collection<SessionEntry> getEntries() {
+        return entries.values();
+    }
+
+    /**
+     * Mark session as alive (message or pong received)
+     */
+    public void touch(String sessionId) {
+        SessionEntry entry = entries.get(sessionId);
+        if (entry != null) {
+            entry.lastSeen = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Sessions not heard from since the given time
+     */
+    public List<SessionEntry> findIdle(long lastSeenBefore) {
+        List<SessionEntry> idle = new ArrayList<>();
+        for (SessionEntry entry : entries.values()) {
+            if (entry.lastSeen < lastSeenBefore) {
+                idle.add(entry);
+            }
+        }
+        return idle;
+    }
+
+    public void recordReaped() {
+        reapedCount.incrementAndGet();
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /**
+     * Snapshot of the registry gauges and counters
+     */
+    public RegistryStats getStats() {
+        return new RegistryStats(size.get(), maxSessions, connectCount.get(), disconnectCount.get(),
+                rejectedCount.get(), reapedCount.get(),
+                connectRate.getRatePerSecond(), disconnectRate.getRatePerSecond());
+    }
+
+    /**
+     * Registered session with its outbound queue
+     */
+    public static final class SessionEntry {
+        private final WebSocketSession session;
+        private final OutboundQueue queue;
+        private volatile long lastSeen = System.currentTimeMillis();
+
+        private SessionEntry(WebSocketSession session, OutboundQueue queue) {
+            this.session = session;
+            this.queue = queue;
+        }
+
+        public WebSocketSession getSession() {
+            return session;
+        }
+
+        public OutboundQueue getQueue() {
+            return queue;
+        }
+
+        public long getLastSeen() {
+            return lastSeen;
+        }
+    }
+
+    /**
+     * Session gauges; rates are events per second over the last minute
+     */
+    public record RegistryStats(int sessions, int maxSessions, long connects, long disconnects,
+                                long rejected, long reaped,
+                                double connectRatePerSecond, double disconnectRatePerSecond) {
+    }
+}
@@ -0,0 +1,40 @@
+package sk.ikts.server.websocket;
+
+/**
+ * Encoding of the event frames sent to a session, negotiated at the handshake
+ * through the WebSocket subprotocol (Sec-WebSocket-Protocol)
+ */
+public enum WireFormat {
+    /**
+     * Compact JSON in text frames, also used when the client asks for no subprotocol
+     */
+    JSON("callstudy.json"),
+
+    /**
+     * MessagePack in binary frames, same structure as the JSON frames
+     */
+    MSGPACK("callstudy.msgpack");
+
+    private final String subprotocol;
+
+    WireFormat(String subprotocol) {
+        this.subprotocol = subprotocol;
+    }
+
+    public String getSubprotocol() {
+        return subprotocol;
+    }
+
+    /**
+     * Format of a session from the subprotocol accepted at its handshake
+     * @param acceptedProtocol accepted subprotocol, null or empty if none
+     */
+    public static WireFormat fromSubprotocol(String acceptedProtocol) {
+        for (WireFormat format : values()) {
+            if (format.subprotocol.equals(acceptedProtocol)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,105 @@
+-- Baseline schema, as previously generated by Hibernate (ddl-auto=create-drop)
+
+CREATE SEQUENCE IF NOT EXISTS user_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS group_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS membership_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS resource_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS chat_message_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS activity_log_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sent_reminder_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id bigint not null,
+    auth_provider varchar(255) not null check (auth_provider in ('LOCAL','GOOGLE')),
+    created_at timestamp(6),
+    email varchar(255) not null unique,
+    google_id varchar(255) unique,
+    name varchar(255) not null,
+    password_hash varchar(255),
+    primary key (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS groups (
+    group_id bigint not null,
+    created_at timestamp(6),
+    created_by bigint not null,
+    description TEXT,
+    name varchar(255) not null,
+    primary key (group_id)
+);
+
+CREATE TABLE IF NOT EXISTS memberships (
+    membership_id bigint not null,
+    group_id bigint not null,
+    joined_at timestamp(6),
+    role varchar(255) not null check (role in ('MEMBER','ADMIN')),
+    user_id bigint not null,
+    primary key (membership_id)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    task_id bigint not null,
+    created_at timestamp(6),
+    created_by bigint not null,
+    deadline timestamp(6),
+    description TEXT,
+    group_id bigint not null,
+    reminders TEXT,
+    status varchar(255) not null check (status in ('OPEN','IN_PROGRESS','DONE')),
+    title varchar(255) not null,
+    primary key (task_id)
+);
+
+CREATE TABLE IF NOT EXISTS resources (
+    resource_id bigint not null,
+    group_id bigint not null,
+    path_or_url varchar(255) not null,
+    sha256 varchar(64),
+    size_bytes bigint,
+    title varchar(255) not null,
+    type varchar(255) not null check (type in ('FILE','URL')),
+    uploaded_at timestamp(6),
+    uploaded_by bigint not null,
+    primary key (resource_id)
+);
+
+CREATE TABLE IF NOT EXISTS blobs (
+    sha256 varchar(64) not null,
+    created_at timestamp(6) not null,
+    ref_count integer not null,
+    size_bytes bigint not null,
+    updated_at timestamp(6) not null,
+    primary key (sha256)
+);
+
+CREATE TABLE IF NOT EXISTS chat_messages (
+    message_id bigint not null,
+    group_id bigint not null,
+    message TEXT not null,
+    sent_at timestamp(6) not null,
+    user_id bigint not null,
+    user_name varchar(255) not null,
+    primary key (message_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_messages_group_sent ON chat_messages (group_id, sent_at, message_id);
+
+CREATE TABLE IF NOT EXISTS activity_log (
+    log_id bigint not null,
+    action varchar(255) not null,
+    details TEXT,
+    timestamp timestamp(6) not null,
+    user_id bigint not null,
+    primary key (log_id)
+);
+
+CREATE TABLE IF NOT EXISTS sent_reminders (
+    reminder_id bigint not null,
+    deadline timestamp(6) not null,
+    sent_at timestamp(6) not null,
+    task_id bigint not null,
+    threshold integer not null,
+    primary key (reminder_id),
+    constraint uk_sent_reminders_task_threshold unique (task_id, threshold)
+);
@@ -0,0 +1,13 @@
+-- Indexes for the hot lookups
+
+-- A user is a member of a group at most once
+CREATE UNIQUE INDEX IF NOT EXISTS uk_memberships_user_group ON memberships (user_id, group_id);
+
+-- Task board of a group, optionally filtered by status
+CREATE INDEX IF NOT EXISTS idx_tasks_group_status ON tasks (group_id, status);
+
+-- Deadline queries (H2 has no partial indexes, SQLite indexes only open tasks)
+CREATE INDEX IF NOT EXISTS idx_tasks_open_deadline ON tasks (deadline);
+
+-- Activity history of a user
+CREATE INDEX IF NOT EXISTS idx_activity_log_user_time ON activity_log (user_id, timestamp);
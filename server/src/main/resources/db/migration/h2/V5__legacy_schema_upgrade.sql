@@ -0,0 +1,6 @@
+-- Brings a database created by Hibernate before resources were stored by content up to V1
+-- V1 only creates missing tables, so resources created before sha256/size_bytes kept the old columns
+-- (H2 databases were created with ddl-auto=create-drop, so no sequence numbers need to be carried over)
+
+ALTER TABLE resources ADD COLUMN IF NOT EXISTS sha256 varchar(64);
+ALTER TABLE resources ADD COLUMN IF NOT EXISTS size_bytes bigint;
@@ -0,0 +1,114 @@
+-- Baseline schema, as previously generated by Hibernate (ddl-auto=update)
+-- Every statement is idempotent, so a database created by Hibernate is adopted as is
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id bigint not null,
+    auth_provider varchar(255) not null check (auth_provider in ('LOCAL','GOOGLE')),
+    created_at timestamp,
+    email varchar(255) not null unique,
+    google_id varchar(255) unique,
+    name varchar(255) not null,
+    password_hash varchar(255),
+    primary key (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS groups (
+    group_id bigint not null,
+    created_at timestamp,
+    created_by bigint not null,
+    description TEXT,
+    name varchar(255) not null,
+    primary key (group_id)
+);
+
+CREATE TABLE IF NOT EXISTS memberships (
+    membership_id bigint not null,
+    group_id bigint not null,
+    joined_at timestamp,
+    role varchar(255) not null check (role in ('MEMBER','ADMIN')),
+    user_id bigint not null,
+    primary key (membership_id)
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    task_id bigint not null,
+    created_at timestamp,
+    created_by bigint not null,
+    deadline timestamp,
+    description TEXT,
+    group_id bigint not null,
+    reminders TEXT,
+    status varchar(255) not null check (status in ('OPEN','IN_PROGRESS','DONE')),
+    title varchar(255) not null,
+    primary key (task_id)
+);
+
+CREATE TABLE IF NOT EXISTS resources (
+    resource_id bigint not null,
+    group_id bigint not null,
+    path_or_url varchar(255) not null,
+    sha256 varchar(64),
+    size_bytes bigint,
+    title varchar(255) not null,
+    type varchar(255) not null check (type in ('FILE','URL')),
+    uploaded_at timestamp,
+    uploaded_by bigint not null,
+    primary key (resource_id)
+);
+
+CREATE TABLE IF NOT EXISTS blobs (
+    sha256 varchar(64) not null,
+    created_at timestamp not null,
+    ref_count integer not null,
+    size_bytes bigint not null,
+    updated_at timestamp not null,
+    primary key (sha256)
+);
+
+CREATE TABLE IF NOT EXISTS chat_messages (
+    message_id bigint not null,
+    group_id bigint not null,
+    message TEXT not null,
+    sent_at timestamp not null,
+    user_id bigint not null,
+    user_name varchar(255) not null,
+    primary key (message_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_messages_group_sent ON chat_messages (group_id, sent_at, message_id);
+
+CREATE TABLE IF NOT EXISTS activity_log (
+    log_id bigint not null,
+    action varchar(255) not null,
+    details TEXT,
+    timestamp timestamp not null,
+    user_id bigint not null,
+    primary key (log_id)
+);
+
+CREATE TABLE IF NOT EXISTS sent_reminders (
+    reminder_id bigint not null,
+    deadline timestamp not null,
+    sent_at timestamp not null,
+    task_id bigint not null,
+    threshold integer not null,
+    primary key (reminder_id)
+);
+
+-- Sequences (allocationSize 50) are emulated with one-row tables on SQLite
+CREATE TABLE IF NOT EXISTS user_seq (next_val bigint);
+INSERT INTO user_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM user_seq);
+CREATE TABLE IF NOT EXISTS group_seq (next_val bigint);
+INSERT INTO group_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM group_seq);
+CREATE TABLE IF NOT EXISTS membership_seq (next_val bigint);
+INSERT INTO membership_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM membership_seq);
+CREATE TABLE IF NOT EXISTS task_seq (next_val bigint);
+INSERT INTO task_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM task_seq);
+CREATE TABLE IF NOT EXISTS resource_seq (next_val bigint);
+INSERT INTO resource_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM resource_seq);
+CREATE TABLE IF NOT EXISTS chat_message_seq (next_val bigint);
+INSERT INTO chat_message_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM chat_message_seq);
+CREATE TABLE IF NOT EXISTS activity_log_seq (next_val bigint);
+INSERT INTO activity_log_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM activity_log_seq);
+CREATE TABLE IF NOT EXISTS sent_reminder_seq (next_val bigint);
+INSERT INTO sent_reminder_seq (next_val) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM sent_reminder_seq);
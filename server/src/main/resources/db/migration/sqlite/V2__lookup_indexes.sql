@@ -0,0 +1,20 @@
+-- Indexes for the hot lookups and the uniqueness rules Hibernate never created on SQLite
+
+-- A user is a member of a group at most once (keeps the oldest membership of duplicates)
+DELETE FROM memberships WHERE membership_id NOT IN (
+    SELECT MIN(membership_id) FROM memberships GROUP BY user_id, group_id);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_memberships_user_group ON memberships (user_id, group_id);
+
+-- One ledger entry per task and threshold (keeps the latest of duplicates)
+DELETE FROM sent_reminders WHERE reminder_id NOT IN (
+    SELECT MAX(reminder_id) FROM sent_reminders GROUP BY task_id, threshold);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_sent_reminders_task_threshold ON sent_reminders (task_id, threshold);
+
+-- Task board of a group, optionally filtered by status
+CREATE INDEX IF NOT EXISTS idx_tasks_group_status ON tasks (group_id, status);
+
+-- Reminder schedule and deadline queries only look at open tasks
+CREATE INDEX IF NOT EXISTS idx_tasks_open_deadline ON tasks (deadline) WHERE status != 'DONE';
+
+-- Activity history of a user
+CREATE INDEX IF NOT EXISTS idx_activity_log_user_time ON activity_log (user_id, timestamp);
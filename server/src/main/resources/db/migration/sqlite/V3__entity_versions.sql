@@ -0,0 +1,6 @@
+-- Version of tasks and groups, increased on every update
+-- Notifications carry it with the changed entity, so clients can ignore stale changes
+
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE groups ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- Leases of jobs only one server instance may run (leader election)
+-- The holder renews expires_at on every heartbeat; another instance takes the lease over
+-- once it expired, increasing fencing_token. Times are epoch milliseconds.
+
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name varchar(64) not null,
+    owner varchar(255),
+    fencing_token bigint not null,
+    expires_at bigint not null,
+    heartbeat_at bigint not null,
+    primary key (name)
+);
+
+INSERT INTO scheduler_leases (name, owner, fencing_token, expires_at, heartbeat_at)
+VALUES ('deadline-reminders', NULL, 0, 0, 0);
@@ -0,0 +1,24 @@
+-- Brings a database created by Hibernate before resources were stored by content up to V1
+-- V1 only creates missing tables, so resources created before sha256/size_bytes kept the old columns
+
+ALTER TABLE resources ADD COLUMN IF NOT EXISTS sha256 varchar(64);
+ALTER TABLE resources ADD COLUMN IF NOT EXISTS size_bytes bigint;
+
+-- Such a database numbered rows from <table>_seq tables; V1 created the current ones at 1,
+-- so move each past the highest ID in use (one allocation of 50 ahead)
+UPDATE user_seq SET next_val = (SELECT MAX(user_id) + 51 FROM users)
+WHERE next_val <= (SELECT MAX(user_id) FROM users);
+UPDATE group_seq SET next_val = (SELECT MAX(group_id) + 51 FROM groups)
+WHERE next_val <= (SELECT MAX(group_id) FROM groups);
+UPDATE membership_seq SET next_val = (SELECT MAX(membership_id) + 51 FROM memberships)
+WHERE next_val <= (SELECT MAX(membership_id) FROM memberships);
+UPDATE task_seq SET next_val = (SELECT MAX(task_id) + 51 FROM tasks)
+WHERE next_val <= (SELECT MAX(task_id) FROM tasks);
+UPDATE resource_seq SET next_val = (SELECT MAX(resource_id) + 51 FROM resources)
+WHERE next_val <= (SELECT MAX(resource_id) FROM resources);
+UPDATE chat_message_seq SET next_val = (SELECT MAX(message_id) + 51 FROM chat_messages)
+WHERE next_val <= (SELECT MAX(message_id) FROM chat_messages);
+UPDATE activity_log_seq SET next_val = (SELECT MAX(log_id) + 51 FROM activity_log)
+WHERE next_val <= (SELECT MAX(log_id) FROM activity_log);
+UPDATE sent_reminder_seq SET next_val = (SELECT MAX(reminder_id) + 51 FROM sent_reminders)
+WHERE next_val <= (SELECT MAX(reminder_id) FROM sent_reminders);
@@ -0,0 +1,106 @@
+package sk.ikts.server.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sk.ikts.server.config.ClusterProperties;
+import sk.ikts.server.dto.NotificationDTO;
+import sk.ikts.server.websocket.EventFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit testy pre ClusterEventBus
+ * Testuje doručenie udalostí iných inštancií poslucháčom, zahodenie vlastných
+ * udalostí a duplikátov podľa ID udalosti
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterEventBusTest {
+
+    @Spy
+    private ClusterProperties properties = new ClusterProperties();
+
+    @InjectMocks
+    private ClusterEventBus clusterEventBus;
+
+    private final List<NotificationDTO> delivered = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.setNodeId("a");
+        properties.setDedupCapacity(2);
+        clusterEventBus.start();
+        clusterEventBus.addListener(ClusterEvent.Kind.GROUP_NOTIFICATION, NotificationDTO.class,
+                (groupId, notification) -> delivered.add(notification));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clusterEventBus.shutdown();
+    }
+
+    @Test
+    void testEventOfOtherNodeIsDeliveredAsDto() {
+        // Act
+        boolean result = clusterEventBus.receive(event("b-1", "b", ClusterEvent.Kind.GROUP_NOTIFICATION));
+
+        // Assert
+        assertTrue(result);
+        assertEquals(1, delivered.size());
+        assertEquals("NEW_TASK", delivered.get(0).getType());
+        assertEquals(7L, delivered.get(0).getTaskId());
+        assertEquals(1, clusterEventBus.getStats().received());
+    }
+
+    @Test
+    void testDuplicateAndOwnEventsAreDropped() {
+        // Act
+        clusterEventBus.receive(event("b-1", "b", ClusterEvent.Kind.GROUP_NOTIFICATION));
+        boolean duplicate = clusterEventBus.receive(event("b-1", "b", ClusterEvent.Kind.GROUP_NOTIFICATION));
+        boolean own = clusterEventBus.receive(event("a-1", "a", ClusterEvent.Kind.GROUP_NOTIFICATION));
+
+        // Assert
+        assertFalse(duplicate);
+        assertFalse(own);
+        assertEquals(1, delivered.size());
+        assertEquals(1, clusterEventBus.getStats().duplicates());
+    }
+
+    @Test
+    void testDedupRemembersOnlyRecentIds() {
+        // Arrange
+        clusterEventBus.receive(event("b-1", "b", ClusterEvent.Kind.GROUP_NOTIFICATION));
+        clusterEventBus.receive(event("b-2", "b", ClusterEvent.Kind.GROUP_NOTIFICATION));
+        clusterEventBus.receive(event("b-3", "b", ClusterEvent.Kind.GROUP_NOTIFICATION));
+
+        // Act
+        boolean recent = clusterEventBus.receive(event("b-3", "b", ClusterEvent.Kind.GROUP_NOTIFICATION));
+        boolean forgotten = clusterEventBus.receive(event("b-1", "b", ClusterEvent.Kind.GROUP_NOTIFICATION));
+
+        // Assert
+        assertFalse(recent);
+        assertTrue(forgotten);
+    }
+
+    @Test
+    void testOtherKindsAreNotDeliveredToListener() {
+        // Act
+        clusterEventBus.receive(event("b-1", "b", ClusterEvent.Kind.BROADCAST));
+
+        // Assert
+        assertTrue(delivered.isEmpty());
+    }
+
+    private static ClusterEvent event(String id, String origin, ClusterEvent.Kind kind) {
+        NotificationDTO notification = new NotificationDTO("NEW_TASK", "Task", 1L);
+        notification.setTaskId(7L);
+        return new ClusterEvent(id, origin, kind, 1L, EventFrame.toJsonObject(notification));
+    }
+}
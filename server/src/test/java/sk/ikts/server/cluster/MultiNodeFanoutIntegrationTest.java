@@ -0,0 +1,181 @@
+package sk.ikts.server.cluster;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import sk.ikts.server.ServerApplication;
+import sk.ikts.server.dto.ChatMessageDTO;
+import sk.ikts.server.dto.NotificationDTO;
+import sk.ikts.server.service.NotificationService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integračné testy pre rozposielanie udalostí medzi inštanciami servera
+ * Spustí dve inštancie servera v jednej JVM spojené cez vstavaný TCP relay
+ * a testuje, že klienti jednej inštancie dostanú notifikácie a chat správy
+ * vzniknuté na druhej, každú práve raz
+ */
+class MultiNodeFanoutIntegrationTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private WebSocketSession clientA;
+    private WebSocketSession clientB;
+    private final BlockingQueue<String> framesA = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> framesB = new LinkedBlockingQueue<>();
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        nodeA = startNode("node-a", "app.cluster.embedded-relay=true", "app.cluster.relay-port=0");
+        int relayPort = nodeA.getBean(ClusterEventBus.class).getRelayPort();
+        nodeB = startNode("node-b", "app.cluster.relay-port=" + relayPort);
+
+        // Both nodes must be connected before events are published
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (nodeA.getBean(ClusterEventBus.class).getStats().relayPeers() < 2) {
+            assertTrue(System.currentTimeMillis() < deadline, "Nodes did not connect to the relay");
+            Thread.sleep(20);
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @BeforeEach
+    void connectClients() throws Exception {
+        clientA = connect(nodeA, framesA);
+        clientB = connect(nodeB, framesB);
+    }
+
+    @AfterEach
+    void closeClients() throws Exception {
+        clientA.close();
+        clientB.close();
+    }
+
+    @Test
+    void testGroupNotificationReachesClientsOfOtherNode() throws Exception {
+        // Arrange
+        subscribe(clientA, framesA, 910001L, "notifications");
+        subscribe(clientB, framesB, 910001L, "notifications");
+
+        // Act
+        nodeA.getBean(NotificationService.class).notifyGroup(910001L,
+                new NotificationDTO("NEW_MEMBER", "Joined on node A", 910001L));
+
+        // Assert
+        assertNotNull(awaitFrame(framesA, "Joined on node A"));
+        assertNotNull(awaitFrame(framesB, "Joined on node A"));
+        assertNull(awaitFrame(framesB, "Joined on node A", 300));
+    }
+
+    @Test
+    void testChatMessageReachesClientsOfOtherNode() throws Exception {
+        // Arrange
+        subscribe(clientA, framesA, 910002L, "chat");
+
+        // Act
+        nodeB.getBean(NotificationService.class).sendChatMessage(910002L,
+                new ChatMessageDTO(1L, 910002L, 1L, "User", "Hello from node B", null));
+
+        // Assert
+        assertNotNull(awaitFrame(framesA, "Hello from node B"));
+        assertNull(awaitFrame(framesB, "Hello from node B", 300));
+    }
+
+    @Test
+    void testBroadcastReachesAllClientsOnce() throws Exception {
+        // Arrange: broadcasts need no subscription, subscribing only makes sure the sessions are registered
+        subscribe(clientA, framesA, 910003L, "notifications");
+        subscribe(clientB, framesB, 910003L, "notifications");
+
+        // Act
+        nodeB.getBean(NotificationService.class).notifyAll(new NotificationDTO("GROUP_DELETED", "Deleted on node B", 910003L));
+
+        // Assert
+        assertNotNull(awaitFrame(framesA, "Deleted on node B"));
+        assertNotNull(awaitFrame(framesB, "Deleted on node B"));
+        assertNull(awaitFrame(framesA, "Deleted on node B", 300));
+        assertNull(awaitFrame(framesB, "Deleted on node B", 300));
+    }
+
+    private static ConfigurableApplicationContext startNode(String nodeId, String... properties) {
+        // Command line arguments, so they override application.properties
+        List<String> args = new ArrayList<>(List.of("--app.cluster.broker=tcp",
+                "--app.cluster.node-id=" + nodeId,
+                "--app.cluster.shared-secret=test-secret",
+                "--app.cluster.reconnect-delay-ms=50",
+                "--app.notifications.coalesce-window-ms=0"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(ServerApplication.class)
+                .profiles("test")
+                .run(args.toArray(new String[0]));
+    }
+
+    private static WebSocketSession connect(ConfigurableApplicationContext node, BlockingQueue<String> frames) throws Exception {
+        int port = ((ServletWebServerApplicationContext) node).getWebServer().getPort();
+        TextWebSocketHandler handler = new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                frames.add(message.getPayload());
+            }
+        };
+        return new StandardWebSocketClient().execute(handler, "ws://localhost:" + port + "/ws/simple")
+                .get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static void subscribe(WebSocketSession session, BlockingQueue<String> frames, Long groupId, String channel)
+            throws Exception {
+        session.sendMessage(new TextMessage("{\"action\":\"subscribe\",\"groupId\":" + groupId
+                + ",\"channel\":\"" + channel + "\"}"));
+        assertNotNull(awaitFrame(frames, "SUBSCRIBED"));
+    }
+
+    private static String awaitFrame(BlockingQueue<String> frames, String text) throws InterruptedException {
+        return awaitFrame(frames, text, TIMEOUT_MS);
+    }
+
+    /**
+     * Next frame containing the text, frames before it are skipped
+     * @return null if none arrived in time
+     */
+    private static String awaitFrame(BlockingQueue<String> frames, String text, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        long remaining;
+        while ((remaining = deadline - System.currentTimeMillis()) > 0) {
+            String frame = frames.poll(remaining, TimeUnit.MILLISECONDS);
+            if (frame != null && frame.contains(text)) {
+                return frame;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+package sk.ikts.server.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit testy pre TcpEventRelay
+ * Testuje preposlanie riadkov medzi overenými spojeniami a odmietnutie spojenia
+ * bez správneho zdieľaného tajomstva
+ */
+class TcpEventRelayTest {
+
+    private static final String SECRET = "test-secret";
+    private static final long TIMEOUT_MS = 5000;
+
+    private TcpEventRelay relay;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        relay = new TcpEventRelay("127.0.0.1", 0, SECRET, 100);
+        relay.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.stop();
+    }
+
+    @Test
+    void testLineIsRelayedToOtherAuthenticatedPeers() throws Exception {
+        // Arrange
+        try (Socket a = connect(SECRET); Socket b = connect(SECRET)) {
+            awaitPeers(2);
+
+            // Act
+            send(a, "{\"id\":\"a-1\"}");
+
+            // Assert
+            assertEquals("{\"id\":\"a-1\"}", reader(b).readLine());
+        }
+    }
+
+    @Test
+    void testWrongSecretIsRejected() throws Exception {
+        // Arrange
+        try (Socket member = connect(SECRET); Socket intruder = new Socket("127.0.0.1", relay.getPort())) {
+            awaitPeers(1);
+            intruder.setSoTimeout((int) TIMEOUT_MS);
+
+            // Act - one write, the relay may close the connection right after the first line
+            send(intruder, "guess\n{\"id\":\"x-1\",\"kind\":\"CHAT_MESSAGE\"}");
+
+            // Assert - closed without relaying anything
+            assertTrue(isClosedByRelay(intruder));
+            assertEquals(1, relay.getRejectedCount());
+            assertEquals(0, relay.getRelayedCount());
+            member.setSoTimeout(300);
+            assertThrows(SocketTimeoutException.class, () -> reader(member).readLine());
+        }
+    }
+
+    private Socket connect(String secret) throws IOException {
+        Socket socket = new Socket("127.0.0.1", relay.getPort());
+        socket.setSoTimeout((int) TIMEOUT_MS);
+        send(socket, secret);
+        return socket;
+    }
+
+    /**
+     * Closed by the other side: end of stream, or a reset since the relay did not read the rest
+     */
+    private static boolean isClosedByRelay(Socket socket) throws IOException {
+        try {
+            return reader(socket).readLine() == null;
+        } catch (SocketException e) {
+            return true;
+        }
+    }
+
+    private static void send(Socket socket, String line) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private void awaitPeers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (relay.getPeerCount() < count) {
+            assertTrue(System.currentTimeMillis() < deadline, "Peers did not authenticate");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package sk.ikts.server.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import sk.ikts.server.dto.ChatMessageDTO;
+import sk.ikts.server.dto.NotificationDTO;
+import sk.ikts.server.websocket.EventFrame;
+import sk.ikts.server.websocket.WireFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre SimpleWebSocketHandler
+ * Testuje prihlasovanie na odber skupín, smerovanie udalostí len odberateľom,
+ * limit spojení, heartbeat a obnovenie prúdu udalostí po opätovnom pripojení
+ */
+class SimpleWebSocketHandlerTest {
+
+    private SimpleWebSocketHandler handler;
+    private WebSocketSession sessionA;
+    private WebSocketSession sessionB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        handler = new SimpleWebSocketHandler(new WebSocketProperties());
+        sessionA = mockSession("a");
+        sessionB = mockSession("b");
+        handler.afterConnectionEstablished(sessionA);
+        handler.afterConnectionEstablished(sessionB);
+    }
+
+    @Test
+    void testNotificationOnlyReachesSubscribers() throws Exception {
+        // Arrange
+        handler.handleTextMessage(sessionA, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1}"));
+        handler.handleTextMessage(sessionB, new TextMessage("{\"action\":\"subscribe\",\"groupId\":2}"));
+
+        // Act
+        handler.sendNotificationToGroup(1L, new NotificationDTO("NEW_TASK", "Task", 1L));
+
+        // Assert
+        verify(sessionA, timeout(1000)).sendMessage(payloadContaining("NEW_TASK"));
+        verify(sessionB, after(100).never()).sendMessage(payloadContaining("NEW_TASK"));
+    }
+
+    @Test
+    void testChatChannelIsSeparateFromNotifications() throws Exception {
+        // Arrange
+        handler.handleTextMessage(sessionA, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1,\"channel\":\"chat\"}"));
+        handler.handleTextMessage(sessionB, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1}"));
+
+        // Act
+        handler.sendChatMessageToGroup(1L, new ChatMessageDTO(1L, 1L, 1L, "User", "Hi", null));
+
+        // Assert
+        verify(sessionA, timeout(1000)).sendMessage(payloadContaining("\"Hi\""));
+        verify(sessionB, after(100).never()).sendMessage(payloadContaining("\"Hi\""));
+    }
+
+    @Test
+    void testUnsubscribeAndCloseRemoveFromIndex() throws Exception {
+        // Arrange
+        handler.handleTextMessage(sessionA, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1}"));
+        handler.handleTextMessage(sessionB, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1}"));
+        assertEquals(2, handler.getSubscriberCount(SimpleWebSocketHandler.Channel.NOTIFICATIONS, 1L));
+
+        // Act
+        handler.handleTextMessage(sessionA, new TextMessage("{\"action\":\"unsubscribe\",\"groupId\":1}"));
+        handler.afterConnectionClosed(sessionB, CloseStatus.NORMAL);
+
+        // Assert
+        assertEquals(0, handler.getSubscriberCount(SimpleWebSocketHandler.Channel.NOTIFICATIONS, 1L));
+    }
+
+    @Test
+    void testMalformedMessageIsIgnored() throws Exception {
+        // Act & Assert
+        assertDoesNotThrow(() -> handler.handleTextMessage(sessionA, new TextMessage("not json")));
+        assertDoesNotThrow(() -> handler.handleTextMessage(sessionA, new TextMessage("{\"action\":\"subscribe\"}")));
+        assertDoesNotThrow(() -> handler.handleTextMessage(sessionA,
+                new TextMessage("{\"action\":\"subscribe\",\"groupId\":\"abc\"}")));
+        assertDoesNotThrow(() -> handler.handleTextMessage(sessionA, new TextMessage("{\"action\":{},\"groupId\":1}")));
+        assertDoesNotThrow(() -> handler.handleTextMessage(sessionA,
+                new TextMessage("{\"action\":\"subscribe\",\"groupId\":1,\"channel\":[]}")));
+        assertEquals(0, handler.getSubscriberCount(SimpleWebSocketHandler.Channel.NOTIFICATIONS, 1L));
+    }
+
+    @Test
+    void testQueueStatsPerSession() throws Exception {
+        // Act & Assert
+        assertEquals(2, handler.getOutboundQueueStats().size());
+        handler.afterConnectionClosed(sessionA, CloseStatus.NORMAL);
+        assertEquals(1, handler.getOutboundQueueStats().size());
+    }
+
+    @Test
+    void testConnectionOverCapIsRejected() throws Exception {
+        // Arrange
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setMaxSessions(1);
+        SimpleWebSocketHandler limited = new SimpleWebSocketHandler(properties);
+        limited.afterConnectionEstablished(sessionA);
+
+        // Act
+        limited.afterConnectionEstablished(sessionB);
+
+        // Assert
+        verify(sessionB).close(argThat(status -> status.getCode() == CloseStatus.SERVICE_OVERLOAD.getCode()));
+        assertEquals(1, limited.getSessionStats().sessions());
+        assertEquals(1, limited.getSessionStats().rejected());
+    }
+
+    @Test
+    void testHeartbeatPingsAndReapsIdleSessions() throws Exception {
+        // Arrange
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setIdleTimeoutMs(50);
+        SimpleWebSocketHandler reaping = new SimpleWebSocketHandler(properties);
+        reaping.afterConnectionEstablished(sessionA);
+        reaping.afterConnectionEstablished(sessionB);
+        Thread.sleep(100);
+        reaping.handlePongMessage(sessionB, new PongMessage());
+
+        // Act
+        reaping.heartbeat();
+
+        // Assert
+        verify(sessionA, timeout(1000)).close(argThat(status -> status.getCode() == CloseStatus.SESSION_NOT_RELIABLE.getCode()));
+        verify(sessionB, timeout(1000)).sendMessage(any(PingMessage.class));
+        assertEquals(1, reaping.getSessionStats().sessions());
+        assertEquals(1, reaping.getSessionStats().reaped());
+    }
+
+    @Test
+    void testResumeReplaysMissedEvents() throws Exception {
+        // Arrange
+        handler.handleTextMessage(sessionA, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1}"));
+        handler.sendNotificationToGroup(1L, new NotificationDTO("NEW_TASK", "first", 1L));
+        handler.afterConnectionClosed(sessionA, CloseStatus.GOING_AWAY);
+        handler.sendNotificationToGroup(1L, new NotificationDTO("NEW_TASK", "missed", 1L));
+        assertEquals(2, handler.getLastSeq(SimpleWebSocketHandler.Channel.NOTIFICATIONS, 1L));
+
+        // Act
+        WebSocketSession reconnected = mockSession("a2");
+        handler.afterConnectionEstablished(reconnected);
+        handler.handleTextMessage(reconnected, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1,\"lastSeq\":1,\"epoch\":\""
+                + handler.getEpoch() + "\"}"));
+
+        // Assert
+        verify(reconnected, timeout(1000)).sendMessage(payloadContaining("SUBSCRIBED"));
+        verify(reconnected).sendMessage(payloadContaining("missed"));
+        verify(reconnected, never()).sendMessage(payloadContaining("first"));
+        verify(reconnected, never()).sendMessage(payloadContaining("RESYNC_REQUIRED"));
+    }
+
+    @Test
+    void testResumeBeyondReplayBufferRequiresResync() throws Exception {
+        // Arrange
+        WebSocketProperties properties = new WebSocketProperties();
+        properties.setReplayBufferSize(2);
+        SimpleWebSocketHandler small = new SimpleWebSocketHandler(properties);
+        for (int i = 0; i < 5; i++) {
+            small.sendNotificationToGroup(1L, new NotificationDTO("NEW_TASK", "event " + i, 1L));
+        }
+        small.afterConnectionEstablished(sessionA);
+
+        // Act
+        small.handleTextMessage(sessionA, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1,\"lastSeq\":1,\"epoch\":\""
+                + small.getEpoch() + "\"}"));
+
+        // Assert
+        verify(sessionA, timeout(1000)).sendMessage(payloadContaining("RESYNC_REQUIRED"));
+        verify(sessionA, never()).sendMessage(payloadContaining("event"));
+    }
+
+    @Test
+    void testResumeFromOtherEpochRequiresResync() throws Exception {
+        // Arrange
+        handler.sendNotificationToGroup(1L, new NotificationDTO("NEW_TASK", "event", 1L));
+
+        // Act
+        handler.handleTextMessage(sessionA, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1,\"lastSeq\":1,\"epoch\":\"old-run\"}"));
+
+        // Assert
+        verify(sessionA, timeout(1000)).sendMessage(payloadContaining("RESYNC_REQUIRED"));
+    }
+
+    @Test
+    void testBinarySubprotocolGetsMessagePackFrames() throws Exception {
+        // Arrange
+        WebSocketSession binary = mockSession("bin");
+        when(binary.getAcceptedProtocol()).thenReturn(WireFormat.MSGPACK.getSubprotocol());
+        handler.afterConnectionEstablished(binary);
+        handler.handleTextMessage(binary, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1}"));
+        handler.handleTextMessage(sessionA, new TextMessage("{\"action\":\"subscribe\",\"groupId\":1}"));
+
+        // Act
+        EventFrame frame = handler.sendNotificationToGroup(1L, new NotificationDTO("NEW_TASK", "Task", 1L));
+
+        // Assert
+        assertEquals(WireFormat.MSGPACK.getSubprotocol(), handler.getSubProtocols().get(0));
+        verify(binary, timeout(1000)).sendMessage(argThat(message -> message instanceof BinaryMessage
+                && message.getPayloadLength() == frame.size(WireFormat.MSGPACK)));
+        verify(sessionA, timeout(1000)).sendMessage(payloadContaining("\"seq\":1"));
+    }
+
+    private static WebSocketMessage<?> payloadContaining(String text) {
+        return argThat(message -> message instanceof TextMessage
+                && ((TextMessage) message).getPayload().contains(text));
+    }
+
+    private WebSocketSession mockSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
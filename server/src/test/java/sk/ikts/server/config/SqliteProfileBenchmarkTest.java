@@ -0,0 +1,118 @@
+package sk.ikts.server.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark SQLite profilu, spúšťa sa len s -Dbenchmark=true
+ * (mvn -pl server test -Dtest=SqliteProfileBenchmarkTest -Dbenchmark=true)
+ * Porovnáva predvolený pool spojení s profilom WAL + čitatelia + jeden zapisovač
+ * pri súbežných zápisoch a čítaniach (20 % zápisov) a vypisuje priepustnosť a chyby
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SqliteProfileBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final long DURATION_MS = 5000;
+    private static final int WRITE_PERCENT = 20;
+    private static final int SEED_ROWS = 10000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void benchmarkDefaultPoolVersusSqliteProfile() throws Exception {
+        String baselineUrl = "jdbc:sqlite:" + tempDir.resolve("baseline.db");
+        SQLiteDataSource plain = new SQLiteDataSource();
+        plain.setUrl(baselineUrl);
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(plain);
+        config.setMaximumPoolSize(10);
+        try (HikariDataSource baseline = new HikariDataSource(config)) {
+            report("default pool (rollback journal, 10 connections)", run(baseline));
+        }
+
+        try (SqliteRoutingDataSource routing = new SqliteRoutingDataSource(
+                "jdbc:sqlite:" + tempDir.resolve("profile.db"), new SqliteProperties())) {
+            report("SQLite profile (WAL, read pool, single writer)", run(new LazyConnectionDataSourceProxy(routing)));
+        }
+    }
+
+    private Result run(DataSource dataSource) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        TransactionTemplate writeTx = new TransactionTemplate(transactionManager);
+        TransactionTemplate readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+
+        jdbcTemplate.execute("CREATE TABLE tasks (id INTEGER PRIMARY KEY, group_id INTEGER, title TEXT, status TEXT)");
+        jdbcTemplate.execute("CREATE INDEX idx_tasks_group ON tasks (group_id)");
+        writeTx.executeWithoutResult(status -> {
+            for (int i = 0; i < SEED_ROWS; i++) {
+                jdbcTemplate.update("INSERT INTO tasks (group_id, title, status) VALUES (?, ?, 'OPEN')", i % 100, "task " + i);
+            }
+        });
+
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.currentTimeMillis() + DURATION_MS;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.currentTimeMillis() < deadline) {
+                    int groupId = random.nextInt(100);
+                    try {
+                        if (random.nextInt(100) < WRITE_PERCENT) {
+                            writeTx.executeWithoutResult(status -> {
+                                jdbcTemplate.update("INSERT INTO tasks (group_id, title, status) VALUES (?, 'new', 'OPEN')", groupId);
+                                jdbcTemplate.update("UPDATE tasks SET status = 'DONE' WHERE id = ?", random.nextInt(SEED_ROWS) + 1);
+                            });
+                            writes.incrementAndGet();
+                        } else {
+                            readTx.executeWithoutResult(status ->
+                                    jdbcTemplate.queryForList("SELECT id, title, status FROM tasks WHERE group_id = ?", groupId));
+                            reads.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        return new Result(reads.get(), writes.get(), errors.get());
+    }
+
+    private static void report(String name, Result result) {
+        double seconds = DURATION_MS / 1000.0;
+        System.out.printf("%-50s %8.0f reads/s %8.0f writes/s %6d errors%n",
+                name, result.reads / seconds, result.writes / seconds, result.errors);
+    }
+
+    private record Result(long reads, long writes, long errors) {
+    }
+}
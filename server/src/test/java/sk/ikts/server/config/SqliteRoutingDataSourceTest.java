@@ -0,0 +1,126 @@
+package sk.ikts.server.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit testy pre SqliteRoutingDataSource
+ * Testuje nastavenie PRAGMA na spojeniach, smerovanie read-only transakcií na čitateľov,
+ * serializáciu zápisov a vnorené získanie spojenia vláknom, ktoré drží zapisovača
+ */
+class SqliteRoutingDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SqliteRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readTx;
+
+    @BeforeEach
+    void setUp() {
+        routing = new SqliteRoutingDataSource("jdbc:sqlite:" + tempDir.resolve("test.db"), new SqliteProperties());
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        jdbcTemplate.execute("CREATE TABLE items (id INTEGER PRIMARY KEY, value INTEGER)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+    }
+
+    @Test
+    void testPragmasAppliedToEveryConnection() throws Exception {
+        // Act & Assert
+        try (Connection connection = routing.getConnection()) {
+            assertEquals("wal", pragma(connection, "journal_mode"));
+            assertEquals("1", pragma(connection, "synchronous"));
+            assertEquals("5000", pragma(connection, "busy_timeout"));
+            assertEquals("-16384", pragma(connection, "cache_size"));
+            assertEquals("0", pragma(connection, "query_only"));
+        }
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReader() {
+        // Act
+        String queryOnly = readTx.execute(status -> jdbcTemplate.queryForObject("PRAGMA query_only", String.class));
+
+        // Assert
+        assertEquals("1", queryOnly);
+        assertThrows(Exception.class, () -> readTx.executeWithoutResult(status ->
+                jdbcTemplate.update("INSERT INTO items (value) VALUES (1)")));
+    }
+
+    @Test
+    void testConcurrentWritesAreSerialized() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 50; j++) {
+                    writeTx.executeWithoutResult(status -> {
+                        jdbcTemplate.update("INSERT INTO items (value) VALUES (1)");
+                        readTx.execute(s -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class));
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(400, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class));
+    }
+
+    @Test
+    void testNestedConnectionWhileHoldingWriter() throws Exception {
+        // Act
+        try (Connection writer = routing.getConnection()) {
+            try (Connection nested = routing.getConnection()) {
+                // Assert
+                assertNotNull(nested);
+                assertEquals("0", pragma(nested, "query_only"));
+            }
+        }
+        try (Connection again = routing.getConnection()) {
+            assertNotNull(again);
+        }
+    }
+
+    private static String pragma(Connection connection, String name) throws Exception {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("PRAGMA " + name)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
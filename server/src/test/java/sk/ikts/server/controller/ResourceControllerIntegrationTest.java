@@ -0,0 +1,260 @@
+package sk.ikts.server.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import sk.ikts.server.model.Resource;
+import sk.ikts.server.repository.ResourceRepository;
+import sk.ikts.server.service.FileStorageService;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integračné testy pre sťahovanie súborov v ResourceController
+ * Testuje celé sťahovanie, rozsahy (206/416), podmienené požiadavky (304) a If-Range
+ * a zdieľanie jedného blobu rovnakými súbormi (aj pri opakovanom zmazaní), nahrávanie po častiach cez REST
+ * a ZIP archív všetkých materiálov skupiny
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ResourceControllerIntegrationTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    // Spied to return a row another delete already removed
+    @SpyBean
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    private MockMvc mockMvc;
+    private Resource resource;
+    private String etag;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        FileStorageService.StoredFile stored = fileStorageService.store(new ByteArrayInputStream(CONTENT));
+        resource = new Resource();
+        resource.setGroupId(1L);
+        resource.setUploadedBy(1L);
+        resource.setTitle("notes.txt");
+        resource.setType(Resource.ResourceType.FILE);
+        resource.setPathOrUrl(stored.name());
+        resource.setUploadedAt(LocalDateTime.now());
+        resource.setSizeBytes(stored.size());
+        resource.setSha256(stored.sha256());
+        resource = resourceRepository.save(resource);
+        etag = "\"" + stored.sha256() + "\"";
+    }
+
+    @Test
+    void testDownloadWholeFile() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/resources/" + resource.getResourceId() + "/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    void testDownloadRange() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/resources/" + resource.getResourceId() + "/download")
+                        .header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 5, 10)));
+
+        mockMvc.perform(get("/api/resources/" + resource.getResourceId() + "/download")
+                        .header(HttpHeaders.RANGE, "bytes=15-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 15-19/20"))
+                .andExpect(content().bytes(Arrays.copyOfRange(CONTENT, 15, 20)));
+    }
+
+    @Test
+    void testUnsatisfiableRange() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/resources/" + resource.getResourceId() + "/download")
+                        .header(HttpHeaders.RANGE, "bytes=50-60"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void testIfNoneMatchReturnsNotModified() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/resources/" + resource.getResourceId() + "/download")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void testStaleIfRangeSendsWholeFile() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/resources/" + resource.getResourceId() + "/download")
+                        .header(HttpHeaders.RANGE, "bytes=5-9")
+                        .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+
+        mockMvc.perform(get("/api/resources/" + resource.getResourceId() + "/download")
+                        .header(HttpHeaders.RANGE, "bytes=5-9")
+                        .header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent());
+    }
+
+    @Test
+    void testSameUploadSharesOneBlobUntilLastDelete() throws Exception {
+        // Arrange
+        byte[] deck = ("slides " + System.nanoTime()).getBytes(StandardCharsets.US_ASCII);
+        Resource first = upload(deck, 1L);
+        Resource second = upload(deck, 2L);
+        Path blob = fileStorageService.resolve(first.getPathOrUrl());
+
+        // Act & Assert
+        assertEquals(first.getPathOrUrl(), second.getPathOrUrl());
+        mockMvc.perform(delete("/api/resources/" + first.getResourceId()))
+                .andExpect(status().isNoContent());
+        assertTrue(Files.exists(blob));
+        mockMvc.perform(delete("/api/resources/" + second.getResourceId()))
+                .andExpect(status().isNoContent());
+        assertFalse(Files.exists(blob));
+    }
+
+    @Test
+    void testRepeatedDeleteKeepsBlobOfOtherResource() throws Exception {
+        // Arrange - both deletes found the row before either removed it
+        byte[] deck = ("shared " + System.nanoTime()).getBytes(StandardCharsets.US_ASCII);
+        Resource first = upload(deck, 1L);
+        Resource second = upload(deck, 2L);
+        doReturn(Optional.of(first)).when(resourceRepository).findById(first.getResourceId());
+
+        // Act
+        mockMvc.perform(delete("/api/resources/" + first.getResourceId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/resources/" + first.getResourceId()))
+                .andExpect(status().isNotFound());
+
+        // Assert
+        reset(resourceRepository);
+        mockMvc.perform(get("/api/resources/" + second.getResourceId() + "/download"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(deck));
+    }
+
+    @Test
+    void testChunkedUploadFlow() throws Exception {
+        // Arrange
+        byte[] video = ("lecture " + System.nanoTime()).getBytes(StandardCharsets.US_ASCII);
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(video));
+        String start = "{\"groupId\":3,\"uploadedBy\":1,\"title\":\"lecture.mp4\",\"size\":" + video.length +
+                ",\"sha256\":\"" + sha256 + "\"}";
+
+        // Act
+        String session = mockMvc.perform(post("/api/resources/uploads")
+                        .contentType(MediaType.APPLICATION_JSON).content(start))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.chunkCount").value(1))
+                .andReturn().getResponse().getContentAsString();
+        String uploadId = JsonPath.parse(session).read("$.uploadId");
+        mockMvc.perform(post("/api/resources/uploads/" + uploadId + "/commit"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/resources/uploads/" + uploadId + "/chunks/0")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM).content(video))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/resources/uploads/" + uploadId))
+                .andExpect(jsonPath("$.receivedChunks[0]").value(0));
+        String body = mockMvc.perform(post("/api/resources/uploads/" + uploadId + "/commit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sha256").value(sha256))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        Long resourceId = JsonPath.parse(body).read("$.resourceId", Long.class);
+        mockMvc.perform(get("/api/resources/" + resourceId + "/download"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(video));
+        mockMvc.perform(get("/api/resources/uploads/" + uploadId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGroupArchive() throws Exception {
+        // Arrange - a group of its own, the test database is shared
+        Long groupId = 900000L + System.nanoTime() % 100000;
+        upload(CONTENT, groupId);
+
+        // Act
+        byte[] archive = mockMvc.perform(get("/api/resources/group/" + groupId + "/archive"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/zip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry = zip.getNextEntry();
+            assertEquals("deck.pdf", entry.getName());
+            assertEquals(ZipEntry.STORED, entry.getMethod());
+            assertArrayEquals(CONTENT, zip.readAllBytes());
+            assertNull(zip.getNextEntry());
+        }
+        mockMvc.perform(get("/api/resources/group/" + (groupId + 1) + "/archive"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Resource upload(byte[] content, Long groupId) throws Exception {
+        String body = mockMvc.perform(multipart("/api/resources/upload")
+                        .file(new MockMultipartFile("file", "deck.pdf", "application/pdf", content))
+                        .param("groupId", groupId.toString())
+                        .param("uploadedBy", "1")
+                        .param("title", "deck.pdf"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Long resourceId = JsonPath.parse(body).read("$.resourceId", Long.class);
+        return resourceRepository.findById(resourceId).orElseThrow();
+    }
+}
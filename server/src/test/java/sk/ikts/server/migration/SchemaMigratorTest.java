@@ -0,0 +1,164 @@
+package sk.ikts.server.migration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import sk.ikts.server.config.MigrationProperties;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit testy pre SchemaMigrator
+ * Testuje aplikovanie migrácií na novú SQLite a H2 databázu, opakované spustenie,
+ * prevzatie databázy vytvorenej Hibernate (aj pôvodnou verziou entít), odmietnutie
+ * zmeneného skriptu a súčasné spustenie dvoch inštancií
+ */
+class SchemaMigratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testFreshSqliteDatabaseIsMigrated() throws Exception {
+        // Arrange
+        SingleConnectionDataSource dataSource = sqlite("fresh.db");
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, new MigrationProperties());
+
+        // Act
+        int applied = migrator.migrate();
+        int again = migrator.migrate();
+
+        // Assert
+        assertEquals(5, applied);
+        assertEquals(0, again);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String partialIndex = jdbc.queryForObject(
+                "SELECT sql FROM sqlite_master WHERE name = 'idx_tasks_open_deadline'", String.class);
+        assertTrue(partialIndex.contains("WHERE status != 'DONE'"));
+        assertEquals(1, jdbc.queryForObject("SELECT next_val FROM task_seq", Integer.class));
+        List<SchemaMigrator.AppliedMigration> history = migrator.getAppliedMigrations();
+        assertEquals(List.of(1, 2, 3, 4, 5), history.stream().map(SchemaMigrator.AppliedMigration::version).toList());
+        assertEquals(64, history.get(0).checksum().length());
+        dataSource.destroy();
+    }
+
+    @Test
+    void testHibernateCreatedDatabaseIsAdopted() throws Exception {
+        // Arrange
+        SingleConnectionDataSource dataSource = sqlite("legacy.db");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE memberships (membership_id bigint not null, group_id bigint not null, "
+                + "joined_at timestamp, role varchar(255) not null, user_id bigint not null, primary key (membership_id))");
+        jdbc.execute("CREATE TABLE task_seq (next_val bigint)");
+        jdbc.update("INSERT INTO task_seq VALUES (101)");
+        jdbc.update("INSERT INTO memberships VALUES (1, 7, NULL, 'ADMIN', 3)");
+        jdbc.update("INSERT INTO memberships VALUES (2, 7, NULL, 'MEMBER', 3)");
+        jdbc.update("INSERT INTO memberships VALUES (3, 8, NULL, 'MEMBER', 3)");
+
+        // Act
+        new SchemaMigrator(dataSource, new MigrationProperties()).migrate();
+
+        // Assert
+        assertEquals(List.of(1L, 3L), jdbc.queryForList("SELECT membership_id FROM memberships ORDER BY 1", Long.class));
+        assertEquals(101, jdbc.queryForObject("SELECT next_val FROM task_seq", Integer.class));
+        assertThrows(Exception.class, () -> jdbc.update("INSERT INTO memberships VALUES (4, 8, NULL, 'MEMBER', 3)"));
+        dataSource.destroy();
+    }
+
+    @Test
+    void testOriginalHibernateDatabaseIsUpgraded() throws Exception {
+        // Arrange - schema of the first release: resources without content columns, <table>_seq IDs
+        SingleConnectionDataSource dataSource = sqlite("original.db");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE resources (resource_id bigint not null, group_id bigint not null, "
+                + "path_or_url varchar(255) not null, title varchar(255) not null, "
+                + "type varchar(255) not null check (type in ('FILE','URL')), uploaded_at timestamp, "
+                + "uploaded_by bigint not null, primary key (resource_id))");
+        jdbc.execute("CREATE TABLE resources_seq (next_val bigint)");
+        jdbc.update("INSERT INTO resources_seq VALUES (151)");
+        jdbc.update("INSERT INTO resources VALUES (120, 7, 'http://example.com', 'Link', 'URL', NULL, 3)");
+
+        // Act
+        new SchemaMigrator(dataSource, new MigrationProperties()).migrate();
+
+        // Assert
+        jdbc.update("UPDATE resources SET sha256 = 'abc', size_bytes = 10 WHERE resource_id = 120");
+        assertEquals(10L, jdbc.queryForObject("SELECT size_bytes FROM resources WHERE resource_id = 120", Long.class));
+        assertEquals(171, jdbc.queryForObject("SELECT next_val FROM resource_seq", Integer.class));
+        assertEquals(1, jdbc.queryForObject("SELECT next_val FROM user_seq", Integer.class));
+        dataSource.destroy();
+    }
+
+    @Test
+    void testChangedScriptIsRejected() throws Exception {
+        // Arrange
+        SingleConnectionDataSource dataSource = sqlite("changed.db");
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, new MigrationProperties());
+        migrator.migrate();
+        new JdbcTemplate(dataSource).update("UPDATE " + SchemaMigrator.HISTORY_TABLE + " SET checksum = 'edited' WHERE version = 1");
+
+        // Act & Assert
+        IllegalStateException error = assertThrows(IllegalStateException.class, migrator::migrate);
+        assertTrue(error.getMessage().contains("V1"));
+        dataSource.destroy();
+    }
+
+    @Test
+    void testConcurrentStartsApplyEachMigrationOnce() throws Exception {
+        // Arrange - two instances starting at the same time, each with its own connection
+        SingleConnectionDataSource first = sqlite("concurrent.db");
+        SingleConnectionDataSource second = sqlite("concurrent.db");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        Future<Integer> firstApplied = executor.submit(() -> {
+            start.await();
+            return new SchemaMigrator(first, new MigrationProperties()).migrate();
+        });
+        Future<Integer> secondApplied = executor.submit(() -> {
+            start.await();
+            return new SchemaMigrator(second, new MigrationProperties()).migrate();
+        });
+        start.countDown();
+
+        // Assert
+        assertEquals(5, firstApplied.get() + secondApplied.get());
+        assertEquals(List.of(1, 2, 3, 4, 5), new SchemaMigrator(first, new MigrationProperties()).getAppliedMigrations()
+                .stream().map(SchemaMigrator.AppliedMigration::version).toList());
+        executor.shutdown();
+        first.destroy();
+        second.destroy();
+    }
+
+    @Test
+    void testFreshH2DatabaseIsMigrated() throws Exception {
+        // Arrange
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:migrator-" + System.nanoTime() + ";MODE=MySQL", true);
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, new MigrationProperties());
+
+        // Act
+        int applied = migrator.migrate();
+
+        // Assert
+        assertEquals(5, applied);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE INDEX_NAME = 'UK_MEMBERSHIPS_USER_GROUP'", Integer.class));
+        assertEquals(0, migrator.migrate());
+        dataSource.destroy();
+    }
+
+    private SingleConnectionDataSource sqlite(String name) {
+        return new SingleConnectionDataSource("jdbc:sqlite:" + tempDir.resolve(name), true);
+    }
+}
@@ -0,0 +1,54 @@
+package sk.ikts.server.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit testy pre ReminderHours
+ * Testuje validáciu, normalizáciu a formát pripomienok úlohy
+ */
+class ReminderHoursTest {
+
+    @Test
+    void testParse_SortsDescendingWithoutDuplicates() {
+        // Act & Assert
+        assertArrayEquals(new int[]{24, 6, 1}, ReminderHours.parse("[1, 24, 6, 6]"));
+        assertArrayEquals(new int[]{12, 3}, ReminderHours.parse("3,12"));
+    }
+
+    @Test
+    void testParse_EmptyMeansDefaults() {
+        // Act & Assert
+        assertNull(ReminderHours.parse(null));
+        assertNull(ReminderHours.parse(""));
+        assertNull(ReminderHours.parse("[ ]"));
+    }
+
+    @Test
+    void testParse_RejectsInvalidThresholds() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> ReminderHours.parse("[0]"));
+        assertThrows(IllegalArgumentException.class, () -> ReminderHours.parse("[-5]"));
+        assertThrows(IllegalArgumentException.class, () -> ReminderHours.parse("[1.5]"));
+        assertThrows(IllegalArgumentException.class, () -> ReminderHours.parse("[24,]"));
+        assertThrows(IllegalArgumentException.class, () -> ReminderHours.parse("[" + (ReminderHours.MAX_HOURS + 1) + "]"));
+    }
+
+    @Test
+    void testFormat_RoundTrip() {
+        // Act & Assert
+        assertEquals("[24,6,1]", ReminderHours.format(ReminderHours.parse("[6, 1, 24]")));
+        assertNull(ReminderHours.format(null));
+    }
+
+    @Test
+    void testConverter_InvalidStoredValueMeansDefaults() {
+        // Arrange
+        ReminderHoursConverter converter = new ReminderHoursConverter();
+
+        // Act & Assert
+        assertNull(converter.convertToEntityAttribute("not json"));
+        assertArrayEquals(new int[]{6, 1}, converter.convertToEntityAttribute("[1, 6]"));
+    }
+}
@@ -0,0 +1,51 @@
+package sk.ikts.server.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import sk.ikts.server.model.ChatMessage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integračné testy pre ChatMessageRepository
+ * Testuje stránkovanie histórie podľa kurzora vrátane správ s rovnakým časom odoslania
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ChatMessageRepositoryIntegrationTest {
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Test
+    void testKeysetPagesCoverHistoryWithoutGapsOrDuplicates() {
+        // Arrange - 7 messages, several sharing the same sentAt
+        Long groupId = System.nanoTime();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ChatMessage message = new ChatMessage(groupId, 1L, "User", "Message " + i);
+            message.setSentAt(base.plusMinutes(i / 3));
+            expected.add(chatMessageRepository.save(message).getMessageId());
+        }
+
+        // Act - walk back in pages of 3
+        List<Long> seen = new ArrayList<>();
+        List<ChatMessage> page = chatMessageRepository.findByGroupIdOrderBySentAtDescMessageIdDesc(groupId, PageRequest.of(0, 3));
+        while (!page.isEmpty()) {
+            page.forEach(message -> seen.add(0, message.getMessageId()));
+            ChatMessage oldest = page.get(page.size() - 1);
+            page = chatMessageRepository.findPageBefore(groupId, oldest.getSentAt(), oldest.getMessageId(), PageRequest.of(0, 3));
+        }
+
+        // Assert
+        assertEquals(expected, seen);
+    }
+}
@@ -0,0 +1,114 @@
+package sk.ikts.server.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sk.ikts.server.dto.GroupDTO;
+import sk.ikts.server.model.Group;
+import sk.ikts.server.model.Membership;
+import sk.ikts.server.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integračné testy pre GroupRepository
+ * Testuje, že skupiny s menom vlastníka sa načítajú jedným SQL dotazom a že zmeny
+ * skupiny načítanej z rovnakej verzie dostanú rôzne verzie
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class GroupRepositoryIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private User member;
+    private Group joinedGroup;
+    private Group otherGroup;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("owner-" + System.nanoTime() + "@example.com", "Owner", "hash"));
+        member = userRepository.save(new User("member-" + System.nanoTime() + "@example.com", "Member", "hash"));
+        joinedGroup = groupRepository.save(new Group("Joined", "Group the member joined", owner.getUserId()));
+        otherGroup = groupRepository.save(new Group("Other", "Group the member did not join", owner.getUserId()));
+        membershipRepository.save(new Membership(member.getUserId(), joinedGroup.getGroupId(), Membership.Role.MEMBER));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindAllWithOwnerName_SingleQuery() {
+        // Act
+        List<GroupDTO> groups = groupRepository.findAllWithOwnerName();
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        GroupDTO other = groups.stream()
+                .filter(group -> group.getGroupId().equals(otherGroup.getGroupId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Owner", other.getOwnerName());
+        assertEquals(owner.getUserId(), other.getCreatedBy());
+    }
+
+    @Test
+    void testFindByMemberWithOwnerName_OnlyJoinedGroups() {
+        // Act
+        List<GroupDTO> groups = groupRepository.findByMemberWithOwnerName(member.getUserId());
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        GroupDTO joined = groups.stream()
+                .filter(group -> group.getGroupId().equals(joinedGroup.getGroupId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Owner", joined.getOwnerName());
+        assertTrue(groups.stream().noneMatch(group -> group.getGroupId().equals(otherGroup.getGroupId())));
+    }
+
+    @Test
+    void testFindByIdWithOwnerName() {
+        // Act & Assert
+        assertEquals("Owner", groupRepository.findByIdWithOwnerName(joinedGroup.getGroupId()).orElseThrow().getOwnerName());
+        assertTrue(groupRepository.findByIdWithOwnerName(-1L).isEmpty());
+    }
+
+    @Test
+    void testSaveWithNewVersion_UpdatesFromSameLoadedVersionGetDistinctVersions() {
+        // Arrange
+        Long groupId = groupRepository.save(new Group("Versioned", "Group", 1L)).getGroupId();
+        Group loadedByFirst = groupRepository.findById(groupId).orElseThrow();
+        Group loadedBySecond = groupRepository.findById(groupId).orElseThrow();
+
+        // Act
+        loadedByFirst.setName("First");
+        Group first = groupRepository.saveWithNewVersion(loadedByFirst);
+        loadedBySecond.setName("Second");
+        Group second = groupRepository.saveWithNewVersion(loadedBySecond);
+
+        // Assert
+        assertEquals(1, first.getVersion());
+        assertEquals(2, second.getVersion());
+        assertEquals(2, groupRepository.findByIdWithOwnerName(groupId).orElseThrow().getVersion());
+    }
+}
@@ -0,0 +1,130 @@
+package sk.ikts.server.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import sk.ikts.server.model.ActivityLog;
+import sk.ikts.server.model.ChatMessage;
+import sk.ikts.server.model.Membership;
+import sk.ikts.server.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integračné testy pre dávkové vkladanie cez JDBC
+ * Testuje počet SQL príkazov pri vložení 1 000 riadkov
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class JdbcBatchingIntegrationTest {
+
+    private static final int ROWS = 1000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testInsertTasks_Batched() {
+        // Arrange
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            tasks.add(new Task(1L, 1L, "Task " + i, "Batch insert"));
+        }
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> taskRepository.saveAll(tasks));
+
+        // Assert
+        assertBatched();
+    }
+
+    @Test
+    void testInsertChatMessages_Batched() {
+        // Arrange
+        List<ChatMessage> messages = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            messages.add(new ChatMessage(1L, 1L, "User", "Message " + i));
+        }
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> chatMessageRepository.saveAll(messages));
+
+        // Assert
+        assertBatched();
+    }
+
+    @Test
+    void testInsertActivityLogs_Batched() {
+        // Arrange
+        List<ActivityLog> logs = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            logs.add(new ActivityLog(1L, "LOGIN", "Entry " + i));
+        }
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> activityLogRepository.saveAll(logs));
+
+        // Assert
+        assertBatched();
+    }
+
+    @Test
+    void testInsertMemberships_Batched() {
+        // Arrange
+        // A group of its own, memberships are unique per user and group
+        long groupId = System.nanoTime();
+        List<Membership> memberships = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            memberships.add(new Membership((long) i + 1, groupId, Membership.Role.MEMBER));
+        }
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> membershipRepository.saveAll(memberships));
+
+        // Assert
+        assertBatched();
+    }
+
+    /**
+     * Without batching every row is its own INSERT (1 000 statements plus 21 ID fetches).
+     * With pooled IDs the generator fetches a block of 50 IDs per call (21 calls) and
+     * the INSERT is prepared once and executed in JDBC batches of 50
+     */
+    private void assertBatched() {
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 25,
+                "Expected at most 25 statements, was " + statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,96 @@
+package sk.ikts.server.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sk.ikts.server.model.SchedulerLease;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integračné testy pre lease plánovača
+ * Testuje, že lease získa iba jedna inštancia, kým nevyprší alebo nie je uvoľnený,
+ * a že každé prevzatie zvýši fencing token
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SchedulerLeaseRepositoryIntegrationTest {
+
+    private static final long NOW = 1_000_000;
+    private static final long LEASE_MS = 15000;
+
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    // Own lease per test, the running application holds deadline-reminders
+    private String name;
+
+    @BeforeEach
+    void setUp() {
+        name = "test-" + UUID.randomUUID();
+        leaseRepository.save(new SchedulerLease(name));
+    }
+
+    @Test
+    void testAcquire_OnlyOneNodeWinsUnexpiredLease() {
+        // Act
+        int first = leaseRepository.acquire(name, "a", NOW, NOW + LEASE_MS);
+        int second = leaseRepository.acquire(name, "b", NOW + 1000, NOW + 1000 + LEASE_MS);
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+        SchedulerLease lease = leaseRepository.findById(name).orElseThrow();
+        assertEquals("a", lease.getOwner());
+        assertEquals(1, lease.getFencingToken());
+    }
+
+    @Test
+    void testAcquire_ExpiredLeaseIsTakenOverWithNewToken() {
+        // Arrange
+        leaseRepository.acquire(name, "a", NOW, NOW + LEASE_MS);
+
+        // Act
+        int result = leaseRepository.acquire(name, "b", NOW + LEASE_MS, NOW + 2 * LEASE_MS);
+
+        // Assert
+        assertEquals(1, result);
+        assertEquals(2, leaseRepository.findById(name).orElseThrow().getFencingToken());
+        assertFalse(leaseRepository.isHeld(name, "a", 1, NOW + LEASE_MS));
+        assertTrue(leaseRepository.isHeld(name, "b", 2, NOW + LEASE_MS));
+        assertEquals(0, leaseRepository.renew(name, "a", 1, NOW + LEASE_MS, NOW + 2 * LEASE_MS));
+    }
+
+    @Test
+    void testRenew_ExtendsLeaseOfHolder() {
+        // Arrange
+        leaseRepository.acquire(name, "a", NOW, NOW + LEASE_MS);
+
+        // Act
+        int result = leaseRepository.renew(name, "a", 1, NOW + 5000, NOW + 5000 + LEASE_MS);
+
+        // Assert
+        assertEquals(1, result);
+        assertTrue(leaseRepository.isHeld(name, "a", 1, NOW + LEASE_MS));
+        assertEquals(0, leaseRepository.acquire(name, "b", NOW + LEASE_MS, NOW + 2 * LEASE_MS));
+    }
+
+    @Test
+    void testRelease_LeaseCanBeTakenOverAtOnce() {
+        // Arrange
+        leaseRepository.acquire(name, "a", NOW, NOW + LEASE_MS);
+
+        // Act
+        int released = leaseRepository.release(name, "a", 1);
+        int acquired = leaseRepository.acquire(name, "b", NOW + 1000, NOW + 1000 + LEASE_MS);
+
+        // Assert
+        assertEquals(1, released);
+        assertEquals(1, acquired);
+        assertEquals(2, leaseRepository.findById(name).orElseThrow().getFencingToken());
+    }
+}
@@ -0,0 +1,96 @@
+package sk.ikts.server.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sk.ikts.server.model.SentReminder;
+import sk.ikts.server.model.Task;
+import sk.ikts.server.service.ReminderLedgerService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integračné testy pre evidenciu odoslaných pripomienok
+ * Testuje dávkový zápis s prepísaním existujúcich záznamov a odstránenie
+ * neplatných záznamov jedným príkazom
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class SentReminderRepositoryIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SentReminderRepository sentReminderRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ReminderLedgerService reminderLedgerService;
+
+    @Test
+    void testRecordAll_OverwritesSameThreshold() {
+        // Arrange
+        LocalDateTime deadline = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Task task = saveTask(deadline, Task.TaskStatus.OPEN);
+        reminderLedgerService.recordAll(List.of(
+                new SentReminder(task.getTaskId(), SentReminder.OVERDUE, deadline, deadline)));
+
+        // Act
+        reminderLedgerService.recordAll(List.of(
+                new SentReminder(task.getTaskId(), 24, deadline, deadline.minusDays(1)),
+                new SentReminder(task.getTaskId(), SentReminder.OVERDUE, deadline, deadline.plusDays(1))));
+
+        // Assert
+        List<SentReminder> rows = sentReminderRepository.findByTaskIdIn(List.of(task.getTaskId()));
+        assertEquals(2, rows.size());
+        SentReminder overdue = rows.stream()
+                .filter(row -> row.getThreshold() == SentReminder.OVERDUE)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(deadline.plusDays(1), overdue.getSentAt());
+    }
+
+    @Test
+    void testDeleteStale_SingleStatement() {
+        // Arrange
+        LocalDateTime deadline = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Task open = saveTask(deadline, Task.TaskStatus.OPEN);
+        Task done = saveTask(deadline, Task.TaskStatus.DONE);
+        Task rescheduled = saveTask(deadline.plusDays(1), Task.TaskStatus.OPEN);
+        reminderLedgerService.recordAll(List.of(
+                new SentReminder(open.getTaskId(), 24, deadline, LocalDateTime.now()),
+                new SentReminder(done.getTaskId(), 24, deadline, LocalDateTime.now()),
+                new SentReminder(rescheduled.getTaskId(), 24, deadline, LocalDateTime.now()),
+                new SentReminder(-1L, 24, deadline, LocalDateTime.now())));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        reminderLedgerService.deleteStale();
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        List<SentReminder> rows = sentReminderRepository.findByTaskIdIn(
+                List.of(open.getTaskId(), done.getTaskId(), rescheduled.getTaskId(), -1L));
+        assertEquals(List.of(open.getTaskId()), rows.stream().map(SentReminder::getTaskId).toList());
+    }
+
+    private Task saveTask(LocalDateTime deadline, Task.TaskStatus status) {
+        Task task = new Task(1L, 1L, "Task", null);
+        task.setDeadline(deadline);
+        task.setStatus(status);
+        return taskRepository.save(task);
+    }
+}
@@ -0,0 +1,165 @@
+package sk.ikts.server.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sk.ikts.server.model.Group;
+import sk.ikts.server.model.Membership;
+import sk.ikts.server.model.Task;
+import sk.ikts.server.model.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integračné testy pre TaskRepository
+ * Testuje, že úlohy zo všetkých skupín používateľa sa načítajú jedným SQL dotazom
+ * a uloženie pripomienok úlohy a zvyšovanie verzie úlohy pri zmene, aj pri súbežných
+ * zmenách načítaných z rovnakej verzie
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class TaskRepositoryIntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MembershipRepository membershipRepository;
+
+    @Test
+    void testFindByMember_SingleQueryOverAllJoinedGroups() {
+        // Arrange
+        User member = userRepository.save(new User("tasks-" + System.nanoTime() + "@example.com", "Member", "hash"));
+        Group first = groupRepository.save(new Group("First", "Joined", member.getUserId()));
+        Group second = groupRepository.save(new Group("Second", "Joined", member.getUserId()));
+        Group other = groupRepository.save(new Group("Other", "Not joined", member.getUserId()));
+        membershipRepository.save(new Membership(member.getUserId(), first.getGroupId(), Membership.Role.ADMIN));
+        membershipRepository.save(new Membership(member.getUserId(), second.getGroupId(), Membership.Role.MEMBER));
+        Task firstTask = taskRepository.save(new Task(first.getGroupId(), member.getUserId(), "First task", null));
+        Task secondTask = taskRepository.save(new Task(second.getGroupId(), member.getUserId(), "Second task", null));
+        Task otherTask = taskRepository.save(new Task(other.getGroupId(), member.getUserId(), "Other task", null));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        List<Task> tasks = taskRepository.findByMember(member.getUserId());
+
+        // Assert
+        // Other tests share the database, so only look at this test's tasks
+        List<Long> taskIds = tasks.stream().map(Task::getTaskId).toList();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(taskIds.containsAll(List.of(firstTask.getTaskId(), secondTask.getTaskId())));
+        assertFalse(taskIds.contains(otherTask.getTaskId()));
+    }
+
+    @Test
+    void testReminderHours_StoredCompactlyAndReadBack() {
+        // Arrange
+        Task task = new Task(1L, 1L, "Reminders", null);
+        task.setReminderHours(new int[]{48, 6, 1});
+
+        // Act
+        Long taskId = taskRepository.save(task).getTaskId();
+        Task loaded = taskRepository.findById(taskId).orElseThrow();
+
+        // Assert
+        assertArrayEquals(new int[]{48, 6, 1}, loaded.getReminderHours());
+    }
+
+    @Test
+    void testVersion_IncreasesOnEveryUpdate() {
+        // Arrange
+        Task task = taskRepository.save(new Task(1L, 1L, "Versioned", null));
+        assertEquals(0, task.getVersion());
+
+        // Act
+        task.setStatus(Task.TaskStatus.IN_PROGRESS);
+        Task first = taskRepository.saveWithNewVersion(task);
+        first.setTitle("Versioned again");
+        Task second = taskRepository.saveWithNewVersion(first);
+
+        // Assert
+        assertEquals(1, first.getVersion());
+        assertEquals(2, second.getVersion());
+        assertEquals(2, taskRepository.findById(task.getTaskId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void testVersion_UpdatesFromSameLoadedVersionGetDistinctVersions() {
+        // Arrange - two writers load the task before either saves
+        Long taskId = taskRepository.save(new Task(1L, 1L, "Concurrent", null)).getTaskId();
+        Task loadedByFirst = taskRepository.findById(taskId).orElseThrow();
+        Task loadedBySecond = taskRepository.findById(taskId).orElseThrow();
+        Task loadedEarlier = taskRepository.findById(taskId).orElseThrow();
+
+        // Act
+        loadedByFirst.setStatus(Task.TaskStatus.IN_PROGRESS);
+        Task first = taskRepository.saveWithNewVersion(loadedByFirst);
+        loadedBySecond.setTitle("Second wins");
+        Task second = taskRepository.saveWithNewVersion(loadedBySecond);
+        Task third = taskRepository.saveWithNewVersion(loadedEarlier);
+
+        // Assert - the last write has the highest version, a stale copy never lowers it
+        assertEquals(1, first.getVersion());
+        assertEquals(2, second.getVersion());
+        assertEquals(3, third.getVersion());
+        Task stored = taskRepository.findById(taskId).orElseThrow();
+        assertEquals(3, stored.getVersion());
+        assertEquals("Concurrent", stored.getTitle());
+    }
+
+    @Test
+    void testVersion_ConcurrentUpdatesGetConsecutiveVersions() throws Exception {
+        // Arrange
+        Long taskId = taskRepository.save(new Task(1L, 1L, "Contended", null)).getTaskId();
+        int writers = 4;
+        int updatesPerWriter = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<List<Long>>> results = new ArrayList<>();
+
+        // Act
+        for (int w = 0; w < writers; w++) {
+            results.add(executor.submit(() -> {
+                List<Long> versions = new ArrayList<>();
+                for (int i = 0; i < updatesPerWriter; i++) {
+                    Task task = taskRepository.findById(taskId).orElseThrow();
+                    task.setTitle("Update " + i);
+                    versions.add(taskRepository.saveWithNewVersion(task).getVersion());
+                }
+                return versions;
+            }));
+        }
+        Set<Long> versions = new HashSet<>();
+        for (Future<List<Long>> result : results) {
+            versions.addAll(result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(writers * updatesPerWriter, versions.size());
+        assertEquals(writers * updatesPerWriter, taskRepository.findById(taskId).orElseThrow().getVersion());
+    }
+}
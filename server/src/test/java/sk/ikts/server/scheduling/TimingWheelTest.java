@@ -0,0 +1,112 @@
+package sk.ikts.server.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit testy pre TimingWheel
+ * Testuje vypršanie časovačov naprieč úrovňami kolesa a ich zrušenie
+ */
+class TimingWheelTest {
+
+    @Test
+    void testAdvance_ExpiresAtDeadlineNotBefore() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule(35, "a");
+        List<String> expired = new ArrayList<>();
+
+        // Act & Assert
+        assertEquals(0, wheel.advance(34, expired::add));
+        assertEquals(1, wheel.advance(35, expired::add));
+        assertEquals(List.of("a"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_CascadesFromCoarserLevels() {
+        // Arrange - level 0 covers 80 ms, deadlines below need two more levels
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, 0);
+        long[] deadlines = {5, 79, 80, 639, 640, 5000, 5123};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+        List<Long> expired = new ArrayList<>();
+
+        // Act - advance in uneven steps
+        for (long now = 0; now <= 6000; now += 7) {
+            int before = expired.size();
+            long current = now;
+            wheel.advance(now, deadline -> {
+                assertTrue(deadline <= current, "expired early");
+                assertTrue(deadline > current - 7, "expired late");
+                expired.add(deadline);
+            });
+            assertTrue(expired.size() >= before);
+        }
+
+        // Assert
+        assertEquals(deadlines.length, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancel_RemovesTimeout() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule(500, "cancelled");
+        wheel.schedule(500, "kept");
+        List<String> expired = new ArrayList<>();
+
+        // Act
+        assertTrue(wheel.cancel(cancelled));
+        wheel.advance(1000, expired::add);
+
+        // Assert
+        assertEquals(List.of("kept"), expired);
+        assertFalse(wheel.cancel(cancelled));
+    }
+
+    @Test
+    void testSchedule_PastDeadlineExpiresOnNextAdvance() {
+        // Arrange
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+        wheel.schedule(200, "late");
+        List<String> expired = new ArrayList<>();
+
+        // Act
+        wheel.advance(1000, expired::add);
+
+        // Assert
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    void testAdvance_RandomDeadlinesAllExpireOnTime() {
+        // Arrange
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 64, 0);
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long deadline = random.nextInt(3 * 24 * 3600) * 1000L + random.nextInt(1000);
+            wheel.schedule(deadline, deadline);
+        }
+        int[] count = {0};
+
+        // Act - one second ticks over three days
+        for (long now = 0; now <= 3 * 24 * 3600 * 1000L + 1000; now += 1000) {
+            long current = now;
+            wheel.advance(now, deadline -> {
+                assertTrue(deadline <= current && deadline > current - 1000);
+                count[0]++;
+            });
+        }
+
+        // Assert
+        assertEquals(10000, count[0]);
+    }
+}
@@ -0,0 +1,135 @@
+package sk.ikts.server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sk.ikts.server.config.ActivityLogProperties;
+import sk.ikts.server.model.ActivityLog;
+import sk.ikts.server.repository.ActivityLogRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre ActivityLogService
+ * Testuje asynchrónny zápis aktivít v dávkach, pretečenie buffera a zápis pri vypnutí
+ */
+@ExtendWith(MockitoExtension.class)
+class ActivityLogServiceTest {
+
+    @Mock
+    private ActivityLogRepository activityLogRepository;
+
+    @Spy
+    private ActivityLogProperties properties = new ActivityLogProperties();
+
+    @InjectMocks
+    private ActivityLogService activityLogService;
+
+    private final List<ActivityLog> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(activityLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ActivityLog> batch = invocation.getArgument(0);
+            synchronized (saved) {
+                saved.addAll(batch);
+            }
+            return batch;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        activityLogService.shutdown();
+    }
+
+    @Test
+    void testLogActivity_WrittenInBatchesBySize() {
+        // Arrange
+        properties.setBatchSize(10);
+        properties.setFlushIntervalMs(60000);
+        activityLogService.start();
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            activityLogService.logActivity(1L, "LOGIN", "entry " + i);
+        }
+
+        // Assert - two full batches are written without waiting for the flush interval
+        verify(activityLogRepository, timeout(2000).times(2)).saveAll(anyList());
+        activityLogService.shutdown();
+        assertEquals(25, saved.size());
+        assertEquals(25, activityLogService.getStats().written());
+        assertEquals(3, activityLogService.getStats().batches());
+    }
+
+    @Test
+    void testLogActivity_FlushedAfterInterval() {
+        // Arrange
+        properties.setBatchSize(100);
+        properties.setFlushIntervalMs(50);
+        activityLogService.start();
+
+        // Act
+        activityLogService.logActivity(1L, "SEND_CHAT_MESSAGE", "Hi");
+
+        // Assert
+        verify(activityLogRepository, timeout(2000)).saveAll(anyList());
+        assertEquals("SEND_CHAT_MESSAGE", saved.get(0).getAction());
+    }
+
+    @Test
+    void testLogActivity_OverflowIsCountedAndDoesNotBlock() throws Exception {
+        // Arrange
+        properties.setBufferCapacity(5);
+        properties.setBatchSize(1);
+        properties.setFlushIntervalMs(10);
+        CountDownLatch databaseStalled = new CountDownLatch(1);
+        when(activityLogRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            databaseStalled.await();
+            return invocation.getArgument(0);
+        });
+        activityLogService.start();
+
+        // Act
+        activityLogService.logActivity(1L, "LOGIN", "in writer");
+        verify(activityLogRepository, timeout(2000)).saveAll(anyList());
+        for (int i = 0; i < 10; i++) {
+            activityLogService.logActivity(1L, "LOGIN", "entry " + i);
+        }
+
+        // Assert
+        ActivityLogService.ActivityLogStats stats = activityLogService.getStats();
+        assertEquals(5, stats.buffered());
+        assertEquals(5, stats.dropped());
+        databaseStalled.countDown();
+    }
+
+    @Test
+    void testShutdown_WritesRemainingEntries() {
+        // Arrange
+        properties.setBatchSize(100);
+        properties.setFlushIntervalMs(60000);
+        activityLogService.start();
+        activityLogService.logActivity(1L, "CREATE_TASK", "a");
+        activityLogService.logActivity(2L, "CREATE_TASK", "b");
+
+        // Act
+        activityLogService.shutdown();
+
+        // Assert
+        assertEquals(2, saved.size());
+        assertEquals(0, activityLogService.getStats().buffered());
+    }
+}
@@ -0,0 +1,152 @@
+package sk.ikts.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import sk.ikts.server.dto.ChatMessageDTO;
+import sk.ikts.server.dto.CreateChatMessageRequest;
+import sk.ikts.server.model.ChatMessage;
+import sk.ikts.server.model.User;
+import sk.ikts.server.repository.ChatMessageRepository;
+import sk.ikts.server.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre ChatService
+ * Testuje stránkovanie histórie chatu podľa kurzora (keyset) a vloženie správy cez group commit
+ */
+@ExtendWith(MockitoExtension.class)
+class ChatServiceTest {
+
+    @Mock
+    private ChatMessageRepository chatMessageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ActivityLogService activityLogService;
+
+    @Mock
+    private GroupCommitService groupCommitService;
+
+    @InjectMocks
+    private ChatService chatService;
+
+    @Test
+    void testGetMessagesPage_NewestPageInChronologicalOrder() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        when(chatMessageRepository.findByGroupIdOrderBySentAtDescMessageIdDesc(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(message(3L, 1L, now), message(2L, 1L, now.minusMinutes(1))));
+
+        // Act
+        List<ChatMessageDTO> result = chatService.getMessagesPage(1L, null, 2);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getMessageId());
+        assertEquals(3L, result.get(1).getMessageId());
+        verify(chatMessageRepository).findByGroupIdOrderBySentAtDescMessageIdDesc(1L, PageRequest.of(0, 2));
+    }
+
+    @Test
+    void testGetMessagesPage_BeforeUsesCursorPosition() {
+        // Arrange
+        LocalDateTime sentAt = LocalDateTime.now();
+        when(chatMessageRepository.findById(10L)).thenReturn(Optional.of(message(10L, 1L, sentAt)));
+        when(chatMessageRepository.findPageBefore(eq(1L), eq(sentAt), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(message(9L, 1L, sentAt)));
+
+        // Act
+        List<ChatMessageDTO> result = chatService.getMessagesPage(1L, 10L, 50);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(9L, result.get(0).getMessageId());
+    }
+
+    @Test
+    void testGetMessagesPage_CursorFromOtherGroupReturnsEmpty() {
+        // Arrange
+        when(chatMessageRepository.findById(10L)).thenReturn(Optional.of(message(10L, 2L, LocalDateTime.now())));
+
+        // Act
+        List<ChatMessageDTO> result = chatService.getMessagesPage(1L, 10L, 50);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(chatMessageRepository, never()).findPageBefore(any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetMessagesPage_LimitIsClamped() {
+        // Arrange
+        when(chatMessageRepository.findByGroupIdOrderBySentAtDescMessageIdDesc(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Act
+        chatService.getMessagesPage(1L, null, 10000);
+
+        // Assert
+        verify(chatMessageRepository).findByGroupIdOrderBySentAtDescMessageIdDesc(1L,
+                PageRequest.of(0, ChatService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void testCreateMessage_InsertedThroughGroupCommit() {
+        // Arrange
+        User user = new User();
+        user.setName("Alice");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(groupCommitService.insert(any(ChatMessage.class))).thenAnswer(invocation -> {
+            ChatMessage message = invocation.getArgument(0);
+            message.setMessageId(42L);
+            return CompletableFuture.completedFuture(message);
+        });
+        CreateChatMessageRequest request = new CreateChatMessageRequest(5L, 1L, "Hello");
+
+        // Act
+        ChatMessageDTO result = chatService.createMessage(request);
+
+        // Assert
+        assertEquals(42L, result.getMessageId());
+        assertEquals("Alice", result.getUserName());
+        verify(chatMessageRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateMessage_InsertFailurePropagates() {
+        // Arrange
+        User user = new User();
+        user.setName("Alice");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(groupCommitService.insert(any(ChatMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Group commit queue is full")));
+        CreateChatMessageRequest request = new CreateChatMessageRequest(5L, 1L, "Hello");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> chatService.createMessage(request));
+        verify(activityLogService, never()).logActivity(any(), any(), any());
+    }
+
+    private ChatMessage message(Long id, Long groupId, LocalDateTime sentAt) {
+        ChatMessage message = new ChatMessage(groupId, 1L, "User", "Message " + id);
+        message.setMessageId(id);
+        message.setSentAt(sentAt);
+        return message;
+    }
+}
@@ -0,0 +1,74 @@
+package sk.ikts.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sk.ikts.server.dto.DashboardDTO;
+import sk.ikts.server.dto.GroupDTO;
+import sk.ikts.server.dto.TaskDTO;
+import sk.ikts.server.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre DashboardService
+ * Testuje zostavenie prehľadu používateľa a počty úloh podľa stavu
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private GroupService groupService;
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @Test
+    void testGetDashboard_CountsEveryStatus() {
+        // Arrange
+        when(groupService.getGroupsForUser(1L)).thenReturn(List.of(
+                new GroupDTO(10L, "Group", "Description", 1L, "Owner", LocalDateTime.now())));
+        when(taskService.getTasksForUser(1L)).thenReturn(List.of(
+                task(100L, Task.TaskStatus.OPEN),
+                task(101L, Task.TaskStatus.OPEN),
+                task(102L, Task.TaskStatus.DONE)));
+
+        // Act
+        DashboardDTO dashboard = dashboardService.getDashboard(1L);
+
+        // Assert
+        assertEquals(1, dashboard.getGroups().size());
+        assertEquals(3, dashboard.getTasks().size());
+        assertEquals(2, dashboard.getStatusCounts().get("OPEN"));
+        assertEquals(0, dashboard.getStatusCounts().get("IN_PROGRESS"));
+        assertEquals(1, dashboard.getStatusCounts().get("DONE"));
+    }
+
+    @Test
+    void testGetDashboard_NoGroupsSkipsTaskQuery() {
+        // Arrange
+        when(groupService.getGroupsForUser(1L)).thenReturn(List.of());
+
+        // Act
+        DashboardDTO dashboard = dashboardService.getDashboard(1L);
+
+        // Assert
+        assertTrue(dashboard.getTasks().isEmpty());
+        assertEquals(0, dashboard.getStatusCounts().get("OPEN"));
+        verify(taskService, never()).getTasksForUser(anyLong());
+    }
+
+    private TaskDTO task(Long taskId, Task.TaskStatus status) {
+        return new TaskDTO(taskId, 10L, 1L, "Task " + taskId, null, status, null, LocalDateTime.now(), null);
+    }
+}
@@ -0,0 +1,237 @@
+package sk.ikts.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sk.ikts.server.cluster.ClusterEvent;
+import sk.ikts.server.cluster.ClusterEventBus;
+import sk.ikts.server.config.ReminderProperties;
+import sk.ikts.server.model.ReminderHours;
+import sk.ikts.server.model.SentReminder;
+import sk.ikts.server.model.Task;
+import sk.ikts.server.repository.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre DeadlineReminderService
+ * Testuje odoslanie pripomienok v čase ich splatnosti, preplánovanie pri zmene úlohy
+ * a zápis odoslaných pripomienok do perzistentnej evidencie, ako aj to, že pripomienky
+ * posiela iba inštancia, ktorá drží lease plánovača
+ */
+@ExtendWith(MockitoExtension.class)
+class DeadlineReminderServiceTest {
+
+    private static final long HOUR_MS = 3600000;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ReminderLedgerService reminderLedgerService;
+
+    @Mock
+    private LeaderElectionService leaderElectionService;
+
+    @Mock
+    private ClusterEventBus clusterEventBus;
+
+    @Spy
+    private ReminderProperties properties = new ReminderProperties();
+
+    @InjectMocks
+    private DeadlineReminderService deadlineReminderService;
+
+    private LocalDateTime deadline;
+    private long deadlineMs;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(leaderElectionService.isLeader()).thenReturn(true);
+        lenient().when(leaderElectionService.holdsLease()).thenReturn(true);
+        deadlineReminderService.init();
+        // Whole seconds, so reminder instants line up with the one second ticks
+        deadline = LocalDateTime.now().plusHours(30).truncatedTo(ChronoUnit.SECONDS);
+        deadlineMs = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Test
+    void testAdvance_FiresEachReminderAtItsTime() {
+        // Arrange
+        deadlineReminderService.scheduleTask(task(1L, deadline, "[24, 1]"));
+
+        // Act & Assert
+        assertEquals(0, deadlineReminderService.advance(deadlineMs - 24 * HOUR_MS - 1000));
+        assertEquals(1, deadlineReminderService.advance(deadlineMs - 24 * HOUR_MS + 1000));
+        verify(notificationService).notifyDeadlineReminder(eq(10L), eq(1L), eq("Task"), eq(23L));
+
+        assertEquals(1, deadlineReminderService.advance(deadlineMs - HOUR_MS));
+        verify(notificationService).notifyDeadlineApproaching(eq(10L), eq(1L), eq("Task"), eq(60L), eq(true));
+
+        assertEquals(1, deadlineReminderService.advance(deadlineMs));
+        verify(notificationService).notifyDeadlineOverdue(10L, 1L, "Task");
+    }
+
+    @Test
+    void testScheduleTask_DoneTaskIsRemoved() {
+        // Arrange
+        Task task = task(1L, deadline, "[24]");
+        deadlineReminderService.scheduleTask(task);
+        assertEquals(1, deadlineReminderService.getStats().scheduledTasks());
+
+        // Act
+        task.setStatus(Task.TaskStatus.DONE);
+        deadlineReminderService.scheduleTask(task);
+
+        // Assert
+        assertEquals(0, deadlineReminderService.getStats().scheduledTasks());
+        assertEquals(0, deadlineReminderService.advance(deadlineMs + HOUR_MS));
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testScheduleTask_SentReminderIsNotRepeatedForSameDeadline() {
+        // Arrange
+        Task task = task(1L, deadline, "[24]");
+        deadlineReminderService.scheduleTask(task);
+        deadlineReminderService.advance(deadlineMs - 24 * HOUR_MS);
+
+        // Act - e.g. the title was edited
+        task.setTitle("Renamed");
+        deadlineReminderService.scheduleTask(task);
+
+        // Assert - only the overdue notification is still pending
+        assertEquals(1, deadlineReminderService.getStats().pendingReminders());
+        verify(notificationService, times(1)).notifyDeadlineReminder(anyLong(), anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    void testLoadSchedule_SchedulesOpenTasksWithDeadline() {
+        // Arrange
+        when(taskRepository.findByDeadlineIsNotNullAndStatusNot(Task.TaskStatus.DONE))
+                .thenReturn(List.of(task(1L, deadline, null), task(2L, deadline.plusDays(1), "[6]")));
+
+        // Act
+        deadlineReminderService.loadSchedule();
+
+        // Assert - default reminders 24, 6, 1 plus overdue, and 6 plus overdue
+        assertEquals(2, deadlineReminderService.getStats().scheduledTasks());
+        assertEquals(6, deadlineReminderService.getStats().pendingReminders());
+    }
+
+    @Test
+    void testLoadSchedule_KeepsNewerStateOfTaskChangedMeanwhile() {
+        // Arrange - both tasks change while loadSchedule reads them: 1 is completed, 2 gets a new deadline
+        Task done = task(1L, deadline, "[24]");
+        done.setVersion(2);
+        done.setStatus(Task.TaskStatus.DONE);
+        Task moved = task(2L, deadline.plusDays(1), "[24]");
+        moved.setVersion(2);
+        when(taskRepository.findByDeadlineIsNotNullAndStatusNot(Task.TaskStatus.DONE)).thenAnswer(invocation -> {
+            deadlineReminderService.scheduleTask(done);
+            deadlineReminderService.scheduleTask(moved);
+            Task staleDone = task(1L, deadline, "[24]");
+            staleDone.setVersion(1);
+            Task staleMoved = task(2L, deadline, "[24]");
+            staleMoved.setVersion(1);
+            return List.of(staleDone, staleMoved);
+        });
+
+        // Act
+        deadlineReminderService.loadSchedule();
+
+        // Assert - only the moved task is scheduled, its 24h reminder is due at the old deadline
+        assertEquals(1, deadlineReminderService.getStats().scheduledTasks());
+        assertEquals(1, deadlineReminderService.advance(deadlineMs));
+        verify(notificationService).notifyDeadlineReminder(eq(10L), eq(2L), eq("Task"), eq(24L));
+        verifyNoMoreInteractions(notificationService);
+    }
+
+    @Test
+    void testAdvance_RecordsSentRemindersInOneBatch() {
+        // Arrange
+        deadlineReminderService.scheduleTask(task(1L, deadline, "[24]"));
+        deadlineReminderService.scheduleTask(task(2L, deadline, "[24]"));
+
+        // Act
+        deadlineReminderService.advance(deadlineMs - 24 * HOUR_MS);
+
+        // Assert
+        verify(reminderLedgerService).recordAll(argThat(sent -> sent.size() == 2
+                && sent.stream().allMatch(reminder -> reminder.getThreshold() == 24
+                        && reminder.getDeadline().equals(deadline))));
+    }
+
+    @Test
+    void testLoadSchedule_SkipsRemindersSentBeforeRestart() {
+        // Arrange
+        when(reminderLedgerService.loadByTask()).thenReturn(Map.of(1L, List.of(
+                new SentReminder(1L, 24, deadline, LocalDateTime.now()),
+                new SentReminder(1L, 6, deadline.minusDays(1), LocalDateTime.now()))));
+        when(taskRepository.findByDeadlineIsNotNullAndStatusNot(Task.TaskStatus.DONE))
+                .thenReturn(List.of(task(1L, deadline, "[24, 6]")));
+
+        // Act
+        deadlineReminderService.loadSchedule();
+
+        // Assert - 24h was sent for this deadline, 6h only for an older one
+        verify(reminderLedgerService).deleteStale();
+        assertEquals(2, deadlineReminderService.getStats().pendingReminders());
+        deadlineReminderService.advance(deadlineMs - 6 * HOUR_MS);
+        verify(notificationService, never()).notifyDeadlineReminder(anyLong(), anyLong(), anyString(), anyLong());
+        verify(notificationService).notifyDeadlineApproaching(eq(10L), eq(1L), eq("Task"), eq(6L), eq(false));
+    }
+
+    @Test
+    void testScheduleTask_FollowerRelaysChangeToLeader() {
+        // Arrange
+        when(leaderElectionService.isLeader()).thenReturn(false);
+
+        // Act
+        deadlineReminderService.scheduleTask(task(1L, deadline, "[24]"));
+        deadlineReminderService.tick();
+
+        // Assert
+        assertEquals(0, deadlineReminderService.getStats().scheduledTasks());
+        verify(clusterEventBus).publish(eq(ClusterEvent.Kind.TASK_SCHEDULE), eq(10L), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testAdvance_NothingSentAfterLeaseWasTakenOver() {
+        // Arrange
+        deadlineReminderService.scheduleTask(task(1L, deadline, "[24]"));
+        when(leaderElectionService.holdsLease()).thenReturn(false);
+
+        // Act
+        int result = deadlineReminderService.advance(deadlineMs - 24 * HOUR_MS);
+
+        // Assert
+        assertEquals(0, result);
+        verifyNoInteractions(notificationService);
+        verify(reminderLedgerService, never()).recordAll(any());
+    }
+
+    private Task task(Long taskId, LocalDateTime deadline, String reminders) {
+        Task task = new Task(10L, 1L, "Task", null);
+        task.setTaskId(taskId);
+        task.setDeadline(deadline);
+        task.setReminderHours(ReminderHours.parse(reminders));
+        return task;
+    }
+}
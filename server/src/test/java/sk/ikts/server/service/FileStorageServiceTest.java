@@ -0,0 +1,161 @@
+package sk.ikts.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sk.ikts.server.config.StorageProperties;
+import sk.ikts.server.model.Blob;
+import sk.ikts.server.repository.BlobRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre FileStorageService
+ * Testuje prúdové ukladanie súborov s výpočtom veľkosti a SHA-256,
+ * deduplikáciu podľa obsahu, počítanie referencií a zber osirelých blobov
+ */
+@ExtendWith(MockitoExtension.class)
+class FileStorageServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Spy
+    private StorageProperties properties = new StorageProperties();
+
+    @Mock
+    private BlobRepository blobRepository;
+
+    @InjectMocks
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setUploadDir(uploadDir.toString());
+        properties.setBufferSize(1024);
+        fileStorageService.init();
+    }
+
+    @Test
+    void testStore_ComputesSizeAndChecksumWhileStreaming() throws Exception {
+        // Arrange - several buffers worth of data
+        byte[] content = new byte[10 * 1024 + 17];
+        new Random(1).nextBytes(content);
+
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        when(blobRepository.adjustRefCount(eq(sha256), eq(1), any())).thenReturn(0);
+
+        // Act
+        FileStorageService.StoredFile stored = fileStorageService.store(new ByteArrayInputStream(content));
+
+        // Assert
+        assertEquals(sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256, stored.name());
+        assertEquals(content.length, stored.size());
+        assertEquals(sha256, stored.sha256());
+        assertArrayEquals(content, Files.readAllBytes(fileStorageService.resolve(stored.name())));
+        verify(blobRepository).save(argThat(blob -> blob.getSha256().equals(sha256) && blob.getRefCount() == 1));
+    }
+
+    @Test
+    void testStore_SameContentIsStoredOnce() throws Exception {
+        // Arrange - the second upload finds the blob row
+        byte[] content = "same slides".getBytes();
+        when(blobRepository.adjustRefCount(anyString(), eq(1), any())).thenReturn(0, 1);
+
+        // Act
+        FileStorageService.StoredFile first = fileStorageService.store(new ByteArrayInputStream(content));
+        FileStorageService.StoredFile second = fileStorageService.store(new ByteArrayInputStream(content));
+
+        // Assert
+        assertEquals(first.name(), second.name());
+        verify(blobRepository, times(1)).save(any(Blob.class));
+        try (var files = Files.walk(uploadDir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void testRelease_UnlinksOnlyWithLastReference() throws Exception {
+        // Arrange
+        FileStorageService.StoredFile stored = fileStorageService.store(new ByteArrayInputStream("notes".getBytes()));
+        when(blobRepository.findRefCount(stored.sha256())).thenReturn(1, 0);
+
+        // Act & Assert
+        assertFalse(fileStorageService.release(stored.name()));
+        assertTrue(Files.exists(fileStorageService.resolve(stored.name())));
+        assertTrue(fileStorageService.release(stored.name()));
+        assertFalse(Files.exists(fileStorageService.resolve(stored.name())));
+        verify(blobRepository).deleteUnreferenced(stored.sha256());
+    }
+
+    @Test
+    void testCollectGarbage_RemovesOrphansAndAbandonedTempFiles() throws Exception {
+        // Arrange - one referenced blob, one blob without a row, one stale and one fresh temp file
+        FileStorageService.StoredFile live = fileStorageService.store(new ByteArrayInputStream("live".getBytes()));
+        FileStorageService.StoredFile orphan = fileStorageService.store(new ByteArrayInputStream("orphan".getBytes()));
+        Path staleTemp = Files.writeString(uploadDir.resolve("tmp").resolve("stale.part"), "x");
+        Files.setLastModifiedTime(staleTemp, FileTime.fromMillis(System.currentTimeMillis() - 2 * properties.getTempFileMaxAgeMs()));
+        Path freshTemp = Files.writeString(uploadDir.resolve("tmp").resolve("fresh.part"), "x");
+        when(blobRepository.findReferenced(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).contains(live.sha256()) ? List.of(live.sha256()) : List.of());
+
+        // Act
+        FileStorageService.GcResult result = fileStorageService.collectGarbage(System.currentTimeMillis());
+
+        // Assert
+        assertEquals(1, result.blobs());
+        assertEquals(1, result.tempFiles());
+        assertTrue(Files.exists(fileStorageService.resolve(live.name())));
+        assertFalse(Files.exists(fileStorageService.resolve(orphan.name())));
+        assertFalse(Files.exists(staleTemp));
+        assertTrue(Files.exists(freshTemp));
+    }
+
+    @Test
+    void testStore_FailedUploadLeavesNoFile() throws Exception {
+        // Arrange
+        InputStream broken = new InputStream() {
+            private int read;
+
+            @Override
+            public int read() throws IOException {
+                if (read++ > 2000) {
+                    throw new IOException("connection reset");
+                }
+                return 1;
+            }
+        };
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> fileStorageService.store(broken));
+        try (var files = Files.walk(uploadDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+        verifyNoInteractions(blobRepository);
+    }
+
+    @Test
+    void testResolve_RejectsPathsOutsideUploadDir() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> fileStorageService.resolve("../secret.txt"));
+    }
+}
@@ -0,0 +1,173 @@
+package sk.ikts.server.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import sk.ikts.server.config.GroupCommitProperties;
+import sk.ikts.server.model.ChatMessage;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre GroupCommitService
+ * Testuje zlúčenie súbežných vložení do jednej transakcie, dokončenie futures s ID,
+ * limit veľkosti dávky, opakovanie po jednom pri chybe dávky a histogram veľkostí dávok
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GroupCommitServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private GroupCommitProperties properties = new GroupCommitProperties();
+
+    @InjectMocks
+    private GroupCommitService groupCommitService;
+
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            transactions.incrementAndGet();
+            return ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null);
+        });
+        doAnswer(invocation -> {
+            ChatMessage message = invocation.getArgument(0);
+            message.setMessageId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        groupCommitService.shutdown();
+    }
+
+    @Test
+    void testConcurrentInsertsShareOneTransaction() {
+        // Arrange
+        properties.setMaxLatencyMs(200);
+        groupCommitService.start();
+
+        // Act
+        List<CompletableFuture<ChatMessage>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(groupCommitService.insert(message("m" + i)));
+        }
+        Set<Long> assigned = new HashSet<>();
+        for (CompletableFuture<ChatMessage> future : futures) {
+            assigned.add(future.join().getMessageId());
+        }
+
+        // Assert
+        assertEquals(20, assigned.size());
+        assertEquals(1, transactions.get());
+        GroupCommitService.GroupCommitStats stats = groupCommitService.getStats();
+        assertEquals(20, stats.inserted());
+        assertEquals(1, stats.batches());
+        assertEquals(20, stats.maxBatch());
+        assertEquals(1, stats.batchSizes().get("16-31"));
+    }
+
+    @Test
+    void testBatchIsLimitedBySize() {
+        // Arrange
+        properties.setMaxLatencyMs(200);
+        properties.setMaxBatchSize(5);
+        groupCommitService.start();
+
+        // Act
+        List<CompletableFuture<ChatMessage>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(groupCommitService.insert(message("m" + i)));
+        }
+        futures.forEach(CompletableFuture::join);
+
+        // Assert
+        GroupCommitService.GroupCommitStats stats = groupCommitService.getStats();
+        assertEquals(20, stats.inserted());
+        assertEquals(4, stats.batches());
+        assertEquals(5, stats.maxBatch());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedOneByOne() {
+        // Arrange
+        properties.setMaxLatencyMs(200);
+        doAnswer(invocation -> {
+            ChatMessage message = invocation.getArgument(0);
+            if (message.getMessage().equals("bad")) {
+                throw new IllegalArgumentException("constraint violation");
+            }
+            return null;
+        }).when(entityManager).persist(any());
+        when(entityManager.merge(any())).thenAnswer(invocation -> {
+            ChatMessage message = invocation.getArgument(0);
+            if (message.getMessage().equals("bad")) {
+                throw new IllegalArgumentException("constraint violation");
+            }
+            message.setMessageId(ids.incrementAndGet());
+            return message;
+        });
+        groupCommitService.start();
+
+        // Act
+        CompletableFuture<ChatMessage> good = groupCommitService.insert(message("good"));
+        CompletableFuture<ChatMessage> bad = groupCommitService.insert(message("bad"));
+
+        // Assert
+        assertNotNull(good.join().getMessageId());
+        CompletionException error = assertThrows(CompletionException.class, bad::join);
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        GroupCommitService.GroupCommitStats stats = groupCommitService.getStats();
+        assertEquals(1, stats.inserted());
+        assertEquals(1, stats.failed());
+        assertEquals(1, stats.fallbackBatches());
+    }
+
+    @Test
+    void testInsertAfterShutdownIsRejected() {
+        // Arrange
+        groupCommitService.start();
+        groupCommitService.shutdown();
+
+        // Act
+        CompletableFuture<ChatMessage> future = groupCommitService.insert(message("late"));
+
+        // Assert
+        assertThrows(CompletionException.class, future::join);
+        assertEquals(1, groupCommitService.getStats().rejected());
+    }
+
+    private static ChatMessage message(String text) {
+        return new ChatMessage(1L, 1L, "User", text);
+    }
+}
@@ -88,7 +88,7 @@ class GroupServiceTest {
             return membership;
         });
         doNothing().when(activityLogService).logActivity(anyLong(), anyString(), anyString());
-        doNothing().when(notificationService).notifyNewGroup(anyLong(), anyString());
+        doNothing().when(notificationService).notifyNewGroup(any(GroupDTO.class));
 
         // Act
         GroupDTO result = groupService.createGroup(createGroupRequest);
@@ -100,6 +100,7 @@ class GroupServiceTest {
         verify(userRepository).existsById(1L);
         verify(groupRepository).save(any(Group.class));
         verify(membershipRepository).save(any(Membership.class));
+        verify(notificationService).notifyNewGroup(argThat(group -> group.getGroupId() == 1L));
     }
 
     @Test
@@ -120,15 +121,10 @@ class GroupServiceTest {
     @Test
     void testGetAllGroups() {
         // Arrange
-        Group group1 = new Group();
-        group1.setGroupId(1L);
-        group1.setName("Group 1");
+        GroupDTO group1 = new GroupDTO(1L, "Group 1", null, 1L, "Owner", LocalDateTime.now());
+        GroupDTO group2 = new GroupDTO(2L, "Group 2", null, 1L, "Owner", LocalDateTime.now());
 
-        Group group2 = new Group();
-        group2.setGroupId(2L);
-        group2.setName("Group 2");
-
-        when(groupRepository.findAll()).thenReturn(Arrays.asList(group1, group2));
+        when(groupRepository.findAllWithOwnerName()).thenReturn(Arrays.asList(group1, group2));
 
         // Act
         List<GroupDTO> result = groupService.getAllGroups();
@@ -136,13 +132,32 @@ class GroupServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(2, result.size());
-        verify(groupRepository).findAll();
+        assertEquals("Owner", result.get(0).getOwnerName());
+        verify(groupRepository).findAllWithOwnerName();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testGetGroupsForUser() {
+        // Arrange
+        GroupDTO group = new GroupDTO(1L, "Group 1", null, 2L, "Owner", LocalDateTime.now());
+        when(groupRepository.findByMemberWithOwnerName(1L)).thenReturn(List.of(group));
+
+        // Act
+        List<GroupDTO> result = groupService.getGroupsForUser(1L);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Owner", result.get(0).getOwnerName());
+        verifyNoInteractions(membershipRepository, userRepository);
     }
 
     @Test
     void testGetGroupById_Success() {
         // Arrange
-        when(groupRepository.findById(anyLong())).thenReturn(Optional.of(testGroup));
+        GroupDTO groupDTO = new GroupDTO(testGroup.getGroupId(), testGroup.getName(), testGroup.getDescription(),
+                testGroup.getCreatedBy(), "Owner", testGroup.getCreatedAt());
+        when(groupRepository.findByIdWithOwnerName(anyLong())).thenReturn(Optional.of(groupDTO));
 
         // Act
         GroupDTO result = groupService.getGroupById(1L);
@@ -150,20 +165,20 @@ class GroupServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(testGroup.getName(), result.getName());
-        verify(groupRepository).findById(1L);
+        verify(groupRepository).findByIdWithOwnerName(1L);
     }
 
     @Test
     void testGetGroupById_NotFound() {
         // Arrange
-        when(groupRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(groupRepository.findByIdWithOwnerName(anyLong())).thenReturn(Optional.empty());
 
         // Act
         GroupDTO result = groupService.getGroupById(1L);
 
         // Assert
         assertNull(result);
-        verify(groupRepository).findById(1L);
+        verify(groupRepository).findByIdWithOwnerName(1L);
     }
 }
 
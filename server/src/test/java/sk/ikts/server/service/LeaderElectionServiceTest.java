@@ -0,0 +1,181 @@
+package sk.ikts.server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sk.ikts.server.cluster.ClusterEventBus;
+import sk.ikts.server.config.LeaderProperties;
+import sk.ikts.server.model.SchedulerLease;
+import sk.ikts.server.repository.SchedulerLeaseRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre LeaderElectionService
+ * Testuje získanie a obnovu lease plánovača, odstúpenie po jeho strate
+ * a kontrolu fencing tokenu pred odoslaním pripomienok
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaderElectionServiceTest {
+
+    @Mock
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Mock
+    private ClusterEventBus clusterEventBus;
+
+    @Spy
+    private LeaderProperties properties = new LeaderProperties();
+
+    @InjectMocks
+    private LeaderElectionService leaderElectionService;
+
+    private final List<Boolean> changes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(clusterEventBus.getNodeId()).thenReturn("a");
+        leaderElectionService.start();
+        leaderElectionService.addListener(changes::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderElectionService.release();
+    }
+
+    @Test
+    void testHeartbeat_AcquiredLeaseMakesLeader() {
+        // Arrange
+        acquireLease(3);
+
+        // Act
+        leaderElectionService.heartbeat();
+
+        // Assert
+        leaderElectionService.awaitListeners();
+        assertTrue(leaderElectionService.isLeader());
+        assertEquals(List.of(true), changes);
+        assertEquals(3, leaderElectionService.getStats().fencingToken());
+    }
+
+    @Test
+    void testHeartbeat_NotDelayedBySlowListener() throws Exception {
+        // Arrange - e.g. loading a large schedule after a takeover
+        CountDownLatch release = new CountDownLatch(1);
+        leaderElectionService.addListener(leader -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        acquireLease(3);
+        when(leaseRepository.renew(eq(SchedulerLease.DEADLINE_REMINDERS), eq("a"), eq(3L), anyLong(), anyLong())).thenReturn(1);
+
+        // Act
+        leaderElectionService.heartbeat();
+        leaderElectionService.heartbeat();
+
+        // Assert - renewed while the listener is still busy
+        verify(leaseRepository).renew(eq(SchedulerLease.DEADLINE_REMINDERS), eq("a"), eq(3L), anyLong(), anyLong());
+        assertTrue(leaderElectionService.isLeader());
+        release.countDown();
+    }
+
+    @Test
+    void testHeartbeat_LeaseHeldElsewhereStaysFollower() {
+        // Arrange
+        when(leaseRepository.acquire(eq(SchedulerLease.DEADLINE_REMINDERS), eq("a"), anyLong(), anyLong())).thenReturn(0);
+
+        // Act
+        leaderElectionService.heartbeat();
+
+        // Assert
+        leaderElectionService.awaitListeners();
+        assertFalse(leaderElectionService.isLeader());
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void testHeartbeat_FailedRenewalStepsDown() {
+        // Arrange
+        acquireLease(3);
+        leaderElectionService.heartbeat();
+        when(leaseRepository.renew(eq(SchedulerLease.DEADLINE_REMINDERS), eq("a"), eq(3L), anyLong(), anyLong())).thenReturn(0);
+
+        // Act
+        leaderElectionService.heartbeat();
+
+        // Assert
+        leaderElectionService.awaitListeners();
+        assertFalse(leaderElectionService.isLeader());
+        assertEquals(List.of(true, false), changes);
+        assertEquals(1, leaderElectionService.getStats().lost());
+    }
+
+    @Test
+    void testHoldsLease_TakenOverLeaseStepsDown() {
+        // Arrange
+        acquireLease(3);
+        leaderElectionService.heartbeat();
+        when(leaseRepository.isHeld(eq(SchedulerLease.DEADLINE_REMINDERS), eq("a"), eq(3L), anyLong())).thenReturn(false);
+
+        // Act
+        boolean result = leaderElectionService.holdsLease();
+
+        // Assert
+        assertFalse(result);
+        assertFalse(leaderElectionService.isLeader());
+        leaderElectionService.awaitListeners();
+        assertEquals(List.of(true, false), changes);
+    }
+
+    @Test
+    void testIsLeader_ExpiresWithoutRenewal() throws Exception {
+        // Arrange
+        properties.setLeaseMs(50);
+        acquireLease(1);
+        leaderElectionService.heartbeat();
+
+        // Act
+        Thread.sleep(100);
+
+        // Assert
+        assertFalse(leaderElectionService.isLeader());
+    }
+
+    @Test
+    void testRelease_GivesUpLease() {
+        // Arrange
+        acquireLease(3);
+        leaderElectionService.heartbeat();
+
+        // Act
+        leaderElectionService.release();
+
+        // Assert
+        verify(leaseRepository).release(SchedulerLease.DEADLINE_REMINDERS, "a", 3L);
+        assertFalse(leaderElectionService.isLeader());
+    }
+
+    private void acquireLease(long fencingToken) {
+        SchedulerLease lease = new SchedulerLease(SchedulerLease.DEADLINE_REMINDERS);
+        lease.setOwner("a");
+        lease.setFencingToken(fencingToken);
+        when(leaseRepository.acquire(eq(SchedulerLease.DEADLINE_REMINDERS), eq("a"), anyLong(), anyLong())).thenReturn(1);
+        when(leaseRepository.findById(SchedulerLease.DEADLINE_REMINDERS)).thenReturn(Optional.of(lease));
+    }
+}
@@ -0,0 +1,224 @@
+package sk.ikts.server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import sk.ikts.server.cluster.ClusterEvent;
+import sk.ikts.server.cluster.ClusterEventBus;
+import sk.ikts.server.config.NotificationProperties;
+import sk.ikts.server.config.SimpleWebSocketHandler;
+import sk.ikts.server.dto.NotificationDTO;
+import sk.ikts.server.dto.TaskDTO;
+import sk.ikts.server.model.Task;
+import sk.ikts.server.websocket.EventFrame;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre NotificationService
+ * Testuje okno zlučovania notifikácií skupiny: zlúčenie rovnakých typov so zoznamom úloh,
+ * odoslanie po dosiahnutí limitu a okamžité odoslanie urgentných typov v poradí,
+ * zverejnenie pre ostatné inštancie servera a doručenie ich udalostí
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class NotificationServiceTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SimpleWebSocketHandler simpleWebSocketHandler;
+
+    @Mock
+    private ClusterEventBus clusterEventBus;
+
+    @Spy
+    private NotificationProperties properties = new NotificationProperties();
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    private final List<NotificationDTO> sent = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(simpleWebSocketHandler.sendNotificationToGroup(anyLong(), any())).thenAnswer(invocation -> {
+            NotificationDTO notification = invocation.getArgument(1);
+            sent.add(notification);
+            return EventFrame.of(EventFrame.toJsonObject(notification));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationService.shutdown();
+    }
+
+    @Test
+    void testBurstOfSameTypeIsMergedIntoOneFrame() {
+        // Arrange
+        properties.setCoalesceWindowMs(1000);
+        notificationService.start();
+
+        // Act
+        for (long taskId = 1; taskId <= 5; taskId++) {
+            notificationService.notifyNewTask(task(1L, taskId, "Task " + taskId, 0));
+        }
+
+        // Assert
+        assertTrue(sent.isEmpty());
+        verify(messagingTemplate, timeout(5000)).send(eq("/topic/group/1"), any());
+        assertEquals(1, sent.size());
+        NotificationDTO batch = sent.get(0);
+        assertEquals("NEW_TASK", batch.getType());
+        assertEquals(5, batch.getCount());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), batch.getTaskIds());
+        assertNull(batch.getTaskId());
+        assertEquals(4, notificationService.getStats().coalesced());
+    }
+
+    @Test
+    void testDifferentTypesAndGroupsAreNotMerged() {
+        // Arrange
+        properties.setCoalesceWindowMs(50);
+        notificationService.start();
+
+        // Act
+        notificationService.notifyNewTask(task(1L, 1L, "A", 0));
+        notificationService.notifyTaskStatusChange(task(1L, 1L, "A", 1));
+        notificationService.notifyNewTask(task(2L, 2L, "B", 0));
+
+        // Assert
+        verify(simpleWebSocketHandler, timeout(2000).times(3)).sendNotificationToGroup(anyLong(), any());
+        assertEquals(List.of("NEW_TASK", "TASK_STATUS_CHANGED"),
+                sent.stream().filter(n -> n.getGroupId() == 1L).map(NotificationDTO::getType).toList());
+        assertTrue(sent.stream().allMatch(n -> n.getCount() == null && n.getTaskIds() == null));
+        assertEquals(1L, sent.stream().filter(n -> "TASK_STATUS_CHANGED".equals(n.getType()))
+                .findFirst().orElseThrow().getTasks().get(0).getVersion());
+    }
+
+    @Test
+    void testFullWindowIsSentWithoutWaiting() {
+        // Arrange
+        properties.setCoalesceWindowMs(60000);
+        properties.setCoalesceMaxEvents(3);
+        notificationService.start();
+
+        // Act
+        for (long taskId = 1; taskId <= 3; taskId++) {
+            notificationService.notifyNewTask(task(1L, taskId, "Task " + taskId, 0));
+        }
+
+        // Assert
+        assertEquals(1, sent.size());
+        assertEquals(3, sent.get(0).getCount());
+    }
+
+    @Test
+    void testUrgentTypeIsSentImmediatelyAfterOpenWindow() {
+        // Arrange
+        properties.setCoalesceWindowMs(60000);
+        notificationService.start();
+        notificationService.notifyNewTask(task(1L, 1L, "A", 0));
+        notificationService.notifyNewTask(task(1L, 2L, "B", 0));
+
+        // Act
+        notificationService.notifyDeadlineApproaching(1L, 3L, "C", 30, true);
+
+        // Assert
+        assertEquals(List.of("NEW_TASK", "DEADLINE_URGENT"), sent.stream().map(NotificationDTO::getType).toList());
+        assertEquals(List.of(1L, 2L), sent.get(0).getTaskIds());
+        assertEquals(3L, sent.get(1).getTaskId());
+        assertEquals(1, notificationService.getStats().immediate());
+    }
+
+    @Test
+    void testBatchCarriesLatestVersionOfEachTask() {
+        // Arrange
+        properties.setCoalesceWindowMs(60000);
+        notificationService.start();
+        notificationService.notifyTaskStatusChange(task(1L, 1L, "A", 1));
+        notificationService.notifyTaskStatusChange(task(1L, 2L, "B", 4));
+        notificationService.notifyTaskStatusChange(task(1L, 1L, "A", 2));
+
+        // Act
+        notificationService.flush(1L);
+
+        // Assert
+        assertEquals(1, sent.size());
+        List<TaskDTO> tasks = sent.get(0).getTasks();
+        assertEquals(List.of(1L, 2L), tasks.stream().map(TaskDTO::getTaskId).toList());
+        assertEquals(List.of(2L, 4L), tasks.stream().map(TaskDTO::getVersion).toList());
+    }
+
+    @Test
+    void testZeroWindowDisablesCoalescing() {
+        // Arrange
+        properties.setCoalesceWindowMs(0);
+        notificationService.start();
+
+        // Act
+        notificationService.notifyNewTask(task(1L, 1L, "A", 0));
+        notificationService.notifyNewTask(task(1L, 2L, "B", 0));
+
+        // Assert
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void testSentNotificationIsPublishedToOtherInstances() {
+        // Arrange
+        properties.setCoalesceWindowMs(0);
+        notificationService.start();
+
+        // Act
+        notificationService.notifyNewTask(task(1L, 1L, "A", 0));
+
+        // Assert
+        verify(simpleWebSocketHandler, timeout(2000)).sendNotificationToGroup(eq(1L), any());
+        verify(clusterEventBus, timeout(2000)).publish(eq(ClusterEvent.Kind.GROUP_NOTIFICATION), eq(1L), any(NotificationDTO.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testEventOfOtherInstanceIsOnlyDeliveredLocally() {
+        // Arrange
+        notificationService.start();
+        ArgumentCaptor<BiConsumer<Long, NotificationDTO>> listener = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(clusterEventBus).addListener(eq(ClusterEvent.Kind.GROUP_NOTIFICATION), eq(NotificationDTO.class), listener.capture());
+
+        // Act
+        listener.getValue().accept(1L, new NotificationDTO("NEW_TASK", "Remote", 1L));
+
+        // Assert
+        assertEquals(1, sent.size());
+        assertEquals("Remote", sent.get(0).getMessage());
+        verify(messagingTemplate).send(eq("/topic/group/1"), any());
+        verify(clusterEventBus, never()).publish(any(), any(), any());
+        assertEquals(0, notificationService.getStats().received());
+    }
+
+    private static TaskDTO task(Long groupId, Long taskId, String title, long version) {
+        TaskDTO task = new TaskDTO(taskId, groupId, 1L, title, null, Task.TaskStatus.OPEN, null, null, null);
+        task.setVersion(version);
+        return task;
+    }
+}
@@ -0,0 +1,119 @@
+package sk.ikts.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sk.ikts.server.config.StorageProperties;
+import sk.ikts.server.model.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit testy pre ResourceArchiveService
+ * Testuje obsah ZIP archívu, STORED položky pre už komprimované formáty,
+ * odkazy na URL, jedinečné názvy položiek a preskočenie chýbajúcich súborov
+ */
+@ExtendWith(MockitoExtension.class)
+class ResourceArchiveServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    @Spy
+    private StorageProperties properties = new StorageProperties();
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @InjectMocks
+    private ResourceArchiveService resourceArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setBufferSize(1024);
+    }
+
+    @Test
+    void testWriteZip_EntriesAndMethods() throws Exception {
+        // Arrange
+        byte[] notes = "lecture notes ".repeat(500).getBytes(StandardCharsets.UTF_8);
+        byte[] slides = new byte[5000];
+        new Random(1).nextBytes(slides);
+        Files.write(uploadDir.resolve("a"), notes);
+        Files.write(uploadDir.resolve("b"), slides);
+        when(fileStorageService.resolve(anyString())).thenAnswer(invocation -> uploadDir.resolve((String) invocation.getArgument(0)));
+        List<Resource> resources = List.of(
+                file("Notes.txt", "a"),
+                file("Slides.pdf", "b"),
+                file("notes.txt", "a"),
+                file("Missing.doc", "c"),
+                new Resource(1L, 1L, "Course page", Resource.ResourceType.URL, "https://example.com/course"));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = resourceArchiveService.writeZip(resources, out);
+
+        // Assert
+        Map<String, ZipEntry> entries = new LinkedHashMap<>();
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), entry);
+                contents.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        assertEquals(4, written);
+        assertEquals(List.of("Notes.txt", "Slides.pdf", "notes (2).txt", "Course page.url"), List.copyOf(entries.keySet()));
+        assertEquals(ZipEntry.DEFLATED, entries.get("Notes.txt").getMethod());
+        assertEquals(ZipEntry.STORED, entries.get("Slides.pdf").getMethod());
+        assertArrayEquals(notes, contents.get("Notes.txt"));
+        assertArrayEquals(slides, contents.get("Slides.pdf"));
+        assertTrue(new String(contents.get("Course page.url"), StandardCharsets.UTF_8).contains("URL=https://example.com/course"));
+    }
+
+    @Test
+    void testUniqueName_StripsPathSeparators() {
+        // Arrange
+        Set<String> used = new HashSet<>();
+
+        // Act & Assert
+        assertEquals("_.._etc_passwd", ResourceArchiveService.uniqueName(used, "/../etc/passwd"));
+        assertEquals("file", ResourceArchiveService.uniqueName(used, ".."));
+        assertEquals("file (2)", ResourceArchiveService.uniqueName(used, "  "));
+    }
+
+    @Test
+    void testIsCompressed() {
+        // Act & Assert
+        assertTrue(ResourceArchiveService.isCompressed("photo.JPG"));
+        assertTrue(ResourceArchiveService.isCompressed("backup.tar.gz"));
+        assertFalse(ResourceArchiveService.isCompressed("notes.txt"));
+        assertFalse(ResourceArchiveService.isCompressed("README"));
+    }
+
+    private static Resource file(String title, String path) {
+        return new Resource(1L, 1L, title, Resource.ResourceType.FILE, path);
+    }
+}
@@ -0,0 +1,199 @@
+package sk.ikts.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import sk.ikts.server.config.StorageProperties;
+import sk.ikts.server.dto.StartUploadRequest;
+import sk.ikts.server.dto.UploadSessionDTO;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre UploadSessionService
+ * Testuje paralelné zapisovanie častí na ich pozície, obnovenie relácie,
+ * kontrolu dĺžky časti a overenie kontrolného súčtu pri dokončení
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UploadSessionServiceTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @TempDir
+    Path tempDir;
+
+    @Spy
+    private StorageProperties properties = new StorageProperties();
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @InjectMocks
+    private UploadSessionService uploadSessionService;
+
+    private byte[] content;
+    private String sha256;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties.setChunkSize(CHUNK_SIZE);
+        content = new byte[10 * CHUNK_SIZE + 123];
+        new Random(7).nextBytes(content);
+        sha256 = hash(content);
+
+        when(fileStorageService.createTempFile()).thenAnswer(invocation ->
+                Files.createFile(tempDir.resolve(UUID.randomUUID() + ".part")));
+        when(fileStorageService.sha256(any(Path.class))).thenAnswer(invocation ->
+                hash(Files.readAllBytes(invocation.getArgument(0))));
+        when(fileStorageService.commit(any(Path.class), anyString(), anyLong())).thenAnswer(invocation ->
+                new FileStorageService.StoredFile("blob", invocation.getArgument(2), invocation.getArgument(1)));
+    }
+
+    @Test
+    void testChunksWrittenInParallelAndOutOfOrder() throws Exception {
+        // Arrange
+        UploadSessionDTO session = uploadSessionService.start(request(sha256));
+        assertEquals(11, session.getChunkCount());
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < session.getChunkCount(); i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(3));
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> writes = new ArrayList<>();
+            for (int index : order) {
+                writes.add(executor.submit(() -> uploadSessionService.writeChunk(session.getUploadId(), index, chunk(index))));
+            }
+            for (Future<Boolean> write : writes) {
+                assertTrue(write.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Path[] committed = new Path[1];
+        when(fileStorageService.commit(any(Path.class), anyString(), anyLong())).thenAnswer(invocation -> {
+            committed[0] = invocation.getArgument(0);
+            return new FileStorageService.StoredFile("blob", invocation.getArgument(2), invocation.getArgument(1));
+        });
+        UploadSessionService.CompletedUpload upload = uploadSessionService.complete(session.getUploadId());
+
+        // Assert
+        assertEquals(sha256, upload.stored().sha256());
+        assertEquals(5L, upload.groupId());
+        assertArrayEquals(content, Files.readAllBytes(committed[0]));
+        assertEquals(0, uploadSessionService.getSessionCount());
+    }
+
+    @Test
+    void testStartAgainResumesOpenSession() throws Exception {
+        // Arrange
+        UploadSessionDTO first = uploadSessionService.start(request(sha256));
+        uploadSessionService.writeChunk(first.getUploadId(), 0, chunk(0));
+        uploadSessionService.writeChunk(first.getUploadId(), 7, chunk(7));
+
+        // Act
+        UploadSessionDTO resumed = uploadSessionService.start(request(sha256));
+
+        // Assert
+        assertEquals(first.getUploadId(), resumed.getUploadId());
+        assertEquals(List.of(0, 7), resumed.getReceivedChunks());
+        verify(fileStorageService, times(1)).createTempFile();
+    }
+
+    @Test
+    void testCommitWithMissingChunksKeepsSession() throws Exception {
+        // Arrange
+        UploadSessionDTO session = uploadSessionService.start(request(sha256));
+        uploadSessionService.writeChunk(session.getUploadId(), 0, chunk(0));
+
+        // Act & Assert
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> uploadSessionService.complete(session.getUploadId()));
+        assertTrue(error.getMessage().contains("Missing 10 chunks"));
+        assertNotNull(uploadSessionService.getStatus(session.getUploadId()));
+    }
+
+    @Test
+    void testChunkWithWrongLengthIsNotMarkedReceived() throws Exception {
+        // Arrange
+        UploadSessionDTO session = uploadSessionService.start(request(sha256));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> uploadSessionService.writeChunk(
+                session.getUploadId(), 1, new ByteArrayInputStream(new byte[CHUNK_SIZE - 1])));
+        assertThrows(IllegalArgumentException.class, () -> uploadSessionService.writeChunk(
+                session.getUploadId(), 1, new ByteArrayInputStream(new byte[CHUNK_SIZE + 1])));
+        assertThrows(IllegalArgumentException.class, () -> uploadSessionService.writeChunk(
+                session.getUploadId(), 11, chunk(0)));
+        assertEquals(List.of(), uploadSessionService.getStatus(session.getUploadId()).getReceivedChunks());
+    }
+
+    @Test
+    void testChecksumMismatchDiscardsUpload() throws Exception {
+        // Arrange - declared checksum of other content
+        UploadSessionDTO session = uploadSessionService.start(request(hash(new byte[] {1})));
+        for (int i = 0; i < session.getChunkCount(); i++) {
+            uploadSessionService.writeChunk(session.getUploadId(), i, chunk(i));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> uploadSessionService.complete(session.getUploadId()));
+        assertNull(uploadSessionService.getStatus(session.getUploadId()));
+        verify(fileStorageService, never()).commit(any(Path.class), anyString(), anyLong());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testStartRejectsTooLargeFile() {
+        // Arrange
+        properties.setMaxUploadBytes(100);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> uploadSessionService.start(request(sha256)));
+    }
+
+    private StartUploadRequest request(String checksum) {
+        return new StartUploadRequest(5L, 9L, "lecture.mp4", content.length, checksum);
+    }
+
+    private ByteArrayInputStream chunk(int index) {
+        int from = index * CHUNK_SIZE;
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, from, Math.min(from + CHUNK_SIZE, content.length)));
+    }
+
+    private static String hash(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,100 @@
+package sk.ikts.server.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import sk.ikts.server.config.GsonConfig;
+import sk.ikts.server.dto.ChatMessageDTO;
+import sk.ikts.server.dto.NotificationDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Benchmark kódovania udalostí, spúšťa sa len s -Dbenchmark=true
+ * (mvn -pl server test -Dtest=EventCodecBenchmarkTest -Dbenchmark=true)
+ * Porovnáva pôvodné kódovanie (formátovaný Gson pre WebSocket + Jackson pre STOMP)
+ * s jedným EventFrame (kompaktný JSON pre obidva transporty, MessagePack pre binárnych klientov)
+ * a vypisuje bajty na udalosť a čas kódovania v ns
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EventCodecBenchmarkTest {
+
+    private static final int WARMUP = 200000;
+    private static final int ITERATIONS = 1000000;
+
+    @Test
+    void benchmarkEventEncodings() throws Exception {
+        NotificationDTO notification = new NotificationDTO("TASK_STATUS_CHANGED",
+                "Task 'Prepare presentation' status changed to: IN_PROGRESS", 42L);
+        notification.setTaskId(1234L);
+        ChatMessageDTO chat = new ChatMessageDTO(98765L, 42L, 7L, "Jana Novakova",
+                "Can someone review the second chapter before Friday?", LocalDateTime.now());
+
+        run("notification", notification);
+        run("chat message", chat);
+    }
+
+    private void run(String name, Object dto) throws Exception {
+        Gson pretty = new GsonBuilder().setPrettyPrinting().create();
+        Gson compact = GsonConfig.createGson();
+        ObjectMapper jackson = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JsonObject tree = stamped(compact, dto);
+
+        // Before: WebSocket and STOMP each encoded the event
+        report(name, "pretty Gson + Jackson (STOMP)",
+                pretty.toJson(tree).getBytes(StandardCharsets.UTF_8).length,
+                measure(i -> pretty.toJson(stamped(compact, dto)).length() + jacksonBytes(jackson, dto).length));
+        report(name, "EventFrame, compact JSON",
+                EventFrame.of(tree).size(WireFormat.JSON),
+                measure(i -> EventFrame.of(stamped(compact, dto)).size(WireFormat.JSON)));
+        report(name, "EventFrame, JSON + MessagePack",
+                EventFrame.of(tree).size(WireFormat.MSGPACK),
+                measure(i -> {
+                    EventFrame frame = EventFrame.of(stamped(compact, dto));
+                    return frame.size(WireFormat.JSON) + frame.size(WireFormat.MSGPACK);
+                }));
+    }
+
+    private static JsonObject stamped(Gson gson, Object dto) {
+        JsonObject event = gson.toJsonTree(dto).getAsJsonObject();
+        event.addProperty("seq", 1048576L);
+        event.addProperty("epoch", "6f1c2d9e-3b4a-4c5d-8e6f-7a8b9c0d1e2f");
+        return event;
+    }
+
+    private static byte[] jacksonBytes(ObjectMapper jackson, Object dto) {
+        try {
+            return jackson.writeValueAsBytes(dto);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double measure(Function<Integer, Integer> encode) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += encode.apply(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += encode.apply(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) {
+            System.out.println(sink); // Keeps the JIT from removing the loop
+        }
+        return (double) elapsed / ITERATIONS;
+    }
+
+    private static void report(String event, String codec, int bytes, double nanos) {
+        System.out.printf("%-14s %-34s %5d bytes/event %8.0f ns/event%n", event, codec, bytes, nanos);
+    }
+}
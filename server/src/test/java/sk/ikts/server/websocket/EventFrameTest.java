@@ -0,0 +1,143 @@
+package sk.ikts.server.websocket;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import sk.ikts.server.dto.NotificationDTO;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit testy pre EventFrame a MessagePackWriter
+ * Testuje jednorazové zakódovanie udalosti, kompaktný JSON a binárny formát MessagePack
+ */
+class EventFrameTest {
+
+    @Test
+    void testJson_IsCompactAndEncodedOnce() {
+        // Arrange
+        NotificationDTO notification = new NotificationDTO("NEW_TASK", "Task created", 7L);
+        EventFrame frame = EventFrame.of(EventFrame.toJsonObject(notification));
+
+        // Act
+        WebSocketMessage<?> first = frame.message(WireFormat.JSON);
+        WebSocketMessage<?> second = frame.message(WireFormat.JSON);
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(first instanceof TextMessage);
+        String json = ((TextMessage) first).getPayload();
+        assertFalse(json.contains("\n"));
+        assertFalse(json.contains(": "));
+        assertEquals("NEW_TASK", JsonParser.parseString(json).getAsJsonObject().get("type").getAsString());
+    }
+
+    @Test
+    void testMsgpack_SharesBytesButNotBuffer() {
+        // Arrange
+        JsonObject event = new JsonObject();
+        event.addProperty("type", "NEW_TASK");
+        EventFrame frame = EventFrame.of(event);
+
+        // Act
+        BinaryMessage first = (BinaryMessage) frame.message(WireFormat.MSGPACK);
+        first.getPayload().position(first.getPayloadLength()); // Sending consumes the buffer
+        BinaryMessage second = (BinaryMessage) frame.message(WireFormat.MSGPACK);
+
+        // Assert
+        assertSame(first.getPayload().array(), second.getPayload().array());
+        assertEquals(0, second.getPayload().position());
+        assertEquals(frame.size(WireFormat.MSGPACK), second.getPayloadLength());
+    }
+
+    @Test
+    void testMsgpack_EncodesJsonTypes() {
+        // Arrange
+        JsonObject event = new JsonObject();
+        event.addProperty("a", 1);
+        event.addProperty("b", -1);
+        event.addProperty("c", 300);
+        event.addProperty("d", 5000000000L);
+        event.addProperty("e", 1.5);
+        event.addProperty("f", true);
+        event.add("g", null);
+        JsonArray array = new JsonArray();
+        array.add("x");
+        event.add("h", array);
+
+        // Act
+        byte[] bytes = MessagePackWriter.write(event, 0);
+
+        // Assert
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        assertEquals(0x88, in.get() & 0xff); // fixmap of 8
+        assertKey(in, "a");
+        assertEquals(1, in.get());
+        assertKey(in, "b");
+        assertEquals(-1, in.get());
+        assertKey(in, "c");
+        assertEquals(0xd1, in.get() & 0xff);
+        assertEquals(300, in.getShort());
+        assertKey(in, "d");
+        assertEquals(0xd3, in.get() & 0xff);
+        assertEquals(5000000000L, in.getLong());
+        assertKey(in, "e");
+        assertEquals(0xcb, in.get() & 0xff);
+        assertEquals(1.5, in.getDouble());
+        assertKey(in, "f");
+        assertEquals(0xc3, in.get() & 0xff);
+        assertKey(in, "g");
+        assertEquals(0xc0, in.get() & 0xff);
+        assertKey(in, "h");
+        assertEquals(0x91, in.get() & 0xff);
+        assertKey(in, "x");
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void testMsgpack_LongStringUsesStr8() {
+        // Arrange
+        JsonObject event = new JsonObject();
+        event.addProperty("m", "x".repeat(40));
+
+        // Act
+        byte[] bytes = MessagePackWriter.write(event, 0);
+
+        // Assert
+        assertEquals(0xd9, bytes[3] & 0xff);
+        assertEquals(40, bytes[4] & 0xff);
+        assertEquals(5 + 40, bytes.length);
+    }
+
+    @Test
+    void testStompMessage_CarriesJsonBytes() {
+        // Arrange
+        JsonObject event = new JsonObject();
+        event.addProperty("type", "NEW_MEMBER");
+        EventFrame frame = EventFrame.of(event);
+
+        // Act
+        Message<byte[]> message = frame.stompMessage();
+
+        // Assert
+        assertEquals(frame.getJson(), new String(message.getPayload(), StandardCharsets.UTF_8));
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, message.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    }
+
+    private static void assertKey(ByteBuffer in, String key) {
+        assertEquals(0xa0 | key.length(), in.get() & 0xff);
+        byte[] bytes = new byte[key.length()];
+        in.get(bytes);
+        assertEquals(key, new String(bytes, StandardCharsets.UTF_8));
+    }
+}
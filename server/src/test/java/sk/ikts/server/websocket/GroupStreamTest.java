@@ -0,0 +1,133 @@
+package sk.ikts.server.websocket;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre GroupStream
+ * Testuje číslovanie udalostí a prehratie zmeškaných udalostí z kruhového bufferu
+ */
+class GroupStreamTest {
+
+    private WebSocketSession session;
+    private OutboundQueue queue;
+    private List<Runnable> pendingTasks;
+    private List<String> sent;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        when(session.isOpen()).thenReturn(true);
+        sent = new ArrayList<>();
+        doAnswer(invocation -> sent.add(JsonParser.parseString(((TextMessage) invocation.getArgument(0)).getPayload())
+                .getAsJsonObject().get("v").getAsString()))
+                .when(session).sendMessage(any());
+        pendingTasks = new ArrayList<>();
+        queue = new OutboundQueue(session, 100, OverflowPolicy.DROP_OLDEST, pendingTasks::add, s -> { });
+    }
+
+    @Test
+    void testPublish_AssignsIncreasingSequence() {
+        // Arrange
+        GroupStream stream = new GroupStream(10);
+
+        // Act
+        long first = publish(stream, "a");
+        long second = publish(stream, "b");
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertEquals(2, stream.getLastSeq());
+    }
+
+    @Test
+    void testSubscribe_ReplaysOnlyMissedEvents() {
+        // Arrange
+        GroupStream stream = new GroupStream(10);
+        publish(stream, "a");
+        publish(stream, "b");
+        publish(stream, "c");
+
+        // Act
+        boolean resumed = stream.subscribe(session, 1L, queue, this::control);
+        runPendingTasks();
+
+        // Assert
+        assertTrue(resumed);
+        assertEquals(List.of("2:b", "3:c", "SUBSCRIBED:3"), sent);
+    }
+
+    @Test
+    void testSubscribe_GapLargerThanRingRequiresResync() {
+        // Arrange
+        GroupStream stream = new GroupStream(2);
+        publish(stream, "a");
+        publish(stream, "b");
+        publish(stream, "c");
+
+        // Act
+        boolean resumed = stream.subscribe(session, 0L, queue, this::control);
+        runPendingTasks();
+
+        // Assert
+        assertFalse(resumed);
+        assertEquals(List.of("RESYNC_REQUIRED:3"), sent);
+    }
+
+    @Test
+    void testSubscribe_UnknownFutureSequenceRequiresResync() {
+        // Arrange
+        GroupStream stream = new GroupStream(2);
+        publish(stream, "a");
+
+        // Act & Assert
+        assertFalse(stream.subscribe(session, 5L, queue, this::control));
+    }
+
+    @Test
+    void testPublish_ReachesSubscriberAfterFreshSubscribe() {
+        // Arrange
+        GroupStream stream = new GroupStream(2);
+        publish(stream, "a");
+        stream.subscribe(session, null, queue, this::control);
+
+        // Act
+        publish(stream, "b");
+        runPendingTasks();
+
+        // Assert
+        assertEquals(List.of("SUBSCRIBED:1", "2:b"), sent);
+    }
+
+    private long publish(GroupStream stream, String payload) {
+        return stream.publish(seq -> frame(seq + ":" + payload), null, s -> queue);
+    }
+
+    private EventFrame control(boolean resyncRequired, long currentSeq) {
+        return frame((resyncRequired ? "RESYNC_REQUIRED:" : "SUBSCRIBED:") + currentSeq);
+    }
+
+    private static EventFrame frame(String value) {
+        JsonObject event = new JsonObject();
+        event.addProperty("v", value);
+        return EventFrame.of(event);
+    }
+
+    private void runPendingTasks() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.remove(0).run();
+        }
+    }
+}
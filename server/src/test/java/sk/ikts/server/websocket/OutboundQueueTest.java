@@ -0,0 +1,132 @@
+package sk.ikts.server.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre OutboundQueue
+ * Testuje správanie pri plnej fronte podľa nastavenej politiky
+ */
+class OutboundQueueTest {
+
+    private WebSocketSession session;
+    private List<Runnable> pendingTasks;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        when(session.isOpen()).thenReturn(true);
+        // Tasks are collected and run manually, so the queue fills up like with a stalled client
+        pendingTasks = new ArrayList<>();
+    }
+
+    @Test
+    void testDropOldest_DiscardsOldestFrame() throws Exception {
+        // Arrange
+        OutboundQueue queue = new OutboundQueue(session, 2, OverflowPolicy.DROP_OLDEST, pendingTasks::add, s -> { });
+
+        // Act
+        queue.enqueue(new TextMessage("1"), null);
+        queue.enqueue(new TextMessage("2"), null);
+        boolean accepted = queue.enqueue(new TextMessage("3"), null);
+        runPendingTasks();
+
+        // Assert
+        assertTrue(accepted);
+        verify(session, never()).sendMessage(new TextMessage("1"));
+        verify(session).sendMessage(new TextMessage("2"));
+        verify(session).sendMessage(new TextMessage("3"));
+        OutboundQueue.QueueStats stats = queue.getStats();
+        assertEquals(1, stats.dropped());
+        assertEquals(2, stats.sent());
+        assertEquals(2, stats.highWaterMark());
+    }
+
+    @Test
+    void testCoalesce_ReplacesFrameWithSameKey() throws Exception {
+        // Arrange
+        OutboundQueue queue = new OutboundQueue(session, 2, OverflowPolicy.COALESCE, pendingTasks::add, s -> { });
+
+        // Act
+        queue.enqueue(new TextMessage("task-1 v1"), "task-1");
+        queue.enqueue(new TextMessage("chat"), null);
+        queue.enqueue(new TextMessage("task-1 v2"), "task-1");
+        runPendingTasks();
+
+        // Assert
+        verify(session, never()).sendMessage(new TextMessage("task-1 v1"));
+        verify(session).sendMessage(new TextMessage("task-1 v2"));
+        verify(session).sendMessage(new TextMessage("chat"));
+        assertEquals(1, queue.getStats().coalesced());
+        assertEquals(0, queue.getStats().dropped());
+    }
+
+    @Test
+    void testCoalesce_WithoutMatchingKeyDropsOldest() throws Exception {
+        // Arrange
+        OutboundQueue queue = new OutboundQueue(session, 1, OverflowPolicy.COALESCE, pendingTasks::add, s -> { });
+
+        // Act
+        queue.enqueue(new TextMessage("a"), "a");
+        queue.enqueue(new TextMessage("b"), "b");
+        runPendingTasks();
+
+        // Assert
+        verify(session, never()).sendMessage(new TextMessage("a"));
+        verify(session).sendMessage(new TextMessage("b"));
+        assertEquals(1, queue.getStats().dropped());
+    }
+
+    @Test
+    void testDisconnect_ClosesSlowSession() throws Exception {
+        // Arrange
+        AtomicBoolean failed = new AtomicBoolean();
+        OutboundQueue queue = new OutboundQueue(session, 1, OverflowPolicy.DISCONNECT, pendingTasks::add, s -> failed.set(true));
+
+        // Act
+        queue.enqueue(new TextMessage("1"), null);
+        boolean accepted = queue.enqueue(new TextMessage("2"), null);
+        runPendingTasks();
+
+        // Assert
+        assertFalse(accepted);
+        assertTrue(failed.get());
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(session, never()).sendMessage(any());
+        assertFalse(queue.enqueue(new TextMessage("3"), null));
+    }
+
+    @Test
+    void testSendError_DropsSession() throws Exception {
+        // Arrange
+        AtomicBoolean failed = new AtomicBoolean();
+        doThrow(new java.io.IOException("broken pipe")).when(session).sendMessage(any());
+        OutboundQueue queue = new OutboundQueue(session, 4, OverflowPolicy.COALESCE, pendingTasks::add, s -> failed.set(true));
+
+        // Act
+        queue.enqueue(new TextMessage("1"), null);
+        runPendingTasks();
+
+        // Assert
+        assertTrue(failed.get());
+        assertEquals(0, queue.getStats().depth());
+    }
+
+    private void runPendingTasks() {
+        while (!pendingTasks.isEmpty()) {
+            pendingTasks.remove(0).run();
+        }
+    }
+}
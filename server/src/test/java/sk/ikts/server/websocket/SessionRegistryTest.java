@@ -0,0 +1,92 @@
+package sk.ikts.server.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit testy pre SessionRegistry
+ * Testuje limit spojení, odoberanie relácií, hľadanie nečinných relácií a merače
+ */
+class SessionRegistryTest {
+
+    @Test
+    void testRegister_RejectsOverCap() {
+        // Arrange
+        SessionRegistry registry = new SessionRegistry(2);
+
+        // Act
+        boolean first = registry.register(mockSession("a"), null);
+        boolean second = registry.register(mockSession("b"), null);
+        boolean third = registry.register(mockSession("c"), null);
+
+        // Assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(2, registry.size());
+        assertEquals(1, registry.getStats().rejected());
+    }
+
+    @Test
+    void testRemove_FreesSlotAndCountsOnce() {
+        // Arrange
+        SessionRegistry registry = new SessionRegistry(1);
+        registry.register(mockSession("a"), null);
+
+        // Act
+        assertNotNull(registry.remove("a"));
+        assertNull(registry.remove("a"));
+        boolean registered = registry.register(mockSession("b"), null);
+
+        // Assert
+        assertTrue(registered);
+        SessionRegistry.RegistryStats stats = registry.getStats();
+        assertEquals(1, stats.sessions());
+        assertEquals(2, stats.connects());
+        assertEquals(1, stats.disconnects());
+        assertTrue(stats.connectRatePerSecond() > 0);
+    }
+
+    @Test
+    void testFindIdle_ReturnsOnlySilentSessions() throws Exception {
+        // Arrange
+        SessionRegistry registry = new SessionRegistry(0);
+        registry.register(mockSession("a"), null);
+        registry.register(mockSession("b"), null);
+        Thread.sleep(20);
+        long cutoff = System.currentTimeMillis();
+        Thread.sleep(5);
+
+        // Act
+        registry.touch("b");
+
+        // Assert
+        assertEquals(1, registry.findIdle(cutoff).size());
+        assertEquals("a", registry.findIdle(cutoff).get(0).getSession().getId());
+    }
+
+    @Test
+    void testRateCounter_ForgetsOldBuckets() {
+        // Arrange
+        RateCounter counter = new RateCounter(10);
+
+        // Act
+        counter.increment(1_000);
+        counter.increment(1_500);
+        counter.increment(5_000);
+
+        // Assert
+        assertEquals(0.3, counter.getRatePerSecond(5_000), 1e-9);
+        assertEquals(0.1, counter.getRatePerSecond(12_000), 1e-9);
+        assertEquals(0.0, counter.getRatePerSecond(20_000), 1e-9);
+    }
+
+    private WebSocketSession mockSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+}